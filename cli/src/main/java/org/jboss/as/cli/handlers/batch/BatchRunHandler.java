@@ -72,6 +72,7 @@ public class BatchRunHandler extends CommandHandlerWithHelp {
         ModelNode composite = new ModelNode();
         composite.get("operation").set("composite");
         composite.get("address").setEmptyList();
+        composite.get("operation-headers", "batch").set(true);
         ModelNode steps = composite.get("steps");
 
         for(BatchedCommand cmd : currentBatch) {
@@ -84,7 +84,7 @@ public class PoolConfigurationRWHandler {
             final String parameterName = operation.require(NAME).asString();
 
             final ModelNode submodel = context.getSubModel();
-            final ModelNode currentValue = submodel.get(parameterName).clone();
+            final ModelNode currentValue = submodel.has(parameterName) ? submodel.get(parameterName).clone() : new ModelNode();
 
             resultHandler.handleResultFragment(new String[0], currentValue);
             resultHandler.handleResultComplete();
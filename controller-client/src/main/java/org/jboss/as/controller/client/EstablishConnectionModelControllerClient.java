@@ -21,28 +21,43 @@
 */
 package org.jboss.as.controller.client;
 
+import java.io.IOException;
 import java.net.InetAddress;
 import java.util.concurrent.TimeUnit;
 
+import org.jboss.as.protocol.mgmt.ManagementConnectionPool;
 import org.jboss.as.protocol.mgmt.ManagementRequestConnectionStrategy;
 
 /**
+ * A {@link ModelControllerClient} that connects to a remote controller. Connections are kept open
+ * and reused by subsequent requests.
  *
  * @author <a href="kabir.khan@jboss.com">Kabir Khan</a>
  * @version $Revision: 1.1 $
  */
 public class EstablishConnectionModelControllerClient extends AbstractModelControllerClient {
     private static final long CONNECTION_TIMEOUT = TimeUnit.SECONDS.toMillis(5L);
-    private final InetAddress address;
-    private final int port;
+    /** The maximum number of requests that can be in progress at the same time */
+    private static final int MAX_CONNECTIONS = 16;
+    /** How long an idle connection is kept open */
+    private static final long KEEP_ALIVE_TIME = TimeUnit.SECONDS.toMillis(60L);
+    private final ManagementConnectionPool connectionPool;
 
     public EstablishConnectionModelControllerClient(InetAddress address, int port) {
-        this.address = address;
-        this.port = port;
+        this.connectionPool = new ManagementConnectionPool(address, port, CONNECTION_TIMEOUT, MAX_CONNECTIONS, KEEP_ALIVE_TIME, executorService, threadFactory);
     }
 
     ManagementRequestConnectionStrategy getConnectionStrategy() {
-        return new ManagementRequestConnectionStrategy.EstablishConnectingStrategy(address, port, CONNECTION_TIMEOUT, executorService, threadFactory);
+        return connectionPool.getConnectionStrategy();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            connectionPool.close();
+        }
     }
 
 }
@@ -33,6 +33,7 @@ import org.jboss.as.controller.operations.validation.ParameterValidator;
 import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
 import org.jboss.as.controller.persistence.ConfigurationPersister;
 import org.jboss.as.controller.persistence.ConfigurationPersisterProvider;
+import org.jboss.as.controller.persistence.JournalingConfigurationPersister;
 import org.jboss.as.controller.registry.ModelNodeRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.dmr.ModelNode;
@@ -51,15 +52,20 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.UUID;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.BATCH;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.BLOCKING;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CANCELLED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPENSATING_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.EXECUTION_TIME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
@@ -84,6 +90,11 @@ public class BasicModelController extends AbstractModelController<OperationContr
     private final Lock writeLock = new ReentrantLock(true);
     private final ModelNodeRegistration registry;
     private final ModelNode model;
+    /** The last committed state of {@link #model}; replaced, never modified, on every successful write */
+    private volatile ModelSnapshot snapshot;
+    private final AtomicLong modelVersion = new AtomicLong();
+    /** Tells the model versions of this controller apart from those of controllers that ran before it */
+    private final String instanceId = UUID.randomUUID().toString();
     private final ConfigurationPersister configurationPersister;
     private final ModelProvider modelSource = new ModelProvider() {
         @Override
@@ -91,12 +102,18 @@ public class BasicModelController extends AbstractModelController<OperationContr
             return BasicModelController.this.model;
         }
     };
+    private final ModelProvider snapshotSource = new ModelProvider() {
+        @Override
+        public ModelNode getModel() {
+            return snapshot.model;
+        }
+    };
     private final OperationContextFactory contextFactory = new OperationContextFactory() {
         @Override
         public OperationContext getOperationContext(final ModelProvider modelSource, final PathAddress address,
                 final OperationHandler operationHandler, final Operation operation) {
             final ModelNode subModel = getOperationSubModel(modelSource, operationHandler, address);
-            return BasicModelController.this.getOperationContext(subModel, operationHandler, operation, modelSource);
+            return BasicModelController.this.getOperationContext(subModel, operationHandler, operation, getReadModelProvider(modelSource, operationHandler));
         }
     };
     private final ConfigurationPersisterProvider configPersisterProvider = new ConfigurationPersisterProvider() {
@@ -147,6 +164,7 @@ public class BasicModelController extends AbstractModelController<OperationContr
         this.model = model;
         this.configurationPersister = configurationPersister;
         this.registry = rootRegistry;
+        this.snapshot = new ModelSnapshot(model.clone(), modelVersion.get());
     }
 
     private static ModelNodeRegistration createRootRegistry(DescriptionProvider rootDescriptionProvider) {
@@ -318,10 +336,16 @@ public class BasicModelController extends AbstractModelController<OperationContr
             validateNewAddress(address);
             subModel = new ModelNode();
         } else if (operationHandler instanceof ModelQueryOperationHandler) {
-            // or model update operation handler...
-            final ModelNode model = modelSource.getModel();
-            synchronized (model) {
-                subModel = address.navigate(model, false).clone();
+            if (isSnapshotRead(modelSource, operationHandler)) {
+                // Published snapshots are never modified, so no lock is needed to read them
+                final ModelNode snapshotModel = address.navigate(snapshot.model, false);
+                subModel = operationHandler instanceof SnapshotQueryOperationHandler ? snapshotModel : snapshotModel.clone();
+            } else {
+                // or model update operation handler...
+                final ModelNode model = modelSource.getModel();
+                synchronized (model) {
+                    subModel = address.navigate(model, false).clone();
+                }
             }
         } else {
             subModel = null;
@@ -329,6 +353,66 @@ public class BasicModelController extends AbstractModelController<OperationContr
         return subModel;
     }
 
+    /**
+     * Gets the model provider an operation's {@link OperationContext} should read the overall model from. Read-only
+     * operations against this controller's own model are served from the last published snapshot.
+     *
+     * @param modelSource the provider of the model the operation targets
+     * @param operationHandler the operation handler which will run the operation
+     * @return the model provider to expose to the operation
+     */
+    protected ModelProvider getReadModelProvider(ModelProvider modelSource, OperationHandler operationHandler) {
+        return isSnapshotRead(modelSource, operationHandler) ? snapshotSource : modelSource;
+    }
+
+    private boolean isSnapshotRead(ModelProvider modelSource, OperationHandler operationHandler) {
+        // Steps of a multi-step operation read the operation's working copy, which includes uncommitted changes
+        return modelSource == this.modelSource && isReadOnly(operationHandler);
+    }
+
+    /**
+     * Publishes the current state of the model as the snapshot read-only operations see. Must be called, while
+     * still holding the write lock, by any code that modifies the model returned by {@link #getModel()}. The copy is
+     * taken here, by the writer, so that readers never wait for the model and always see exactly the state the
+     * snapshot's version stands for.
+     */
+    protected void publishModelSnapshot() {
+        final ModelNode copy;
+        synchronized (model) {
+            copy = model.clone();
+        }
+        snapshot = new ModelSnapshot(copy, modelVersion.incrementAndGet());
+    }
+
+    /**
+     * Gets the last published state of the model. The returned node is shared and <b>must not</b> be modified.
+     *
+     * @return the model snapshot. Will not be {@code null}
+     */
+    protected ModelNode getModelSnapshot() {
+        return snapshot.model;
+    }
+
+    /**
+     * Gets the version of the last published model snapshot. The version increases each time a change to the
+     * model is committed.
+     *
+     * @return the model version
+     */
+    public long getModelVersion() {
+        return snapshot.version;
+    }
+
+    /**
+     * Gets an identifier unique to this controller instance. Model versions restart at 0 with every new controller,
+     * so a version only identifies a model together with this identifier.
+     *
+     * @return the instance identifier
+     */
+    public String getInstanceId() {
+        return instanceId;
+    }
+
     protected boolean isMultiStepOperation(ModelNode operation, PathAddress address) {
         return address.size() == 0 && COMPOSITE.equals(operation.require(OP).asString());
     }
@@ -350,6 +434,31 @@ public class BasicModelController extends AbstractModelController<OperationContr
         }
     }
 
+    /**
+     * Gets a persister provider which, if the configuration persister supports it, records {@code operation} in
+     * the persister's journal rather than having the whole model written out.
+     *
+     * @param operation the operation which modified the model
+     * @param configurationPersisterFactory factory for the configuration persister
+     * @return the persister provider to use when persisting the result of {@code operation}
+     */
+    protected ConfigurationPersisterProvider getJournalingPersisterProvider(final Operation operation, final ConfigurationPersisterProvider configurationPersisterFactory) {
+        if (!operation.getInputStreams().isEmpty()) {
+            // The attached streams will be gone by the time a journal is replayed
+            return configurationPersisterFactory;
+        }
+        return new ConfigurationPersisterProvider() {
+            @Override
+            public ConfigurationPersister getConfigurationPersister() {
+                final ConfigurationPersister persister = configurationPersisterFactory.getConfigurationPersister();
+                if (persister instanceof JournalingConfigurationPersister) {
+                    return ((JournalingConfigurationPersister) persister).getOperationPersister(operation.getOperation());
+                }
+                return persister;
+            }
+        };
+    }
+
     /**
      * Registers {@link OperationHandler}s for operations that require
      * access to controller internals not meant to be exposed via an
@@ -409,7 +518,10 @@ public class BasicModelController extends AbstractModelController<OperationContr
                 } else {
                     address.navigate(model, true).set(operationHandlerContext.getSubModel());
                 }
-                persistConfiguration(model, operationControllerContext.getConfigurationPersisterProvider());
+                persistConfiguration(model, getJournalingPersisterProvider(operation, operationControllerContext.getConfigurationPersisterProvider()));
+            }
+            if (model == this.model) {
+                publishModelSnapshot();
             }
         }
         return result;
@@ -462,7 +574,7 @@ public class BasicModelController extends AbstractModelController<OperationContr
     }
 
     /** An {@link OperationHandler} that can output a model in XML form */
-    public static final class XmlMarshallingHandler implements ModelQueryOperationHandler, DescriptionProvider {
+    public static final class XmlMarshallingHandler implements SnapshotQueryOperationHandler, DescriptionProvider {
 
         private final String[] EMPTY = new String[0];
         private final ConfigurationPersister configPersister;
@@ -536,6 +648,8 @@ public class BasicModelController extends AbstractModelController<OperationContr
         protected final Operation operation;
 
         protected final boolean rollbackOnRuntimeFailure;
+        /** Whether the operation was submitted as a batch, in which case per-step execution times are reported */
+        protected final boolean batch;
         /** The handler passed in by the user */
         protected final ResultHandler resultHandler;
         /** The individual steps in the multi-step op */
@@ -558,7 +672,10 @@ public class BasicModelController extends AbstractModelController<OperationContr
         protected ModelNode overallFailure;
         /** Provides the model the overall operation should read and/or update */
         protected final ModelProvider modelSource;
-        /** Our clone of the model provided by modelSource -- steps read or modify this */
+        /**
+         * Our working copy of the model provided by modelSource -- steps read or modify this. Nested multi-step
+         * operations share the working copy of the enclosing operation rather than cloning it again.
+         */
         protected final ModelNode localModel;
         /** Flag indicating a step has modified the model */
         protected boolean modelUpdated;
@@ -664,8 +781,19 @@ public class BasicModelController extends AbstractModelController<OperationContr
             this.rollbackOnRuntimeFailure = (!operationNode.hasDefined(OPERATION_HEADERS)
                     || !operationNode.get(OPERATION_HEADERS).hasDefined(ROLLBACK_ON_RUNTIME_FAILURE)
                     || operationNode.get(OPERATION_HEADERS, ROLLBACK_ON_RUNTIME_FAILURE).asBoolean());
+            this.batch = operationNode.hasDefined(OPERATION_HEADERS)
+                    && operationNode.get(OPERATION_HEADERS).hasDefined(BATCH)
+                    && operationNode.get(OPERATION_HEADERS, BATCH).asBoolean();
             this.modelSource = modelProvider;
-            this.localModel = this.modelSource.getModel().clone();
+            if (modelProvider instanceof MultiStepOperationController) {
+                // The enclosing operation already works on a private copy and persists once when it completes
+                this.localModel = modelProvider.getModel();
+            } else {
+                final ModelNode model = this.modelSource.getModel();
+                synchronized (model) {
+                    this.localModel = model.clone();
+                }
+            }
             this.injectedConfigPersisterProvider = injectedConfigPersisterProvider;
             this.injectedOperationControllerContext = injectedOperationControllerContext;
             // Ensure the outcome and result fields come first for each result
@@ -758,10 +886,14 @@ public class BasicModelController extends AbstractModelController<OperationContr
         protected void updateModelAndPersist() {
             final ModelNode model = modelSource.getModel();
             synchronized (model) {
-                model.set(localModel);
-                BasicModelController.this.persistConfiguration(model, injectedConfigPersisterProvider);
+                if (model != localModel) {
+                    model.set(localModel);
+                }
+                BasicModelController.this.persistConfiguration(model, getJournalingPersisterProvider(operation, injectedConfigPersisterProvider));
+            }
+            if (model == BasicModelController.this.model) {
+                publishModelSnapshot();
             }
-
         }
 
         protected final String getStepKey(int id) {
@@ -780,7 +912,8 @@ public class BasicModelController extends AbstractModelController<OperationContr
 
             try {
 
-                if (isReadOnly(operation.getOperation())) {
+                // Take the lock once for the whole operation rather than once per step
+                if (!isReadOnly(operation.getOperation())) {
                     locked = acquireWriteLock(injectedOperationControllerContext);
                 }
 
@@ -789,13 +922,19 @@ public class BasicModelController extends AbstractModelController<OperationContr
                     final ModelNode step = steps.get(i).clone();
                     // Do not auto-rollback individual steps
                     step.get(OPERATION_HEADERS, ROLLBACK_ON_RUNTIME_FAILURE).set(false);
+                    // Step results are collected into the composite result
+                    step.get(OPERATION_HEADERS, BLOCKING).set(true);
                     if (hasFailures()) {
                         recordCancellation(Integer.valueOf(i));
                     }
                     else {
                         final Integer id = Integer.valueOf(i);
                         final ResultHandler stepResultHandler = getStepResultHandler(id);
+                        final long start = batch ? System.nanoTime() : 0L;
                         final OperationResult result = executeStep(step, stepResultHandler);
+                        if (batch) {
+                            recordExecutionTime(id, System.nanoTime() - start);
+                        }
                         recordRollbackOp(id, result.getCompensatingOperation());
                     }
                 }
@@ -890,6 +1029,13 @@ public class BasicModelController extends AbstractModelController<OperationContr
             return true;
         }
 
+        private void recordExecutionTime(final Integer id, final long nanos) {
+            synchronized (resultsNode) {
+                // Reported in milliseconds
+                getStepResultNode(id).get(EXECUTION_TIME).set((double) nanos / 1000000);
+            }
+        }
+
         private ResultHandler getStepResultHandler(Integer id) {
             StepResultHandler handler = new StepResultHandler(id, this);
             stepResultHandlers.put(id, handler);
@@ -977,6 +1123,17 @@ public class BasicModelController extends AbstractModelController<OperationContr
         }
     }
 
+    /** An immutable, versioned copy of the model */
+    private static final class ModelSnapshot {
+        private final ModelNode model;
+        private final long version;
+
+        private ModelSnapshot(final ModelNode model, final long version) {
+            this.model = model;
+            this.version = version;
+        }
+    }
+
     protected static class StepResultHandler implements ResultHandler {
 
         private final Integer id;
@@ -1104,6 +1261,8 @@ public class BasicModelController extends AbstractModelController<OperationContr
             }
             // Create multi step operation
             final ModelNode multiStep = new ModelNode();
+            multiStep.get(OP).set(COMPOSITE);
+            multiStep.get(OP_ADDR).setEmptyList();
             for(final ModelNode a : resolved) {
                 final ModelNode newOperation = operation.getOperation().clone();
                 newOperation.get(ModelDescriptionConstants.OP_ADDR).set(a);
@@ -296,7 +296,9 @@ public class PathAddress implements Iterable<PathElement> {
                 return;
             } else {
                 if(create && ! iterator.hasNext()) {
-                    model = model.require(next.getKey()).get(next.getValue());
+                    // Don't add the missing child to the model, it may be a shared snapshot
+                    final ModelNode children = model.require(next.getKey());
+                    model = children.has(next.getValue()) ? children.get(next.getValue()) : new ModelNode();
                 } else {
                     model = model.require(next.getKey()).require(next.getValue());
                 }
@@ -3,10 +3,12 @@
  */
 package org.jboss.as.controller;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.BLOCKING;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CANCELLED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPENSATING_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
@@ -85,7 +87,10 @@ public class SynchronousOperationSupport<T> {
                 }
             }
         };
-        final OperationResult handlerResult = controller.execute(operation, resultHandler, handback);
+        // The fragments are collected rather than streamed, so let handlers which never complete on their own refuse
+        final ModelNode blocking = operation.getOperation().clone();
+        blocking.get(OPERATION_HEADERS, BLOCKING).set(true);
+        final OperationResult handlerResult = controller.execute(operation.clone(blocking), resultHandler, handback);
         boolean intr = false;
         try {
             synchronized (finalResult) {
@@ -46,6 +46,8 @@ public class ModelDescriptionConstants {
     public static final String AUTHENTICATION = "authentication";
     public static final String AUTO_START = "auto-start";
     public static final String BASE_DN = "base-dn";
+    public static final String BATCH = "batch";
+    public static final String BLOCKING = "blocking";
     public static final String BOOT_TIME = "boot-time";
     public static final String BYTES = "bytes";
     public static final String CANCELLED = "cancelled";
@@ -72,6 +74,7 @@ public class ModelDescriptionConstants {
     public static final String DOMAIN_RESULTS = "domain-results";
     public static final String ENABLE = "enable";
     public static final String ENABLED = "enabled";
+    public static final String EXECUTION_TIME = "execution-time";
     public static final String EXTENSION = "extension";
     public static final String FAILED = "failed";
     public static final String FAILURE_DESCRIPTION = "failure-description";
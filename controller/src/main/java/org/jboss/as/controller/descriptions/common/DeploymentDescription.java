@@ -150,6 +150,7 @@ public class DeploymentDescription {
         root.get(REQUEST_PROPERTIES, BYTES, REQUIRED).set(true);
         root.get(REQUEST_PROPERTIES, BYTES, MIN_LENGTH).set(1);
         root.get(REQUEST_PROPERTIES, BYTES, NILLABLE).set(false);
+        getUploadHashParamDescription(root, bundle);
         root.get(REPLY_PROPERTIES, TYPE).set(ModelType.BYTES);
         root.get(REPLY_PROPERTIES, DESCRIPTION).set(bundle.getString("deployment.hash"));
         root.get(REPLY_PROPERTIES, MIN_LENGTH).set(20);
@@ -168,6 +169,7 @@ public class DeploymentDescription {
         root.get(REQUEST_PROPERTIES, URL, REQUIRED).set(true);
         root.get(REQUEST_PROPERTIES, URL, MIN_LENGTH).set(1);
         root.get(REQUEST_PROPERTIES, URL, NILLABLE).set(false);
+        getUploadHashParamDescription(root, bundle);
         root.get(REPLY_PROPERTIES, TYPE).set(ModelType.BYTES);
         root.get(REPLY_PROPERTIES, DESCRIPTION).set(bundle.getString("deployment.hash"));
         root.get(REPLY_PROPERTIES, MIN_LENGTH).set(20);
@@ -186,6 +188,7 @@ public class DeploymentDescription {
         root.get(REQUEST_PROPERTIES, INPUT_STREAM_INDEX, REQUIRED).set(true);
         root.get(REQUEST_PROPERTIES, INPUT_STREAM_INDEX, MIN_VALUE).set(0);
         root.get(REQUEST_PROPERTIES, INPUT_STREAM_INDEX, NILLABLE).set(false);
+        getUploadHashParamDescription(root, bundle);
         root.get(REPLY_PROPERTIES, TYPE).set(ModelType.BYTES);
         root.get(REPLY_PROPERTIES, DESCRIPTION).set(bundle.getString("deployment.hash"));
         root.get(REPLY_PROPERTIES, MIN_LENGTH).set(20);
@@ -287,6 +290,15 @@ public class DeploymentDescription {
         return root;
     }
 
+    private static void getUploadHashParamDescription(ModelNode root, ResourceBundle bundle) {
+        root.get(REQUEST_PROPERTIES, HASH, TYPE).set(ModelType.BYTES);
+        root.get(REQUEST_PROPERTIES, HASH, DESCRIPTION).set(bundle.getString("deployment.upload.hash"));
+        root.get(REQUEST_PROPERTIES, HASH, REQUIRED).set(false);
+        root.get(REQUEST_PROPERTIES, HASH, MIN_LENGTH).set(20);
+        root.get(REQUEST_PROPERTIES, HASH, MAX_LENGTH).set(20);
+        root.get(REQUEST_PROPERTIES, HASH, NILLABLE).set(true);
+    }
+
     private static void getDeploymentContentParamDescription(ModelNode root, ResourceBundle bundle) {
         root.get(REQUEST_PROPERTIES, CONTENT, TYPE).set(ModelType.LIST);
         root.get(REQUEST_PROPERTIES, CONTENT, DESCRIPTION).set(bundle.getString("deployment.content"));
@@ -0,0 +1,80 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.descriptions.common;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEFAULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MIN;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REPLY_PROPERTIES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQUEST_PROPERTIES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQUIRED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE_TYPE;
+
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+import org.jboss.as.controller.operations.common.SubscribeMetricsHandler;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * ModelDescriptions for the metric subscription operation handler
+ */
+public class MetricSubscriptionDescriptions {
+
+    private static final String RESOURCE_NAME = InterfaceDescription.class.getPackage().getName() + ".LocalDescriptions";
+
+    public static ModelNode getSubscribeMetricsOperation(Locale locale) {
+        final ResourceBundle bundle = getResourceBundle(locale);
+        final ModelNode node = new ModelNode();
+        node.get(OPERATION_NAME).set(SubscribeMetricsHandler.OPERATION_NAME);
+        node.get(DESCRIPTION).set(bundle.getString("subscribe.metrics"));
+        node.get(REQUEST_PROPERTIES, SubscribeMetricsHandler.METRICS, TYPE).set(ModelType.LIST);
+        node.get(REQUEST_PROPERTIES, SubscribeMetricsHandler.METRICS, VALUE_TYPE).set(ModelType.OBJECT);
+        node.get(REQUEST_PROPERTIES, SubscribeMetricsHandler.METRICS, DESCRIPTION).set(bundle.getString("subscribe.metrics.metrics"));
+        node.get(REQUEST_PROPERTIES, SubscribeMetricsHandler.METRICS, REQUIRED).set(true);
+        node.get(REQUEST_PROPERTIES, SubscribeMetricsHandler.INTERVAL, TYPE).set(ModelType.LONG);
+        node.get(REQUEST_PROPERTIES, SubscribeMetricsHandler.INTERVAL, DESCRIPTION).set(bundle.getString("subscribe.metrics.interval"));
+        node.get(REQUEST_PROPERTIES, SubscribeMetricsHandler.INTERVAL, REQUIRED).set(false);
+        node.get(REQUEST_PROPERTIES, SubscribeMetricsHandler.INTERVAL, MIN).set(100);
+        node.get(REQUEST_PROPERTIES, SubscribeMetricsHandler.INTERVAL, DEFAULT).set(1000);
+        node.get(REQUEST_PROPERTIES, SubscribeMetricsHandler.MAX_BATCHES, TYPE).set(ModelType.INT);
+        node.get(REQUEST_PROPERTIES, SubscribeMetricsHandler.MAX_BATCHES, DESCRIPTION).set(bundle.getString("subscribe.metrics.max-batches"));
+        node.get(REQUEST_PROPERTIES, SubscribeMetricsHandler.MAX_BATCHES, REQUIRED).set(false);
+        node.get(REQUEST_PROPERTIES, SubscribeMetricsHandler.MAX_BATCHES, MIN).set(1);
+        node.get(REPLY_PROPERTIES, TYPE).set(ModelType.LIST);
+        node.get(REPLY_PROPERTIES, VALUE_TYPE).set(ModelType.OBJECT);
+        node.get(REPLY_PROPERTIES, DESCRIPTION).set(bundle.getString("subscribe.metrics.reply"));
+
+        return node;
+    }
+
+    private static ResourceBundle getResourceBundle(Locale locale) {
+        if (locale == null) {
+            locale = Locale.getDefault();
+        }
+        return ResourceBundle.getBundle(RESOURCE_NAME, locale);
+    }
+}
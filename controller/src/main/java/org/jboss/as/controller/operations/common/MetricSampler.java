@@ -0,0 +1,246 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.operations.common;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.client.OperationBuilder;
+import org.jboss.dmr.ModelNode;
+import org.jboss.logging.Logger;
+
+/**
+ * Samples metrics on behalf of any number of subscribers. All subscriptions using the same interval share one
+ * sampling task, which reads each metric they subscribed to once per interval and hands every subscriber the values
+ * that changed since its previous batch. A batch is handed out each interval even if nothing changed, which lets
+ * subscribers notice that their client has gone away.
+ */
+class MetricSampler {
+
+    private static final Logger log = Logger.getLogger("org.jboss.as.controller");
+
+    private final ModelController controller;
+    private final Map<Long, Group> groups = new HashMap<Long, Group>();
+    private ScheduledExecutorService executor;
+
+    MetricSampler(final ModelController controller) {
+        this.controller = controller;
+    }
+
+    ModelController getController() {
+        return controller;
+    }
+
+    /**
+     * Subscribe to a set of metrics. The first batch delivered holds the value of each of them.
+     *
+     * @param metrics the metrics, each with an {@code address} and the {@code name} of the attribute
+     * @param interval the sampling interval in milliseconds
+     * @param listener the listener receiving the batches
+     * @return the subscription, to be passed to {@link #unsubscribe(Subscription)}
+     */
+    synchronized Subscription subscribe(final List<ModelNode> metrics, final long interval, final Listener listener) {
+        final Subscription subscription = new Subscription(metrics, interval, listener);
+        Group group = groups.get(Long.valueOf(interval));
+        if (group != null) {
+            group.subscriptions.add(subscription);
+        } else {
+            if (executor == null) {
+                executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                    public Thread newThread(final Runnable r) {
+                        final Thread thread = new Thread(r, "Metric sampler");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+            }
+            group = new Group();
+            group.subscriptions.add(subscription);
+            group.future = executor.scheduleWithFixedDelay(group, 0, interval, TimeUnit.MILLISECONDS);
+            groups.put(Long.valueOf(interval), group);
+        }
+        return subscription;
+    }
+
+    synchronized void unsubscribe(final Subscription subscription) {
+        final Group group = groups.get(Long.valueOf(subscription.interval));
+        if (group == null || !group.subscriptions.remove(subscription) || !group.subscriptions.isEmpty()) {
+            return;
+        }
+        group.future.cancel(false);
+        groups.remove(Long.valueOf(subscription.interval));
+        if (groups.isEmpty()) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    /**
+     * Sample all metrics subscribed to at the given interval now.
+     */
+    void sample(final long interval) {
+        final Group group;
+        synchronized (this) {
+            group = groups.get(Long.valueOf(interval));
+        }
+        if (group != null) {
+            group.run();
+        }
+    }
+
+    private ModelNode read(final Metric metric) {
+        final ModelNode operation = new ModelNode();
+        operation.get(OP).set(READ_ATTRIBUTE_OPERATION);
+        operation.get(OP_ADDR).set(metric.address);
+        operation.get(NAME).set(metric.name);
+        try {
+            final ModelNode response = controller.execute(OperationBuilder.Factory.create(operation).build());
+            if (SUCCESS.equals(response.get(OUTCOME).asString())) {
+                return response.get(RESULT);
+            }
+            log.debugf("Failed to sample %s: %s", metric, response);
+        } catch (Exception e) {
+            log.debugf(e, "Failed to sample %s", metric);
+        }
+        return new ModelNode();
+    }
+
+    /**
+     * Receives the batches of a subscription.
+     */
+    interface Listener {
+
+        /**
+         * Handle a batch of changed metrics, which is empty if nothing changed.
+         *
+         * @param subscription the subscription the batch belongs to
+         * @param batch a list with an entry for each metric that changed, holding its {@code address}, {@code name}
+         *            and {@code value}
+         */
+        void handleBatch(Subscription subscription, ModelNode batch);
+    }
+
+    static final class Subscription {
+        private final Set<Metric> metrics = new LinkedHashSet<Metric>();
+        private final Map<Metric, ModelNode> delivered = new HashMap<Metric, ModelNode>();
+        private final long interval;
+        private final Listener listener;
+
+        private Subscription(final List<ModelNode> metrics, final long interval, final Listener listener) {
+            for (ModelNode metric : metrics) {
+                this.metrics.add(new Metric(metric));
+            }
+            this.interval = interval;
+            this.listener = listener;
+        }
+
+        private void deliver(final Map<Metric, ModelNode> values) {
+            final ModelNode batch = new ModelNode().setEmptyList();
+            for (Metric metric : metrics) {
+                final ModelNode value = values.get(metric);
+                if (!delivered.containsKey(metric) || !delivered.get(metric).equals(value)) {
+                    delivered.put(metric, value);
+                    final ModelNode entry = batch.add();
+                    entry.get(OP_ADDR).set(metric.address);
+                    entry.get(NAME).set(metric.name);
+                    entry.get(VALUE).set(value);
+                }
+            }
+            listener.handleBatch(this, batch);
+        }
+    }
+
+    private final class Group implements Runnable {
+        private final List<Subscription> subscriptions = new CopyOnWriteArrayList<Subscription>();
+        private ScheduledFuture<?> future;
+
+        @Override
+        public synchronized void run() {
+            final List<Subscription> subscriptions = new ArrayList<Subscription>(this.subscriptions);
+            final Map<Metric, ModelNode> values = new HashMap<Metric, ModelNode>();
+            for (Subscription subscription : subscriptions) {
+                for (Metric metric : subscription.metrics) {
+                    if (!values.containsKey(metric)) {
+                        values.put(metric, read(metric));
+                    }
+                }
+            }
+            for (Subscription subscription : subscriptions) {
+                try {
+                    subscription.deliver(values);
+                } catch (Exception e) {
+                    log.debugf(e, "Failed to deliver metrics to subscriber");
+                }
+            }
+        }
+    }
+
+    private static final class Metric {
+        private final ModelNode address;
+        private final String name;
+
+        private Metric(final ModelNode metric) {
+            this.address = metric.get(OP_ADDR).clone();
+            this.name = metric.get(NAME).asString();
+        }
+
+        @Override
+        public int hashCode() {
+            return address.hashCode() * 31 + name.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof Metric)) {
+                return false;
+            }
+            final Metric other = (Metric) obj;
+            return name.equals(other.name) && address.equals(other.address);
+        }
+
+        @Override
+        public String toString() {
+            return address + ":" + name;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.operations.common;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.BLOCKING;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.Cancellable;
+import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.StreamingOperationHandler;
+import org.jboss.as.controller.descriptions.DescriptionProvider;
+import org.jboss.as.controller.descriptions.common.MetricSubscriptionDescriptions;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.ModelTypeValidator;
+import org.jboss.as.controller.operations.validation.ParametersValidator;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Subscribes to a set of metrics. Instead of completing, the operation sends a result fragment with the changed
+ * values each sampling interval until it is cancelled, or until {@code max-batches} batches have been sent. The
+ * fragment is sent even if nothing changed, so that clients which went away are noticed.
+ * <p>
+ * When the fragments are collected rather than streamed, i.e. on synchronous execution or as a step of a composite
+ * operation, the operation would never complete, so {@code max-batches} is required there.
+ */
+public class SubscribeMetricsHandler implements StreamingOperationHandler, DescriptionProvider {
+
+    public static final String OPERATION_NAME = "subscribe-metrics";
+
+    public static final String METRICS = "metrics";
+    public static final String INTERVAL = "interval";
+    public static final String MAX_BATCHES = "max-batches";
+
+    static final long DEFAULT_INTERVAL = 1000;
+    static final int MIN_INTERVAL = 100;
+
+    private final ParametersValidator validator = new ParametersValidator();
+    private final ParametersValidator metricValidator = new ParametersValidator();
+
+    private MetricSampler sampler;
+
+    public SubscribeMetricsHandler() {
+        validator.registerValidator(METRICS, new ModelTypeValidator(ModelType.LIST));
+        validator.registerValidator(INTERVAL, new IntRangeValidator(MIN_INTERVAL, Integer.MAX_VALUE, true, false));
+        validator.registerValidator(MAX_BATCHES, new IntRangeValidator(1, Integer.MAX_VALUE, true, false));
+        metricValidator.registerValidator(OP_ADDR, new ModelTypeValidator(ModelType.LIST));
+        metricValidator.registerValidator(NAME, new ModelTypeValidator(ModelType.STRING));
+    }
+
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
+        validator.validate(operation);
+        final List<ModelNode> metrics = operation.get(METRICS).asList();
+        for (ModelNode metric : metrics) {
+            metricValidator.validate(metric);
+        }
+        final long interval = operation.hasDefined(INTERVAL) ? operation.get(INTERVAL).asLong() : DEFAULT_INTERVAL;
+        final int maxBatches = operation.hasDefined(MAX_BATCHES) ? operation.get(MAX_BATCHES).asInt() : -1;
+        if (maxBatches < 0 && operation.hasDefined(OPERATION_HEADERS) && operation.get(OPERATION_HEADERS).hasDefined(BLOCKING)
+                && operation.get(OPERATION_HEADERS, BLOCKING).asBoolean()) {
+            throw new OperationFailedException(new ModelNode().set(MAX_BATCHES + " is required unless the results of " + OPERATION_NAME
+                    + " are streamed; it cannot run unbounded synchronously or as a step of a composite operation"));
+        }
+
+        final MetricSampler sampler = getSampler(context.getController());
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicInteger batches = new AtomicInteger();
+        final MetricSampler.Subscription subscription = sampler.subscribe(metrics, interval, new MetricSampler.Listener() {
+            public void handleBatch(final MetricSampler.Subscription subscription, final ModelNode batch) {
+                if (done.get()) {
+                    return;
+                }
+                resultHandler.handleResultFragment(ResultHandler.EMPTY_LOCATION, batch);
+                if (batches.incrementAndGet() == maxBatches && done.compareAndSet(false, true)) {
+                    sampler.unsubscribe(subscription);
+                    resultHandler.handleResultComplete();
+                }
+            }
+        });
+        return new BasicOperationResult(new Cancellable() {
+            public boolean cancel() {
+                if (!done.compareAndSet(false, true)) {
+                    return false;
+                }
+                sampler.unsubscribe(subscription);
+                resultHandler.handleCancellation();
+                return true;
+            }
+        }, new ModelNode());
+    }
+
+    private synchronized MetricSampler getSampler(final ModelController controller) {
+        if (sampler == null || sampler.getController() != controller) {
+            sampler = new MetricSampler(controller);
+        }
+        return sampler;
+    }
+
+    @Override
+    public ModelNode getModelDescription(final Locale locale) {
+        return MetricSubscriptionDescriptions.getSubscribeMetricsOperation(locale);
+    }
+}
@@ -21,8 +21,6 @@
  */
 package org.jboss.as.controller.operations.global;
 
-import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACCESS_TYPE;
-import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CHILDREN;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.CHILD_TYPE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INHERITED;
@@ -37,7 +35,6 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REA
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RECURSIVE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
-import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STORAGE;
 
 import java.util.Collection;
 import java.util.Iterator;
@@ -60,13 +57,13 @@ import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.ProxyController;
 import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.SnapshotQueryOperationHandler;
 import org.jboss.as.controller.client.Operation;
 import org.jboss.as.controller.client.OperationBuilder;
 import org.jboss.as.controller.descriptions.DescriptionProvider;
 import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.AttributeAccess.AccessType;
-import org.jboss.as.controller.registry.AttributeAccess.Storage;
 import org.jboss.as.controller.registry.ModelNodeRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.dmr.ModelNode;
@@ -95,7 +92,7 @@ public class GlobalOperationHandlers {
      * all children and configuration attributes. Non-recursive queries can include runtime attributes by setting the request parameter
      * "include-runtime" to "true".
      */
-    public static class ReadResourceHandler implements ModelQueryOperationHandler {
+    public static class ReadResourceHandler implements SnapshotQueryOperationHandler {
 
         static final String PROXIES = "proxies";
 
@@ -230,7 +227,7 @@ public class GlobalOperationHandlers {
     /**
      * {@link OperationHandler} reading a single attribute at the given operation address. The required request parameter "name" represents the attribute name.
      */
-    public static class ReadAttributeHandler implements ModelQueryOperationHandler {
+    public static class ReadAttributeHandler implements SnapshotQueryOperationHandler {
         @Override
         public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
             OperationResult handlerResult = new BasicOperationResult();
@@ -250,7 +247,8 @@ public class GlobalOperationHandlers {
                     throw new OperationFailedException(new ModelNode().set("No known attribute called " + attributeName)); // TODO i18n
                 }
             } else if (attributeAccess.getReadHandler() == null) {
-                final ModelNode result = context.getSubModel().get(attributeName).clone();
+                final ModelNode subModel = context.getSubModel();
+                final ModelNode result = subModel.has(attributeName) ? subModel.get(attributeName).clone() : new ModelNode();
                 resultHandler.handleResultFragment(Util.NO_LOCATION, result);
                 resultHandler.handleResultComplete();
             } else {
@@ -286,13 +284,13 @@ public class GlobalOperationHandlers {
     /**
      * {@link OperationHandler} querying the children names of a given "child-type".
      */
-    public static class ReadChildrenNamesOperationHandler implements ModelQueryOperationHandler {
+    public static class ReadChildrenNamesOperationHandler implements SnapshotQueryOperationHandler {
         @Override
         public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
 
             String childName = operation.require(CHILD_TYPE).asString();
 
-            ModelNode subModel = context.getSubModel().clone();
+            ModelNode subModel = context.getSubModel();
             if (!subModel.isDefined()) {
                 final ModelNode result = new ModelNode();
                 result.setEmptyList();
@@ -304,7 +302,7 @@ public class GlobalOperationHandlers {
                     throw new OperationFailedException(new ModelNode().set("No known child called " + childName)); //TODO i18n
                 } else {
                     final ModelNode result = new ModelNode();
-                    subModel = subModel.get(childName);
+                    subModel = subModel.has(childName) ? subModel.get(childName) : new ModelNode();
                     if (!subModel.isDefined()) {
                         result.setEmptyList();
                     } else {
@@ -332,7 +330,7 @@ public class GlobalOperationHandlers {
 
             String childName = operation.require(CHILD_TYPE).asString();
 
-            ModelNode subModel = context.getSubModel().clone();
+            ModelNode subModel = context.getSubModel();
             if (!subModel.isDefined()) {
                 final ModelNode result = new ModelNode();
                 result.setEmptyList();
@@ -346,7 +344,7 @@ public class GlobalOperationHandlers {
                 } else {
                     final AtomicBoolean ok = new AtomicBoolean(true);
                     final ModelNode result = new ModelNode();
-                    subModel = subModel.get(childName);
+                    subModel = subModel.has(childName) ? subModel.get(childName) : new ModelNode();
                     if (!subModel.isDefined()) {
                         result.setEmptyList();
                     } else {
@@ -397,11 +395,11 @@ public class GlobalOperationHandlers {
     /**
      * {@link OperationHandler} querying the child types of a given node.
      */
-    public static final ModelQueryOperationHandler READ_CHILDREN_TYPES = new ModelQueryOperationHandler() {
+    public static final ModelQueryOperationHandler READ_CHILDREN_TYPES = new SnapshotQueryOperationHandler() {
         @Override
         public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
 
-            ModelNode subModel = context.getSubModel().clone();
+            ModelNode subModel = context.getSubModel();
             if (!subModel.isDefined()) {
                 final ModelNode result = new ModelNode();
                 result.setEmptyList();
@@ -428,7 +426,7 @@ public class GlobalOperationHandlers {
     /**
      * {@link OperationHandler} returning the names of the defined operations at a given model address.
      */
-    public static final ModelQueryOperationHandler READ_OPERATION_NAMES = new ModelQueryOperationHandler() {
+    public static final ModelQueryOperationHandler READ_OPERATION_NAMES = new SnapshotQueryOperationHandler() {
 
         @Override
         public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
@@ -456,7 +454,7 @@ public class GlobalOperationHandlers {
     /**
      * {@link OperationHandler} returning the type description of a single operation description.
      */
-    public static final ModelQueryOperationHandler READ_OPERATION_DESCRIPTION = new ModelQueryOperationHandler() {
+    public static final ModelQueryOperationHandler READ_OPERATION_DESCRIPTION = new SnapshotQueryOperationHandler() {
 
         @Override
         public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
@@ -478,7 +476,7 @@ public class GlobalOperationHandlers {
     /**
      * {@link OperationHandler} querying the complete type description of a given model node.
      */
-    public static final ModelQueryOperationHandler READ_RESOURCE_DESCRIPTION = new ModelQueryOperationHandler() {
+    public static final ModelQueryOperationHandler READ_RESOURCE_DESCRIPTION = new SnapshotQueryOperationHandler() {
 
         @Override
         public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
@@ -490,9 +488,11 @@ public class GlobalOperationHandlers {
 
             final ModelNodeRegistration registry = context.getRegistry();
             final PathAddress address = PathAddress.pathAddress(operation.get(OP_ADDR));
-            final DescriptionProvider descriptionProvider = registry.getModelDescription(address);
             final Locale locale = getLocale(operation);
-            final ModelNode result = descriptionProvider.getModelDescription(locale);
+            final ModelNode result = registry.getResourceDescription(address, locale);
+            if (result == null) {
+                throw new OperationFailedException(new ModelNode().set("No resource description found for " + address)); // TODO i18n
+            }
 
             addDescription(context, result, recursive, operations, inheritedOps, registry, address, locale);
 
@@ -510,8 +510,7 @@ public class GlobalOperationHandlers {
 
                     for (final Map.Entry<String, OperationEntry> entry : ops.entrySet()) {
                         if(entry.getValue().getType() == OperationEntry.EntryType.PUBLIC) {
-                            final DescriptionProvider provider = entry.getValue().getDescriptionProvider();
-                            result.get(OPERATIONS, entry.getKey()).set(provider.getModelDescription(locale));
+                            result.get(OPERATIONS, entry.getKey()).set(entry.getValue().getDescription(locale));
                         }
                     }
 
@@ -520,27 +519,12 @@ public class GlobalOperationHandlers {
                 }
             }
 
-            if (result.hasDefined(ATTRIBUTES)) {
-                for (final String attr : result.require(ATTRIBUTES).keys()) {
-                     final AttributeAccess access = registry.getAttributeAccess(address, attr);
-                     // If there is metadata for an attribute but no AttributeAccess, assume RO. Can't
-                     // be writable without a registered handler. This opens the possibility that out-of-date metadata
-                     // for attribute "foo" can lead to a read of non-existent-in-model "foo" with
-                     // an unexpected undefined value returned. But it removes the possibility of a
-                     // dev forgetting to call registry.registerReadOnlyAttribute("foo", null) resulting
-                     // in the valid attribute "foo" not being readable
-                     final AccessType accessType = access == null ? AccessType.READ_ONLY : access.getAccessType();
-                     final Storage storage = access == null ? Storage.CONFIGURATION : access.getStorageType();
-                     result.get(ATTRIBUTES, attr, ACCESS_TYPE).set(accessType.toString()); //TODO i18n
-                     result.get(ATTRIBUTES, attr, STORAGE).set(storage.toString());
-                }
-            }
+            // The access type and storage of the attributes are filled in by the registry
             if (recursive && result.hasDefined(CHILDREN)) {
                 for (final PathElement element : registry.getChildAddresses(address)) {
                     final PathAddress childAddress = address.append(element);
-                    final DescriptionProvider provider = registry.getModelDescription(childAddress);
-                    final ModelNode child;
-                    if (provider == null) {
+                    ModelNode child = registry.getResourceDescription(childAddress, locale);
+                    if (child == null) {
                         //It is probably a proxy
                         Set<ProxyController> proxyControllers = registry.getProxyControllers(childAddress);
                         if (proxyControllers.size() != 1) {
@@ -559,7 +543,6 @@ public class GlobalOperationHandlers {
                         child = proxyControllers.iterator().next().execute(OperationBuilder.Factory.copy(context, operation).build()).get(RESULT);
 
                     } else {
-                        child = provider.getModelDescription(locale);
                         addDescription(context, child, recursive, operations, inheritedOps, registry, childAddress, locale);
                     }
                     result.get(CHILDREN, element.getKey(),MODEL_DESCRIPTION, element.getValue()).set(child);
@@ -569,7 +552,7 @@ public class GlobalOperationHandlers {
     };
 
 
-    public static final class ResolveAddressOperationHandler implements ModelQueryOperationHandler, DescriptionProvider {
+    public static final class ResolveAddressOperationHandler implements SnapshotQueryOperationHandler, DescriptionProvider {
 
         public static final String OPERATION_NAME = "resolve-address";
         public static final String ADDRESS_PARAM = "address-to-resolve";
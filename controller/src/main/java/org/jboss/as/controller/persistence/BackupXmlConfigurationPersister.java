@@ -22,22 +22,48 @@
 
 package org.jboss.as.controller.persistence;
 
+import java.io.OutputStream;
 import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import javax.xml.namespace.QName;
 
 import org.jboss.dmr.ModelNode;
+import org.jboss.logging.Logger;
 import org.jboss.staxmapper.XMLElementReader;
 import org.jboss.staxmapper.XMLElementWriter;
 
 /**
  * An XML configuration persister which backs up the old file before overwriting it.
+ * <p>
+ * Changes made by a single replayable operation are not written to the file straight away. The operation is
+ * appended to a {@link ConfigurationJournal journal} and the file is rewritten in the background once changes
+ * stop arriving for a short while, so a burst of operations results in a single rewrite. Journaled operations
+ * that never made it into the file are replayed by {@link #load()}.
+ * </p>
  *
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
  */
-public class BackupXmlConfigurationPersister extends XmlConfigurationPersister {
+public class BackupXmlConfigurationPersister extends XmlConfigurationPersister implements JournalingConfigurationPersister {
+
+    private static final Logger log = Logger.getLogger("org.jboss.as.controller");
+
+    /** How long, in ms, to wait for further journaled changes before rewriting the configuration file */
+    private static final long COMPACTION_DELAY = 500;
 
     ConfigurationFile configurationFile;
+    private final ConfigurationJournal journal;
+    private final Object fileLock = new Object();
+    /** The last journal generation included in the configuration file. Guarded by fileLock */
+    private int writtenGeneration;
+    /** The model to write at the next compaction. Guarded by this */
+    private ModelNode pendingModel;
+    /** Guarded by this */
+    private ScheduledExecutorService compactionExecutor;
+
     /**
      * Construct a new instance.
      *
@@ -49,22 +75,86 @@ public class BackupXmlConfigurationPersister extends XmlConfigurationPersister {
     public BackupXmlConfigurationPersister(final ConfigurationFile file, final QName rootElement, final XMLElementReader<List<ModelNode>> rootParser, final XMLElementWriter<ModelMarshallingContext> rootDeparser) {
         super(file.getBootFile(), rootElement, rootParser, rootDeparser);
         this.configurationFile = file;
+        this.journal = new ConfigurationJournal(file.getJournalDirectory(), file.getMainFile().getName());
+    }
+
+    @Override
+    public List<ModelNode> load() throws ConfigurationPersistenceException {
+        final List<ModelNode> updates = super.load();
+        if (configurationFile.isMainFile()) {
+            final List<ModelNode> journaled = journal.load();
+            if (!journaled.isEmpty()) {
+                log.infof("Replaying %d operations not yet written to %s", journaled.size(), configurationFile.getMainFile());
+                updates.addAll(journaled);
+            }
+        }
+        return updates;
     }
 
     @Override
     public void successfulBoot() throws ConfigurationPersistenceException {
         configurationFile.successfulBoot();
+        if (!configurationFile.isMainFile()) {
+            // The main file was just replaced by the one we booted from, so anything journaled against it is obsolete
+            journal.discardAll();
+        }
     }
 
     @Override
     public void store(final ModelNode model) throws ConfigurationPersistenceException {
-        configurationFile.backup();
-        store(model, configurationFile.getMainFile());
-        configurationFile.fileWritten();
+        final int generation;
+        final ModelNode copy;
+        synchronized (model) {
+            copy = model.clone();
+            generation = journal.roll();
+        }
+        write(copy, generation);
+    }
+
+    @Override
+    public ConfigurationPersister getOperationPersister(final ModelNode operation) {
+        return new ConfigurationPersister() {
+            @Override
+            public void store(final ModelNode model) throws ConfigurationPersistenceException {
+                journal.append(operation);
+                scheduleCompaction(model);
+            }
+
+            @Override
+            public void marshallAsXml(final ModelNode model, final OutputStream output) throws ConfigurationPersistenceException {
+                BackupXmlConfigurationPersister.this.marshallAsXml(model, output);
+            }
+
+            @Override
+            public List<ModelNode> load() throws ConfigurationPersistenceException {
+                return BackupXmlConfigurationPersister.this.load();
+            }
+
+            @Override
+            public void successfulBoot() throws ConfigurationPersistenceException {
+                BackupXmlConfigurationPersister.this.successfulBoot();
+            }
+
+            @Override
+            public String snapshot() throws ConfigurationPersistenceException {
+                return BackupXmlConfigurationPersister.this.snapshot();
+            }
+
+            @Override
+            public SnapshotInfo listSnapshots() {
+                return BackupXmlConfigurationPersister.this.listSnapshots();
+            }
+
+            @Override
+            public void deleteSnapshot(final String name) {
+                BackupXmlConfigurationPersister.this.deleteSnapshot(name);
+            }
+        };
     }
 
     @Override
     public String snapshot() throws ConfigurationPersistenceException {
+        flush();
         return configurationFile.snapshot();
     }
 
@@ -77,4 +167,65 @@ public class BackupXmlConfigurationPersister extends XmlConfigurationPersister {
     public void deleteSnapshot(final String name) {
         configurationFile.deleteSnapshot(name);
     }
+
+    /**
+     * Writes any journaled changes to the configuration file now rather than waiting for the background rewrite.
+     *
+     * @throws ConfigurationPersistenceException if the configuration file could not be written
+     */
+    public void flush() throws ConfigurationPersistenceException {
+        final ModelNode model = takePendingModel();
+        if (model != null) {
+            store(model);
+        }
+    }
+
+    private synchronized void scheduleCompaction(final ModelNode model) {
+        if (pendingModel == null) {
+            if (compactionExecutor == null) {
+                final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+                    @Override
+                    public Thread newThread(final Runnable r) {
+                        final Thread thread = new Thread(r, "Configuration persister for " + configurationFile.getMainFile().getName());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+                executor.setKeepAliveTime(COMPACTION_DELAY * 10, TimeUnit.MILLISECONDS);
+                executor.allowCoreThreadTimeOut(true);
+                compactionExecutor = executor;
+            }
+            compactionExecutor.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        flush();
+                    } catch (ConfigurationPersistenceException e) {
+                        log.errorf(e, "Failed to write journaled changes to %s; they will be replayed at the next boot", configurationFile.getMainFile());
+                    }
+                }
+            }, COMPACTION_DELAY, TimeUnit.MILLISECONDS);
+        }
+        pendingModel = model;
+    }
+
+    private synchronized ModelNode takePendingModel() {
+        final ModelNode model = pendingModel;
+        pendingModel = null;
+        return model;
+    }
+
+    private void write(final ModelNode model, final int generation) throws ConfigurationPersistenceException {
+        synchronized (fileLock) {
+            if (generation <= writtenGeneration) {
+                // A newer model has already been written
+                return;
+            }
+            configurationFile.backup();
+            store(model, configurationFile.getMainFile());
+            configurationFile.fileWritten();
+            writtenGeneration = generation;
+            journal.discard(generation);
+        }
+    }
 }
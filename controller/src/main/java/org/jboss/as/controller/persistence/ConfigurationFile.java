@@ -268,6 +268,10 @@ public class ConfigurationFile {
         return mainFile;
     }
 
+    File getJournalDirectory() {
+        return new File(historyRoot, "journal");
+    }
+
 
     public boolean isMainFile() {
         return mainFile.equals(getBootFile());
@@ -0,0 +1,196 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.jboss.as.controller.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.jboss.as.protocol.StreamUtils;
+import org.jboss.dmr.ModelNode;
+import org.jboss.logging.Logger;
+
+/**
+ * A write-ahead journal of the operations applied to a configuration since its file was last written.
+ * <p>
+ * Each operation is appended as a length-prefixed DMR record and synced to disk, so recording a change costs
+ * one small write rather than a rewrite of the whole configuration file. The journal is split into generations;
+ * {@link #roll()} closes the current generation so that, once a configuration file containing every change
+ * up to that generation has been written, those generations can be {@link #discard(int) discarded}.
+ * Anything still in the journal at boot was never written to the configuration file and is replayed after it.
+ * </p>
+ */
+final class ConfigurationJournal {
+
+    private static final Logger log = Logger.getLogger("org.jboss.as.controller");
+
+    private static final String JOURNAL_SUFFIX = ".journal";
+
+    private final File journalDir;
+    private final String prefix;
+    private int generation;
+    private FileOutputStream output;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param journalDir the directory holding the journal files
+     * @param fileName the name of the configuration file being journaled
+     */
+    ConfigurationJournal(final File journalDir, final String fileName) {
+        this.journalDir = journalDir;
+        this.prefix = fileName + ".";
+        final SortedMap<Integer, File> existing = getJournalFiles();
+        this.generation = existing.isEmpty() ? 1 : existing.lastKey().intValue() + 1;
+    }
+
+    /**
+     * Appends an operation to the current generation and syncs it to disk.
+     *
+     * @param operation the operation
+     * @throws ConfigurationPersistenceException if the operation could not be written
+     */
+    synchronized void append(final ModelNode operation) throws ConfigurationPersistenceException {
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            operation.writeExternal(bytes);
+            final int length = bytes.size();
+            final byte[] record = new byte[length + 4];
+            record[0] = (byte) (length >>> 24);
+            record[1] = (byte) (length >>> 16);
+            record[2] = (byte) (length >>> 8);
+            record[3] = (byte) length;
+            System.arraycopy(bytes.toByteArray(), 0, record, 4, length);
+
+            if (output == null) {
+                if (!journalDir.exists() && !journalDir.mkdirs()) {
+                    throw new IOException("Could not create " + journalDir.getAbsolutePath());
+                }
+                output = new FileOutputStream(getJournalFile(generation), true);
+            }
+            output.write(record);
+            output.getFD().sync();
+        } catch (IOException e) {
+            throw new ConfigurationPersistenceException("Failed to journal operation " + operation, e);
+        }
+    }
+
+    /**
+     * Closes the current generation. Operations appended afterwards go to a new generation.
+     *
+     * @return the generation that was closed
+     */
+    synchronized int roll() {
+        if (output != null) {
+            StreamUtils.safeClose(output);
+            output = null;
+        }
+        return generation++;
+    }
+
+    /**
+     * Deletes all generations up to and including {@code upTo}.
+     *
+     * @param upTo the last generation to delete
+     */
+    synchronized void discard(final int upTo) {
+        for (File file : getJournalFiles().headMap(Integer.valueOf(upTo + 1)).values()) {
+            if (!file.delete()) {
+                log.warnf("Could not delete configuration journal %s", file.getAbsolutePath());
+            }
+        }
+    }
+
+    /**
+     * Deletes the whole journal.
+     */
+    synchronized void discardAll() {
+        discard(roll());
+    }
+
+    /**
+     * Reads every journaled operation, oldest first. A record left incomplete by a crash ends the
+     * generation it belongs to.
+     *
+     * @return the operations. Will not be {@code null}
+     * @throws ConfigurationPersistenceException if a journal file could not be read
+     */
+    synchronized List<ModelNode> load() throws ConfigurationPersistenceException {
+        final List<ModelNode> operations = new ArrayList<ModelNode>();
+        for (File file : getJournalFiles().values()) {
+            try {
+                final DataInputStream input = new DataInputStream(new FileInputStream(file));
+                try {
+                    for (;;) {
+                        final byte[] record;
+                        try {
+                            record = new byte[input.readInt()];
+                            input.readFully(record);
+                        } catch (EOFException e) {
+                            break;
+                        }
+                        final ModelNode operation = new ModelNode();
+                        operation.readExternal(new ByteArrayInputStream(record));
+                        operations.add(operation);
+                    }
+                } finally {
+                    StreamUtils.safeClose(input);
+                }
+            } catch (IOException e) {
+                throw new ConfigurationPersistenceException("Failed to read configuration journal " + file.getAbsolutePath(), e);
+            }
+        }
+        return operations;
+    }
+
+    private SortedMap<Integer, File> getJournalFiles() {
+        final SortedMap<Integer, File> files = new TreeMap<Integer, File>();
+        if (journalDir.isDirectory()) {
+            final File[] journals = journalDir.listFiles(new FilenameFilter() {
+                @Override
+                public boolean accept(File dir, String name) {
+                    return name.startsWith(prefix) && name.endsWith(JOURNAL_SUFFIX);
+                }
+            });
+            for (File file : journals) {
+                final String name = file.getName();
+                try {
+                    files.put(Integer.valueOf(name.substring(prefix.length(), name.length() - JOURNAL_SUFFIX.length())), file);
+                } catch (NumberFormatException e) {
+                    // not one of ours
+                }
+            }
+        }
+        return files;
+    }
+
+    private File getJournalFile(final int generation) {
+        return new File(journalDir, prefix + generation + JOURNAL_SUFFIX);
+    }
+}
@@ -25,6 +25,7 @@ package org.jboss.as.controller.registry;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.ListIterator;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
@@ -35,6 +36,7 @@ import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.ProxyController;
 import org.jboss.as.controller.descriptions.DescriptionProvider;
 import org.jboss.as.controller.registry.OperationEntry.EntryType;
+import org.jboss.dmr.ModelNode;
 
 /**
  * A registry of model node information.  This registry is thread-safe.
@@ -132,6 +134,14 @@ abstract class AbstractNodeRegistration implements ModelNodeRegistration {
 
     abstract DescriptionProvider getModelDescription(Iterator<PathElement> iterator);
 
+    /** {@inheritDoc} */
+    @Override
+    public ModelNode getResourceDescription(final PathAddress address, final Locale locale) {
+        return getResourceDescription(address.iterator(), locale);
+    }
+
+    abstract ModelNode getResourceDescription(Iterator<PathElement> iterator, Locale locale);
+
     @Override
     public Set<String> getAttributeNames(final PathAddress address) {
         return getAttributeNames(address.iterator());
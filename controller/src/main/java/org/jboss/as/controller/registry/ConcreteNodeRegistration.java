@@ -22,12 +22,15 @@
 
 package org.jboss.as.controller.registry;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACCESS_TYPE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STORAGE;
 
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.ListIterator;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -52,9 +55,15 @@ final class ConcreteNodeRegistration extends AbstractNodeRegistration {
 
     private volatile Map<String, AttributeAccess> attributes;
 
+    private volatile Map<Object, CachedDescription> descriptions;
+
+    /** Key of the description built for the {@code null} locale */
+    private static final Object DEFAULT_LOCALE = new Object();
+
     private static final AtomicMapFieldUpdater<ConcreteNodeRegistration, String, NodeSubregistry> childrenUpdater = AtomicMapFieldUpdater.newMapUpdater(AtomicReferenceFieldUpdater.newUpdater(ConcreteNodeRegistration.class, Map.class, "children"));
     private static final AtomicMapFieldUpdater<ConcreteNodeRegistration, String, OperationEntry> operationsUpdater = AtomicMapFieldUpdater.newMapUpdater(AtomicReferenceFieldUpdater.newUpdater(ConcreteNodeRegistration.class, Map.class, "operations"));
     private static final AtomicMapFieldUpdater<ConcreteNodeRegistration, String, AttributeAccess> attributesUpdater = AtomicMapFieldUpdater.newMapUpdater(AtomicReferenceFieldUpdater.newUpdater(ConcreteNodeRegistration.class, Map.class, "attributes"));
+    private static final AtomicMapFieldUpdater<ConcreteNodeRegistration, Object, CachedDescription> descriptionsUpdater = AtomicMapFieldUpdater.newMapUpdater(AtomicReferenceFieldUpdater.newUpdater(ConcreteNodeRegistration.class, Map.class, "descriptions"));
     private static final AtomicReferenceFieldUpdater<ConcreteNodeRegistration, DescriptionProvider> descriptionProviderUpdater = AtomicReferenceFieldUpdater.newUpdater(ConcreteNodeRegistration.class, DescriptionProvider.class, "descriptionProvider");
 
     ConcreteNodeRegistration(final String valueString, final NodeSubregistry parent, final DescriptionProvider provider) {
@@ -62,6 +71,7 @@ final class ConcreteNodeRegistration extends AbstractNodeRegistration {
         childrenUpdater.clear(this);
         operationsUpdater.clear(this);
         attributesUpdater.clear(this);
+        descriptionsUpdater.clear(this);
         descriptionProviderUpdater.set(this, provider);
     }
 
@@ -234,6 +244,50 @@ final class ConcreteNodeRegistration extends AbstractNodeRegistration {
         }
     }
 
+    @Override
+    ModelNode getResourceDescription(final Iterator<PathElement> iterator, final Locale locale) {
+        if (iterator.hasNext()) {
+            final PathElement next = iterator.next();
+            final NodeSubregistry subregistry = children.get(next.getKey());
+            if (subregistry == null) {
+                return null;
+            }
+            return subregistry.getResourceDescription(iterator, next.getValue(), locale);
+        } else {
+            return getCachedDescription(locale).clone();
+        }
+    }
+
+    /**
+     * Get the description for the given locale, building it if there is none yet or if attributes were registered
+     * since it was built. The attribute map is replaced on every registration, so comparing the map the
+     * description was built from with the current one is enough to detect a stale description.
+     *
+     * @param locale the locale, may be {@code null}
+     * @return the shared description, which must not be modified
+     */
+    private ModelNode getCachedDescription(final Locale locale) {
+        final Map<String, AttributeAccess> snapshot = attributesUpdater.get(this);
+        final Object key = locale == null ? DEFAULT_LOCALE : locale;
+        final CachedDescription cached = descriptionsUpdater.get(this, key);
+        if (cached != null && cached.attributes == snapshot) {
+            return cached.description;
+        }
+        final ModelNode description = descriptionProvider.getModelDescription(locale);
+        if (description.hasDefined(ATTRIBUTES)) {
+            for (final String attr : description.require(ATTRIBUTES).keys()) {
+                // If there is metadata for an attribute but no AttributeAccess, assume RO. See getAttributeAccess()
+                final AttributeAccess access = snapshot.get(attr);
+                final AccessType accessType = access == null ? AccessType.READ_ONLY : access.getAccessType();
+                final Storage storage = access == null ? Storage.CONFIGURATION : access.getStorageType();
+                description.get(ATTRIBUTES, attr, ACCESS_TYPE).set(accessType.toString()); //TODO i18n
+                description.get(ATTRIBUTES, attr, STORAGE).set(storage.toString());
+            }
+        }
+        descriptionsUpdater.put(this, key, new CachedDescription(snapshot, description));
+        return description;
+    }
+
     @Override
     Set<String> getAttributeNames(final Iterator<PathElement> iterator) {
         if (iterator.hasNext()) {
@@ -269,7 +323,7 @@ final class ConcreteNodeRegistration extends AbstractNodeRegistration {
                 // an unexpected undefined value returned. But it removes the possibility of a
                 // dev forgetting to call registry.registerReadOnlyAttribute("foo", null) resulting
                 // in the valid attribute "foo" not being readable
-                final ModelNode desc = descriptionProvider.getModelDescription(null);
+                final ModelNode desc = getCachedDescription(null);
                 if (desc.has(ATTRIBUTES) && desc.get(ATTRIBUTES).keys().contains(attributeName)) {
                     access = new AttributeAccess(AccessType.READ_ONLY, Storage.CONFIGURATION, null, null);
                 }
@@ -403,5 +457,18 @@ final class ConcreteNodeRegistration extends AbstractNodeRegistration {
         }
     }
 
+    /**
+     * A description together with the attribute registrations it was built from.
+     */
+    private static final class CachedDescription {
+        private final Map<String, AttributeAccess> attributes;
+        private final ModelNode description;
+
+        CachedDescription(final Map<String, AttributeAccess> attributes, final ModelNode description) {
+            this.attributes = attributes;
+            this.description = description;
+        }
+    }
+
 }
 
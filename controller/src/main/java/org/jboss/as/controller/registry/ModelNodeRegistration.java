@@ -22,6 +22,7 @@
 
 package org.jboss.as.controller.registry;
 
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
@@ -30,6 +31,7 @@ import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.ProxyController;
 import org.jboss.as.controller.descriptions.DescriptionProvider;
+import org.jboss.dmr.ModelNode;
 
 /**
  * A registration for a model node which consists of a node description plus operation descriptions.
@@ -206,6 +208,18 @@ public interface ModelNodeRegistration {
      */
     DescriptionProvider getModelDescription(PathAddress address);
 
+    /**
+     * Get the description of the model node at the given address in the given locale, with the access type and
+     * storage of each attribute filled in. Operations and children are not included. The description is only
+     * built once per locale and is rebuilt when the attributes registered for the node change.
+     *
+     * @param address the address, relative to this node
+     * @param locale the locale, or {@code null} for the default locale
+     * @return a copy of the description which the caller may modify, or {@code null} if the node is unknown or
+     *         handled by a proxy
+     */
+    ModelNode getResourceDescription(PathAddress address, Locale locale);
+
     /**
      * Get a map of descriptions of all operations available at an address.
      *
@@ -26,6 +26,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.ListIterator;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -35,6 +36,7 @@ import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.ProxyController;
 import org.jboss.as.controller.descriptions.DescriptionProvider;
+import org.jboss.dmr.ModelNode;
 
 /**
  * A registry of values within a specific key type.
@@ -159,6 +161,18 @@ final class NodeSubregistry {
         return childRegistry.getModelDescription(iterator);
     }
 
+    ModelNode getResourceDescription(final Iterator<PathElement> iterator, final String child, final Locale locale) {
+        final Map<String, AbstractNodeRegistration> snapshot = childRegistries;
+        AbstractNodeRegistration childRegistry = snapshot.get(child);
+        if (childRegistry == null) {
+            childRegistry = snapshot.get("*");
+            if (childRegistry == null) {
+                return null;
+            }
+        }
+        return childRegistry.getResourceDescription(iterator, locale);
+    }
+
     Set<String> getChildNames(final Iterator<PathElement> iterator, final String child){
         final Map<String, AbstractNodeRegistration> snapshot = childRegistries;
         AbstractNodeRegistration childRegistry = snapshot.get(child);
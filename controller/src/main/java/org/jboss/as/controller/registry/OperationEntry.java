@@ -22,8 +22,13 @@
 
 package org.jboss.as.controller.registry;
 
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
 import org.jboss.as.controller.OperationHandler;
 import org.jboss.as.controller.descriptions.DescriptionProvider;
+import org.jboss.dmr.ModelNode;
 
 /**
  * Information about a registered {@code OperationHandler}.
@@ -40,12 +45,19 @@ public final class OperationEntry {
     private final DescriptionProvider descriptionProvider;
     private final EntryType type;
     private final boolean inherited;
+    private volatile Map<Object, ModelNode> descriptions;
+
+    /** Key of the description built for the {@code null} locale */
+    private static final Object DEFAULT_LOCALE = new Object();
+
+    private static final AtomicMapFieldUpdater<OperationEntry, Object, ModelNode> descriptionsUpdater = AtomicMapFieldUpdater.newMapUpdater(AtomicReferenceFieldUpdater.newUpdater(OperationEntry.class, Map.class, "descriptions"));
 
     protected OperationEntry(final OperationHandler operationHandler, final DescriptionProvider descriptionProvider, final boolean inherited, final EntryType type) {
         this.operationHandler = operationHandler;
         this.descriptionProvider = descriptionProvider;
         this.inherited = inherited;
         this.type = type;
+        descriptionsUpdater.clear(this);
     }
 
     OperationHandler getOperationHandler() {
@@ -56,6 +68,23 @@ public final class OperationEntry {
         return descriptionProvider;
     }
 
+    /**
+     * Get the description of the operation in the given locale. The description provider is only asked once
+     * per locale.
+     *
+     * @param locale the locale, or {@code null} for the default locale
+     * @return a copy of the description which the caller may modify
+     */
+    public ModelNode getDescription(final Locale locale) {
+        final Object key = locale == null ? DEFAULT_LOCALE : locale;
+        ModelNode description = descriptionsUpdater.get(this, key);
+        if (description == null) {
+            description = descriptionProvider.getModelDescription(locale);
+            descriptionsUpdater.put(this, key, description);
+        }
+        return description.clone();
+    }
+
     public boolean isInherited() {
         return inherited;
     }
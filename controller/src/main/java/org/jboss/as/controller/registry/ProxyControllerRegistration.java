@@ -25,6 +25,7 @@ package org.jboss.as.controller.registry;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.ListIterator;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
@@ -34,6 +35,7 @@ import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.ProxyController;
 import org.jboss.as.controller.descriptions.DescriptionProvider;
 import org.jboss.as.controller.registry.OperationEntry.EntryType;
+import org.jboss.dmr.ModelNode;
 
 /**
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
@@ -107,6 +109,11 @@ final class ProxyControllerRegistration extends AbstractNodeRegistration {
         return null;
     }
 
+    @Override
+    ModelNode getResourceDescription(final Iterator<PathElement> iterator, final Locale locale) {
+        return null;
+    }
+
     @Override
     Set<String> getAttributeNames(final Iterator<PathElement> iterator) {
         return Collections.emptySet();
@@ -287,6 +287,8 @@ public class ModelControllerOperationHandlerImpl extends AbstractMessageHandler
             }
 
             if (exceptionHolder.getException() != null) {
+                // The client is gone, stop operations which would otherwise keep sending results
+                result.getCancellable().cancel();
                 throw exceptionHolder.getException();
             }
 
@@ -9,10 +9,14 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAM
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.OutputStream;
@@ -22,9 +26,11 @@ import java.util.Locale;
 import org.jboss.as.controller.client.Operation;
 import org.jboss.as.controller.client.OperationBuilder;
 import org.jboss.as.controller.descriptions.DescriptionProvider;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
 import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
 import org.jboss.as.controller.persistence.ConfigurationPersister;
 import org.jboss.as.controller.persistence.ConfigurationPersister.SnapshotInfo;
+import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.dmr.ModelNode;
 import org.junit.Before;
 import org.junit.Test;
@@ -77,6 +83,73 @@ public class BaseModelControllerUnitTestCase {
         assertEquals(1, result.get("result").asInt());
     }
 
+    @Test
+    public void testReadsSeePublishedSnapshot() throws Exception {
+        long version = controller.getModelVersion();
+
+        ModelNode result = controller.execute(getReadAttributeOperation("attr1"));
+        assertEquals(SUCCESS, result.get(OUTCOME).asString());
+        assertEquals(1, result.get(RESULT).asInt());
+
+        result = controller.execute(getOperation("good", "attr1", 5));
+        assertEquals(SUCCESS, result.get(OUTCOME).asString());
+        assertTrue(controller.getModelVersion() > version);
+
+        result = controller.execute(getReadAttributeOperation("attr1"));
+        assertEquals(SUCCESS, result.get(OUTCOME).asString());
+        assertEquals(5, result.get(RESULT).asInt());
+    }
+
+    @Test
+    public void testModelVersionsOfControllerInstancesDiffer() throws Exception {
+        TestModelController other = new TestModelController();
+        assertEquals(other.getModelVersion(), controller.getModelVersion());
+        assertFalse(other.getInstanceId().equals(controller.getInstanceId()));
+    }
+
+    @Test
+    public void testFailedWriteDoesNotPublishSnapshot() throws Exception {
+        long version = controller.getModelVersion();
+
+        ModelNode result = controller.execute(getOperation("bad", "attr1", 5));
+        assertEquals(FAILED, result.get(OUTCOME).asString());
+        assertEquals(version, controller.getModelVersion());
+
+        result = controller.execute(getReadAttributeOperation("attr1"));
+        assertEquals(1, result.get(RESULT).asInt());
+    }
+
+    @Test
+    public void testSnapshotReadDoesNotModifyModel() throws Exception {
+        controller.getRegistry().registerReadOnlyAttribute("attr3", null, AttributeAccess.Storage.CONFIGURATION);
+
+        ModelNode result = controller.execute(getReadAttributeOperation("attr3"));
+        assertEquals(SUCCESS, result.get(OUTCOME).asString());
+        assertFalse(result.get(RESULT).isDefined());
+        assertFalse(controller.getModelSnapshot().has("attr3"));
+    }
+
+    @Test
+    public void testSnapshotIsCopiedByTheWriter() throws Exception {
+        ModelNode first = controller.getModelSnapshot();
+        long firstVersion = controller.getModelVersion();
+        assertSame(first, controller.getModelSnapshot());
+
+        assertEquals(SUCCESS, controller.execute(getOperation("good", "attr1", 5)).get(OUTCOME).asString());
+        ModelNode second = controller.getModelSnapshot();
+        long secondVersion = controller.getModelVersion();
+        assertEquals(SUCCESS, controller.execute(getOperation("good", "attr1", 6)).get(OUTCOME).asString());
+        ModelNode third = controller.getModelSnapshot();
+
+        // Each snapshot holds exactly the state of its version, however late it is read
+        assertEquals(1, first.get("attr1").asInt());
+        assertEquals(5, second.get("attr1").asInt());
+        assertEquals(6, third.get("attr1").asInt());
+        assertTrue(secondVersion > firstVersion);
+        assertTrue(controller.getModelVersion() > secondVersion);
+        assertNotSame(second, third);
+    }
+
     public static ModelNode createTestNode() {
         ModelNode model = new ModelNode();
 
@@ -102,6 +175,15 @@ public class BaseModelControllerUnitTestCase {
         return OperationBuilder.Factory.create(op).build();
     }
 
+    private static Operation getReadAttributeOperation(String attr) {
+        ModelNode op = new ModelNode();
+        op.get(OP).set(READ_ATTRIBUTE_OPERATION);
+        op.get(OP_ADDR).setEmptyList();
+        op.get(NAME).set(attr);
+
+        return OperationBuilder.Factory.create(op).build();
+    }
+
     public static class GoodHandler implements ModelUpdateOperationHandler {
         @Override
         public OperationResult execute(OperationContext context, ModelNode operation, ResultHandler resultHandler)
@@ -159,6 +241,7 @@ public class BaseModelControllerUnitTestCase {
             getRegistry().registerOperationHandler("good", new GoodHandler(), DESC_PROVIDER, false);
             getRegistry().registerOperationHandler("bad", new BadHandler(), DESC_PROVIDER, false);
             getRegistry().registerOperationHandler("evil", new EvilHandler(), DESC_PROVIDER, false);
+            getRegistry().registerOperationHandler(READ_ATTRIBUTE_OPERATION, GlobalOperationHandlers.READ_ATTRIBUTE, DESC_PROVIDER, true);
         }
     }
 
@@ -7,11 +7,15 @@ import static junit.framework.Assert.assertEquals;
 import static org.jboss.as.controller.BaseModelControllerUnitTestCase.DESC_PROVIDER;
 import static org.jboss.as.controller.BaseModelControllerUnitTestCase.createTestNode;
 import static org.jboss.as.controller.BaseModelControllerUnitTestCase.getOperation;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.BATCH;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.EXECUTION_TIME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.OutputStream;
@@ -129,6 +133,39 @@ public class BaseCompositeOperationHandlerUnitTestCase {
         assertEquals(2, controller.execute(getOperation("good", "attr2", 3)).get("result").asInt());
     }
 
+    @Test
+    public void testNestedCompositePersistsOnce() throws Exception {
+        ModelNode step1 = getOperation("good", "attr1", 2).getOperation();
+        ModelNode step2 = getOperation("good", "attr2", 1).getOperation();
+        Operation comp1 = getCompositeOperation(null, step1, step2);
+        ModelNode step3 = getOperation("good", "attr1", 20).getOperation();
+        Operation comp2 = getCompositeOperation(null, step3);
+        Operation op = getCompositeOperation(null, comp1.getOperation(), comp2.getOperation());
+        ModelNode result = controller.execute(op);
+        assertEquals("success", result.get("outcome").asString());
+        assertEquals(1, controller.persister.stores);
+
+        assertEquals(20, controller.execute(getOperation("good", "attr1", 3)).get("result").asInt());
+        assertEquals(1, controller.execute(getOperation("good", "attr2", 3)).get("result").asInt());
+    }
+
+    @Test
+    public void testBatchExecutionTimes() throws Exception {
+        ModelNode step1 = getOperation("good", "attr1", 2).getOperation();
+        ModelNode step2 = getOperation("good", "attr2", 1).getOperation();
+        Operation op = getCompositeOperation(null, step1, step2);
+        ModelNode result = controller.execute(op);
+        assertEquals("success", result.get("outcome").asString());
+        assertFalse(result.get("result", "step-1").has(EXECUTION_TIME));
+
+        op.getOperation().get(OPERATION_HEADERS, BATCH).set(true);
+        result = controller.execute(op);
+        assertEquals("success", result.get("outcome").asString());
+        assertTrue(result.get("result", "step-1").hasDefined(EXECUTION_TIME));
+        assertTrue(result.get("result", "step-2").hasDefined(EXECUTION_TIME));
+        assertTrue(result.get("result", "step-2", EXECUTION_TIME).asDouble() >= 0);
+    }
+
     public static Operation getCompositeOperation(Boolean rollback, ModelNode... steps) {
 
         ModelNode op = new ModelNode();
@@ -144,8 +181,15 @@ public class BaseCompositeOperationHandlerUnitTestCase {
     }
 
     private static class TestModelController extends BasicModelController {
+        private final NullConfigurationPersister persister;
+
         protected TestModelController() {
-            super(createTestNode(), new NullConfigurationPersister(), DESC_PROVIDER);
+            this(new NullConfigurationPersister());
+        }
+
+        private TestModelController(final NullConfigurationPersister persister) {
+            super(createTestNode(), persister, DESC_PROVIDER);
+            this.persister = persister;
 
             getRegistry().registerOperationHandler("good", new GoodHandler(), DESC_PROVIDER, false);
             getRegistry().registerOperationHandler("bad", new BadHandler(), DESC_PROVIDER, false);
@@ -156,8 +200,11 @@ public class BaseCompositeOperationHandlerUnitTestCase {
 
     private static class NullConfigurationPersister implements ConfigurationPersister{
 
+        private int stores;
+
         @Override
         public void store(ModelNode model) throws ConfigurationPersistenceException {
+            stores++;
         }
 
         @Override
@@ -0,0 +1,144 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.operations.common;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.client.Operation;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Tests of the sharing and delta computation done by {@link MetricSampler}.
+ */
+public class MetricSamplerUnitTestCase {
+
+    /** Long enough for the scheduled sampling to only happen when a group is created */
+    private static final long INTERVAL = TimeUnit.HOURS.toMillis(1);
+
+    private final Map<String, Integer> values = new ConcurrentHashMap<String, Integer>();
+    private final Map<String, AtomicInteger> reads = new ConcurrentHashMap<String, AtomicInteger>();
+
+    @Test
+    public void testMetricsSampledOncePerInterval() throws Exception {
+        values.put("a", Integer.valueOf(1));
+        values.put("b", Integer.valueOf(2));
+        final MetricSampler sampler = new MetricSampler(new MetricController());
+
+        final CollectingListener first = new CollectingListener();
+        final MetricSampler.Subscription firstSubscription = sampler.subscribe(Arrays.asList(metric("a"), metric("b")), INTERVAL, first);
+        ModelNode batch = first.batches.poll(10, TimeUnit.SECONDS);
+        assertNotNull(batch);
+        assertEquals(2, batch.asInt());
+        assertEquals(1, batch.get(0).get(VALUE).asInt());
+        assertEquals(2, batch.get(1).get(VALUE).asInt());
+
+        final CollectingListener second = new CollectingListener();
+        final MetricSampler.Subscription secondSubscription = sampler.subscribe(Collections.singletonList(metric("b")), INTERVAL, second);
+
+        values.put("a", Integer.valueOf(5));
+        sampler.sample(INTERVAL);
+        assertEquals(2, reads.get("a").get());
+        assertEquals(2, reads.get("b").get());
+
+        // Only the changed metric for the first subscriber, everything for the new one
+        batch = first.batches.poll();
+        assertEquals(1, batch.asInt());
+        assertEquals("a", batch.get(0).get(NAME).asString());
+        assertEquals(5, batch.get(0).get(VALUE).asInt());
+        batch = second.batches.poll();
+        assertEquals(1, batch.asInt());
+        assertEquals(2, batch.get(0).get(VALUE).asInt());
+
+        // Nothing changed, empty batches
+        sampler.sample(INTERVAL);
+        assertEquals(0, first.batches.poll().asInt());
+        assertEquals(0, second.batches.poll().asInt());
+
+        sampler.unsubscribe(firstSubscription);
+        sampler.unsubscribe(secondSubscription);
+        sampler.sample(INTERVAL);
+        assertEquals(3, reads.get("a").get());
+        assertEquals(3, reads.get("b").get());
+        assertNull(first.batches.poll());
+    }
+
+    private static ModelNode metric(final String name) {
+        final ModelNode metric = new ModelNode();
+        metric.get(OP_ADDR).add("subsystem", "test");
+        metric.get(NAME).set(name);
+        return metric;
+    }
+
+    private static class CollectingListener implements MetricSampler.Listener {
+        final BlockingQueue<ModelNode> batches = new LinkedBlockingQueue<ModelNode>();
+
+        @Override
+        public void handleBatch(final MetricSampler.Subscription subscription, final ModelNode batch) {
+            batches.add(batch);
+        }
+    }
+
+    private class MetricController implements ModelController {
+
+        @Override
+        public OperationResult execute(final Operation operation, final ResultHandler handler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ModelNode execute(final Operation operation) {
+            final String name = operation.getOperation().get(NAME).asString();
+            AtomicInteger count = reads.get(name);
+            if (count == null) {
+                count = new AtomicInteger();
+                reads.put(name, count);
+            }
+            count.incrementAndGet();
+            final ModelNode response = new ModelNode();
+            response.get(OUTCOME).set(SUCCESS);
+            response.get(RESULT).set(values.get(name).intValue());
+            return response;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * This copyrighted material is made available to anyone wishing to use,
+ * modify, copy, or redistribute it subject to the terms and conditions
+ * of the GNU Lesser General Public License, v. 2.1.
+ * This program is distributed in the hope that it will be useful, but WITHOUT A
+ * WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU Lesser General Public License for more details.
+ * You should have received a copy of the GNU Lesser General Public License,
+ * v.2.1 along with this distribution; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA  02110-1301, USA.
+ */
+package org.jboss.as.controller.persistence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.List;
+
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests of {@link ConfigurationJournal}
+ */
+public class ConfigurationJournalUnitTestCase {
+
+    private File journalDir;
+
+    @Before
+    public void createJournalDir() throws Exception {
+        journalDir = File.createTempFile("journal", "test");
+        journalDir.delete();
+    }
+
+    @After
+    public void deleteJournalDir() {
+        if (journalDir.exists()) {
+            for (File file : journalDir.listFiles()) {
+                file.delete();
+            }
+            journalDir.delete();
+        }
+    }
+
+    @Test
+    public void testAppendAndLoad() throws Exception {
+        ConfigurationJournal journal = new ConfigurationJournal(journalDir, "standalone.xml");
+        journal.append(createOperation("a"));
+        journal.roll();
+        journal.append(createOperation("b"));
+
+        List<ModelNode> operations = new ConfigurationJournal(journalDir, "standalone.xml").load();
+        assertEquals(2, operations.size());
+        assertEquals("a", operations.get(0).get("name").asString());
+        assertEquals("b", operations.get(1).get("name").asString());
+    }
+
+    @Test
+    public void testDiscardKeepsLaterGenerations() throws Exception {
+        ConfigurationJournal journal = new ConfigurationJournal(journalDir, "standalone.xml");
+        journal.append(createOperation("a"));
+        int generation = journal.roll();
+        journal.append(createOperation("b"));
+        journal.discard(generation);
+
+        List<ModelNode> operations = journal.load();
+        assertEquals(1, operations.size());
+        assertEquals("b", operations.get(0).get("name").asString());
+
+        journal.discardAll();
+        assertTrue(journal.load().isEmpty());
+    }
+
+    @Test
+    public void testIncompleteRecordIgnored() throws Exception {
+        ConfigurationJournal journal = new ConfigurationJournal(journalDir, "standalone.xml");
+        journal.append(createOperation("a"));
+        int generation = journal.roll();
+
+        // Simulate a crash part way through appending a record
+        FileOutputStream out = new FileOutputStream(new File(journalDir, "standalone.xml." + generation + ".journal"), true);
+        try {
+            out.write(new byte[] {0, 0, 1, 0, 42});
+        } finally {
+            out.close();
+        }
+
+        List<ModelNode> operations = new ConfigurationJournal(journalDir, "standalone.xml").load();
+        assertEquals(1, operations.size());
+        assertEquals("a", operations.get(0).get("name").asString());
+    }
+
+    @Test
+    public void testOtherFilesIgnored() throws Exception {
+        new ConfigurationJournal(journalDir, "standalone.xml").append(createOperation("a"));
+        new ConfigurationJournal(journalDir, "domain.xml").append(createOperation("b"));
+
+        List<ModelNode> operations = new ConfigurationJournal(journalDir, "domain.xml").load();
+        assertEquals(1, operations.size());
+        assertEquals("b", operations.get(0).get("name").asString());
+    }
+
+    private static ModelNode createOperation(String name) {
+        ModelNode op = new ModelNode();
+        op.get("operation").set("add");
+        op.get("address").setEmptyList();
+        op.get("name").set(name);
+        return op;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.registry;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACCESS_TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STORAGE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.util.Locale;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.descriptions.DescriptionProvider;
+import org.jboss.as.controller.registry.AttributeAccess.AccessType;
+import org.jboss.as.controller.registry.AttributeAccess.Storage;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+
+/**
+ * Tests of the per-locale description caching done by the model node registry.
+ */
+public class ResourceDescriptionCacheUnitTestCase {
+
+    private static final PathAddress CHILD = PathAddress.pathAddress(PathElement.pathElement("child", "one"));
+
+    @Test
+    public void testDescriptionBuiltOncePerLocale() {
+        final CountingDescriptionProvider provider = new CountingDescriptionProvider();
+        final ModelNodeRegistration root = ModelNodeRegistration.Factory.create(provider);
+
+        root.getResourceDescription(PathAddress.EMPTY_ADDRESS, null);
+        root.getResourceDescription(PathAddress.EMPTY_ADDRESS, null);
+        assertEquals(1, provider.count);
+
+        root.getResourceDescription(PathAddress.EMPTY_ADDRESS, Locale.GERMAN);
+        root.getResourceDescription(PathAddress.EMPTY_ADDRESS, Locale.GERMAN);
+        assertEquals(2, provider.count);
+    }
+
+    @Test
+    public void testAttributeRegistrationRebuildsDescription() {
+        final CountingDescriptionProvider provider = new CountingDescriptionProvider();
+        final ModelNodeRegistration root = ModelNodeRegistration.Factory.create(provider);
+
+        ModelNode description = root.getResourceDescription(PathAddress.EMPTY_ADDRESS, null);
+        assertEquals(AccessType.READ_ONLY.toString(), description.get(ATTRIBUTES, "attr", ACCESS_TYPE).asString());
+        assertEquals(Storage.CONFIGURATION.toString(), description.get(ATTRIBUTES, "attr", STORAGE).asString());
+
+        root.registerMetric("attr", null);
+        description = root.getResourceDescription(PathAddress.EMPTY_ADDRESS, null);
+        assertEquals(2, provider.count);
+        assertEquals(AccessType.METRIC.toString(), description.get(ATTRIBUTES, "attr", ACCESS_TYPE).asString());
+        assertEquals(Storage.RUNTIME.toString(), description.get(ATTRIBUTES, "attr", STORAGE).asString());
+    }
+
+    @Test
+    public void testDescriptionIsCopied() {
+        final ModelNodeRegistration root = ModelNodeRegistration.Factory.create(new CountingDescriptionProvider());
+
+        root.getResourceDescription(PathAddress.EMPTY_ADDRESS, null).get(DESCRIPTION).set("changed");
+        assertEquals("test", root.getResourceDescription(PathAddress.EMPTY_ADDRESS, null).get(DESCRIPTION).asString());
+    }
+
+    @Test
+    public void testWildcardChild() {
+        final ModelNodeRegistration root = ModelNodeRegistration.Factory.create(new CountingDescriptionProvider());
+        final CountingDescriptionProvider childProvider = new CountingDescriptionProvider();
+        root.registerSubModel(PathElement.pathElement("child"), childProvider);
+
+        root.getResourceDescription(CHILD, null);
+        root.getResourceDescription(PathAddress.pathAddress(PathElement.pathElement("child", "two")), null);
+        assertEquals(1, childProvider.count);
+        assertNull(root.getResourceDescription(PathAddress.pathAddress(PathElement.pathElement("other", "one")), null));
+    }
+
+    @Test
+    public void testOperationDescriptionBuiltOncePerLocale() {
+        final ModelNodeRegistration root = ModelNodeRegistration.Factory.create(new CountingDescriptionProvider());
+        final CountingDescriptionProvider operationProvider = new CountingDescriptionProvider();
+        root.registerOperationHandler("test-op", null, operationProvider);
+
+        final OperationEntry entry = root.getOperationDescriptions(PathAddress.EMPTY_ADDRESS, false).get("test-op");
+        entry.getDescription(null).get(DESCRIPTION).set("changed");
+        assertEquals("test", entry.getDescription(null).get(DESCRIPTION).asString());
+        assertEquals(1, operationProvider.count);
+        assertFalse(entry.getDescription(Locale.GERMAN).get(DESCRIPTION).asString().equals("changed"));
+        assertEquals(2, operationProvider.count);
+    }
+
+    private static class CountingDescriptionProvider implements DescriptionProvider {
+        int count;
+
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            count++;
+            final ModelNode description = new ModelNode();
+            description.get(DESCRIPTION).set("test");
+            description.get(ATTRIBUTES, "attr", DESCRIPTION).set("an attribute");
+            return description;
+        }
+    }
+}
@@ -25,8 +25,10 @@ package org.jboss.as.server.deployment.api;
 import org.jboss.msc.service.ServiceName;
 import org.jboss.vfs.VirtualFile;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collection;
 
 /**
  * Repository for deployment content.
@@ -67,10 +69,29 @@ public interface ContentRepository {
      */
     boolean hasContent(byte[] hash);
 
+    /**
+     * Get the directory in which data derived from the content with the given hash, such as annotation
+     * indexes, can be kept so that it does not have to be recomputed. The directory is removed along with
+     * the content.
+     *
+     * @param hash the hash. Cannot be {@code null}
+     *
+     * @return the directory, which may not exist yet, or {@code null} if the repository does not keep derived data
+     */
+    File getContentCacheDir(byte[] hash);
+
     /**
      * Remove the given content from the repository.
      *
      * @param hash the hash. Cannot be {@code null}
      */
     void removeContent(byte[] hash);
+
+    /**
+     * Remove all content, and data derived from it, which is not in the given set of referenced content. Content
+     * which was added very recently is kept, as an operation referencing it may still be in progress.
+     *
+     * @param referencedHashes the hashes of all content which is still in use. Cannot be {@code null}
+     */
+    void cleanObsoleteContent(Collection<byte[]> referencedHashes);
 }
@@ -32,17 +32,21 @@ import org.jboss.msc.service.StopContext;
 import org.jboss.vfs.VFS;
 import org.jboss.vfs.VirtualFile;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.security.DigestOutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Default implementation of {@link org.jboss.as.server.deployment.api.ContentRepository}.
@@ -52,8 +56,13 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
     private static final Logger log = Logger.getLogger("org.jboss.as.server.deployment");
 
     protected static final String CONTENT = "content";
+    protected static final String CACHE = "cache";
+    private static final String TMP_SUFFIX = "tmp";
+    /** Content and temp files younger than this are left alone by {@link #cleanObsoleteContent(Collection)}. */
+    private static final long OBSOLETE_CONTENT_GRACE_PERIOD = 10 * 60 * 1000L;
+    /** The largest number of bytes handed to a single {@link FileChannel#transferFrom} call. */
+    private static final long TRANSFER_CHUNK = 1024 * 1024L;
     private final File repoRoot;
-    protected final MessageDigest messageDigest;
 
     // TODO: return void
     public static ContentRepositoryImpl addService(final ServiceTarget serviceTarget, final File repoRoot) {
@@ -77,9 +86,19 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
             throw new IllegalStateException("Failed to create a directory at " + repoRoot.getAbsolutePath());
         }
         this.repoRoot = repoRoot;
+        // Fail early rather than on the first upload
+        createMessageDigest();
+    }
 
+    /**
+     * Create the digest for a single upload. Each upload has its own so that concurrent uploads do not serialize
+     * on a shared one.
+     *
+     * @return a new SHA-1 digest
+     */
+    protected MessageDigest createMessageDigest() {
         try {
-            this.messageDigest = MessageDigest.getInstance("SHA-1");
+            return MessageDigest.getInstance("SHA-1");
         } catch (NoSuchAlgorithmException e) {
             throw new IllegalStateException("Cannot obtain SHA-1 " + MessageDigest.class.getSimpleName(), e);
         }
@@ -87,38 +106,41 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
 
     @Override
     public byte[] addContent(InputStream stream) throws IOException {
-        byte[] sha1Bytes = null;
-        File tmp = File.createTempFile(CONTENT, "tmp", repoRoot);
-        FileOutputStream fos = new FileOutputStream(tmp);
-        synchronized (messageDigest) {
-            messageDigest.reset();
+        final MessageDigest messageDigest = createMessageDigest();
+        final File tmp = File.createTempFile(CONTENT, TMP_SUFFIX, repoRoot);
+        boolean moved = false;
+        try {
+            final ReadableByteChannel source = Channels.newChannel(new DigestInputStream(stream, messageDigest));
+            final FileOutputStream fos = new FileOutputStream(tmp);
             try {
-                DigestOutputStream dos = new DigestOutputStream(fos, messageDigest);
-                BufferedInputStream bis = new BufferedInputStream(stream);
-                byte[] bytes = new byte[8192];
-                int read;
-                while ((read = bis.read(bytes)) > -1) {
-                    dos.write(bytes, 0, read);
-                }
-            }
-            finally {
+                transfer(source, fos.getChannel());
+            } finally {
                 safeClose(fos);
             }
-            sha1Bytes = messageDigest.digest();
-        }
-        final File realFile = getDeploymentContentFile(sha1Bytes, true);
-        if(hasContent(sha1Bytes)) {
-            // we've already got this content
-            if (!tmp.delete()) {
+            final byte[] sha1Bytes = messageDigest.digest();
+            final File realFile = getDeploymentContentFile(sha1Bytes, true);
+            if (hasContent(sha1Bytes)) {
+                // we've already got this content
+                log.debugf("Content was already present in repository at location %s", realFile.getAbsolutePath());
+            } else {
+                moved = moveTempToPermanent(tmp, realFile);
+                log.infof("Content added at location %s", realFile.getAbsolutePath());
+            }
+            return sha1Bytes;
+        } finally {
+            if (!moved && !tmp.delete()) {
                 tmp.deleteOnExit();
             }
-            log.debugf("Content was already present in repository at location %s", realFile.getAbsolutePath());
-        } else {
-            moveTempToPermanent(tmp, realFile);
-            log.infof("Content added at location %s",realFile.getAbsolutePath());
         }
+    }
 
-        return sha1Bytes;
+    private static void transfer(final ReadableByteChannel source, final FileChannel target) throws IOException {
+        long position = 0;
+        long transferred;
+        // a blocking source only transfers nothing once it is exhausted
+        while ((transferred = target.transferFrom(source, position, TRANSFER_CHUNK)) > 0) {
+            position += transferred;
+        }
     }
 
     @Override
@@ -133,6 +155,13 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
         return getDeploymentContentFile(hash).exists();
     }
 
+    @Override
+    public File getContentCacheDir(byte[] hash) {
+        if (hash == null)
+            throw new IllegalArgumentException("hash is null");
+        return new File(getDeploymentHashDir(hash, false), CACHE);
+    }
+
     protected File getRepoRoot() {
         return repoRoot;
     }
@@ -173,38 +202,92 @@ public class ContentRepositoryImpl implements ContentRepository, Service<Content
         }
     }
 
-    private void moveTempToPermanent(File tmpFile, File permanentFile) throws IOException {
-
-        if (!tmpFile.renameTo(permanentFile)) {
-            FileOutputStream fos = null;
-            BufferedOutputStream bos = null;
-            FileInputStream fis = null;
+    /**
+     * Move the temp file into place, copying it if it cannot be renamed.
+     *
+     * @return {@code true} if the temp file was renamed, {@code false} if it is left for the caller to remove
+     */
+    private boolean moveTempToPermanent(File tmpFile, File permanentFile) throws IOException {
+        if (tmpFile.renameTo(permanentFile)) {
+            return true;
+        }
+        if (permanentFile.exists()) {
+            // a concurrent upload of the same content got there first
+            return false;
+        }
+        final FileInputStream fis = new FileInputStream(tmpFile);
+        try {
+            final FileOutputStream fos = new FileOutputStream(permanentFile);
             try {
-                fos = new FileOutputStream(permanentFile);
-                bos = new BufferedOutputStream(fos);
-                fis = new FileInputStream(tmpFile);
-                BufferedInputStream bis = new BufferedInputStream(fis);
-                byte[] bytes = new byte[8192];
-                int read;
-                while ((read = bis.read(bytes)) > -1) {
-                    bos.write(bytes, 0, read);
+                final FileChannel source = fis.getChannel();
+                final FileChannel target = fos.getChannel();
+                final long size = source.size();
+                long position = 0;
+                while (position < size) {
+                    position += source.transferTo(position, size - position, target);
                 }
             } finally {
-                safeClose(bos);
                 safeClose(fos);
-                safeClose(fis);
-                if (!tmpFile.delete()) {
-                    tmpFile.deleteOnExit();
-                }
             }
+        } finally {
+            safeClose(fis);
         }
+        return false;
     }
 
     @Override
     public void removeContent(byte[] hash) {
-        File file = getDeploymentContentFile(hash, true);
-        if(!file.delete())
+        deleteRecursively(getDeploymentHashDir(hash, false));
+    }
+
+    @Override
+    public void cleanObsoleteContent(Collection<byte[]> referencedHashes) {
+        final Set<String> referenced = new HashSet<String>();
+        for (byte[] hash : referencedHashes) {
+            referenced.add(HashUtil.bytesToHexString(hash));
+        }
+        final long cutoff = System.currentTimeMillis() - OBSOLETE_CONTENT_GRACE_PERIOD;
+        final File[] children = repoRoot.listFiles();
+        if (children == null) {
+            return;
+        }
+        for (File child : children) {
+            final String name = child.getName();
+            if (child.isFile()) {
+                // left behind by an upload that never completed
+                if (name.startsWith(CONTENT) && name.endsWith(TMP_SUFFIX) && child.lastModified() < cutoff) {
+                    deleteRecursively(child);
+                }
+            } else if (name.length() == 2) {
+                final File[] hashDirs = child.listFiles();
+                if (hashDirs == null) {
+                    continue;
+                }
+                for (File hashDir : hashDirs) {
+                    final String sha1 = name + hashDir.getName();
+                    if (sha1.length() == 40 && !referenced.contains(sha1) && new File(hashDir, CONTENT).lastModified() < cutoff) {
+                        log.infof("Removing obsolete content at location %s", hashDir.getAbsolutePath());
+                        deleteRecursively(hashDir);
+                    }
+                }
+                final String[] remaining = child.list();
+                if (remaining != null && remaining.length == 0) {
+                    child.delete();
+                }
+            }
+        }
+    }
+
+    private static void deleteRecursively(final File file) {
+        final File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        if (file.exists() && !file.delete()) {
             file.deleteOnExit();
+        }
     }
 
     protected static void safeClose(final Closeable closeable) {
@@ -0,0 +1,93 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.server.deployment.scanner.CommonAttributes.LAST_SCAN_DURATION;
+import static org.jboss.as.server.deployment.scanner.CommonAttributes.SCAN_COUNT;
+import static org.jboss.as.server.deployment.scanner.CommonAttributes.TOTAL_SCAN_DURATION;
+
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelQueryOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.RuntimeTask;
+import org.jboss.as.controller.RuntimeTaskContext;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads the scan statistics of a deployment scanner.
+ */
+class DeploymentScannerMetrics implements ModelQueryOperationHandler {
+
+    static final DeploymentScannerMetrics INSTANCE = new DeploymentScannerMetrics();
+
+    static final String[] ATTRIBUTES = new String[] {SCAN_COUNT, LAST_SCAN_DURATION, TOTAL_SCAN_DURATION};
+
+    private static final String FALLBACK_MESSAGE = "no metrics available";
+
+    private DeploymentScannerMetrics() {
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
+        if (context.getRuntimeContext() != null) {
+            context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
+                public void execute(RuntimeTaskContext context) throws OperationFailedException {
+                    final PathAddress address = PathAddress.pathAddress(operation.require(OP_ADDR));
+                    final String name = address.getLastElement().getValue();
+                    final String attributeName = operation.require(NAME).asString();
+                    final ServiceController<?> controller = context.getServiceRegistry()
+                            .getService(DeploymentScannerService.getServiceName(name));
+                    // getValue() throws while the scanner service is not up
+                    final Object scanner = controller != null && controller.getState() == ServiceController.State.UP ? controller.getValue() : null;
+                    final ModelNode result = new ModelNode();
+                    if (!(scanner instanceof FileSystemDeploymentService)) {
+                        result.set(FALLBACK_MESSAGE);
+                    } else {
+                        final FileSystemDeploymentService service = (FileSystemDeploymentService) scanner;
+                        if (SCAN_COUNT.equals(attributeName)) {
+                            result.set(service.getScanCount());
+                        } else if (LAST_SCAN_DURATION.equals(attributeName)) {
+                            result.set(service.getLastScanDuration());
+                        } else if (TOTAL_SCAN_DURATION.equals(attributeName)) {
+                            result.set(service.getTotalScanDuration());
+                        }
+                    }
+                    resultHandler.handleResultFragment(ResultHandler.EMPTY_LOCATION, result);
+                    resultHandler.handleResultComplete();
+                }
+            });
+        } else {
+            resultHandler.handleResultFragment(ResultHandler.EMPTY_LOCATION, new ModelNode().set(FALLBACK_MESSAGE));
+            resultHandler.handleResultComplete();
+        }
+        return new BasicOperationResult();
+    }
+}
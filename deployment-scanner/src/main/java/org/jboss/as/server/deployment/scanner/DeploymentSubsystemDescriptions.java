@@ -136,6 +136,12 @@ public class DeploymentSubsystemDescriptions {
         root.get(ATTRIBUTES, DEPLOYMENT_TIMEOUT, DESCRIPTION).set(bundle.getString("scanner.deployment.timeout"));
         root.get(ATTRIBUTES, DEPLOYMENT_TIMEOUT, REQUIRED).set(false);
         root.get(ATTRIBUTES, DEPLOYMENT_TIMEOUT, DEFAULT).set(60L);
+        root.get(ATTRIBUTES, SCAN_COUNT, TYPE).set(ModelType.LONG);
+        root.get(ATTRIBUTES, SCAN_COUNT, DESCRIPTION).set(bundle.getString("scanner.scan.count"));
+        root.get(ATTRIBUTES, LAST_SCAN_DURATION, TYPE).set(ModelType.LONG);
+        root.get(ATTRIBUTES, LAST_SCAN_DURATION, DESCRIPTION).set(bundle.getString("scanner.last.scan.duration"));
+        root.get(ATTRIBUTES, TOTAL_SCAN_DURATION, TYPE).set(ModelType.LONG);
+        root.get(ATTRIBUTES, TOTAL_SCAN_DURATION, DESCRIPTION).set(bundle.getString("scanner.total.scan.duration"));
 
         root.get(OPERATIONS);
 
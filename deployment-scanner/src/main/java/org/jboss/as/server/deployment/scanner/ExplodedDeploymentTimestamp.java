@@ -0,0 +1,123 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks the most recent modification time of the content of an exploded deployment across scans.
+ * <p>
+ * The directory tree seen by the previous scan is kept, and a directory is only listed again when its own timestamp
+ * changed, i.e. when entries were added, removed or renamed in it.  For an unchanged tree a scan therefore costs one
+ * timestamp check per file and directory, instead of a listing per directory plus a type check and a timestamp check
+ * per file.
+ */
+class ExplodedDeploymentTimestamp {
+
+    /**
+     * A directory changed this recently is listed again on the next scan, as further changes within the timestamp
+     * granularity of the file system would not show up as a new directory timestamp.
+     */
+    private static final long TIMESTAMP_GRANULARITY = 2000;
+
+    private static final File[] NO_FILES = new File[0];
+    private static final Directory[] NO_DIRECTORIES = new Directory[0];
+
+    private final Directory root;
+
+    ExplodedDeploymentTimestamp(final File root) {
+        this.root = new Directory(root);
+    }
+
+    /**
+     * Get the most recent modification time of the deployment root or anything below it.
+     *
+     * @return the timestamp
+     */
+    long getTimestamp() {
+        return root.getTimestamp(System.currentTimeMillis());
+    }
+
+    private static final class Directory {
+        private final File directory;
+        private long lastModified = -1;
+        private File[] files = NO_FILES;
+        private Directory[] directories = NO_DIRECTORIES;
+
+        Directory(final File directory) {
+            this.directory = directory;
+        }
+
+        long getTimestamp(final long now) {
+            final long modified = directory.lastModified();
+            if (modified != lastModified) {
+                list();
+                lastModified = (now - modified < TIMESTAMP_GRANULARITY) ? -1 : modified;
+            }
+            long latest = modified;
+            for (File file : files) {
+                final long fileModified = file.lastModified();
+                if (fileModified > latest) {
+                    latest = fileModified;
+                }
+            }
+            for (Directory child : directories) {
+                final long childModified = child.getTimestamp(now);
+                if (childModified > latest) {
+                    latest = childModified;
+                }
+            }
+            return latest;
+        }
+
+        private void list() {
+            final File[] children = directory.listFiles();
+            if (children == null) {
+                files = NO_FILES;
+                directories = NO_DIRECTORIES;
+                return;
+            }
+            // Keep what is known about subdirectories that are still there
+            final Map<String, Directory> previous = new HashMap<String, Directory>();
+            for (Directory child : directories) {
+                previous.put(child.directory.getName(), child);
+            }
+            final List<File> newFiles = new ArrayList<File>(children.length);
+            final List<Directory> newDirectories = new ArrayList<Directory>();
+            for (File child : children) {
+                if (child.isDirectory()) {
+                    final Directory known = previous.get(child.getName());
+                    newDirectories.add(known != null ? known : new Directory(child));
+                } else {
+                    newFiles.add(child);
+                }
+            }
+            files = newFiles.toArray(new File[newFiles.size()]);
+            directories = newDirectories.toArray(new Directory[newDirectories.size()]);
+        }
+    }
+}
@@ -118,6 +118,11 @@ class FileSystemDeploymentService implements DeploymentScanner {
     private final HashSet<String> noticeLogged = new HashSet<String>();
     private final HashSet<File> nonscannableLogged = new HashSet<File>();
     private final Map<File, IncompleteDeploymentStatus> incompleteDeployments = new HashMap<File, IncompleteDeploymentStatus>();
+    private final Map<File, ExplodedDeploymentTimestamp> explodedTimestamps = new HashMap<File, ExplodedDeploymentTimestamp>();
+
+    private volatile long scanCount;
+    private volatile long lastScanDuration;
+    private volatile long totalScanDuration;
 
     private final ScheduledExecutorService scheduledExecutor;
     private final ServerController serverController;
@@ -265,6 +270,34 @@ class FileSystemDeploymentService implements DeploymentScanner {
         cancelScan();
     }
 
+    /**
+     * Get the number of scans of the deployment directory done so far.
+     *
+     * @return the scan count
+     */
+    long getScanCount() {
+        return scanCount;
+    }
+
+    /**
+     * Get the time the last scan of the deployment directory took, not including the processing of the deployment
+     * changes it found.
+     *
+     * @return the duration in ms
+     */
+    long getLastScanDuration() {
+        return lastScanDuration;
+    }
+
+    /**
+     * Get the time all scans of the deployment directory took together.
+     *
+     * @return the duration in ms
+     */
+    long getTotalScanDuration() {
+        return totalScanDuration;
+    }
+
     /** Hook solely for unit test to control how long deployments with no progress can exist without failing */
     void setMaxNoProgress(long max) {
         this.maxNoProgress = max;
@@ -308,7 +341,15 @@ class FileSystemDeploymentService implements DeploymentScanner {
                 log.tracef("Scanning directory %s for deployment content changes", deploymentDir.getAbsolutePath());
 
                 ScanContext scanContext = new ScanContext();
+                final long start = System.nanoTime();
                 scanDirectory(deploymentDir, scanContext);
+                // Forget exploded deployments which are gone
+                explodedTimestamps.keySet().retainAll(scanContext.explodedDeployments);
+                final long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                // Only the scan thread, holding scanLock, writes these
+                lastScanDuration = duration;
+                totalScanDuration += duration;
+                scanCount++;
 
                 // WARN about markers with no associated content. Do this first in case any auto-deploy issue
                 // is due to a file that wasn't meant to be auto-deployed, but has a misspelled marker
@@ -438,6 +479,11 @@ class FileSystemDeploymentService implements DeploymentScanner {
         if (children == null) {
             return;
         }
+        // Marker files are looked up in the listing rather than checked for one by one
+        final Set<String> names = new HashSet<String>(children.length << 1);
+        for (File child : children) {
+            names.add(child.getName());
+        }
 
         for (File child : children) {
             final String fileName = child.getName();
@@ -458,7 +504,7 @@ class FileSystemDeploymentService implements DeploymentScanner {
                     scanContext.ignoredMissingDeployments.add(deploymentName);
                     continue;
                 }
-                long timestamp = getDeploymentTimestamp(deploymentFile);
+                long timestamp = getDeploymentTimestamp(deploymentFile, scanContext);
                 final String path = relativeTo == null ? deploymentFile.getAbsolutePath() : relativePath + deploymentName; // TODO: sub-directories in the deploymentDir
                 final boolean archive = deploymentFile.isFile();
                 addContentAddingTask(path, archive, deploymentName, deploymentFile, timestamp, scanContext);
@@ -473,18 +519,16 @@ class FileSystemDeploymentService implements DeploymentScanner {
             else if (isEEArchive(fileName)) {
                 boolean autoDeployable = child.isDirectory() ? autoDeployExploded : autoDeployZip;
                 if (autoDeployable) {
-                    if (!isAutoDeployDisabled(child)) {
-                        final File failedMarker = new File(directory, fileName + FAILED_DEPLOY);
-                        if(failedMarker.exists()) {// && child.lastModified() <= failedMarker.lastModified()) {
+                    if (!isAutoDeployDisabled(fileName, names)) {
+                        if(names.contains(fileName + FAILED_DEPLOY)) {
                             continue;  // Don't auto-retry failed deployments
                         }
-                        final File undeployedMarker = new File(directory, fileName + UNDEPLOYED);
-                        if(undeployedMarker.exists()) {// && child.lastModified() <= undeployedMarker.lastModified()) {
+                        if(names.contains(fileName + UNDEPLOYED)) {
                             continue;  // Don't auto-deploy undeployed deployments
                         }
 
                         DeploymentMarker marker = deployed.get(fileName);
-                        long timestamp = getDeploymentTimestamp(child);
+                        long timestamp = getDeploymentTimestamp(child, scanContext);
                         if (marker == null || marker.lastModified != timestamp) {
                             try {
                                 if (isZipComplete(child)) {
@@ -503,7 +547,7 @@ class FileSystemDeploymentService implements DeploymentScanner {
                     }
                 }
                 else if (!deployed.containsKey(fileName)
-                        && !new File(fileName + DO_DEPLOY).exists() && !new File(fileName + FAILED_DEPLOY).exists()) {
+                        && !names.contains(fileName + DO_DEPLOY) && !names.contains(fileName + FAILED_DEPLOY)) {
                     // Track for possible INFO logging of the need for a marker
                     scanContext.nonDeployable.add(fileName);
                 }
@@ -560,23 +604,20 @@ class FileSystemDeploymentService implements DeploymentScanner {
         }
     }
 
-    private boolean isAutoDeployDisabled(File file) {
-        final File parent = file.getParentFile();
-        final String name = file.getName();
-        return new File(parent, name + SKIP_DEPLOY).exists() || new File(parent, name + DO_DEPLOY).exists();
+    private boolean isAutoDeployDisabled(final String name, final Set<String> names) {
+        return names.contains(name + SKIP_DEPLOY) || names.contains(name + DO_DEPLOY);
     }
 
-    private long getDeploymentTimestamp(File deploymentFile) {
+    private long getDeploymentTimestamp(File deploymentFile, ScanContext scanContext) {
         if (deploymentFile.isDirectory()) {
-            // Scan for most recent file
-            long latest = deploymentFile.lastModified();
-            for (File child : deploymentFile.listFiles()) {
-                long childTimestamp = getDeploymentTimestamp(child);
-                if (childTimestamp > latest) {
-                    latest = childTimestamp;
-                }
+            // Most recent file, with the tree remembered from the previous scan
+            ExplodedDeploymentTimestamp timestamp = explodedTimestamps.get(deploymentFile);
+            if (timestamp == null) {
+                timestamp = new ExplodedDeploymentTimestamp(deploymentFile);
+                explodedTimestamps.put(deploymentFile, timestamp);
             }
-            return latest;
+            scanContext.explodedDeployments.add(deploymentFile);
+            return timestamp.getTimestamp();
         }
         else {
             return deploymentFile.lastModified();
@@ -1055,6 +1096,8 @@ class FileSystemDeploymentService implements DeploymentScanner {
         private final HashSet<String> nonDeployable = new HashSet<String>();
         /** Auto-deployable files detected by the scan where ZipScanner threw a NonScannableZipException */
         private final Map<File, NonScannableZipException> nonscannable = new HashMap<File, NonScannableZipException>();
+        /** Exploded deployments whose timestamp was checked by the scan */
+        private final Set<File> explodedDeployments = new HashSet<File>();
     }
 
     private class IncompleteDeploymentStatus {
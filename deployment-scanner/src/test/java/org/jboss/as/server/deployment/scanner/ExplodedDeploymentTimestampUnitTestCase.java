@@ -0,0 +1,124 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ExplodedDeploymentTimestamp}
+ */
+public class ExplodedDeploymentTimestampUnitTestCase {
+
+    private static final long BASE = System.currentTimeMillis() - 600000;
+
+    private static AutoDeployTestSupport testSupport;
+
+    @BeforeClass
+    public static void setupClass() {
+        testSupport = new AutoDeployTestSupport(ExplodedDeploymentTimestampUnitTestCase.class.getSimpleName());
+    }
+
+    @AfterClass
+    public static void teardownClass() {
+        if (testSupport != null) {
+            testSupport.cleanupFiles();
+        }
+    }
+
+    @Test
+    public void testNestedFileModification() throws Exception {
+        final File war = createExplodedWar("nested.war");
+        final ExplodedDeploymentTimestamp timestamp = new ExplodedDeploymentTimestamp(war);
+        assertEquals(BASE, timestamp.getTimestamp());
+
+        final File nested = new File(war, "WEB-INF/classes/Test.class");
+        assertTrue(nested.setLastModified(BASE + 5000));
+        assertEquals(BASE + 5000, timestamp.getTimestamp());
+    }
+
+    @Test
+    public void testAddedAndRemovedContent() throws Exception {
+        final File war = createExplodedWar("added.war");
+        final ExplodedDeploymentTimestamp timestamp = new ExplodedDeploymentTimestamp(war);
+        assertEquals(BASE, timestamp.getTimestamp());
+
+        // Adding a file changes the timestamp of its directory, so the directory is listed again
+        final File classes = new File(war, "WEB-INF/classes");
+        final File added = createFile(classes, "Added.class", BASE + 3000);
+        assertTrue(classes.setLastModified(BASE + 2000));
+        assertEquals(BASE + 3000, timestamp.getTimestamp());
+
+        assertTrue(added.delete());
+        assertTrue(new File(classes, "Test.class").delete());
+        assertTrue(classes.delete());
+        final File webInf = new File(war, "WEB-INF");
+        assertTrue(webInf.setLastModified(BASE + 4000));
+        assertEquals(BASE + 4000, timestamp.getTimestamp());
+    }
+
+    @Test
+    public void testUnchangedDirectoryIsNotListed() throws Exception {
+        final File war = createExplodedWar("unchanged.war");
+        final ExplodedDeploymentTimestamp timestamp = new ExplodedDeploymentTimestamp(war);
+        assertEquals(BASE, timestamp.getTimestamp());
+
+        // A file which appears without a change of the directory timestamp is not seen
+        final File classes = new File(war, "WEB-INF/classes");
+        createFile(classes, "Hidden.class", BASE + 3000);
+        assertTrue(classes.setLastModified(BASE));
+        assertEquals(BASE, timestamp.getTimestamp());
+    }
+
+    private File createExplodedWar(final String name) throws IOException {
+        final File war = new File(testSupport.getTempDir(), name);
+        final File classes = new File(war, "WEB-INF/classes");
+        assertTrue(classes.mkdirs());
+        createFile(war, "index.html", BASE);
+        createFile(classes, "Test.class", BASE);
+        assertTrue(classes.setLastModified(BASE));
+        assertTrue(classes.getParentFile().setLastModified(BASE));
+        assertTrue(war.setLastModified(BASE));
+        return war;
+    }
+
+    private static File createFile(final File directory, final String name, final long lastModified) throws IOException {
+        final File file = new File(directory, name);
+        final FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(1);
+        } finally {
+            out.close();
+        }
+        assertTrue(file.setLastModified(lastModified));
+        return file;
+    }
+}
@@ -30,6 +30,7 @@ import java.io.InputStream;
 import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -1064,6 +1065,10 @@ public class FileSystemDeploymentServiceUnitTestCase {
             throw new RuntimeException("NYI: org.jboss.as.server.deployment.scanner.FileSystemDeploymentServiceUnitTestCase.MockDeploymentRepository.removeContent");
         }
 
+        @Override
+        public void cleanObsoleteContent(Collection<byte[]> referencedHashes) {
+        }
+
         /** {@inheritDoc} */
         @Override
         public Closeable mountDeploymentContent(VirtualFile contents, VirtualFile mountPoint, boolean mountExploded) throws IOException {
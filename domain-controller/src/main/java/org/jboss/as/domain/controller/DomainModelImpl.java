@@ -109,10 +109,11 @@ public class DomainModelImpl extends BasicModelController implements DomainModel
         public OperationContext getOperationContext(final ModelProvider modelSource, final PathAddress address,
                                                     final OperationHandler operationHandler, final Operation operation) {
             final ModelNode subModel = getOperationSubModel(modelSource, operationHandler, address);
+            final ModelProvider readModelSource = getReadModelProvider(modelSource, operationHandler);
             if (provideRuntimeContext(operation.getOperation()) == true) {
-                return new RuntimeOperationContextImpl(DomainModelImpl.this, getRegistry(), subModel, modelSource, operation);
+                return new RuntimeOperationContextImpl(DomainModelImpl.this, getRegistry(), subModel, readModelSource, operation);
             } else {
-                return DomainModelImpl.this.getOperationContext(subModel, operationHandler, operation, modelSource);
+                return DomainModelImpl.this.getOperationContext(subModel, operationHandler, operation, readModelSource);
             }
         }
     };
@@ -219,6 +220,7 @@ public class DomainModelImpl extends BasicModelController implements DomainModel
 
         ModelNode ourModel = super.getModel();
         DomainModelUtil.updateCoreModel(ourModel);
+        publishModelSnapshot();
         master = true;
         domainPersister.setDelegate(configurationPersister);
         ModelNodeRegistration registry = getRegistry();
@@ -440,6 +442,7 @@ public class DomainModelImpl extends BasicModelController implements DomainModel
         ModelNode host = root.get(HOST);
         root.set(domainModel);
         root.get(HOST).set(host);
+        publishModelSnapshot();
         // Now we know what extensions are needed
         initializeExtensions(domainModel, extensionContext);
     }
@@ -1104,7 +1107,9 @@ public class DomainModelImpl extends BasicModelController implements DomainModel
 
             final ModelNode model = modelSource.getModel();
             synchronized (model) {
-                model.set(localModel);
+                if (model != localModel) {
+                    model.set(localModel);
+                }
                 if (modelUpdated) {
                     DomainModelImpl.this.persistConfiguration(model, injectedConfigPersisterProvider);
                 }
@@ -1112,6 +1117,9 @@ public class DomainModelImpl extends BasicModelController implements DomainModel
                     DomainModelImpl.this.persistConfiguration(model, hostPersisterProvider);
                 }
             }
+            if (model == getModel()) {
+                publishModelSnapshot();
+            }
         }
 
     }
@@ -1151,7 +1159,9 @@ public class DomainModelImpl extends BasicModelController implements DomainModel
                     }
                     persistConfiguration(model, operationControllerContext.getConfigurationPersisterProvider());
                 }
-
+                if (model == getModel()) {
+                    publishModelSnapshot();
+                }
             }
         }
 
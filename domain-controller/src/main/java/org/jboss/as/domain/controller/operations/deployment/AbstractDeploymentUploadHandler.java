@@ -31,6 +31,8 @@ import org.jboss.logging.Logger;
 import java.io.IOException;
 import java.io.InputStream;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HASH;
+
 /**
  * Base class for operation handlers that can handle the upload of deployment content.
  *
@@ -53,7 +55,10 @@ public abstract class AbstractDeploymentUploadHandler implements OperationHandle
     @Override
     public OperationResult execute(OperationContext context, ModelNode operation, ResultHandler resultHandler) throws OperationFailedException {
 
-        if (contentRepository != null) {
+        if (contentRepository != null && operation.hasDefined(HASH) && contentRepository.hasContent(operation.get(HASH).asBytes())) {
+            // The client already knows the hash; don't read and digest content we already hold
+            resultHandler.handleResultFragment(EMPTY, new ModelNode().set(operation.get(HASH).asBytes()));
+        } else if (contentRepository != null) {
             try {
                 InputStream is = getContentInputStream(context, operation);
                 try {
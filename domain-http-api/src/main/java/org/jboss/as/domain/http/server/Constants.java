@@ -41,11 +41,16 @@ public interface Constants {
      */
 
     String ACCEPT = "Accept";
+    String ACCEPT_ENCODING = "Accept-Encoding";
     String ACCESS_CONTROL_ALLOW_ORIGIN = "Access-Control-Allow-Origin";
     String AUTHORIZATION_HEADER = "Authorization";
     String CONTENT_DISPOSITION = "Content-Disposition";
+    String CONTENT_ENCODING = "Content-Encoding";
     String CONTENT_TYPE = "Content-Type";
+    String ETAG = "ETag";
+    String IF_NONE_MATCH = "If-None-Match";
     String LOCATION = "Location";
+    String VARY = "Vary";
     String WWW_AUTHENTICATE_HEADER = "WWW-Authenticate";
 
     /*
@@ -62,6 +67,12 @@ public interface Constants {
     String TEXT_CSS = "text/css";
     String TEXT_HTML = "text/html";
 
+    /*
+     * Content Codings
+     */
+
+    String GZIP = "gzip";
+
     /*
      * Charsets
      */
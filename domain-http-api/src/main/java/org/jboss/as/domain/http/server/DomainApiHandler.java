@@ -23,27 +23,39 @@
 package org.jboss.as.domain.http.server;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
 import static org.jboss.as.domain.http.server.Constants.ACCEPT;
+import static org.jboss.as.domain.http.server.Constants.ACCEPT_ENCODING;
 import static org.jboss.as.domain.http.server.Constants.ACCESS_CONTROL_ALLOW_ORIGIN;
 import static org.jboss.as.domain.http.server.Constants.APPLICATION_DMR_ENCODED;
 import static org.jboss.as.domain.http.server.Constants.APPLICATION_JSON;
 import static org.jboss.as.domain.http.server.Constants.CONTENT_DISPOSITION;
+import static org.jboss.as.domain.http.server.Constants.CONTENT_ENCODING;
 import static org.jboss.as.domain.http.server.Constants.CONTENT_TYPE;
+import static org.jboss.as.domain.http.server.Constants.ETAG;
 import static org.jboss.as.domain.http.server.Constants.GET;
+import static org.jboss.as.domain.http.server.Constants.GZIP;
+import static org.jboss.as.domain.http.server.Constants.IF_NONE_MATCH;
 import static org.jboss.as.domain.http.server.Constants.INTERNAL_SERVER_ERROR;
 import static org.jboss.as.domain.http.server.Constants.METHOD_NOT_ALLOWED;
+import static org.jboss.as.domain.http.server.Constants.NOT_MODIFIED;
 import static org.jboss.as.domain.http.server.Constants.OK;
 import static org.jboss.as.domain.http.server.Constants.POST;
 import static org.jboss.as.domain.http.server.Constants.TEXT_HTML;
 import static org.jboss.as.domain.http.server.Constants.US_ASCII;
 import static org.jboss.as.domain.http.server.Constants.UTF_8;
+import static org.jboss.as.domain.http.server.Constants.VARY;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
@@ -53,11 +65,20 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
 
+import org.jboss.as.controller.BasicModelController;
 import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.ResultHandler;
 import org.jboss.as.controller.client.OperationBuilder;
+import org.jboss.as.controller.operations.common.SubscribeMetricsHandler;
 import org.jboss.as.domain.http.server.multipart.BoundaryDelimitedInputStream;
 import org.jboss.as.domain.http.server.multipart.MimeHeaderParser;
 import org.jboss.as.domain.http.server.security.BasicAuthenticator;
@@ -86,6 +107,11 @@ class DomainApiHandler implements ManagementHttpHandler {
 
     private static final Logger log = Logger.getLogger("org.jboss.as.domain.http.api");
 
+    private static final int BUFFER_SIZE = 8192;
+
+    /** How long a streamed response may go without output before the client is considered gone */
+    private static final long STREAM_IDLE_TIMEOUT = TimeUnit.SECONDS.toMillis(60);
+
     /**
      * Represents all possible management operations that can be executed using HTTP GET
      */
@@ -155,7 +181,7 @@ class DomainApiHandler implements ManagementHttpHandler {
         }
 
         // TODO Determine what format the response should be in for a deployment upload request.
-        writeResponse(http, false, false, response, OK, false, TEXT_HTML);
+        writeResponse(http, false, false, response, OK, false, TEXT_HTML, null);
     }
 
     /**
@@ -178,6 +204,7 @@ class DomainApiHandler implements ManagementHttpHandler {
         ModelNode dmr = null;
         ModelNode response;
         int status = OK;
+        String entityTag = null;
 
         Headers requestHeaders = http.getRequestHeaders();
         boolean encode = APPLICATION_DMR_ENCODED.equals(requestHeaders.getFirst(ACCEPT))
@@ -185,6 +212,24 @@ class DomainApiHandler implements ManagementHttpHandler {
 
         try {
             dmr = isGet ? convertGetRequest(request) : convertPostRequest(http.getRequestBody(), encode);
+            if (!isGet && SubscribeMetricsHandler.OPERATION_NAME.equals(dmr.get(OP).asString())) {
+                processStreamingRequest(http, dmr, encode);
+
+                return;
+            }
+            if (isGet) {
+                // Taken before executing, so the tag can only be older than the response it is sent with
+                entityTag = getEntityTag(dmr, encode, acceptsGzip(requestHeaders));
+                if (entityTag != null && entityTag.equals(requestHeaders.getFirst(IF_NONE_MATCH))) {
+                    final Headers responseHeaders = http.getResponseHeaders();
+                    responseHeaders.add(ACCESS_CONTROL_ALLOW_ORIGIN, "*");
+                    responseHeaders.add(VARY, ACCEPT + ", " + ACCEPT_ENCODING);
+                    responseHeaders.add(ETAG, entityTag);
+                    http.sendResponseHeaders(NOT_MODIFIED, -1);
+
+                    return;
+                }
+            }
             response = modelController.execute(OperationBuilder.Factory.create(dmr).build());
         } catch (Throwable t) {
             log.error("Unexpected error executing model request", t);
@@ -198,15 +243,174 @@ class DomainApiHandler implements ManagementHttpHandler {
             status = INTERNAL_SERVER_ERROR;
         }
 
+        if (status != OK) {
+            entityTag = null;
+        }
+
         boolean pretty = dmr.hasDefined("json.pretty") && dmr.get("json.pretty").asBoolean();
-        writeResponse(http, isGet, pretty, response, status, encode);
+        writeResponse(http, isGet, pretty, response, status, encode, entityTag);
+    }
+
+    /**
+     * Handles an operation that sends its results as they become available, such as a metric subscription. Each
+     * result fragment is written on a line of its own to a chunked response, as a JSON document or Base64 encoded DMR,
+     * until the operation completes. The operation is cancelled once the client has gone away, which shows when writing to it fails, or
+     * when the operation has sent nothing for longer than its interval allows.
+     *
+     * @param http The HttpExchange object that allows access to the request and response.
+     * @param dmr The operation to execute.
+     * @param encode Flag indicating whether or not the fragments are Base64 encoded.
+     * @throws IOException if an error occurs while attempting to generate the HTTP response.
+     */
+    private void processStreamingRequest(final HttpExchange http, final ModelNode dmr, final boolean encode) throws IOException {
+        final Headers responseHeaders = http.getResponseHeaders();
+        responseHeaders.add(CONTENT_TYPE, encode ? APPLICATION_DMR_ENCODED : APPLICATION_JSON);
+        responseHeaders.add(ACCESS_CONTROL_ALLOW_ORIGIN, "*");
+        http.sendResponseHeaders(OK, 0);
+
+        final OutputStream out = new BufferedOutputStream(http.getResponseBody(), BUFFER_SIZE);
+        final PrintWriter print = new PrintWriter(new OutputStreamWriter(out, UTF_8));
+        final CountDownLatch completeLatch = new CountDownLatch(1);
+        final AtomicBoolean disconnected = new AtomicBoolean();
+        final AtomicLong lastWrite = new AtomicLong(System.currentTimeMillis());
+        final long idleTimeout = STREAM_IDLE_TIMEOUT + (dmr.hasDefined(SubscribeMetricsHandler.INTERVAL) ? dmr.get(SubscribeMetricsHandler.INTERVAL).asLong() : 0);
+        try {
+            final OperationResult result = modelController.execute(OperationBuilder.Factory.create(dmr).build(), new ResultHandler() {
+                public void handleResultFragment(String[] location, ModelNode fragment) {
+                    write(fragment);
+                }
+
+                public void handleResultComplete() {
+                    completeLatch.countDown();
+                }
+
+                public void handleFailed(ModelNode failureDescription) {
+                    final ModelNode failure = new ModelNode();
+                    failure.get(OUTCOME).set(FAILED);
+                    failure.get(FAILURE_DESCRIPTION).set(failureDescription);
+                    write(failure);
+                    completeLatch.countDown();
+                }
+
+                public void handleCancellation() {
+                    completeLatch.countDown();
+                }
+
+                private void write(ModelNode node) {
+                    synchronized (print) {
+                        if (encode) {
+                            print.print(toBase64(node));
+                        } else {
+                            node.writeJSONString(print, true);
+                        }
+                        print.println();
+                        lastWrite.set(System.currentTimeMillis());
+                        if (print.checkError()) {
+                            disconnected.set(true);
+                            completeLatch.countDown();
+                        }
+                    }
+                }
+            });
+
+            try {
+                while (!completeLatch.await(1, TimeUnit.SECONDS)) {
+                    if (System.currentTimeMillis() - lastWrite.get() > idleTimeout) {
+                        disconnected.set(true);
+                        break;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                disconnected.set(true);
+            }
+            if (disconnected.get()) {
+                result.getCancellable().cancel();
+            }
+        } catch (Throwable t) {
+            log.error("Unexpected error executing model request", t);
+        } finally {
+            safeClose(print);
+            safeClose(out);
+        }
+    }
+
+    private static String toBase64(final ModelNode node) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            node.writeBase64(bytes);
+            return bytes.toString("US-ASCII");
+        } catch (IOException e) {
+            // Not thrown when writing to memory
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Gets the entity tag for the response to a GET request. Only requests whose result is fully determined by the
+     * persistent model are tagged, with the version of the model they are executed against. The version is qualified by
+     * the controller instance, as versions restart with every boot or reload.
+     *
+     * @param dmr The operation the GET request was converted to.
+     * @param encode Flag indicating whether or not the response is Base64 encoded.
+     * @param gzip Flag indicating whether or not the response is compressed.
+     * @return the entity tag, or {@code null} if the response must not be cached.
+     */
+    private String getEntityTag(ModelNode dmr, boolean encode, boolean gzip) {
+        if (!(modelController instanceof BasicModelController))
+            return null;
+
+        final String operation = dmr.get("operation").asString();
+        if (GetOperation.RESOURCE.realOperation().equals(operation)) {
+            // Runtime attributes change without a new version of the model
+            if (dmr.hasDefined("include-runtime") && dmr.get("include-runtime").asBoolean())
+                return null;
+        } else if (!GetOperation.RESOURCE_DESCRIPTION.realOperation().equals(operation)
+                && !GetOperation.OPERATION_DESCRIPTION.realOperation().equals(operation)
+                && !GetOperation.OPERATION_NAMES.realOperation().equals(operation)) {
+            return null;
+        }
+
+        final BasicModelController controller = (BasicModelController) modelController;
+        final long version = controller.getModelVersion();
+        return "\"" + controller.getInstanceId() + "-" + version + (encode ? "-dmr" : "") + (gzip ? "-gzip" : "") + "\"";
     }
 
-     private void writeResponse(final HttpExchange http, boolean isGet, boolean pretty, ModelNode response, int status,
-            boolean encode) throws IOException {
-         String contentType = encode ? APPLICATION_DMR_ENCODED : APPLICATION_JSON;
-         writeResponse(http, isGet, pretty, response, status, encode, contentType);
-     }
+    /**
+     * Checks whether the client accepts gzip compressed responses.
+     *
+     * @param requestHeaders The headers of the request.
+     * @return {@code true} if the response may be compressed.
+     */
+    private boolean acceptsGzip(Headers requestHeaders) {
+        final String acceptEncoding = requestHeaders.getFirst(ACCEPT_ENCODING);
+        if (acceptEncoding == null)
+            return false;
+
+        for (String coding : acceptEncoding.split(",")) {
+            final String[] parts = coding.trim().split(";");
+            if (GZIP.equalsIgnoreCase(parts[0].trim())) {
+                for (int i = 1; i < parts.length; i++) {
+                    final String parameter = parts[i].trim();
+                    if (parameter.startsWith("q=")) {
+                        try {
+                            return Float.parseFloat(parameter.substring(2)) > 0;
+                        } catch (NumberFormatException e) {
+                            return false;
+                        }
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeResponse(final HttpExchange http, boolean isGet, boolean pretty, ModelNode response, int status,
+            boolean encode, String entityTag) throws IOException {
+        String contentType = encode ? APPLICATION_DMR_ENCODED : APPLICATION_JSON;
+        writeResponse(http, isGet, pretty, response, status, encode, contentType, entityTag);
+    }
 
     /**
      * Writes the HTTP response to the output stream.
@@ -217,17 +421,29 @@ class DomainApiHandler implements ManagementHttpHandler {
      * @param response The DMR response from the operation.
      * @param status The HTTP status code to be included in the response.
      * @param encode Flag indicating whether or not to Base64 encode the response payload.
+     * @param contentType The content type of the response.
+     * @param entityTag The entity tag of the response, or {@code null} if it must not be cached.
      * @throws IOException if an error occurs while attempting to generate the HTTP response.
      */
     private void writeResponse(final HttpExchange http, boolean isGet, boolean pretty, ModelNode response, int status,
-            boolean encode, String contentType) throws IOException {
+            boolean encode, String contentType, String entityTag) throws IOException {
+        final boolean gzip = acceptsGzip(http.getRequestHeaders());
         final Headers responseHeaders = http.getResponseHeaders();
         responseHeaders.add(CONTENT_TYPE, contentType);
         responseHeaders.add(ACCESS_CONTROL_ALLOW_ORIGIN, "*");
+        responseHeaders.add(VARY, ACCEPT + ", " + ACCEPT_ENCODING);
+        if (gzip) {
+            responseHeaders.add(CONTENT_ENCODING, GZIP);
+        }
+        if (entityTag != null) {
+            responseHeaders.add(ETAG, entityTag);
+        }
+        // The length is not known up front, the response is streamed as it is encoded
         http.sendResponseHeaders(status, 0);
 
-        final OutputStream out = http.getResponseBody();
-        final PrintWriter print = new PrintWriter(out);
+        final OutputStream body = gzip ? new GZIPOutputStream(http.getResponseBody(), BUFFER_SIZE) : http.getResponseBody();
+        final OutputStream out = new BufferedOutputStream(body, BUFFER_SIZE);
+        final PrintWriter print = new PrintWriter(new OutputStreamWriter(out, UTF_8));
 
         // GET (read) operations will never have a compensating update, and the status is already
         // available via the http response status code, so unwrap them.
@@ -33,7 +33,7 @@ import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.ImmediateValue;
 
 import java.lang.reflect.Method;
-import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -52,6 +52,8 @@ public class BasicComponent implements Component {
     private final InterceptorFactory postConstruct;
     private final InterceptorFactory preDestroy;
     private final Map<Method, InterceptorFactory> interceptorFactoryMap;
+    private final InterceptorSlots interceptorSlots;
+    private final List<Class<?>> interceptorClasses;
 
     private volatile boolean gate;
     private final AtomicBoolean stopping = new AtomicBoolean();
@@ -69,6 +71,8 @@ public class BasicComponent implements Component {
         postConstruct = createService.getPostConstruct();
         preDestroy = createService.getPreDestroy();
         interceptorFactoryMap = createService.getComponentInterceptors();
+        interceptorSlots = new InterceptorSlots(interceptorFactoryMap);
+        interceptorClasses = createService.getInterceptorClasses();
     }
 
     /**
@@ -93,6 +97,24 @@ public class BasicComponent implements Component {
         return obj;
     }
 
+    /**
+     * Wraps an instance restored from its serialized state in a ComponentInstance, together with its interceptor
+     * instances.  The post construct interceptor chain is not run, as the instances were already constructed before
+     * they were serialized.
+     * @param instance The instance to wrap
+     * @param interceptorInstances The interceptor instances, in the order of {@link #getInterceptorClasses()}
+     * @return The new ComponentInstance
+     */
+    public ComponentInstance restoreInstance(Object instance, Object[] interceptorInstances) {
+        if (interceptorInstances.length != interceptorClasses.size()) {
+            throw new IllegalArgumentException("Expected " + interceptorClasses.size() + " interceptor instances, got " + interceptorInstances.length);
+        }
+        waitForComponentStart();
+        BasicComponentInstance obj = constructComponentInstance(new ValueManagedReference(new ImmediateValue<Object>(instance)), interceptorInstances);
+        instanceCount.getAndIncrement();
+        return obj;
+    }
+
     protected void waitForComponentStart() {
         if (!gate) {
             // Block until successful start
@@ -121,6 +143,18 @@ public class BasicComponent implements Component {
      * @return the component instance
      */
     protected final BasicComponentInstance constructComponentInstance(ManagedReference instance) {
+        return constructComponentInstance(instance, null);
+    }
+
+    /**
+     * Construct the component instance.
+     *
+     * @param instance An instance to be wrapped, or null if a new instance should be created
+     * @param interceptorInstances the interceptor instances of a restored instance, in which case the post construct
+     *                             interceptors do not run, or null
+     * @return the component instance
+     */
+    private BasicComponentInstance constructComponentInstance(ManagedReference instance, Object[] interceptorInstances) {
         // Interceptor factory context
         final SimpleInterceptorFactoryContext context = new SimpleInterceptorFactoryContext();
         context.getContextData().put(Component.class, this);
@@ -134,16 +168,25 @@ public class BasicComponent implements Component {
 
         instanceReference.set(instance);
 
-        final Map<Method, InterceptorFactory> interceptorFactoryMap = this.getInterceptorFactoryMap();
-        // This is an identity map.  This means that only <b>certain</b> {@code Method} objects will
-        // match - specifically, they must equal the objects provided to the proxy.
-        final IdentityHashMap<Method, Interceptor> interceptorMap = new IdentityHashMap<Method, Interceptor>();
-        for (Method method : interceptorFactoryMap.keySet()) {
-            interceptorMap.put(method, interceptorFactoryMap.get(method).create(context));
+        // The interceptor instances are created by the post construct chain, unless they are restored along with the instance
+        final AtomicReference<ManagedReference>[] interceptorReferences = new AtomicReference[interceptorClasses.size()];
+        for (int i = 0; i < interceptorReferences.length; i++) {
+            interceptorReferences[i] = (AtomicReference<ManagedReference>) context.getContextData().get(interceptorClasses.get(i));
+            if (interceptorInstances != null) {
+                interceptorReferences[i].set(new ValueManagedReference(new ImmediateValue<Object>(interceptorInstances[i])));
+            }
         }
 
+        // Only <b>certain</b> {@code Method} objects will match - specifically, they must equal the objects
+        // provided to the proxy.
+        final Map<Method, Interceptor> interceptorMap = interceptorSlots.create(context);
+
         // create the component instance
         BasicComponentInstance basicComponentInstance = this.instantiateComponentInstance(instanceReference, componentInstancePreDestroyInterceptor, interceptorMap);
+        basicComponentInstance.setInterceptorReferences(interceptorReferences);
+        if (interceptorInstances != null) {
+            return basicComponentInstance;
+        }
 
         // now invoke the postconstruct interceptors
         final InterceptorContext interceptorContext = new InterceptorContext();
@@ -221,6 +264,15 @@ public class BasicComponent implements Component {
         }
     }
 
+    /**
+     * Get the interceptor classes instantiated for each instance of this component.
+     *
+     * @return the interceptor classes
+     */
+    public List<Class<?>> getInterceptorClasses() {
+        return interceptorClasses;
+    }
+
     Map<Method, InterceptorFactory> getInterceptorFactoryMap() {
         return interceptorFactoryMap;
     }
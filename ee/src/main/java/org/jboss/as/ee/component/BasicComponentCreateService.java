@@ -32,7 +32,9 @@ import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.InjectedValue;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -48,6 +50,7 @@ public class BasicComponentCreateService implements Service<Component> {
     private final InterceptorFactory postConstruct;
     private final InterceptorFactory preDestroy;
     private final Map<Method, InterceptorFactory> componentInterceptors;
+    private final List<Class<?>> interceptorClasses;
 
     // TODO resource injections
     private BasicComponent component;
@@ -63,10 +66,11 @@ public class BasicComponentCreateService implements Service<Component> {
         preDestroy = Interceptors.getChainedInterceptorFactory(componentConfiguration.getPreDestroyInterceptors());
         final IdentityHashMap<Method, InterceptorFactory> componentInterceptors = new IdentityHashMap<Method, InterceptorFactory>();
         for (Method method : componentConfiguration.getDefinedComponentMethods()) {
-            componentInterceptors.put(method, Interceptors.getChainedInterceptorFactory(componentConfiguration.getComponentInterceptors(method)));
+            componentInterceptors.put(method, InterceptorSlots.getChainedInterceptorFactory(componentConfiguration.getComponentInterceptors(method)));
         }
         componentClass = componentConfiguration.getComponentClass();
         this.componentInterceptors = componentInterceptors;
+        interceptorClasses = new ArrayList<Class<?>>(componentConfiguration.getInterceptorClasses());
 
         // TODO resource injections
     }
@@ -158,4 +162,13 @@ public class BasicComponentCreateService implements Service<Component> {
     public Class<?> getComponentClass() {
         return componentClass;
     }
+
+    /**
+     * Get the interceptor classes instantiated for each instance of the component.
+     *
+     * @return the interceptor classes
+     */
+    public List<Class<?>> getInterceptorClasses() {
+        return interceptorClasses;
+    }
 }
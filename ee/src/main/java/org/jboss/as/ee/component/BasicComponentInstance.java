@@ -53,6 +53,8 @@ public class BasicComponentInstance implements ComponentInstance {
     private static final AtomicIntegerFieldUpdater<BasicComponentInstance> doneUpdater = AtomicIntegerFieldUpdater.newUpdater(BasicComponentInstance.class, "done");
 
     private final Map<Method, Interceptor> methodMap;
+    private final InterceptorSlots.SlotMap slotMap;
+    private AtomicReference<ManagedReference>[] interceptorReferences;
 
     /**
      * Construct a new instance.
@@ -65,6 +67,7 @@ public class BasicComponentInstance implements ComponentInstance {
         this.instanceReference = instanceReference;
         this.preDestroy = preDestroyInterceptor;
         this.methodMap = Collections.unmodifiableMap(methodInterceptors);
+        this.slotMap = methodInterceptors instanceof InterceptorSlots.SlotMap ? (InterceptorSlots.SlotMap) methodInterceptors : null;
     }
 
     /**
@@ -82,6 +85,23 @@ public class BasicComponentInstance implements ComponentInstance {
         return managedReference.getInstance();
     }
 
+    /**
+     * Get the interceptor instances of this instance, in the order of {@link BasicComponent#getInterceptorClasses()}.
+     *
+     * @return the interceptor instances
+     */
+    public Object[] getInterceptorInstances() {
+        final Object[] instances = new Object[interceptorReferences.length];
+        for (int i = 0; i < instances.length; i++) {
+            instances[i] = interceptorReferences[i].get().getInstance();
+        }
+        return instances;
+    }
+
+    void setInterceptorReferences(final AtomicReference<ManagedReference>[] interceptorReferences) {
+        this.interceptorReferences = interceptorReferences;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -93,6 +113,17 @@ public class BasicComponentInstance implements ComponentInstance {
         return interceptor;
     }
 
+    Interceptor getInterceptor(final InterceptorSlots.MethodSlot methodSlot) throws IllegalStateException {
+        if (slotMap == null) {
+            return getInterceptor(methodSlot.getMethod());
+        }
+        final Interceptor interceptor = methodSlot.get(slotMap);
+        if (interceptor == null) {
+            throw new IllegalStateException("Method does not exist " + methodSlot.getMethod());
+        }
+        return interceptor;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -116,6 +147,16 @@ public class BasicComponentInstance implements ComponentInstance {
         }
     }
 
+    /**
+     * Release this instance without running the pre destroy interceptors, because its state now lives on
+     * elsewhere (for example, it has been passivated).
+     */
+    public void detach() {
+        if (doneUpdater.compareAndSet(this, 0, 1)) {
+            component.finishDestroy();
+        }
+    }
+
     protected void finalize() {
         destroy();
     }
@@ -0,0 +1,336 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.component;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jboss.as.server.deployment.reflect.ClassReflectionIndex;
+import org.jboss.as.server.deployment.reflect.DeploymentReflectionIndex;
+import org.jboss.classfilewriter.AccessFlag;
+import org.jboss.classfilewriter.ClassFile;
+import org.jboss.classfilewriter.ClassMethod;
+import org.jboss.classfilewriter.code.BranchEnd;
+import org.jboss.classfilewriter.code.CodeAttribute;
+import org.jboss.classfilewriter.code.TableSwitchBuilder;
+import org.jboss.invocation.Interceptors;
+import org.jboss.invocation.proxy.MethodIdentifier;
+import org.jboss.logging.Logger;
+
+/**
+ * Generated accessors for the injection targets and lifecycle methods of an EE module class.
+ * <p/>
+ * One accessor class is generated per module class at deployment time, from the injection configurations and
+ * lifecycle methods named by its {@link EEModuleClassDescription}.  The accessor is defined in the module class's own
+ * class loader and package, so package-private and protected members are reached with plain bytecode instead of
+ * {@link Field#set(Object, Object)} or {@link Method#invoke(Object, Object...)}.  Members which generated code cannot
+ * reach (private members, primitive values, inherited members or inaccessible types) have no accessor, and neither
+ * does any member of a class for which the accessor could not be defined; callers use reflection for those.
+ */
+final class ClassAccessors {
+
+    private static final Logger logger = Logger.getLogger(ClassAccessors.class);
+
+    static final ClassAccessors NONE = new ClassAccessors(Collections.<Member, InvocationHandler>emptyMap());
+
+    private static final AtomicInteger ACCESSOR_ID = new AtomicInteger();
+
+    private static final String INDEX_FIELD = "index";
+
+    private static final Method DEFINE_CLASS = AccessController.doPrivileged(new PrivilegedAction<Method>() {
+        public Method run() {
+            try {
+                final Method method = ClassLoader.class.getDeclaredMethod("defineClass", String.class, byte[].class, int.class, int.class, ProtectionDomain.class);
+                method.setAccessible(true);
+                return method;
+            } catch (NoSuchMethodException e) {
+                return null;
+            } catch (RuntimeException e) {
+                // not permitted to define classes in foreign class loaders
+                return null;
+            }
+        }
+    });
+
+    private final Map<Member, InvocationHandler> accessors;
+
+    private ClassAccessors(final Map<Member, InvocationHandler> accessors) {
+        this.accessors = accessors;
+    }
+
+    /**
+     * Get the generated accessor for a member.
+     *
+     * @param member the field or method
+     * @return the accessor, or {@code null} if the member must be accessed reflectively
+     */
+    InvocationHandler getAccessor(final Member member) {
+        return accessors.get(member);
+    }
+
+    /**
+     * Get the generated accessor for a member of one of the module classes of an application.
+     *
+     * @param applicationDescription the application description, may be {@code null}
+     * @param member the field or method
+     * @return the accessor, or {@code null} if the member must be accessed reflectively
+     */
+    static InvocationHandler getAccessor(final EEApplicationDescription applicationDescription, final Member member) {
+        if (applicationDescription == null) {
+            return null;
+        }
+        final EEModuleClassConfiguration configuration = applicationDescription.getClassConfiguration(member.getDeclaringClass().getName());
+        return configuration == null ? null : configuration.getAccessors().getAccessor(member);
+    }
+
+    /**
+     * Invoke a generated accessor.  Exceptions thrown by the member are propagated as they are.
+     *
+     * @param accessor the accessor
+     * @param target the instance whose member is accessed
+     * @param args the value to inject or the method arguments, or {@code null} for a method without parameters
+     * @return the method return value, or {@code null}
+     * @throws Exception if the member throws an exception
+     */
+    static Object invoke(final InvocationHandler accessor, final Object target, final Object[] args) throws Exception {
+        try {
+            return accessor.invoke(target, null, args);
+        } catch (Throwable t) {
+            throw Interceptors.rethrow(t);
+        }
+    }
+
+    /**
+     * Generate the accessors for the members of a module class named by its description.
+     *
+     * @param configuration the module class configuration
+     * @param reflectionIndex the deployment reflection index
+     * @return the accessors
+     */
+    static ClassAccessors create(final EEModuleClassConfiguration configuration, final DeploymentReflectionIndex reflectionIndex) {
+        final Class<?> clazz = configuration.getModuleClass();
+        final ClassReflectionIndex<?> classIndex = reflectionIndex.getClassIndex(clazz);
+        final Set<Member> members = new LinkedHashSet<Member>();
+        for (ResourceInjectionConfiguration injectionConfiguration : configuration.getInjectionConfigurations()) {
+            final InjectionTarget target = injectionConfiguration.getTarget();
+            if (!clazz.getName().equals(target.getClassName())) {
+                continue;
+            }
+            if (target instanceof FieldInjectionTarget) {
+                final Field field = classIndex.getField(target.getName());
+                if (field != null) {
+                    members.add(field);
+                }
+            } else if (target instanceof MethodInjectionTarget) {
+                members.addAll(classIndex.getAllMethods(target.getName(), 1));
+            }
+        }
+        final EEModuleClassDescription description = configuration.getModuleClassDescription();
+        if (description != null) {
+            addMethod(members, classIndex, description.getPostConstructMethod());
+            addMethod(members, classIndex, description.getPreDestroyMethod());
+            addMethod(members, classIndex, description.getAroundInvokeMethod());
+        }
+        return create(clazz, members);
+    }
+
+    private static void addMethod(final Set<Member> members, final ClassReflectionIndex<?> classIndex, final MethodIdentifier identifier) {
+        if (identifier != null) {
+            final Method method = classIndex.getMethod(identifier);
+            if (method != null) {
+                members.add(method);
+            }
+        }
+    }
+
+    /**
+     * Generate the accessors for those of the given members of a class which generated code can reach.
+     *
+     * @param clazz the class
+     * @param candidates the candidate members
+     * @return the accessors
+     */
+    static ClassAccessors create(final Class<?> clazz, final Collection<? extends Member> candidates) {
+        if (DEFINE_CLASS == null || clazz.getClassLoader() == null || clazz.isInterface() || clazz.getName().startsWith("java.")) {
+            return NONE;
+        }
+        final List<Member> members = new ArrayList<Member>(candidates.size());
+        for (Member member : candidates) {
+            if (isAccessible(clazz, member)) {
+                members.add(member);
+            }
+        }
+        if (members.isEmpty()) {
+            return NONE;
+        }
+        final String className = clazz.getName() + "$$$accessor" + ACCESSOR_ID.incrementAndGet();
+        try {
+            final byte[] bytes = createAccessorClass(className, clazz, members).toBytecode();
+            final Class<?> accessorClass = defineClass(clazz, className, bytes);
+            final Constructor<?> constructor = accessorClass.getConstructor(int.class);
+            final Map<Member, InvocationHandler> accessors = new HashMap<Member, InvocationHandler>();
+            for (int i = 0; i < members.size(); i++) {
+                accessors.put(members.get(i), (InvocationHandler) constructor.newInstance(Integer.valueOf(i)));
+            }
+            return new ClassAccessors(accessors);
+        } catch (Throwable t) {
+            logger.debugf(t, "Could not generate accessors for %s, falling back to reflection", clazz);
+            return NONE;
+        }
+    }
+
+    /**
+     * Create the accessor class.  It implements {@link InvocationHandler}, so that it only links against types visible
+     * to every deployment.  An instance is constructed with the index of the member it accesses in {@code members},
+     * and {@code invoke(target, null, args)} dispatches on that index to a direct {@code putfield} or
+     * {@code invokevirtual} on the target.
+     */
+    private static ClassFile createAccessorClass(final String className, final Class<?> clazz, final List<Member> members) {
+        final ClassFile classFile = new ClassFile(className, Object.class.getName(), InvocationHandler.class.getName());
+        classFile.addField(AccessFlag.PRIVATE | AccessFlag.FINAL, INDEX_FIELD, int.class);
+
+        final ClassMethod constructor = classFile.addMethod(AccessFlag.PUBLIC, "<init>", "V", "I");
+        final CodeAttribute constructorCode = constructor.getCodeAttribute();
+        constructorCode.aload(0);
+        constructorCode.invokespecial(Object.class.getName(), "<init>", "()V");
+        constructorCode.aload(0);
+        constructorCode.iload(1);
+        constructorCode.putfield(className, INDEX_FIELD, int.class);
+        constructorCode.returnInstruction();
+
+        final ClassMethod invoke = classFile.addMethod(AccessFlag.PUBLIC, "invoke", "Ljava/lang/Object;", "Ljava/lang/Object;", "Ljava/lang/reflect/Method;", "[Ljava/lang/Object;");
+        final CodeAttribute code = invoke.getCodeAttribute();
+        code.aload(0);
+        code.getfield(className, INDEX_FIELD, int.class);
+        final TableSwitchBuilder switchBuilder = new TableSwitchBuilder(0, members.size() - 1);
+        final List<AtomicReference<BranchEnd>> cases = new ArrayList<AtomicReference<BranchEnd>>(members.size());
+        for (int i = 0; i < members.size(); i++) {
+            cases.add(switchBuilder.add());
+        }
+        code.tableswitch(switchBuilder);
+        for (int i = 0; i < members.size(); i++) {
+            code.branchEnd(cases.get(i).get());
+            code.aload(1);
+            code.checkcast(clazz);
+            final Member member = members.get(i);
+            if (member instanceof Field) {
+                final Field field = (Field) member;
+                loadArgument(code, field.getType());
+                code.putfield(clazz.getName(), field.getName(), field.getType());
+                code.aconstNull();
+            } else {
+                final Method method = (Method) member;
+                if (method.getParameterTypes().length == 1) {
+                    loadArgument(code, method.getParameterTypes()[0]);
+                }
+                code.invokevirtual(method);
+                if (method.getReturnType() == void.class) {
+                    code.aconstNull();
+                }
+            }
+            code.returnInstruction();
+        }
+        code.branchEnd(switchBuilder.getDefaultBranchEnd().get());
+        code.aconstNull();
+        code.returnInstruction();
+        return classFile;
+    }
+
+    private static void loadArgument(final CodeAttribute code, final Class<?> type) {
+        code.aload(3);
+        code.iconst(0);
+        code.aaload();
+        code.checkcast(type);
+    }
+
+    private static Class<?> defineClass(final Class<?> clazz, final String className, final byte[] bytes) throws Exception {
+        final ProtectionDomain protectionDomain = AccessController.doPrivileged(new PrivilegedAction<ProtectionDomain>() {
+            public ProtectionDomain run() {
+                return clazz.getProtectionDomain();
+            }
+        });
+        return (Class<?>) DEFINE_CLASS.invoke(clazz.getClassLoader(), className, bytes, Integer.valueOf(0), Integer.valueOf(bytes.length), protectionDomain);
+    }
+
+    private static boolean isAccessible(final Class<?> clazz, final Member member) {
+        final int modifiers = member.getModifiers();
+        if (member.getDeclaringClass() != clazz || Modifier.isPrivate(modifiers) || Modifier.isStatic(modifiers)) {
+            return false;
+        }
+        if (member instanceof Field) {
+            final Field field = (Field) member;
+            return !Modifier.isFinal(modifiers) && isReferenceTypeAccessible(clazz, field.getType());
+        } else if (member instanceof Method) {
+            final Method method = (Method) member;
+            final Class<?>[] parameterTypes = method.getParameterTypes();
+            final Class<?> returnType = method.getReturnType();
+            return !Modifier.isAbstract(modifiers)
+                    && parameterTypes.length <= 1
+                    && (parameterTypes.length == 0 || isReferenceTypeAccessible(clazz, parameterTypes[0]))
+                    && (returnType == void.class || !returnType.isPrimitive());
+        }
+        return false;
+    }
+
+    /**
+     * Values are cast to the member type, so it must be a reference type which the accessor class can link against.
+     */
+    private static boolean isReferenceTypeAccessible(final Class<?> clazz, final Class<?> type) {
+        Class<?> component = type;
+        while (component.isArray()) {
+            component = component.getComponentType();
+        }
+        if (component.isPrimitive()) {
+            return component != type;
+        }
+        final int modifiers = component.getModifiers();
+        if (Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers)) {
+            // member classes declared protected are public in the class file
+            return true;
+        }
+        return component.getClassLoader() == clazz.getClassLoader() && packageName(component).equals(packageName(clazz));
+    }
+
+    private static String packageName(final Class<?> clazz) {
+        final String name = clazz.getName();
+        final int index = name.lastIndexOf('.');
+        return index == -1 ? "" : name.substring(0, index);
+    }
+}
@@ -59,6 +59,7 @@ public class ComponentConfiguration {
 
     // Component instance management
     private ManagedReferenceFactory instanceFactory;
+    private final List<Class<?>> interceptorClasses = new ArrayList<Class<?>>();
 
     private final List<DependencyConfigurator> createDependencies = new ArrayList<DependencyConfigurator>();
     private final List<DependencyConfigurator> startDependencies = new ArrayList<DependencyConfigurator>();
@@ -268,6 +269,16 @@ public class ComponentConfiguration {
         this.instanceFactory = instanceFactory;
     }
 
+    /**
+     * Get the interceptor classes instantiated for each instance of this component.  Each interceptor instance is
+     * held in the interceptor factory context under its class.
+     *
+     * @return the interceptor classes
+     */
+    public List<Class<?>> getInterceptorClasses() {
+        return interceptorClasses;
+    }
+
     public EEModuleClassConfiguration getModuleClassConfiguration() {
         return moduleClassConfiguration;
     }
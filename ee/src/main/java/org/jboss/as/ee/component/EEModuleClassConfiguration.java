@@ -84,6 +84,11 @@ public final class EEModuleClassConfiguration {
      */
     private volatile Set<Method> classMethods;
 
+    /**
+     * Lazily generated accessors for the injection targets and lifecycle methods of the class.
+     */
+    private volatile ClassAccessors accessors;
+
     public EEModuleClassConfiguration(final Class<?> moduleClass, EEModuleClassDescription moduleClassDescription, final DeploymentReflectionIndex deploymentReflectionIndex) {
         this.moduleClass = moduleClass;
         this.moduleClassDescription = moduleClassDescription;
@@ -152,6 +157,17 @@ public final class EEModuleClassConfiguration {
         return classMethods;
     }
 
+    ClassAccessors getAccessors() {
+        if (accessors == null) {
+            synchronized (this) {
+                if (accessors == null) {
+                    accessors = ClassAccessors.create(this, deploymentReflectionIndex);
+                }
+            }
+        }
+        return accessors;
+    }
+
     /**
      * Set the class instantiator.
      *
@@ -34,6 +34,7 @@ import org.jboss.msc.value.Value;
 
 import java.lang.reflect.Field;
 
+import static org.jboss.as.ee.component.Attachments.EE_APPLICATION_DESCRIPTION;
 import static org.jboss.as.server.deployment.Attachments.MODULE;
 import static org.jboss.as.server.deployment.Attachments.REFLECTION_INDEX;
 
@@ -74,6 +75,6 @@ public final class FieldInjectionTarget extends InjectionTarget {
         if (field == null) {
             throw new DeploymentUnitProcessingException("No matching field found for '" + name + "'");
         }
-        return new ManagedReferenceFieldInjectionInterceptorFactory(targetContextKey, valueContextKey, factoryValue, field, this.isOptionalInjection());
+        return new ManagedReferenceFieldInjectionInterceptorFactory(targetContextKey, valueContextKey, factoryValue, field, ClassAccessors.getAccessor(deploymentUnit.getAttachment(EE_APPLICATION_DESCRIPTION), field), this.isOptionalInjection());
     }
 }
@@ -0,0 +1,228 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.component;
+
+import org.jboss.invocation.ImmediateInterceptorFactory;
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorFactory;
+import org.jboss.invocation.InterceptorFactoryContext;
+import org.jboss.invocation.Interceptors;
+import org.jboss.invocation.SimpleInterceptorFactoryContext;
+
+import java.lang.reflect.Method;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The per-method interceptor chains of a component or view, compiled once.  Each method is assigned a slot, and
+ * the chains created for an instance are held in an array indexed by slot rather than in a map of their own.
+ * Chains made only of {@link ImmediateInterceptorFactory immediate} interceptors are created once and shared by
+ * every instance.  Dispatchers which know their target method up front hold a {@link MethodSlot}, so the slot is only
+ * looked up once rather than on every call.
+ */
+final class InterceptorSlots {
+
+    private final Method[] methods;
+    // This is an identity map.  Only the {@code Method} objects given to the constructor will match.
+    private final IdentityHashMap<Method, Integer> slots;
+    private final InterceptorFactory[] factories;
+    private final Interceptor[] shared;
+    private final Set<Method> methodSet;
+
+    InterceptorSlots(final Map<Method, InterceptorFactory> factoryMap) {
+        final int size = factoryMap.size();
+        methods = new Method[size];
+        slots = new IdentityHashMap<Method, Integer>(size);
+        factories = new InterceptorFactory[size];
+        shared = new Interceptor[size];
+        int slot = 0;
+        for (Map.Entry<Method, InterceptorFactory> entry : factoryMap.entrySet()) {
+            final InterceptorFactory factory = entry.getValue();
+            methods[slot] = entry.getKey();
+            slots.put(entry.getKey(), Integer.valueOf(slot));
+            factories[slot] = factory;
+            if (factory instanceof ImmediateInterceptorFactory) {
+                shared[slot] = factory.create(new SimpleInterceptorFactoryContext());
+            }
+            slot++;
+        }
+        methodSet = Collections.unmodifiableSet(slots.keySet());
+    }
+
+    /**
+     * Get the slot of a method.
+     *
+     * @param method the method
+     * @return the slot, or {@code -1} if the method has none
+     */
+    int getSlot(final Method method) {
+        final Integer slot = slots.get(method);
+        return slot == null ? -1 : slot.intValue();
+    }
+
+    /**
+     * Create the interceptor chains of one instance.
+     *
+     * @param context the interceptor factory context of the instance
+     * @return an unmodifiable map of the instance's interceptor chains
+     */
+    SlotMap create(final InterceptorFactoryContext context) {
+        final Interceptor[] interceptors = new Interceptor[factories.length];
+        for (int i = 0; i < interceptors.length; i++) {
+            final Interceptor interceptor = shared[i];
+            interceptors[i] = interceptor != null ? interceptor : factories[i].create(context);
+        }
+        return new SlotMap(interceptors);
+    }
+
+    /**
+     * Chain a list of interceptor factories together.  If every factory is immediate, the chain itself is built once
+     * and returned as an immediate factory so it can be shared by every instance.
+     *
+     * @param factories the factories to chain
+     * @return the chained factory
+     */
+    static InterceptorFactory getChainedInterceptorFactory(final List<InterceptorFactory> factories) {
+        if (factories.size() < 2) {
+            return Interceptors.getChainedInterceptorFactory(factories);
+        }
+        final List<Interceptor> interceptors = new ArrayList<Interceptor>(factories.size());
+        final InterceptorFactoryContext context = new SimpleInterceptorFactoryContext();
+        for (InterceptorFactory factory : factories) {
+            if (!(factory instanceof ImmediateInterceptorFactory)) {
+                return Interceptors.getChainedInterceptorFactory(factories);
+            }
+            interceptors.add(factory.create(context));
+        }
+        return new ImmediateInterceptorFactory(Interceptors.getChainedInterceptor(interceptors));
+    }
+
+    /**
+     * A method whose slot is resolved against the first slots it is dispatched into, and reused for as long as those
+     * are the slots in use.
+     */
+    static final class MethodSlot {
+        private final Method method;
+        private volatile Resolved resolved;
+
+        MethodSlot(final Method method) {
+            this.method = method;
+        }
+
+        Method getMethod() {
+            return method;
+        }
+
+        Interceptor get(final SlotMap interceptors) {
+            final InterceptorSlots owner = interceptors.getOwner();
+            Resolved current = resolved;
+            if (current == null || current.owner != owner) {
+                current = new Resolved(owner, owner.getSlot(method));
+                resolved = current;
+            }
+            return current.slot < 0 ? null : interceptors.get(current.slot);
+        }
+    }
+
+    private static final class Resolved {
+        private final InterceptorSlots owner;
+        private final int slot;
+
+        Resolved(final InterceptorSlots owner, final int slot) {
+            this.owner = owner;
+            this.slot = slot;
+        }
+    }
+
+    final class SlotMap extends AbstractMap<Method, Interceptor> {
+        private final Interceptor[] interceptors;
+
+        SlotMap(final Interceptor[] interceptors) {
+            this.interceptors = interceptors;
+        }
+
+        InterceptorSlots getOwner() {
+            return InterceptorSlots.this;
+        }
+
+        Interceptor get(final int slot) {
+            return interceptors[slot];
+        }
+
+        public Interceptor get(final Object key) {
+            final Integer slot = slots.get(key);
+            return slot == null ? null : interceptors[slot.intValue()];
+        }
+
+        public boolean containsKey(final Object key) {
+            return slots.containsKey(key);
+        }
+
+        public int size() {
+            return interceptors.length;
+        }
+
+        public Set<Method> keySet() {
+            return methodSet;
+        }
+
+        public Set<Entry<Method, Interceptor>> entrySet() {
+            return new AbstractSet<Entry<Method, Interceptor>>() {
+                public Iterator<Entry<Method, Interceptor>> iterator() {
+                    return new Iterator<Entry<Method, Interceptor>>() {
+                        private int i;
+
+                        public boolean hasNext() {
+                            return i < interceptors.length;
+                        }
+
+                        public Entry<Method, Interceptor> next() {
+                            if (i == interceptors.length) {
+                                throw new NoSuchElementException();
+                            }
+                            final Entry<Method, Interceptor> entry = new SimpleImmutableEntry<Method, Interceptor>(methods[i], interceptors[i]);
+                            i++;
+                            return entry;
+                        }
+
+                        public void remove() {
+                            throw new UnsupportedOperationException();
+                        }
+                    };
+                }
+
+                public int size() {
+                    return interceptors.length;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.component;
+
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The public context data of an invocation.  Most invocations never touch their context data, so the backing map
+ * is only allocated on the first write.
+ */
+final class LazyContextData extends AbstractMap<String, Object> {
+
+    private Map<String, Object> map;
+
+    public Object get(final Object key) {
+        return map == null ? null : map.get(key);
+    }
+
+    public boolean containsKey(final Object key) {
+        return map != null && map.containsKey(key);
+    }
+
+    public Object put(final String key, final Object value) {
+        if (map == null) {
+            map = new HashMap<String, Object>();
+        }
+        return map.put(key, value);
+    }
+
+    public Object remove(final Object key) {
+        return map == null ? null : map.remove(key);
+    }
+
+    public int size() {
+        return map == null ? 0 : map.size();
+    }
+
+    public void clear() {
+        map = null;
+    }
+
+    public Set<Entry<String, Object>> entrySet() {
+        if (map == null) {
+            map = new HashMap<String, Object>();
+        }
+        return map.entrySet();
+    }
+}
@@ -28,6 +28,7 @@ import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorContext;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -43,13 +44,15 @@ final class ManagedReferenceFieldInjectionInterceptor implements Interceptor {
     private final AtomicReference<ManagedReference> valueReference;
     private final ManagedReferenceFactory factory;
     private final Field field;
+    private final InvocationHandler accessor;
     private final boolean optionalInjection;
 
-    ManagedReferenceFieldInjectionInterceptor(final AtomicReference<ManagedReference> targetReference, final AtomicReference<ManagedReference> valueReference, final ManagedReferenceFactory factory, final Field field, final boolean optionalInjection) {
+    ManagedReferenceFieldInjectionInterceptor(final AtomicReference<ManagedReference> targetReference, final AtomicReference<ManagedReference> valueReference, final ManagedReferenceFactory factory, final Field field, final InvocationHandler accessor, final boolean optionalInjection) {
         this.targetReference = targetReference;
         this.valueReference = valueReference;
         this.factory = factory;
         this.field = field;
+        this.accessor = accessor;
         this.optionalInjection = optionalInjection;
     }
 
@@ -67,7 +70,11 @@ final class ManagedReferenceFieldInjectionInterceptor implements Interceptor {
         boolean ok = false;
         try {
             valueReference.set(reference);
-            field.set(target, reference.getInstance());
+            if (accessor != null) {
+                ClassAccessors.invoke(accessor, target, new Object[] { reference.getInstance() });
+            } else {
+                field.set(target, reference.getInstance());
+            }
             Object result = context.proceed();
             ok = true;
             return result;
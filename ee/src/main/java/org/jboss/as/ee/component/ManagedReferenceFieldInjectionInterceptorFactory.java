@@ -30,6 +30,7 @@ import org.jboss.invocation.InterceptorFactoryContext;
 import org.jboss.msc.value.Value;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -42,13 +43,15 @@ final class ManagedReferenceFieldInjectionInterceptorFactory implements Intercep
     private final Object valueContextKey;
     private final Value<ManagedReferenceFactory> factoryValue;
     private final Field field;
+    private final InvocationHandler accessor;
     private final boolean optionalInjection;
 
-    ManagedReferenceFieldInjectionInterceptorFactory(final Object targetContextKey, final Object valueContextKey, final Value<ManagedReferenceFactory> factoryValue, final Field field, final boolean optionalInjection) {
+    ManagedReferenceFieldInjectionInterceptorFactory(final Object targetContextKey, final Object valueContextKey, final Value<ManagedReferenceFactory> factoryValue, final Field field, final InvocationHandler accessor, final boolean optionalInjection) {
         this.targetContextKey = targetContextKey;
         this.valueContextKey = valueContextKey;
         this.factoryValue = factoryValue;
         this.field = field;
+        this.accessor = accessor;
         this.optionalInjection = optionalInjection;
     }
 
@@ -58,6 +61,6 @@ final class ManagedReferenceFieldInjectionInterceptorFactory implements Intercep
         final AtomicReference<ManagedReference> targetReference = (AtomicReference<ManagedReference>) contextData.get(targetContextKey);
         final AtomicReference<ManagedReference> valueReference = new AtomicReference<ManagedReference>();
         contextData.put(valueContextKey, valueReference);
-        return new ManagedReferenceFieldInjectionInterceptor(targetReference, valueReference, factoryValue.getValue(), field, this.optionalInjection);
+        return new ManagedReferenceFieldInjectionInterceptor(targetReference, valueReference, factoryValue.getValue(), field, accessor, this.optionalInjection);
     }
 }
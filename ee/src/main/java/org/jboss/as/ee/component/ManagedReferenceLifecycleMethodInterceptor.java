@@ -22,6 +22,7 @@
 
 package org.jboss.as.ee.component;
 
+import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.concurrent.atomic.AtomicReference;
@@ -37,12 +38,14 @@ final class ManagedReferenceLifecycleMethodInterceptor implements Interceptor {
 
     private final AtomicReference<ManagedReference> instanceRef;
     private final Method method;
+    private final InvocationHandler accessor;
     private final boolean withContext;
     private final boolean changeMethod;
 
-    ManagedReferenceLifecycleMethodInterceptor(final AtomicReference<ManagedReference> instanceRef, final Method method, final boolean changeMethod) {
+    ManagedReferenceLifecycleMethodInterceptor(final AtomicReference<ManagedReference> instanceRef, final Method method, final InvocationHandler accessor, final boolean changeMethod) {
         this.changeMethod = changeMethod;
         this.method = method;
+        this.accessor = accessor;
         this.instanceRef = instanceRef;
         withContext = method.getParameterTypes().length == 1;
     }
@@ -51,24 +54,30 @@ final class ManagedReferenceLifecycleMethodInterceptor implements Interceptor {
     public Object processInvocation(final InterceptorContext context) throws Exception {
         final ManagedReference reference = instanceRef.get();
         final Object instance = reference.getInstance();
-        try {
-            Method method = this.method;
-            if (withContext) {
-                if (changeMethod) {
-                    final Method oldMethod = context.getMethod();
-                    context.setMethod(method);
-                    try {
-                        return method.invoke(instance, context.getInvocationContext());
-                    } finally {
-                        context.setMethod(oldMethod);
-                    }
-                } else {
-                    return method.invoke(instance, context.getInvocationContext());
+        if (withContext) {
+            if (changeMethod) {
+                final Method oldMethod = context.getMethod();
+                context.setMethod(method);
+                try {
+                    return invoke(instance, new Object[] { context.getInvocationContext() });
+                } finally {
+                    context.setMethod(oldMethod);
                 }
             } else {
-                method.invoke(instance, null);
-                return context.proceed();
+                return invoke(instance, new Object[] { context.getInvocationContext() });
             }
+        } else {
+            invoke(instance, null);
+            return context.proceed();
+        }
+    }
+
+    private Object invoke(final Object instance, final Object[] args) throws Exception {
+        if (accessor != null) {
+            return ClassAccessors.invoke(accessor, instance, args);
+        }
+        try {
+            return method.invoke(instance, args);
         } catch (IllegalAccessException e) {
             final IllegalAccessError n = new IllegalAccessError(e.getMessage());
             n.setStackTrace(e.getStackTrace());
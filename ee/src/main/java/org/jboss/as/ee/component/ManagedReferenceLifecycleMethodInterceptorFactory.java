@@ -22,6 +22,7 @@
 
 package org.jboss.as.ee.component;
 
+import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.util.concurrent.atomic.AtomicReference;
 import org.jboss.as.naming.ManagedReference;
@@ -35,17 +36,19 @@ import org.jboss.invocation.InterceptorFactoryContext;
 final class ManagedReferenceLifecycleMethodInterceptorFactory implements InterceptorFactory {
     private final Object contextKey;
     private final Method method;
+    private final InvocationHandler accessor;
     private final boolean changeMethod;
 
-    ManagedReferenceLifecycleMethodInterceptorFactory(final Object contextKey, final Method method, final boolean changeMethod) {
+    ManagedReferenceLifecycleMethodInterceptorFactory(final Object contextKey, final Method method, final InvocationHandler accessor, final boolean changeMethod) {
         this.contextKey = contextKey;
         this.method = method;
+        this.accessor = accessor;
         this.changeMethod = changeMethod;
     }
 
     public Interceptor create(final InterceptorFactoryContext context) {
         @SuppressWarnings("unchecked")
         final AtomicReference<ManagedReference> ref = (AtomicReference<ManagedReference>) context.getContextData().get(contextKey);
-        return new ManagedReferenceLifecycleMethodInterceptor(ref, method, changeMethod);
+        return new ManagedReferenceLifecycleMethodInterceptor(ref, method, accessor, changeMethod);
     }
 }
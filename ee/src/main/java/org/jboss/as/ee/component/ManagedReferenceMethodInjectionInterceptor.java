@@ -27,6 +27,7 @@ import org.jboss.as.naming.ManagedReferenceFactory;
 import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorContext;
 
+import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -43,13 +44,15 @@ final class ManagedReferenceMethodInjectionInterceptor implements Interceptor {
     private final AtomicReference<ManagedReference> valueReference;
     private final ManagedReferenceFactory factory;
     private final Method method;
+    private final InvocationHandler accessor;
     private final boolean optionalInjection;
 
-    ManagedReferenceMethodInjectionInterceptor(final AtomicReference<ManagedReference> targetReference, final AtomicReference<ManagedReference> valueReference, final ManagedReferenceFactory factory, final Method method, final boolean optionalInjection) {
+    ManagedReferenceMethodInjectionInterceptor(final AtomicReference<ManagedReference> targetReference, final AtomicReference<ManagedReference> valueReference, final ManagedReferenceFactory factory, final Method method, final InvocationHandler accessor, final boolean optionalInjection) {
         this.targetReference = targetReference;
         this.valueReference = valueReference;
         this.factory = factory;
         this.method = method;
+        this.accessor = accessor;
         this.optionalInjection = optionalInjection;
     }
 
@@ -69,7 +72,11 @@ final class ManagedReferenceMethodInjectionInterceptor implements Interceptor {
         boolean ok = false;
         try {
             valueReference.set(reference);
-            method.invoke(target, reference.getInstance());
+            if (accessor != null) {
+                ClassAccessors.invoke(accessor, target, new Object[] { reference.getInstance() });
+            } else {
+                method.invoke(target, reference.getInstance());
+            }
             Object result = context.proceed();
             ok = true;
             return result;
@@ -29,6 +29,7 @@ import org.jboss.invocation.InterceptorFactory;
 import org.jboss.invocation.InterceptorFactoryContext;
 import org.jboss.msc.value.Value;
 
+import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
@@ -42,13 +43,15 @@ final class ManagedReferenceMethodInjectionInterceptorFactory implements Interce
     private final Object valueContextKey;
     private final Value<ManagedReferenceFactory> factoryValue;
     private final Method method;
+    private final InvocationHandler accessor;
     private final boolean optionalInjection;
 
-    ManagedReferenceMethodInjectionInterceptorFactory(final Object targetContextKey, final Object valueContextKey, final Value<ManagedReferenceFactory> factoryValue, final Method method, final boolean optionalInjection) {
+    ManagedReferenceMethodInjectionInterceptorFactory(final Object targetContextKey, final Object valueContextKey, final Value<ManagedReferenceFactory> factoryValue, final Method method, final InvocationHandler accessor, final boolean optionalInjection) {
         this.targetContextKey = targetContextKey;
         this.valueContextKey = valueContextKey;
         this.factoryValue = factoryValue;
         this.method = method;
+        this.accessor = accessor;
         this.optionalInjection = optionalInjection;
     }
 
@@ -58,6 +61,6 @@ final class ManagedReferenceMethodInjectionInterceptorFactory implements Interce
         final AtomicReference<ManagedReference> targetReference = (AtomicReference<ManagedReference>) contextData.get(targetContextKey);
         final AtomicReference<ManagedReference> valueReference = new AtomicReference<ManagedReference>();
         contextData.put(valueContextKey, valueReference);
-        return new ManagedReferenceMethodInjectionInterceptor(targetReference, valueReference, factoryValue.getValue(), method, this.optionalInjection);
+        return new ManagedReferenceMethodInjectionInterceptor(targetReference, valueReference, factoryValue.getValue(), method, accessor, this.optionalInjection);
     }
 }
@@ -37,6 +37,7 @@ import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Iterator;
 
+import static org.jboss.as.ee.component.Attachments.EE_APPLICATION_DESCRIPTION;
 import static org.jboss.as.server.deployment.Attachments.MODULE;
 import static org.jboss.as.server.deployment.Attachments.REFLECTION_INDEX;
 
@@ -86,6 +87,6 @@ public final class MethodInjectionTarget extends InjectionTarget {
                     paramType != null ? "(" + paramType + ")" : "" +
                     " on " + className);
         }
-        return new ManagedReferenceMethodInjectionInterceptorFactory(targetContextKey, valueContextKey, factoryValue, method, this.isOptionalInjection());
+        return new ManagedReferenceMethodInjectionInterceptorFactory(targetContextKey, valueContextKey, factoryValue, method, ClassAccessors.getAccessor(deploymentUnit.getAttachment(EE_APPLICATION_DESCRIPTION), method), this.isOptionalInjection());
     }
 }
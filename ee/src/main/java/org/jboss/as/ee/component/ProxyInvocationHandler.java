@@ -27,7 +27,6 @@ import org.jboss.invocation.InterceptorContext;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -71,8 +70,8 @@ public final class ProxyInvocationHandler implements InvocationHandler {
         context.putPrivateData(ComponentViewInstance.class, componentViewInstance);
         context.setParameters(args);
         context.setMethod(method);
-        // setup the public context data
-        context.setContextData(new HashMap());
+        // setup the public context data, which is only allocated if an interceptor uses it
+        context.setContextData(new LazyContextData());
         return interceptor.processInvocation(context);
     }
 }
@@ -140,12 +140,22 @@ public class ViewDescription {
         return configurators;
     }
 
-    static final ImmediateInterceptorFactory CLIENT_DISPATCHER_INTERCEPTOR_FACTORY = new ImmediateInterceptorFactory(new Interceptor() {
+    private static class ClientDispatcherInterceptor implements Interceptor {
+
+        private final InterceptorSlots.MethodSlot viewMethod;
+
+        ClientDispatcherInterceptor(final Method viewMethod) {
+            this.viewMethod = new InterceptorSlots.MethodSlot(viewMethod);
+        }
+
         public Object processInvocation(final InterceptorContext context) throws Exception {
             ComponentViewInstance viewInstance = context.getPrivateData(ComponentViewInstance.class);
+            if (viewInstance instanceof ViewService.View.ViewInstance && context.getMethod() == viewMethod.getMethod()) {
+                return ((ViewService.View.ViewInstance) viewInstance).getEntryPoint(viewMethod).processInvocation(context);
+            }
             return viewInstance.getEntryPoint(context.getMethod()).processInvocation(context);
         }
-    });
+    }
 
     private static class DefaultConfigurator implements ViewConfigurator {
 
@@ -157,7 +167,7 @@ public class ViewDescription {
             for (Method method : methods) {
                 final Method componentMethod = ClassReflectionIndexUtil.findRequiredMethod(reflectionIndex, index, method);
                 configuration.addViewInterceptor(method,new ImmediateInterceptorFactory(new ComponentDispatcherInterceptor(componentMethod)), InterceptorOrder.View.COMPONENT_DISPATCHER);
-                configuration.addClientInterceptor(method, CLIENT_DISPATCHER_INTERCEPTOR_FACTORY, InterceptorOrder.Client.CLIENT_DISPATCHER);
+                configuration.addClientInterceptor(method, new ImmediateInterceptorFactory(new ClientDispatcherInterceptor(method)), InterceptorOrder.Client.CLIENT_DISPATCHER);
             }
 
             configuration.addViewPostConstructInterceptor(Interceptors.getTerminalInterceptorFactory(), InterceptorOrder.ViewPostConstruct.TERMINAL_INTERCEPTOR);
@@ -185,9 +195,11 @@ public class ViewDescription {
     private static class ComponentDispatcherInterceptor implements Interceptor {
 
         private final Method componentMethod;
+        private final InterceptorSlots.MethodSlot componentSlot;
 
         public ComponentDispatcherInterceptor(final Method componentMethod) {
             this.componentMethod = componentMethod;
+            this.componentSlot = new InterceptorSlots.MethodSlot(componentMethod);
         }
 
         public Object processInvocation(final InterceptorContext context) throws Exception {
@@ -199,7 +211,10 @@ public class ViewDescription {
             try {
                 context.setMethod(componentMethod);
                 context.setTarget(componentInstance.getInstance());
-                return componentInstance.getInterceptor(componentMethod).processInvocation(context);
+                final Interceptor interceptor = componentInstance instanceof BasicComponentInstance
+                        ? ((BasicComponentInstance) componentInstance).getInterceptor(componentSlot)
+                        : componentInstance.getInterceptor(componentMethod);
+                return interceptor.processInvocation(context);
             } finally {
                 context.setMethod(oldMethod);
                 context.setTarget(null);
@@ -50,8 +50,8 @@ import java.util.Set;
 final class ViewService implements Service<ComponentView> {
     private static final Logger logger = Logger.getLogger(ViewService.class);
     private final InjectedValue<Component> componentInjector = new InjectedValue<Component>();
-    private final Map<Method, InterceptorFactory> viewInterceptorFactories;
-    private final Map<Method, InterceptorFactory> clientInterceptorFactories;
+    private final InterceptorSlots viewInterceptorSlots;
+    private final InterceptorSlots clientInterceptorSlots;
     private final InterceptorFactory viewPostConstruct;
     private final InterceptorFactory viewPreDestroy;
     private final InterceptorFactory clientPostConstruct;
@@ -84,12 +84,12 @@ final class ViewService implements Service<ComponentView> {
             if (method.getName().equals("finalize") && method.getParameterTypes().length == 0) {
                 viewInterceptorFactories.put(method, DESTROY_INTERCEPTOR);
             } else {
-                viewInterceptorFactories.put(method, Interceptors.getChainedInterceptorFactory(viewConfiguration.getViewInterceptors(method)));
-                clientInterceptorFactories.put(method, Interceptors.getChainedInterceptorFactory(viewConfiguration.getClientInterceptors(method)));
+                viewInterceptorFactories.put(method, InterceptorSlots.getChainedInterceptorFactory(viewConfiguration.getViewInterceptors(method)));
+                clientInterceptorFactories.put(method, InterceptorSlots.getChainedInterceptorFactory(viewConfiguration.getClientInterceptors(method)));
             }
         }
-        this.viewInterceptorFactories = viewInterceptorFactories;
-        this.clientInterceptorFactories = clientInterceptorFactories;
+        viewInterceptorSlots = new InterceptorSlots(viewInterceptorFactories);
+        clientInterceptorSlots = new InterceptorSlots(clientInterceptorFactories);
         allowedMethods = Collections.unmodifiableSet(viewInterceptorFactories.keySet());
     }
 
@@ -124,16 +124,12 @@ final class ViewService implements Service<ComponentView> {
 
         public ComponentViewInstance createInstance(Map<Object, Object> contextData) {
             final SimpleInterceptorFactoryContext factoryContext = new SimpleInterceptorFactoryContext();
-            final Map<Method, InterceptorFactory> viewInterceptorFactories = ViewService.this.viewInterceptorFactories;
-            final Map<Method, Interceptor> viewEntryPoints = new IdentityHashMap<Method, Interceptor>(viewInterceptorFactories.size());
             factoryContext.getContextData().put(Component.class, component);
             factoryContext.getContextData().put(ComponentView.class, this);
             factoryContext.getContextData().putAll(contextData);
             final Interceptor postConstructInterceptor = viewPostConstruct.create(factoryContext);
 
-            for (Method method : viewInterceptorFactories.keySet()) {
-                viewEntryPoints.put(method, viewInterceptorFactories.get(method).create(factoryContext));
-            }
+            final InterceptorSlots.SlotMap viewEntryPoints = viewInterceptorSlots.create(factoryContext);
             final Interceptor preDestroyInterceptor = viewPreDestroy.create(factoryContext);
 
             final ComponentViewInstance instance = new ViewInstance(viewEntryPoints, preDestroyInterceptor);
@@ -160,10 +156,10 @@ final class ViewService implements Service<ComponentView> {
 
         class ViewInstance implements ComponentViewInstance {
 
-            private final Map<Method, Interceptor> viewEntryPoints;
+            private final InterceptorSlots.SlotMap viewEntryPoints;
             private final Interceptor preDestroyInterceptor;
 
-            ViewInstance(final Map<Method, Interceptor> viewEntryPoints, final Interceptor preDestroyInterceptor) {
+            ViewInstance(final InterceptorSlots.SlotMap viewEntryPoints, final Interceptor preDestroyInterceptor) {
                 this.viewEntryPoints = viewEntryPoints;
                 this.preDestroyInterceptor = preDestroyInterceptor;
             }
@@ -182,11 +178,7 @@ final class ViewService implements Service<ComponentView> {
                 factoryContext.getContextData().put(ComponentView.class, View.this);
                 factoryContext.getContextData().put(ComponentViewInstance.class, this);
 
-                final Map<Method, InterceptorFactory> clientInterceptorFactories = ViewService.this.clientInterceptorFactories;
-                final Map<Method, Interceptor> clientEntryPoints = new IdentityHashMap<Method, Interceptor>(clientInterceptorFactories.size());
-                for (Method method : clientInterceptorFactories.keySet()) {
-                    clientEntryPoints.put(method, clientInterceptorFactories.get(method).create(factoryContext));
-                }
+                final Map<Method, Interceptor> clientEntryPoints = clientInterceptorSlots.create(factoryContext);
                 final Interceptor postConstructInterceptor = clientPostConstruct.create(factoryContext);
                 try {
                     Object object = proxyFactory.newInstance(new ProxyInvocationHandler(clientEntryPoints, component, View.this, this));
@@ -227,6 +219,14 @@ final class ViewService implements Service<ComponentView> {
                 return interceptor;
             }
 
+            Interceptor getEntryPoint(final InterceptorSlots.MethodSlot methodSlot) throws IllegalArgumentException {
+                Interceptor interceptor = methodSlot.get(viewEntryPoints);
+                if (interceptor == null) {
+                    throw new IllegalArgumentException("Invalid view entry point " + methodSlot.getMethod());
+                }
+                return interceptor;
+            }
+
             @Deprecated
             public boolean isAsynchronous(final Method method) throws IllegalArgumentException {
                 return false;
@@ -0,0 +1,148 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Collections;
+
+import javax.interceptor.InvocationContext;
+
+import org.jboss.as.ee.component.interceptors.InterceptorOrder;
+import org.jboss.as.naming.ValueManagedReferenceFactory;
+import org.jboss.as.server.deployment.reflect.DeploymentReflectionIndex;
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.Interceptors;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.value.ConstructedValue;
+import org.jboss.msc.value.Value;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that a component instance restored from its serialized state, as a passivated stateful bean is, keeps working
+ * with the interceptor instances serialized along with it.
+ */
+public class BasicComponentPassivationTestCase {
+
+    private BasicComponent component;
+    private Method hello;
+
+    @Before
+    public void setUp() throws Exception {
+        final EEModuleClassDescription classDescription = new EEModuleClassDescription(Bean.class.getName());
+        final ComponentDescription description = new ComponentDescription("bean", Bean.class.getName(), new EEModuleDescription("app", "module"), classDescription, ServiceName.of("test"));
+        final ComponentConfiguration configuration = new ComponentConfiguration(description, new EEModuleClassConfiguration(Bean.class, classDescription, DeploymentReflectionIndex.create()));
+
+        // Wired as ComponentDescription does for a bean with one interceptor class
+        configuration.addPostConstructInterceptor(new ManagedReferenceInterceptorFactory(constructing(Bean.class), BasicComponentInstance.INSTANCE_KEY), InterceptorOrder.ComponentPostConstruct.INSTANTIATION_INTERCEPTORS);
+        configuration.addPostConstructInterceptor(new ManagedReferenceInterceptorFactory(constructing(CountingInterceptor.class), CountingInterceptor.class), InterceptorOrder.ComponentPostConstruct.INSTANTIATION_INTERCEPTORS);
+        configuration.addPostConstructInterceptor(Interceptors.getTerminalInterceptorFactory(), InterceptorOrder.ComponentPostConstruct.TERMINAL_INTERCEPTOR);
+        configuration.addPreDestroyInterceptor(Interceptors.getTerminalInterceptorFactory(), InterceptorOrder.ComponentPreDestroy.TERMINAL_INTERCEPTOR);
+        configuration.getInterceptorClasses().add(CountingInterceptor.class);
+
+        final Method aroundInvoke = CountingInterceptor.class.getDeclaredMethod("aroundInvoke", InvocationContext.class);
+        for (Method method : configuration.getDefinedComponentMethods()) {
+            if (method.getName().equals("hello")) {
+                hello = method;
+                configuration.addComponentInterceptor(method, Interceptors.getInitialInterceptorFactory(), InterceptorOrder.Component.INITIAL_INTERCEPTOR);
+                configuration.addComponentInterceptor(method, new ManagedReferenceLifecycleMethodInterceptorFactory(CountingInterceptor.class, aroundInvoke, null, false), InterceptorOrder.Component.USER_INTERCEPTORS);
+                configuration.addComponentInterceptor(method, new ManagedReferenceMethodInterceptorFactory(BasicComponentInstance.INSTANCE_KEY, method), InterceptorOrder.Component.TERMINAL_INTERCEPTOR);
+            }
+        }
+        component = new BasicComponent(new BasicComponentCreateService(configuration));
+        component.start();
+    }
+
+    @Test
+    public void testInterceptedCallAfterRestore() throws Exception {
+        final BasicComponentInstance instance = (BasicComponentInstance) component.createInstance();
+        assertEquals("hello 1 1", invoke(instance));
+
+        final Object[] state = roundTrip(instance);
+        final Object[] interceptorInstances = new Object[state.length - 1];
+        System.arraycopy(state, 1, interceptorInstances, 0, interceptorInstances.length);
+        final BasicComponentInstance restored = (BasicComponentInstance) component.restoreInstance(state[0], interceptorInstances);
+        assertNotSame(instance.getInstance(), restored.getInstance());
+        assertNotSame(instance.getInterceptorInstances()[0], restored.getInterceptorInstances()[0]);
+
+        // Both the bean and its interceptor continue from their passivated state
+        assertEquals("hello 2 2", invoke(restored));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRestoreWithoutInterceptorInstances() {
+        component.restoreInstance(new Bean(), new Object[0]);
+    }
+
+    private Object invoke(final ComponentInstance instance) throws Exception {
+        final InterceptorContext context = new InterceptorContext();
+        context.putPrivateData(Component.class, component);
+        context.putPrivateData(ComponentInstance.class, instance);
+        context.setMethod(hello);
+        context.setParameters(new Object[0]);
+        return instance.getInterceptor(hello).processInvocation(context);
+    }
+
+    private static Object[] roundTrip(final BasicComponentInstance instance) throws Exception {
+        final Object[] interceptorInstances = instance.getInterceptorInstances();
+        final Object[] state = new Object[interceptorInstances.length + 1];
+        state[0] = instance.getInstance();
+        System.arraycopy(interceptorInstances, 0, state, 1, interceptorInstances.length);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ObjectOutputStream output = new ObjectOutputStream(bytes);
+        output.writeObject(state);
+        output.close();
+        return (Object[]) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+    }
+
+    private static ValueManagedReferenceFactory constructing(final Class<?> clazz) throws NoSuchMethodException {
+        return new ValueManagedReferenceFactory(new ConstructedValue<Object>((Constructor<Object>) clazz.getConstructor(), Collections.<Value<?>>emptyList()));
+    }
+
+    public static class Bean implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private int calls;
+
+        public String hello() {
+            return "hello " + ++calls;
+        }
+    }
+
+    public static class CountingInterceptor implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private int calls;
+
+        public Object aroundInvoke(final InvocationContext context) throws Exception {
+            return context.proceed() + " " + ++calls;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Member;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests which load the accessor classes generated by {@link ClassAccessors} and call them.
+ */
+public class ClassAccessorsTestCase {
+
+    @Test
+    public void testFieldInjection() throws Exception {
+        final Field field = Bean.class.getDeclaredField("name");
+        final Field arrayField = Bean.class.getDeclaredField("values");
+        final ClassAccessors accessors = ClassAccessors.create(Bean.class, Arrays.<Member>asList(field, arrayField));
+        final InvocationHandler accessor = accessors.getAccessor(field);
+        assertNotNull(accessor);
+        assertTrue(accessor.getClass().getName().startsWith(Bean.class.getName()));
+
+        final Bean bean = new Bean();
+        assertNull(ClassAccessors.invoke(accessor, bean, new Object[] {"injected"}));
+        assertEquals("injected", bean.name);
+        final String[] values = {"a", "b"};
+        ClassAccessors.invoke(accessors.getAccessor(arrayField), bean, new Object[] {values});
+        assertSame(values, bean.values);
+    }
+
+    @Test
+    public void testMethodInvocation() throws Exception {
+        final Member setter = Bean.class.getDeclaredMethod("setValue", Object.class);
+        final Member postConstruct = Bean.class.getDeclaredMethod("postConstruct");
+        final Member aroundInvoke = Bean.class.getDeclaredMethod("aroundInvoke", Object.class);
+        final ClassAccessors accessors = ClassAccessors.create(Bean.class, Arrays.asList(setter, postConstruct, aroundInvoke));
+
+        final Bean bean = new Bean();
+        final Object value = new Object();
+        assertNull(ClassAccessors.invoke(accessors.getAccessor(setter), bean, new Object[] {value}));
+        assertSame(value, bean.value);
+        assertNull(ClassAccessors.invoke(accessors.getAccessor(postConstruct), bean, null));
+        assertEquals(Arrays.asList("postConstruct"), bean.events);
+        assertEquals("proceeded", ClassAccessors.invoke(accessors.getAccessor(aroundInvoke), bean, new Object[] {"proceeded"}));
+        assertEquals(Arrays.asList("postConstruct", "aroundInvoke"), bean.events);
+    }
+
+    @Test
+    public void testExceptionIsPropagated() throws Exception {
+        final Member method = Bean.class.getDeclaredMethod("failure");
+        final ClassAccessors accessors = ClassAccessors.create(Bean.class, Arrays.asList(method));
+        try {
+            ClassAccessors.invoke(accessors.getAccessor(method), new Bean(), null);
+            fail("Expected IOException");
+        } catch (IOException expected) {
+            assertEquals("failure", expected.getMessage());
+        }
+    }
+
+    @Test
+    public void testUnreachableMembersHaveNoAccessor() throws Exception {
+        final Member privateField = Bean.class.getDeclaredField("secret");
+        final Member primitiveField = Bean.class.getDeclaredField("count");
+        final Member finalField = Bean.class.getDeclaredField("events");
+        final Member inheritedMethod = Object.class.getDeclaredMethod("toString");
+        final ClassAccessors accessors = ClassAccessors.create(Bean.class, Arrays.asList(privateField, primitiveField, finalField, inheritedMethod));
+        assertSame(ClassAccessors.NONE, accessors);
+    }
+
+    static class Bean {
+        final List<String> events = new ArrayList<String>();
+        String name;
+        String[] values;
+        Object value;
+        int count;
+        @SuppressWarnings("unused")
+        private String secret;
+
+        void setValue(final Object value) {
+            this.value = value;
+        }
+
+        protected void postConstruct() {
+            events.add("postConstruct");
+        }
+
+        Object aroundInvoke(final Object context) {
+            events.add("aroundInvoke");
+            return context;
+        }
+
+        void failure() throws IOException {
+            throw new IOException("failure");
+        }
+    }
+}
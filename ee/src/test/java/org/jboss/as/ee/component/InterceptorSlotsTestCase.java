@@ -0,0 +1,73 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.component;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Method;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.jboss.invocation.ImmediateInterceptorFactory;
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.InterceptorFactory;
+import org.jboss.invocation.SimpleInterceptorFactoryContext;
+import org.junit.Test;
+
+/**
+ * Tests dispatching into interceptor slots through a {@link InterceptorSlots.MethodSlot}.
+ */
+public class InterceptorSlotsTestCase {
+
+    @Test
+    public void testMethodSlotFollowsTheSlotsInUse() throws Exception {
+        final Method toString = Object.class.getMethod("toString");
+        final Method hashCode = Object.class.getMethod("hashCode");
+        final InterceptorSlots.MethodSlot methodSlot = new InterceptorSlots.MethodSlot(hashCode);
+
+        final InterceptorSlots.SlotMap first = createSlots(toString, hashCode).create(new SimpleInterceptorFactoryContext());
+        assertSame(first.get(hashCode), methodSlot.get(first));
+        assertSame(first.get(hashCode), methodSlot.get(first));
+
+        // Slots built from a different map, as on a restart of the component, are resolved again
+        final InterceptorSlots.SlotMap second = createSlots(hashCode, toString).create(new SimpleInterceptorFactoryContext());
+        assertSame(second.get(hashCode), methodSlot.get(second));
+
+        final InterceptorSlots.SlotMap missing = createSlots(toString).create(new SimpleInterceptorFactoryContext());
+        assertNull(methodSlot.get(missing));
+    }
+
+    private static InterceptorSlots createSlots(final Method... methods) {
+        final Map<Method, InterceptorFactory> factories = new IdentityHashMap<Method, InterceptorFactory>();
+        for (Method method : methods) {
+            factories.put(method, new ImmediateInterceptorFactory(new Interceptor() {
+                public Object processInvocation(final InterceptorContext context) throws Exception {
+                    return null;
+                }
+            }));
+        }
+        return new InterceptorSlots(factories);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3;
+
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelQueryOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.RuntimeTask;
+import org.jboss.as.controller.RuntimeTaskContext;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.ejb3.component.pool.PoolConfig;
+import org.jboss.as.ejb3.component.pool.PoolConfigService;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metric handler reporting, per bean instance pool definition, the combined state of the pools of all beans
+ * using it.  The wait time is in milliseconds.
+ */
+class BeanInstancePoolMetricsHandler implements ModelQueryOperationHandler {
+
+    static final BeanInstancePoolMetricsHandler INSTANCE = new BeanInstancePoolMetricsHandler();
+
+    private static final ModelNode NO_METRICS = new ModelNode().set("no metrics available");
+
+    private BeanInstancePoolMetricsHandler() {
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
+        if (context.getRuntimeContext() != null) {
+            context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
+                @Override
+                public void execute(final RuntimeTaskContext context) throws OperationFailedException {
+                    final ServiceController<?> controller = context.getServiceRegistry().getService(PoolConfigService.SERVICE_NAME);
+                    if (controller != null && controller.getState() == ServiceController.State.UP) {
+                        final ModelNode result = new ModelNode();
+                        result.setEmptyObject();
+                        for (PoolConfig pool : ((PoolConfigService) controller.getValue()).getPoolConfigs().values()) {
+                            final ModelNode metrics = result.get(pool.getName());
+                            metrics.get(CommonAttributes.AVAILABLE_COUNT).set(pool.getAvailableCount());
+                            metrics.get(CommonAttributes.IN_USE_COUNT).set(pool.getInUseCount());
+                            metrics.get(CommonAttributes.CREATE_COUNT).set(pool.getCreateCount());
+                            metrics.get(CommonAttributes.REMOVE_COUNT).set(pool.getRemoveCount());
+                            metrics.get(CommonAttributes.WAIT_TIME).set(pool.getWaitTime(TimeUnit.MILLISECONDS));
+                        }
+                        resultHandler.handleResultFragment(Util.NO_LOCATION, result);
+                    } else {
+                        resultHandler.handleResultFragment(Util.NO_LOCATION, NO_METRICS);
+                    }
+                    resultHandler.handleResultComplete();
+                }
+            });
+        } else {
+            resultHandler.handleResultFragment(Util.NO_LOCATION, NO_METRICS);
+            resultHandler.handleResultComplete();
+        }
+        return new BasicOperationResult();
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3;
+
+/**
+ * The attribute names of the ejb3 subsystem model.
+ */
+interface CommonAttributes {
+
+    String BEAN_INSTANCE_POOLS = "bean-instance-pools";
+    String DEFAULT_SLSB_INSTANCE_POOL = "default-slsb-instance-pool";
+    String MAX_SIZE = "max-size";
+    String POOL_TYPE = "type";
+    String STATEFUL_CACHE = "stateful-cache";
+    String TIMEOUT = "timeout";
+    String TIMEOUT_UNIT = "timeout-unit";
+
+    String BEAN_INSTANCE_POOL_STATISTICS = "bean-instance-pool-statistics";
+    String AVAILABLE_COUNT = "available-count";
+    String CREATE_COUNT = "create-count";
+    String IN_USE_COUNT = "in-use-count";
+    String REMOVE_COUNT = "remove-count";
+    String WAIT_TIME = "wait-time";
+
+    String STATEFUL_CACHE_ACTIVATIONS = "stateful-cache-activations";
+    String STATEFUL_CACHE_EXPIRATIONS = "stateful-cache-expirations";
+    String STATEFUL_CACHE_HITS = "stateful-cache-hits";
+    String STATEFUL_CACHE_MISSES = "stateful-cache-misses";
+    String STATEFUL_CACHE_PASSIVATIONS = "stateful-cache-passivations";
+}
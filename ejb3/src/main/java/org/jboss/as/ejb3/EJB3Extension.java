@@ -38,16 +38,21 @@ import org.jboss.as.controller.parsing.ParseUtils;
 import org.jboss.as.controller.persistence.SubsystemMarshallingContext;
 import org.jboss.as.controller.registry.ModelNodeRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
+import org.jboss.as.ejb3.component.pool.PoolConfig;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
 import org.jboss.staxmapper.XMLElementReader;
 import org.jboss.staxmapper.XMLElementWriter;
 import org.jboss.staxmapper.XMLExtendedStreamReader;
 import org.jboss.staxmapper.XMLExtendedStreamWriter;
 
 import javax.xml.stream.XMLStreamException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.*;
 
 /**
@@ -67,6 +72,10 @@ public class EJB3Extension implements Extension {
         final ModelNodeRegistration registration = subsystem.registerSubsystemModel(EJB3SubsystemProviders.SUBSYSTEM);
         registration.registerOperationHandler(ADD, Ejb3SubsystemAdd.INSTANCE, EJB3SubsystemProviders.SUBSYSTEM_ADD, false);
         registration.registerOperationHandler(DESCRIBE, SubsystemDescribeHandler.INSTANCE, SubsystemDescribeHandler.INSTANCE, false, OperationEntry.EntryType.PRIVATE);
+        for (StatefulCacheMetricsHandler.Metric metric : StatefulCacheMetricsHandler.Metric.values()) {
+            registration.registerMetric(metric.toString(), StatefulCacheMetricsHandler.INSTANCE);
+        }
+        registration.registerMetric(CommonAttributes.BEAN_INSTANCE_POOL_STATISTICS, BeanInstancePoolMetricsHandler.INSTANCE);
         subsystem.registerXMLElementWriter(parser);
     }
 
@@ -84,6 +93,35 @@ public class EJB3Extension implements Extension {
             // //TODO seems to be a problem with empty elements cleaning up the queue in FormattingXMLStreamWriter.runAttrQueue
             //context.startSubsystemElement(NewManagedBeansExtension.NAMESPACE, true);
             context.startSubsystemElement(NAMESPACE, false);
+            final ModelNode node = context.getModelNode();
+            if (node.hasDefined(CommonAttributes.STATEFUL_CACHE)) {
+                final ModelNode statefulCache = node.get(CommonAttributes.STATEFUL_CACHE);
+                writer.writeEmptyElement(CommonAttributes.STATEFUL_CACHE);
+                for (String attribute : STATEFUL_CACHE_ATTRIBUTES) {
+                    if (statefulCache.hasDefined(attribute)) {
+                        writer.writeAttribute(attribute, statefulCache.get(attribute).asString());
+                    }
+                }
+            }
+            if (node.hasDefined(CommonAttributes.BEAN_INSTANCE_POOLS) || node.hasDefined(CommonAttributes.DEFAULT_SLSB_INSTANCE_POOL)) {
+                writer.writeStartElement(CommonAttributes.BEAN_INSTANCE_POOLS);
+                if (node.hasDefined(CommonAttributes.DEFAULT_SLSB_INSTANCE_POOL)) {
+                    writer.writeAttribute(CommonAttributes.DEFAULT_SLSB_INSTANCE_POOL, node.get(CommonAttributes.DEFAULT_SLSB_INSTANCE_POOL).asString());
+                }
+                if (node.hasDefined(CommonAttributes.BEAN_INSTANCE_POOLS)) {
+                    for (Property pool : node.get(CommonAttributes.BEAN_INSTANCE_POOLS).asPropertyList()) {
+                        final ModelNode config = pool.getValue();
+                        writer.writeEmptyElement(config.get(CommonAttributes.POOL_TYPE).asString());
+                        writer.writeAttribute(NAME, pool.getName());
+                        for (String attribute : POOL_ATTRIBUTES) {
+                            if (config.hasDefined(attribute)) {
+                                writer.writeAttribute(attribute, config.get(attribute).asString());
+                            }
+                        }
+                    }
+                }
+                writer.writeEndElement();
+            }
             writer.writeEndElement();
         }
 
@@ -91,18 +129,114 @@ public class EJB3Extension implements Extension {
         @Override
         public void readElement(final XMLExtendedStreamReader reader, final List<ModelNode> list) throws XMLStreamException {
             ParseUtils.requireNoAttributes(reader);
-            ParseUtils.requireNoContent(reader);
             final ModelNode update = new ModelNode();
             update.get(OP).set(ADD);
             update.get(OP_ADDR).add(SUBSYSTEM, SUBSYSTEM_NAME);
+            while (reader.hasNext() && reader.nextTag() != END_ELEMENT) {
+                if (!NAMESPACE.equals(reader.getNamespaceURI())) {
+                    throw ParseUtils.unexpectedElement(reader);
+                }
+                final String element = reader.getLocalName();
+                if (CommonAttributes.STATEFUL_CACHE.equals(element) && !update.has(CommonAttributes.STATEFUL_CACHE)) {
+                    update.get(CommonAttributes.STATEFUL_CACHE).set(parseStatefulCache(reader));
+                } else if (CommonAttributes.BEAN_INSTANCE_POOLS.equals(element) && !update.has(CommonAttributes.BEAN_INSTANCE_POOLS)) {
+                    parseBeanInstancePools(reader, update);
+                } else {
+                    throw ParseUtils.unexpectedElement(reader);
+                }
+            }
             list.add(update);
         }
+
+        private static void parseBeanInstancePools(final XMLExtendedStreamReader reader, final ModelNode update) throws XMLStreamException {
+            final int count = reader.getAttributeCount();
+            for (int i = 0; i < count; i++) {
+                ParseUtils.requireNoNamespaceAttribute(reader, i);
+                if (!CommonAttributes.DEFAULT_SLSB_INSTANCE_POOL.equals(reader.getAttributeLocalName(i))) {
+                    throw ParseUtils.unexpectedAttribute(reader, i);
+                }
+                update.get(CommonAttributes.DEFAULT_SLSB_INSTANCE_POOL).set(reader.getAttributeValue(i));
+            }
+            final ModelNode pools = update.get(CommonAttributes.BEAN_INSTANCE_POOLS);
+            pools.setEmptyObject();
+            while (reader.hasNext() && reader.nextTag() != END_ELEMENT) {
+                if (!NAMESPACE.equals(reader.getNamespaceURI()) || PoolConfig.Type.forName(reader.getLocalName()) == null) {
+                    throw ParseUtils.unexpectedElement(reader);
+                }
+                final ModelNode pool = new ModelNode();
+                pool.get(CommonAttributes.POOL_TYPE).set(reader.getLocalName());
+                String name = null;
+                final int attributes = reader.getAttributeCount();
+                for (int i = 0; i < attributes; i++) {
+                    ParseUtils.requireNoNamespaceAttribute(reader, i);
+                    final String attribute = reader.getAttributeLocalName(i);
+                    if (NAME.equals(attribute)) {
+                        name = reader.getAttributeValue(i);
+                    } else if (CommonAttributes.MAX_SIZE.equals(attribute)) {
+                        pool.get(attribute).set(ParseUtils.parseBoundedIntegerAttribute(reader, i, 1, Integer.MAX_VALUE));
+                    } else if (CommonAttributes.TIMEOUT.equals(attribute)) {
+                        try {
+                            pool.get(attribute).set(Long.parseLong(reader.getAttributeValue(i)));
+                        } catch (NumberFormatException e) {
+                            throw ParseUtils.invalidAttributeValue(reader, i);
+                        }
+                    } else if (CommonAttributes.TIMEOUT_UNIT.equals(attribute)) {
+                        try {
+                            pool.get(attribute).set(TimeUnit.valueOf(reader.getAttributeValue(i)).name());
+                        } catch (IllegalArgumentException e) {
+                            throw ParseUtils.invalidAttributeValue(reader, i);
+                        }
+                    } else {
+                        throw ParseUtils.unexpectedAttribute(reader, i);
+                    }
+                }
+                if (name == null) {
+                    throw ParseUtils.missingRequired(reader, Collections.singleton(NAME));
+                }
+                if (pools.has(name)) {
+                    throw ParseUtils.duplicateNamedElement(reader, name);
+                }
+                pools.get(name).set(pool);
+                ParseUtils.requireNoContent(reader);
+            }
+        }
+
+        private static ModelNode parseStatefulCache(final XMLExtendedStreamReader reader) throws XMLStreamException {
+            final ModelNode statefulCache = new ModelNode();
+            statefulCache.setEmptyObject();
+            final int count = reader.getAttributeCount();
+            for (int i = 0; i < count; i++) {
+                ParseUtils.requireNoNamespaceAttribute(reader, i);
+                final String name = reader.getAttributeLocalName(i);
+                if (CommonAttributes.MAX_SIZE.equals(name)) {
+                    statefulCache.get(name).set(ParseUtils.parseBoundedIntegerAttribute(reader, i, 0, Integer.MAX_VALUE));
+                } else if (PATH.equals(name) || RELATIVE_TO.equals(name)) {
+                    statefulCache.get(name).set(reader.getAttributeValue(i));
+                } else {
+                    throw ParseUtils.unexpectedAttribute(reader, i);
+                }
+            }
+            ParseUtils.requireNoContent(reader);
+            return statefulCache;
+        }
     }
 
-    private static ModelNode createAddSubSystemOperation() {
+    private static final String[] STATEFUL_CACHE_ATTRIBUTES = { CommonAttributes.MAX_SIZE, PATH, RELATIVE_TO };
+    private static final String[] POOL_ATTRIBUTES = { CommonAttributes.MAX_SIZE, CommonAttributes.TIMEOUT, CommonAttributes.TIMEOUT_UNIT };
+
+    private static ModelNode createAddSubSystemOperation(final ModelNode model) {
         final ModelNode subsystem = new ModelNode();
         subsystem.get(OP).set(ADD);
         subsystem.get(OP_ADDR).add(ModelDescriptionConstants.SUBSYSTEM, SUBSYSTEM_NAME);
+        if (model.hasDefined(CommonAttributes.STATEFUL_CACHE)) {
+            subsystem.get(CommonAttributes.STATEFUL_CACHE).set(model.get(CommonAttributes.STATEFUL_CACHE));
+        }
+        if (model.hasDefined(CommonAttributes.BEAN_INSTANCE_POOLS)) {
+            subsystem.get(CommonAttributes.BEAN_INSTANCE_POOLS).set(model.get(CommonAttributes.BEAN_INSTANCE_POOLS));
+        }
+        if (model.hasDefined(CommonAttributes.DEFAULT_SLSB_INSTANCE_POOL)) {
+            subsystem.get(CommonAttributes.DEFAULT_SLSB_INSTANCE_POOL).set(model.get(CommonAttributes.DEFAULT_SLSB_INSTANCE_POOL));
+        }
         return subsystem;
     }
 
@@ -111,7 +245,7 @@ public class EJB3Extension implements Extension {
         @Override
         public OperationResult execute(OperationContext context, ModelNode operation, ResultHandler resultHandler) {
             ModelNode node = new ModelNode();
-            node.add(createAddSubSystemOperation());
+            node.add(createAddSubSystemOperation(context.getSubModel()));
 
             resultHandler.handleResultFragment(Util.NO_LOCATION, node);
             resultHandler.handleResultComplete();
@@ -32,6 +32,9 @@ import org.jboss.as.controller.RuntimeTask;
 import org.jboss.as.controller.RuntimeTaskContext;
 import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.ejb3.component.EJBUtilities;
+import org.jboss.as.ejb3.component.pool.PoolConfig;
+import org.jboss.as.ejb3.component.pool.PoolConfigService;
+import org.jboss.as.ejb3.component.stateful.StatefulCacheService;
 import org.jboss.as.ejb3.deployment.processors.AccessTimeoutAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.ApplicationExceptionAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.AsynchronousAnnotationProcessor;
@@ -48,6 +51,7 @@ import org.jboss.as.ejb3.deployment.processors.EjbRefProcessor;
 import org.jboss.as.ejb3.deployment.processors.EjbResourceInjectionAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.ImplicitLocalViewProcessor;
 import org.jboss.as.ejb3.deployment.processors.LockAnnotationProcessor;
+import org.jboss.as.ejb3.deployment.processors.PoolAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.RemoveAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.ResourceAdapterAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.SessionSynchronizationProcessor;
@@ -67,16 +71,31 @@ import org.jboss.as.ejb3.deployment.processors.dd.EjbConcurrencyProcessor;
 import org.jboss.as.server.BootOperationContext;
 import org.jboss.as.server.BootOperationHandler;
 import org.jboss.as.server.deployment.Phase;
+import org.jboss.as.server.services.path.RelativePathService;
 import org.jboss.as.txn.TxnServices;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
 import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.ServiceTarget;
 
 import javax.transaction.TransactionManager;
 import javax.transaction.TransactionSynchronizationRegistry;
 import javax.transaction.UserTransaction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PATH;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RELATIVE_TO;
+import static org.jboss.as.ejb3.CommonAttributes.BEAN_INSTANCE_POOLS;
+import static org.jboss.as.ejb3.CommonAttributes.DEFAULT_SLSB_INSTANCE_POOL;
+import static org.jboss.as.ejb3.CommonAttributes.MAX_SIZE;
+import static org.jboss.as.ejb3.CommonAttributes.POOL_TYPE;
+import static org.jboss.as.ejb3.CommonAttributes.STATEFUL_CACHE;
+import static org.jboss.as.ejb3.CommonAttributes.TIMEOUT;
+import static org.jboss.as.ejb3.CommonAttributes.TIMEOUT_UNIT;
 
 /**
  * @author Emanuel Muckenhuber
@@ -85,6 +104,8 @@ class Ejb3SubsystemAdd implements ModelAddOperationHandler, BootOperationHandler
 
     static final Ejb3SubsystemAdd INSTANCE = new Ejb3SubsystemAdd();
 
+    private static final ServiceName STATEFUL_CACHE_PATH = StatefulCacheService.SERVICE_NAME.append("path");
+
     private Ejb3SubsystemAdd() {
         //
     }
@@ -93,10 +114,23 @@ class Ejb3SubsystemAdd implements ModelAddOperationHandler, BootOperationHandler
      * {@inheritDoc}
      */
     @Override
-    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) {
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
 
         final ModelNode compensatingOperation = Util.getResourceRemoveOperation(operation.require(OP_ADDR));
 
+        final ModelNode statefulCache = operation.get(STATEFUL_CACHE);
+        final int maxSize = statefulCache.hasDefined(MAX_SIZE) ? statefulCache.get(MAX_SIZE).asInt() : 0;
+        final String passivationPath = statefulCache.hasDefined(PATH) ? statefulCache.get(PATH).asString() : StatefulCacheService.DEFAULT_PATH;
+        final String passivationRelativeTo = statefulCache.hasDefined(RELATIVE_TO) ? statefulCache.get(RELATIVE_TO).asString() : "jboss.server.data.dir";
+        final ModelNode pools = operation.get(BEAN_INSTANCE_POOLS);
+        final ModelNode defaultSlsbPool = operation.get(DEFAULT_SLSB_INSTANCE_POOL);
+        final PoolConfigService poolConfigService;
+        try {
+            poolConfigService = new PoolConfigService(createPoolConfigs(pools), defaultSlsbPool.isDefined() ? defaultSlsbPool.asString() : null);
+        } catch (IllegalArgumentException e) {
+            throw new OperationFailedException(e, new ModelNode().set(e.getMessage()));
+        }
+
         if (context instanceof BootOperationContext) {
             final BootOperationContext updateContext = (BootOperationContext) context;
 
@@ -111,6 +145,16 @@ class Ejb3SubsystemAdd implements ModelAddOperationHandler, BootOperationHandler
                             .addDependency(TxnServices.JBOSS_TXN_USER_TRANSACTION, UserTransaction.class, utilities.getUserTransactionInjector())
                             .setInitialMode(ServiceController.Mode.ACTIVE)
                             .install();
+
+                    RelativePathService.addService(STATEFUL_CACHE_PATH, passivationPath, passivationRelativeTo, serviceTarget);
+                    final StatefulCacheService statefulCacheService = new StatefulCacheService(maxSize);
+                    serviceTarget.addService(StatefulCacheService.SERVICE_NAME, statefulCacheService)
+                            .addDependency(STATEFUL_CACHE_PATH, String.class, statefulCacheService.getPassivationPathInjector())
+                            .setInitialMode(ServiceController.Mode.ON_DEMAND)
+                            .install();
+                    serviceTarget.addService(PoolConfigService.SERVICE_NAME, poolConfigService)
+                            .setInitialMode(ServiceController.Mode.ACTIVE)
+                            .install();
                     resultHandler.handleResultComplete(); // TODO: Listener
                 }
             });
@@ -136,6 +180,7 @@ class Ejb3SubsystemAdd implements ModelAddOperationHandler, BootOperationHandler
             updateContext.addDeploymentProcessor(Phase.PARSE, Phase.PARSE_EJB_TRANSACTION_ATTR_ANNOTATION, new TransactionAttributeAnnotationProcessor());
             updateContext.addDeploymentProcessor(Phase.PARSE, Phase.PARSE_EJB_SESSION_SYNCHRONIZATION, new SessionSynchronizationProcessor());
             updateContext.addDeploymentProcessor(Phase.PARSE, Phase.PARSE_EJB_RESOURCE_ADAPTER_ANNOTATION, new ResourceAdapterAnnotationProcessor());
+            updateContext.addDeploymentProcessor(Phase.PARSE, Phase.PARSE_EJB_POOL_ANNOTATION, new PoolAnnotationProcessor());
             updateContext.addDeploymentProcessor(Phase.PARSE, Phase.PARSE_EJB_ASYNCHRONOUS_ANNOTATION, new AsynchronousAnnotationProcessor());
             updateContext.addDeploymentProcessor(Phase.PARSE, Phase.PARSE_EJB_APPLICATION_EXCEPTION_ANNOTATION, new ApplicationExceptionAnnotationProcessor());
             updateContext.addDeploymentProcessor(Phase.PARSE, Phase.PARSE_REMOVE_METHOD_ANNOTAION, new RemoveAnnotationProcessor());
@@ -162,9 +207,36 @@ class Ejb3SubsystemAdd implements ModelAddOperationHandler, BootOperationHandler
             // updateContext.addDeploymentProcessor(processor, priority);
         }
 
-        context.getSubModel().setEmptyObject();
+        final ModelNode subModel = context.getSubModel();
+        subModel.setEmptyObject();
+        if (statefulCache.isDefined()) {
+            subModel.get(STATEFUL_CACHE).set(statefulCache);
+        }
+        if (pools.isDefined()) {
+            subModel.get(BEAN_INSTANCE_POOLS).set(pools);
+        }
+        if (defaultSlsbPool.isDefined()) {
+            subModel.get(DEFAULT_SLSB_INSTANCE_POOL).set(defaultSlsbPool);
+        }
         resultHandler.handleResultComplete();
         return new BasicOperationResult(compensatingOperation);
     }
 
+    private static List<PoolConfig> createPoolConfigs(final ModelNode pools) {
+        final List<PoolConfig> configs = new ArrayList<PoolConfig>();
+        if (pools.isDefined()) {
+            for (Property pool : pools.asPropertyList()) {
+                final ModelNode config = pool.getValue();
+                final PoolConfig.Type type = config.hasDefined(POOL_TYPE) ? PoolConfig.Type.forName(config.get(POOL_TYPE).asString()) : PoolConfig.Type.STRICT_MAX;
+                if (type == null) {
+                    throw new IllegalArgumentException("Unknown type " + config.get(POOL_TYPE).asString() + " of bean instance pool " + pool.getName());
+                }
+                final int maxSize = config.hasDefined(MAX_SIZE) ? config.get(MAX_SIZE).asInt() : PoolConfigService.DEFAULT_SLSB_POOL.getMaxSize();
+                final long timeout = config.hasDefined(TIMEOUT) ? config.get(TIMEOUT).asLong() : PoolConfigService.DEFAULT_SLSB_POOL.getTimeout();
+                final TimeUnit timeUnit = config.hasDefined(TIMEOUT_UNIT) ? TimeUnit.valueOf(config.get(TIMEOUT_UNIT).asString()) : PoolConfigService.DEFAULT_SLSB_POOL.getTimeUnit();
+                configs.add(new PoolConfig(pool.getName(), type, maxSize, timeout, timeUnit));
+            }
+        }
+        return configs;
+    }
 }
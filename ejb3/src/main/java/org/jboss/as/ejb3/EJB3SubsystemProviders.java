@@ -23,17 +23,38 @@
 package org.jboss.as.ejb3;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEFAULT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HEAD_COMMENT_ALLOWED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAMESPACE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PATH;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RELATIVE_TO;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REPLY_PROPERTIES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQUEST_PROPERTIES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQUIRED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TAIL_COMMENT_ALLOWED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE_TYPE;
+import static org.jboss.as.ejb3.CommonAttributes.BEAN_INSTANCE_POOLS;
+import static org.jboss.as.ejb3.CommonAttributes.BEAN_INSTANCE_POOL_STATISTICS;
+import static org.jboss.as.ejb3.CommonAttributes.DEFAULT_SLSB_INSTANCE_POOL;
+import static org.jboss.as.ejb3.CommonAttributes.MAX_SIZE;
+import static org.jboss.as.ejb3.CommonAttributes.POOL_TYPE;
+import static org.jboss.as.ejb3.CommonAttributes.STATEFUL_CACHE;
+import static org.jboss.as.ejb3.CommonAttributes.TIMEOUT;
+import static org.jboss.as.ejb3.CommonAttributes.TIMEOUT_UNIT;
 
 import java.util.Locale;
 import java.util.ResourceBundle;
 
 import org.jboss.as.controller.descriptions.DescriptionProvider;
+import org.jboss.as.ejb3.component.pool.PoolConfig;
+import org.jboss.as.ejb3.component.pool.PoolConfigService;
+import org.jboss.as.ejb3.component.stateful.StatefulCacheService;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 
 /**
  * @author Emanuel Muckenhuber
@@ -52,6 +73,16 @@ class EJB3SubsystemProviders {
             subsystem.get(TAIL_COMMENT_ALLOWED).set(true);
             subsystem.get(NAMESPACE).set(EJB3Extension.NAMESPACE);
 
+            addStatefulCacheDescription(subsystem.get(ATTRIBUTES, STATEFUL_CACHE), bundle);
+            addBeanInstancePoolsDescription(subsystem.get(ATTRIBUTES), bundle);
+            for (StatefulCacheMetricsHandler.Metric metric : StatefulCacheMetricsHandler.Metric.values()) {
+                final String name = metric.toString();
+                subsystem.get(ATTRIBUTES, name, DESCRIPTION).set(bundle.getString(name));
+                subsystem.get(ATTRIBUTES, name, TYPE).set(ModelType.LONG);
+            }
+            subsystem.get(ATTRIBUTES, BEAN_INSTANCE_POOL_STATISTICS, DESCRIPTION).set(bundle.getString(BEAN_INSTANCE_POOL_STATISTICS));
+            subsystem.get(ATTRIBUTES, BEAN_INSTANCE_POOL_STATISTICS, TYPE).set(ModelType.OBJECT);
+
             return subsystem;
         }
     };
@@ -64,11 +95,61 @@ class EJB3SubsystemProviders {
             final ModelNode op = new ModelNode();
             op.get(OPERATION_NAME).set(ADD);
             op.get(DESCRIPTION).set(bundle.getString("ejb3.add"));
+            addStatefulCacheDescription(op.get(REQUEST_PROPERTIES, STATEFUL_CACHE), bundle);
+            addBeanInstancePoolsDescription(op.get(REQUEST_PROPERTIES), bundle);
+            op.get(REPLY_PROPERTIES).setEmptyObject();
 
             return op;
         }
     };
 
+    private static void addStatefulCacheDescription(final ModelNode node, final ResourceBundle bundle) {
+        node.get(DESCRIPTION).set(bundle.getString("stateful-cache"));
+        node.get(TYPE).set(ModelType.OBJECT);
+        node.get(REQUIRED).set(false);
+        node.get(VALUE_TYPE, MAX_SIZE, DESCRIPTION).set(bundle.getString("stateful-cache.max-size"));
+        node.get(VALUE_TYPE, MAX_SIZE, TYPE).set(ModelType.INT);
+        node.get(VALUE_TYPE, MAX_SIZE, REQUIRED).set(false);
+        node.get(VALUE_TYPE, MAX_SIZE, DEFAULT).set(0);
+        node.get(VALUE_TYPE, PATH, DESCRIPTION).set(bundle.getString("stateful-cache.path"));
+        node.get(VALUE_TYPE, PATH, TYPE).set(ModelType.STRING);
+        node.get(VALUE_TYPE, PATH, REQUIRED).set(false);
+        node.get(VALUE_TYPE, PATH, DEFAULT).set(StatefulCacheService.DEFAULT_PATH);
+        node.get(VALUE_TYPE, RELATIVE_TO, DESCRIPTION).set(bundle.getString("stateful-cache.relative-to"));
+        node.get(VALUE_TYPE, RELATIVE_TO, TYPE).set(ModelType.STRING);
+        node.get(VALUE_TYPE, RELATIVE_TO, REQUIRED).set(false);
+    }
+
+    private static void addBeanInstancePoolsDescription(final ModelNode parent, final ResourceBundle bundle) {
+        final ModelNode pools = parent.get(BEAN_INSTANCE_POOLS);
+        pools.get(DESCRIPTION).set(bundle.getString("bean-instance-pools"));
+        pools.get(TYPE).set(ModelType.OBJECT);
+        pools.get(REQUIRED).set(false);
+        final ModelNode pool = pools.get(VALUE_TYPE);
+        pool.get(POOL_TYPE, DESCRIPTION).set(bundle.getString("bean-instance-pools.type"));
+        pool.get(POOL_TYPE, TYPE).set(ModelType.STRING);
+        pool.get(POOL_TYPE, REQUIRED).set(false);
+        pool.get(POOL_TYPE, DEFAULT).set(PoolConfig.Type.STRICT_MAX.getName());
+        pool.get(MAX_SIZE, DESCRIPTION).set(bundle.getString("bean-instance-pools.max-size"));
+        pool.get(MAX_SIZE, TYPE).set(ModelType.INT);
+        pool.get(MAX_SIZE, REQUIRED).set(false);
+        pool.get(MAX_SIZE, DEFAULT).set(PoolConfigService.DEFAULT_SLSB_POOL.getMaxSize());
+        pool.get(TIMEOUT, DESCRIPTION).set(bundle.getString("bean-instance-pools.timeout"));
+        pool.get(TIMEOUT, TYPE).set(ModelType.LONG);
+        pool.get(TIMEOUT, REQUIRED).set(false);
+        pool.get(TIMEOUT, DEFAULT).set(PoolConfigService.DEFAULT_SLSB_POOL.getTimeout());
+        pool.get(TIMEOUT_UNIT, DESCRIPTION).set(bundle.getString("bean-instance-pools.timeout-unit"));
+        pool.get(TIMEOUT_UNIT, TYPE).set(ModelType.STRING);
+        pool.get(TIMEOUT_UNIT, REQUIRED).set(false);
+        pool.get(TIMEOUT_UNIT, DEFAULT).set(PoolConfigService.DEFAULT_SLSB_POOL.getTimeUnit().name());
+
+        final ModelNode defaultPool = parent.get(DEFAULT_SLSB_INSTANCE_POOL);
+        defaultPool.get(DESCRIPTION).set(bundle.getString("default-slsb-instance-pool"));
+        defaultPool.get(TYPE).set(ModelType.STRING);
+        defaultPool.get(REQUIRED).set(false);
+        defaultPool.get(DEFAULT).set(PoolConfigService.DEFAULT_SLSB_POOL.getName());
+    }
+
     private static ResourceBundle getResourceBundle(Locale locale) {
         if (locale == null) {
             locale = Locale.getDefault();
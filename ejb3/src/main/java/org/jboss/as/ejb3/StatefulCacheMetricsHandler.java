@@ -0,0 +1,131 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3;
+
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelQueryOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.RuntimeTask;
+import org.jboss.as.controller.RuntimeTaskContext;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.ejb3.component.stateful.StatefulCacheService;
+import org.jboss.as.ejb3.component.stateful.StatefulCacheStatistics;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+
+/**
+ * Handler for the stateful session bean cache metrics.
+ */
+class StatefulCacheMetricsHandler implements ModelQueryOperationHandler {
+
+    enum Metric {
+
+        HITS(CommonAttributes.STATEFUL_CACHE_HITS),
+        MISSES(CommonAttributes.STATEFUL_CACHE_MISSES),
+        PASSIVATIONS(CommonAttributes.STATEFUL_CACHE_PASSIVATIONS),
+        ACTIVATIONS(CommonAttributes.STATEFUL_CACHE_ACTIVATIONS),
+        EXPIRATIONS(CommonAttributes.STATEFUL_CACHE_EXPIRATIONS);
+
+        private static final Map<String, Metric> MAP = new HashMap<String, Metric>();
+
+        static {
+            for (Metric metric : values()) {
+                MAP.put(metric.toString(), metric);
+            }
+        }
+
+        private final String stringForm;
+
+        private Metric(final String stringForm) {
+            this.stringForm = stringForm;
+        }
+
+        @Override
+        public final String toString() {
+            return stringForm;
+        }
+
+        static Metric getMetric(final String stringForm) {
+            return MAP.get(stringForm);
+        }
+    }
+
+    static final StatefulCacheMetricsHandler INSTANCE = new StatefulCacheMetricsHandler();
+
+    private static final ModelNode NO_METRICS = new ModelNode().set("no metrics available");
+
+    private StatefulCacheMetricsHandler() {
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
+        final Metric metric = Metric.getMetric(operation.require(NAME).asString());
+        if (metric == null) {
+            resultHandler.handleFailed(new ModelNode().set(String.format("Unknown metric %s", operation.require(NAME).asString())));
+        } else if (context.getRuntimeContext() != null) {
+            context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
+                @Override
+                public void execute(final RuntimeTaskContext context) throws OperationFailedException {
+                    final ServiceController<?> controller = context.getServiceRegistry().getService(StatefulCacheService.SERVICE_NAME);
+                    if (controller != null && controller.getState() == ServiceController.State.UP) {
+                        final StatefulCacheStatistics statistics = ((StatefulCacheService) controller.getValue()).getStatistics();
+                        resultHandler.handleResultFragment(Util.NO_LOCATION, new ModelNode().set(getValue(metric, statistics)));
+                    } else {
+                        resultHandler.handleResultFragment(Util.NO_LOCATION, NO_METRICS);
+                    }
+                    resultHandler.handleResultComplete();
+                }
+            });
+        } else {
+            resultHandler.handleResultFragment(Util.NO_LOCATION, NO_METRICS);
+            resultHandler.handleResultComplete();
+        }
+        return new BasicOperationResult();
+    }
+
+    private static long getValue(final Metric metric, final StatefulCacheStatistics statistics) {
+        switch (metric) {
+            case HITS:
+                return statistics.getHits();
+            case MISSES:
+                return statistics.getMisses();
+            case PASSIVATIONS:
+                return statistics.getPassivations();
+            case ACTIVATIONS:
+                return statistics.getActivations();
+            case EXPIRATIONS:
+                return statistics.getExpirations();
+            default:
+                throw new IllegalStateException(String.format("Unknown metric %s", metric));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.pool;
+
+import org.jboss.ejb3.pool.AbstractPool;
+import org.jboss.ejb3.pool.StatelessObjectFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Base class of the bean instance pools created from a {@link PoolConfig}, which keeps the metrics of the pool.
+ *
+ * @param <T> the type of the pooled instances
+ */
+public abstract class MeteredPool<T> extends AbstractPool<T> {
+
+    private final AtomicLong waitTime = new AtomicLong();
+
+    protected MeteredPool(final StatelessObjectFactory<T> factory) {
+        super(factory);
+    }
+
+    /**
+     * Get the number of instances currently handed out by the pool.
+     *
+     * @return the number of instances in use
+     */
+    public abstract int getInUseCount();
+
+    /**
+     * Get the total time callers have waited for an instance because the pool was exhausted.
+     *
+     * @param unit the unit of the result
+     * @return the total wait time
+     */
+    public long getWaitTime(final TimeUnit unit) {
+        return unit.convert(waitTime.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record the time a caller spent waiting for an instance.
+     *
+     * @param nanos the time waited, in nanoseconds
+     */
+    protected void waited(final long nanos) {
+        waitTime.addAndGet(nanos);
+    }
+}
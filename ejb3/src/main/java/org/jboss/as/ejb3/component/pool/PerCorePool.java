@@ -0,0 +1,275 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.pool;
+
+import org.jboss.ejb3.pool.StatelessObjectFactory;
+
+import javax.ejb.EJBException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A pool which splits its instances and its size limit into one stripe per processor.  A thread takes instances
+ * from the stripe it hashes to and only looks at the other stripes when its own is exhausted, so concurrent
+ * callers do not contend on a single semaphore.  The number of instances handed out never exceeds
+ * {@code maxSize}.
+ *
+ * @param <T> the type of the pooled instances
+ */
+public class PerCorePool<T> extends MeteredPool<T> {
+
+    /** How long a blocked caller waits on its own stripe before looking at the others again */
+    private static final long STEAL_INTERVAL = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final Stripe<T>[] stripes;
+    private final int mask;
+    /** The stripe each handed out instance took its permit from */
+    private final ConcurrentMap<Identity, Stripe<T>> owners = new ConcurrentHashMap<Identity, Stripe<T>>();
+    private volatile int maxSize;
+    private final long timeout;
+    private final TimeUnit timeUnit;
+
+    public PerCorePool(final StatelessObjectFactory<T> factory, final int maxSize, final long timeout, final TimeUnit timeUnit) {
+        this(factory, maxSize, timeout, timeUnit, Runtime.getRuntime().availableProcessors());
+    }
+
+    @SuppressWarnings("unchecked")
+    PerCorePool(final StatelessObjectFactory<T> factory, final int maxSize, final long timeout, final TimeUnit timeUnit, final int processors) {
+        super(factory);
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1");
+        }
+        int count = 1;
+        while (count < processors && count << 1 <= maxSize) {
+            count <<= 1;
+        }
+        stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe<T>(stripeSize(maxSize, i, count));
+        }
+        mask = count - 1;
+        this.maxSize = maxSize;
+        this.timeout = timeout;
+        this.timeUnit = timeUnit;
+    }
+
+    private static int stripeSize(final int maxSize, final int stripe, final int count) {
+        // the first stripes take the remainder of the division
+        return maxSize / count + (stripe < maxSize % count ? 1 : 0);
+    }
+
+    private static final class Stripe<T> {
+        final ResizableSemaphore semaphore;
+        final Queue<T> pool = new ConcurrentLinkedQueue<T>();
+        int size;
+
+        Stripe(final int size) {
+            this.semaphore = new ResizableSemaphore(size);
+            this.size = size;
+        }
+    }
+
+    private static final class ResizableSemaphore extends Semaphore {
+        private static final long serialVersionUID = 1L;
+
+        ResizableSemaphore(final int permits) {
+            super(permits, false);
+        }
+
+        @Override
+        protected void reducePermits(final int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+
+    /**
+     * Identity based key of a handed out instance, bean instances need not implement {@code equals}.
+     */
+    private static final class Identity {
+        private final Object obj;
+
+        Identity(final Object obj) {
+            this.obj = obj;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(obj);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof Identity && ((Identity) other).obj == obj;
+        }
+    }
+
+    private Stripe<T> homeStripe() {
+        final long id = Thread.currentThread().getId();
+        return stripes[(int) (id ^ (id >>> 32)) & mask];
+    }
+
+    private Stripe<T> tryAcquire(final Stripe<T> home) {
+        if (home.semaphore.tryAcquire()) {
+            return home;
+        }
+        for (Stripe<T> other : stripes) {
+            if (other != home && other.semaphore.tryAcquire()) {
+                return other;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public T get() {
+        final Stripe<T> home = homeStripe();
+        Stripe<T> stripe = tryAcquire(home);
+        if (stripe == null) {
+            // permits are released to the stripe they were taken from, so keep looking at all of them while waiting
+            final long start = System.nanoTime();
+            final long deadline = start + timeUnit.toNanos(timeout);
+            try {
+                do {
+                    final long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        waited(System.nanoTime() - start);
+                        throw new EJBException("Failed to acquire a permit within " + timeout + " " + timeUnit);
+                    }
+                    if (home.semaphore.tryAcquire(Math.min(remaining, STEAL_INTERVAL), TimeUnit.NANOSECONDS)) {
+                        stripe = home;
+                    } else {
+                        stripe = tryAcquire(home);
+                    }
+                } while (stripe == null);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new EJBException("Acquire semaphore was interrupted");
+            }
+            waited(System.nanoTime() - start);
+        }
+        T bean = stripe.pool.poll();
+        if (bean == null) {
+            // idle instances may sit in other stripes, use them before creating new ones
+            for (int i = 0; bean == null && i < stripes.length; i++) {
+                bean = stripes[i].pool.poll();
+            }
+        }
+        if (bean == null) {
+            try {
+                bean = create();
+            } catch (RuntimeException e) {
+                stripe.semaphore.release();
+                throw e;
+            }
+        }
+        owners.put(new Identity(bean), stripe);
+        return bean;
+    }
+
+    private Stripe<T> ownerOf(final T obj) {
+        final Stripe<T> stripe = owners.remove(new Identity(obj));
+        return stripe != null ? stripe : homeStripe();
+    }
+
+    @Override
+    public void release(final T obj) {
+        final Stripe<T> stripe = ownerOf(obj);
+        stripe.pool.add(obj);
+        stripe.semaphore.release();
+    }
+
+    @Override
+    public void discard(final T obj) {
+        final Stripe<T> stripe = ownerOf(obj);
+        try {
+            destroy(obj);
+        } finally {
+            stripe.semaphore.release();
+        }
+    }
+
+    @Override
+    public int getAvailableCount() {
+        int available = 0;
+        for (Stripe<T> stripe : stripes) {
+            available += stripe.semaphore.availablePermits();
+        }
+        return available;
+    }
+
+    @Override
+    public int getCurrentSize() {
+        return getCreateCount() - getRemoveCount();
+    }
+
+    @Override
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Change the number of instances the pool hands out.  When shrinking, instances which are in use above the new
+     * size are taken back as they are released.
+     *
+     * @param maxSize the new maximum size
+     */
+    @Override
+    public synchronized void setMaxSize(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1");
+        }
+        for (int i = 0; i < stripes.length; i++) {
+            final Stripe<T> stripe = stripes[i];
+            final int size = stripeSize(maxSize, i, stripes.length);
+            if (size > stripe.size) {
+                stripe.semaphore.release(size - stripe.size);
+            } else if (size < stripe.size) {
+                stripe.semaphore.reducePermits(stripe.size - size);
+            }
+            stripe.size = size;
+        }
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public int getInUseCount() {
+        return maxSize - getAvailableCount();
+    }
+
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public void stop() {
+        for (Stripe<T> stripe : stripes) {
+            for (T obj = stripe.pool.poll(); obj != null; obj = stripe.pool.poll()) {
+                destroy(obj);
+            }
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.pool;
+
+import org.jboss.ejb3.pool.StatelessObjectFactory;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A named bean instance pool definition of the ejb3 subsystem.  Every bean using the definition gets its own pool;
+ * the definition keeps track of the pools created from it to report their combined metrics.
+ */
+public final class PoolConfig {
+
+    /**
+     * The pool implementations.
+     */
+    public enum Type {
+        /** {@link StrictMaxPool} */
+        STRICT_MAX("strict-max-pool"),
+        /** {@link PerCorePool} */
+        PER_CORE("per-core-pool");
+
+        private final String name;
+
+        private Type(final String name) {
+            this.name = name;
+        }
+
+        /**
+         * Get the name of the type, as used in the subsystem configuration.
+         *
+         * @return the name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Get the type with the given name.
+         *
+         * @param name the name
+         * @return the type, or {@code null} if there is no type of that name
+         */
+        public static Type forName(final String name) {
+            for (Type type : values()) {
+                if (type.name.equals(name)) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final String name;
+    private final Type type;
+    private final int maxSize;
+    private final long timeout;
+    private final TimeUnit timeUnit;
+    private final Set<MeteredPool<?>> pools = Collections.newSetFromMap(new ConcurrentHashMap<MeteredPool<?>, Boolean>());
+
+    public PoolConfig(final String name, final Type type, final int maxSize, final long timeout, final TimeUnit timeUnit) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("max-size of pool " + name + " must be at least 1");
+        }
+        this.name = name;
+        this.type = type;
+        this.maxSize = maxSize;
+        this.timeout = timeout;
+        this.timeUnit = timeUnit;
+    }
+
+    /**
+     * Create a pool for one bean.  The pool is counted in the metrics of this definition until it is passed to
+     * {@link #destroyPool(MeteredPool)}.
+     *
+     * @param factory the factory of the pooled instances
+     * @param <T> the type of the pooled instances
+     * @return the pool
+     */
+    public <T> MeteredPool<T> createPool(final StatelessObjectFactory<T> factory) {
+        final MeteredPool<T> pool;
+        switch (type) {
+            case PER_CORE:
+                pool = new PerCorePool<T>(factory, maxSize, timeout, timeUnit);
+                break;
+            default:
+                pool = new StrictMaxPool<T>(factory, maxSize, timeout, timeUnit);
+        }
+        pools.add(pool);
+        return pool;
+    }
+
+    /**
+     * Stop a pool created by {@link #createPool(StatelessObjectFactory)} and remove it from the metrics.
+     *
+     * @param pool the pool
+     */
+    public void destroyPool(final MeteredPool<?> pool) {
+        pools.remove(pool);
+        pool.stop();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public TimeUnit getTimeUnit() {
+        return timeUnit;
+    }
+
+    /**
+     * Get the number of instances which can currently be handed out without waiting, over all pools.
+     *
+     * @return the available count
+     */
+    public int getAvailableCount() {
+        int count = 0;
+        for (MeteredPool<?> pool : pools) {
+            count += pool.getAvailableCount();
+        }
+        return count;
+    }
+
+    /**
+     * Get the number of instances currently in use, over all pools.
+     *
+     * @return the in use count
+     */
+    public int getInUseCount() {
+        int count = 0;
+        for (MeteredPool<?> pool : pools) {
+            count += pool.getInUseCount();
+        }
+        return count;
+    }
+
+    /**
+     * Get the number of instances created, over all pools.
+     *
+     * @return the create count
+     */
+    public int getCreateCount() {
+        int count = 0;
+        for (MeteredPool<?> pool : pools) {
+            count += pool.getCreateCount();
+        }
+        return count;
+    }
+
+    /**
+     * Get the number of instances destroyed, over all pools.
+     *
+     * @return the remove count
+     */
+    public int getRemoveCount() {
+        int count = 0;
+        for (MeteredPool<?> pool : pools) {
+            count += pool.getRemoveCount();
+        }
+        return count;
+    }
+
+    /**
+     * Get the total time callers waited for an instance, over all pools.
+     *
+     * @param unit the unit of the result
+     * @return the wait time
+     */
+    public long getWaitTime(final TimeUnit unit) {
+        long time = 0;
+        for (MeteredPool<?> pool : pools) {
+            time += pool.getWaitTime(unit);
+        }
+        return time;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.pool;
+
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The bean instance pool definitions of the ejb3 subsystem.
+ */
+public class PoolConfigService implements Service<PoolConfigService> {
+    public static final ServiceName SERVICE_NAME = ServiceName.JBOSS.append("ejb", "pools");
+
+    /** The pool used by stateless session beans if the subsystem configures none */
+    public static final PoolConfig DEFAULT_SLSB_POOL = new PoolConfig("slsb-strict-max-pool", PoolConfig.Type.STRICT_MAX, 20, 5, TimeUnit.MINUTES);
+
+    private final Map<String, PoolConfig> pools;
+    private final String defaultSlsbPoolName;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param pools the pool definitions
+     * @param defaultSlsbPoolName the name of the pool stateless session beans use unless they select another one,
+     *                            or {@code null} to use {@link #DEFAULT_SLSB_POOL}
+     */
+    public PoolConfigService(final Collection<PoolConfig> pools, final String defaultSlsbPoolName) {
+        final Map<String, PoolConfig> map = new LinkedHashMap<String, PoolConfig>();
+        map.put(DEFAULT_SLSB_POOL.getName(), DEFAULT_SLSB_POOL);
+        for (PoolConfig pool : pools) {
+            map.put(pool.getName(), pool);
+        }
+        if (defaultSlsbPoolName != null && !map.containsKey(defaultSlsbPoolName)) {
+            throw new IllegalArgumentException("No bean instance pool named " + defaultSlsbPoolName);
+        }
+        this.pools = Collections.unmodifiableMap(map);
+        this.defaultSlsbPoolName = defaultSlsbPoolName == null ? DEFAULT_SLSB_POOL.getName() : defaultSlsbPoolName;
+    }
+
+    @Override
+    public void start(final StartContext context) throws StartException {
+    }
+
+    @Override
+    public void stop(final StopContext context) {
+    }
+
+    @Override
+    public PoolConfigService getValue() throws IllegalStateException, IllegalArgumentException {
+        return this;
+    }
+
+    /**
+     * Get the pool definition a stateless session bean uses.
+     *
+     * @param name the name of the pool selected by the bean, or {@code null} for the default pool
+     * @return the pool definition
+     * @throws IllegalArgumentException if there is no pool of that name
+     */
+    public PoolConfig getSlsbPoolConfig(final String name) {
+        final PoolConfig pool = pools.get(name == null ? defaultSlsbPoolName : name);
+        if (pool == null) {
+            throw new IllegalArgumentException("No bean instance pool named " + name);
+        }
+        return pool;
+    }
+
+    public Map<String, PoolConfig> getPoolConfigs() {
+        return pools;
+    }
+}
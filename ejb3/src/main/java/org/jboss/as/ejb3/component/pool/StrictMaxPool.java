@@ -0,0 +1,159 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.pool;
+
+import org.jboss.ejb3.pool.StatelessObjectFactory;
+
+import javax.ejb.EJBException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A pool which hands out at most {@code maxSize} instances at a time, making callers wait up to the configured
+ * timeout for an instance to be released.
+ *
+ * @param <T> the type of the pooled instances
+ */
+public class StrictMaxPool<T> extends MeteredPool<T> {
+
+    private final ResizableSemaphore semaphore;
+    private final Queue<T> pool = new ConcurrentLinkedQueue<T>();
+    private volatile int maxSize;
+    private final long timeout;
+    private final TimeUnit timeUnit;
+
+    public StrictMaxPool(final StatelessObjectFactory<T> factory, final int maxSize, final long timeout, final TimeUnit timeUnit) {
+        super(factory);
+        this.maxSize = maxSize;
+        this.semaphore = new ResizableSemaphore(maxSize);
+        this.timeout = timeout;
+        this.timeUnit = timeUnit;
+    }
+
+    private static final class ResizableSemaphore extends Semaphore {
+        private static final long serialVersionUID = 1L;
+
+        ResizableSemaphore(final int permits) {
+            super(permits, false);
+        }
+
+        @Override
+        protected void reducePermits(final int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+
+    @Override
+    public T get() {
+        if (!semaphore.tryAcquire()) {
+            final long start = System.nanoTime();
+            try {
+                final boolean acquired = semaphore.tryAcquire(timeout, timeUnit);
+                waited(System.nanoTime() - start);
+                if (!acquired) {
+                    throw new EJBException("Failed to acquire a permit within " + timeout + " " + timeUnit);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new EJBException("Acquire semaphore was interrupted");
+            }
+        }
+        final T bean = pool.poll();
+        if (bean != null) {
+            return bean;
+        }
+        try {
+            return create();
+        } catch (RuntimeException e) {
+            semaphore.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void release(final T obj) {
+        pool.add(obj);
+        semaphore.release();
+    }
+
+    @Override
+    public void discard(final T obj) {
+        try {
+            destroy(obj);
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    @Override
+    public int getAvailableCount() {
+        return semaphore.availablePermits();
+    }
+
+    @Override
+    public int getCurrentSize() {
+        return getCreateCount() - getRemoveCount();
+    }
+
+    @Override
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Change the number of instances the pool hands out.  When shrinking, instances which are in use above the new
+     * size are taken back as they are released.
+     *
+     * @param maxSize the new maximum size
+     */
+    @Override
+    public synchronized void setMaxSize(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1");
+        }
+        if (maxSize > this.maxSize) {
+            semaphore.release(maxSize - this.maxSize);
+        } else if (maxSize < this.maxSize) {
+            semaphore.reducePermits(this.maxSize - maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public int getInUseCount() {
+        return maxSize - semaphore.availablePermits();
+    }
+
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public void stop() {
+        for (T obj = pool.poll(); obj != null; obj = pool.poll()) {
+            destroy(obj);
+        }
+    }
+}
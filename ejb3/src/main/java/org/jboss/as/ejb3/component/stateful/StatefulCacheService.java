@@ -0,0 +1,140 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.stateful;
+
+import org.jboss.ejb3.cache.Identifiable;
+import org.jboss.msc.inject.Injector;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.jboss.msc.value.InjectedValue;
+
+import java.io.File;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The state shared by the stateful session bean caches of all components: the timer wheel expiring inactive
+ * instances, the configured cache size, the passivation directory and the cache statistics.
+ */
+public class StatefulCacheService implements Service<StatefulCacheService> {
+    public static final ServiceName SERVICE_NAME = ServiceName.JBOSS.append("ejb", "stateful-cache");
+
+    /** The default directory, relative to the server data directory, instances are passivated to */
+    public static final String DEFAULT_PATH = "ejb3-passivation";
+
+    private static final long TICK_MILLISECONDS = 100L;
+    private static final int WHEEL_SIZE = 512;
+
+    private final int maxSize;
+    private final InjectedValue<String> passivationPath = new InjectedValue<String>();
+    private final StatefulCacheStatistics statistics = new StatefulCacheStatistics();
+    private final AtomicInteger storeCount = new AtomicInteger();
+
+    private volatile ExecutorService executor;
+    private volatile TimerWheel timerWheel;
+    private volatile File passivationDirectory;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param maxSize the number of instances each component holds in memory before passivating, or {@code 0} for no limit
+     */
+    public StatefulCacheService(final int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public synchronized void start(final StartContext context) throws StartException {
+        passivationDirectory = new File(passivationPath.getValue());
+        // passivated state does not survive a restart
+        new PassivationStore(passivationDirectory, null).clear();
+        final ThreadFactory threadFactory = new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            public Thread newThread(final Runnable r) {
+                final Thread thread = new Thread(r, "EJB stateful cache " + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+        executor = Executors.newCachedThreadPool(threadFactory);
+        timerWheel = new TimerWheel(TICK_MILLISECONDS, TimeUnit.MILLISECONDS, WHEEL_SIZE, threadFactory, executor);
+        timerWheel.start();
+    }
+
+    @Override
+    public synchronized void stop(final StopContext context) {
+        timerWheel.stop();
+        timerWheel = null;
+        executor.shutdown();
+        executor = null;
+    }
+
+    @Override
+    public StatefulCacheService getValue() throws IllegalStateException, IllegalArgumentException {
+        return this;
+    }
+
+    /**
+     * Create the cache of a component.
+     *
+     * @param value the stateful timeout, or a negative value if instances never expire
+     * @param timeUnit the unit of the timeout
+     * @param beanName the name of the bean
+     * @param classLoader the class loader used to read passivated state
+     * @param passivation the passivation callback, or {@code null} if instances are never passivated
+     * @param <T> the type of the cached instances
+     * @return the cache
+     */
+    public <T extends Identifiable> StatefulSessionCache<T> createCache(final long value, final TimeUnit timeUnit, final String beanName,
+                                                                      final ClassLoader classLoader, final StatefulSessionCache.Passivation<T> passivation) {
+        final TimerWheel timerWheel = this.timerWheel;
+        if (timerWheel == null) {
+            throw new IllegalStateException("Stateful cache service is not started");
+        }
+        PassivationStore store = null;
+        if (maxSize > 0 && passivation != null) {
+            final String name = beanName.replaceAll("[^A-Za-z0-9._-]", "_") + "-" + storeCount.incrementAndGet();
+            store = new PassivationStore(new File(passivationDirectory, name), classLoader);
+        }
+        return new StatefulSessionCache<T>(value, timeUnit, beanName, maxSize, timerWheel, store, passivation, statistics);
+    }
+
+    public StatefulCacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public Injector<String> getPassivationPathInjector() {
+        return passivationPath;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.stateful;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of stateful session bean cache activity, shared by the caches of all components.
+ */
+public final class StatefulCacheStatistics {
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong passivations = new AtomicLong();
+    private final AtomicLong activations = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    void hit() {
+        hits.incrementAndGet();
+    }
+
+    void miss() {
+        misses.incrementAndGet();
+    }
+
+    void passivated() {
+        passivations.incrementAndGet();
+    }
+
+    void activated() {
+        activations.incrementAndGet();
+    }
+
+    void expired() {
+        expirations.incrementAndGet();
+    }
+
+    /**
+     * Get the number of lookups which found the instance in memory.
+     *
+     * @return the number of hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Get the number of lookups which did not find the instance in memory, either because it had been passivated
+     * or because it does not exist.
+     *
+     * @return the number of misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Get the number of instances written to the passivation store.
+     *
+     * @return the number of passivations
+     */
+    public long getPassivations() {
+        return passivations.get();
+    }
+
+    /**
+     * Get the number of instances read back from the passivation store.
+     *
+     * @return the number of activations
+     */
+    public long getActivations() {
+        return activations.get();
+    }
+
+    /**
+     * Get the number of instances removed because their stateful timeout elapsed.
+     *
+     * @return the number of expirations
+     */
+    public long getExpirations() {
+        return expirations.get();
+    }
+}
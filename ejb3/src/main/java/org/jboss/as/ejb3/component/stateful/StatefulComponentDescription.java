@@ -43,6 +43,7 @@ import org.jboss.invocation.InterceptorFactory;
 import org.jboss.invocation.InterceptorFactoryContext;
 import org.jboss.invocation.proxy.MethodIdentifier;
 import org.jboss.logging.Logger;
+import org.jboss.msc.service.ServiceBuilder;
 import org.jboss.msc.service.ServiceName;
 
 import javax.ejb.TransactionManagementType;
@@ -105,6 +106,8 @@ public class StatefulComponentDescription extends SessionBeanComponentDescriptio
                                         final ServiceName deploymentUnitServiceName) {
         super(componentName, componentClassName, ejbJarDescription, deploymentUnitServiceName);
 
+        // the cache of the component is created from the shared stateful cache service
+        this.addDependency(StatefulCacheService.SERVICE_NAME, ServiceBuilder.DependencyType.REQUIRED);
         addStatefulSessionSynchronizationInterceptor();
     }
 
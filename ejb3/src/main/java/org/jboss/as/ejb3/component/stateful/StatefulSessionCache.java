@@ -0,0 +1,441 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.stateful;
+
+import org.jboss.ejb3.cache.Cache;
+import org.jboss.ejb3.cache.Identifiable;
+import org.jboss.ejb3.cache.StatefulObjectFactory;
+import org.jboss.logging.Logger;
+
+import javax.ejb.NoSuchEJBException;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The cache of the stateful session bean instances of one component.  Instances are held in a concurrent map and
+ * each entry is guarded by its own lock, so sessions never contend with each other.  Inactive instances expire
+ * through a {@link TimerWheel} shared by all components.  If a maximum size is set, the least recently released
+ * inactive instances beyond it are passivated to a {@link PassivationStore} and activated again on their next use.
+ *
+ * @param <T> the type of the cached instances
+ */
+public class StatefulSessionCache<T extends Identifiable> implements Cache<T> {
+
+    private static final Logger logger = Logger.getLogger(StatefulSessionCache.class);
+
+    /**
+     * Moves the state of instances to and from the passivation store.
+     *
+     * @param <T> the type of the cached instances
+     */
+    public interface Passivation<T> {
+
+        /**
+         * Get the state to write to the passivation store.
+         *
+         * @param instance the instance
+         * @return the state, or {@code null} if the instance cannot be passivated
+         */
+        Serializable getState(T instance);
+
+        /**
+         * Called once the state of an instance has been written to the store.  The instance is no longer used.
+         *
+         * @param instance the instance
+         */
+        void passivated(T instance);
+
+        /**
+         * Create an instance from state read from the passivation store.
+         *
+         * @param id the id of the instance
+         * @param state the state
+         * @return the instance
+         */
+        T activate(Serializable id, Serializable state);
+    }
+
+    private enum State {
+        IN_USE, INACTIVE, PASSIVATED, REMOVED
+    }
+
+    private final String beanName;
+    private final long millisecondTimeout;
+    private final int maxSize;
+    private final TimerWheel timerWheel;
+    private final PassivationStore store;
+    private final Passivation<T> passivation;
+    private final StatefulCacheStatistics statistics;
+
+    private final ConcurrentMap<Serializable, Entry> cache = new ConcurrentHashMap<Serializable, Entry>();
+    /** The number of instances held in memory */
+    private final AtomicInteger active = new AtomicInteger();
+    /** Inactive entries in the order they were released; stale nodes are skipped */
+    private final Queue<ReleaseNode> releaseOrder = new ConcurrentLinkedQueue<ReleaseNode>();
+    private final AtomicInteger releaseNodes = new AtomicInteger();
+
+    private volatile StatefulObjectFactory<T> factory;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param value the stateful timeout, or a negative value if instances never expire
+     * @param timeUnit the unit of the timeout
+     * @param beanName the name of the bean, used in log messages
+     * @param maxSize the number of instances to hold in memory before passivating, or {@code 0} for no limit
+     * @param timerWheel the timer wheel used to expire instances
+     * @param store the passivation store, or {@code null} if instances are never passivated
+     * @param passivation the passivation callback, or {@code null} if instances are never passivated
+     * @param statistics the statistics to update
+     */
+    StatefulSessionCache(final long value, final TimeUnit timeUnit, final String beanName, final int maxSize, final TimerWheel timerWheel,
+                         final PassivationStore store, final Passivation<T> passivation, final StatefulCacheStatistics statistics) {
+        this.beanName = beanName;
+        this.millisecondTimeout = value < 0 ? -1L : TimeUnit.MILLISECONDS.convert(value, timeUnit);
+        this.maxSize = store == null || passivation == null ? 0 : maxSize;
+        this.timerWheel = timerWheel;
+        this.store = store;
+        this.passivation = passivation;
+        this.statistics = statistics;
+    }
+
+    private final class Entry {
+        private final Serializable id;
+        private T value;
+        private State state = State.IN_USE;
+        private TimerWheel.Timeout timeout;
+        /** The expiration scheduled last; one that fired before being cancelled is ignored */
+        private Expiration expiration;
+        private volatile long releaseCount;
+
+        Entry(final Serializable id, final T value) {
+            this.id = id;
+            this.value = value;
+        }
+
+        void scheduleTimeout() {
+            expiration = new Expiration(this);
+            timeout = timerWheel.schedule(expiration, millisecondTimeout, TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * Expire this entry, if the expiration is still the one scheduled last.
+         */
+        void expire(final Expiration fired) {
+            final T instance;
+            synchronized (this) {
+                if (expiration != fired || (state != State.INACTIVE && state != State.PASSIVATED)) {
+                    return;
+                }
+                expiration = null;
+                timeout = null;
+                cache.remove(id, this);
+                instance = value;
+                value = null;
+                state = State.REMOVED;
+            }
+            statistics.expired();
+            logger.debugf("Removing stateful bean %s - %s as it has been inactive for %d milliseconds", beanName, id, millisecondTimeout);
+            if (instance == null) {
+                store.remove(id);
+                return;
+            }
+            active.decrementAndGet();
+            try {
+                factory.destroyInstance(instance);
+            } catch (Exception e) {
+                logger.error("Exception removing stateful bean " + id, e);
+            }
+        }
+
+        private void cancelTimeout() {
+            if (timeout != null) {
+                timeout.cancel();
+                timeout = null;
+            }
+            expiration = null;
+        }
+    }
+
+    /**
+     * One scheduled expiration of an entry; run by the timer wheel.
+     */
+    private final class Expiration implements Runnable {
+        private final Entry entry;
+
+        Expiration(final Entry entry) {
+            this.entry = entry;
+        }
+
+        public void run() {
+            entry.expire(this);
+        }
+
+        public String toString() {
+            return "expiry of stateful bean " + beanName + " - " + entry.id;
+        }
+    }
+
+    private final class ReleaseNode {
+        private final Entry entry;
+        private final long releaseCount;
+
+        ReleaseNode(final Entry entry, final long releaseCount) {
+            this.entry = entry;
+            this.releaseCount = releaseCount;
+        }
+
+        boolean isStale() {
+            return entry.releaseCount != releaseCount;
+        }
+    }
+
+    @Override
+    public T create() {
+        final T obj = factory.createInstance();
+        cache.put(obj.getId(), new Entry(obj.getId(), obj));
+        active.incrementAndGet();
+        passivateExcess();
+        return obj;
+    }
+
+    @Override
+    public void discard(final Serializable key) {
+        final Entry entry = cache.remove(key);
+        if (entry != null) {
+            synchronized (entry) {
+                entry.cancelTimeout();
+                if (entry.state == State.PASSIVATED) {
+                    store.remove(key);
+                } else if (entry.state != State.REMOVED) {
+                    active.decrementAndGet();
+                }
+                entry.value = null;
+                entry.state = State.REMOVED;
+            }
+        }
+    }
+
+    @Override
+    public T get(final Serializable key) throws NoSuchEJBException {
+        final Entry entry = cache.get(key);
+        if (entry == null) {
+            statistics.miss();
+            throw new NoSuchEJBException("Could not find EJB with id " + key);
+        }
+        synchronized (entry) {
+            switch (entry.state) {
+                case REMOVED:
+                    statistics.miss();
+                    throw new NoSuchEJBException("Could not find EJB with id " + key);
+                case PASSIVATED:
+                    statistics.miss();
+                    activate(entry);
+                    break;
+                default:
+                    statistics.hit();
+            }
+            entry.cancelTimeout();
+            entry.state = State.IN_USE;
+            return entry.value;
+        }
+    }
+
+    @Override
+    public void release(final T obj) {
+        final Entry entry = cache.get(obj.getId());
+        if (entry == null) {
+            throw new NoSuchEJBException("Could not find Stateful bean: " + obj.getId());
+        }
+        synchronized (entry) {
+            if (entry.state == State.REMOVED) {
+                throw new NoSuchEJBException("Could not find Stateful bean: " + obj.getId());
+            }
+            entry.state = State.INACTIVE;
+            entry.cancelTimeout();
+            if (millisecondTimeout >= 0) {
+                entry.scheduleTimeout();
+            }
+            if (maxSize > 0) {
+                final long releaseCount = entry.releaseCount + 1;
+                entry.releaseCount = releaseCount;
+                releaseOrder.add(new ReleaseNode(entry, releaseCount));
+            }
+        }
+        if (maxSize > 0) {
+            if (releaseNodes.incrementAndGet() > (cache.size() << 1) + 16) {
+                purgeStaleNodes();
+            }
+            passivateExcess();
+        }
+    }
+
+    @Override
+    public void remove(final Serializable key) {
+        final Entry entry = cache.remove(key);
+        // EJBTHREE-1218: throw NoSuchEJBException if the bean can not be found
+        if (entry == null) {
+            throw new NoSuchEJBException(String.valueOf(key));
+        }
+        final T instance;
+        synchronized (entry) {
+            if (entry.state == State.REMOVED) {
+                throw new NoSuchEJBException(String.valueOf(key));
+            }
+            entry.cancelTimeout();
+            if (entry.state == State.PASSIVATED) {
+                // the bean must be activated so that its pre-destroy callbacks can run
+                activate(entry);
+            }
+            instance = entry.value;
+            entry.value = null;
+            entry.state = State.REMOVED;
+        }
+        active.decrementAndGet();
+        factory.destroyInstance(instance);
+    }
+
+    @Override
+    public void setStatefulObjectFactory(final StatefulObjectFactory<T> tStatefulObjectFactory) {
+        this.factory = tStatefulObjectFactory;
+    }
+
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public void stop() {
+        for (Entry entry : cache.values()) {
+            synchronized (entry) {
+                entry.cancelTimeout();
+                entry.value = null;
+                entry.state = State.REMOVED;
+            }
+        }
+        cache.clear();
+        releaseOrder.clear();
+        releaseNodes.set(0);
+        active.set(0);
+        if (store != null) {
+            store.clear();
+        }
+    }
+
+    /**
+     * Get the number of instances held in memory.
+     *
+     * @return the number of active instances
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    /**
+     * Get the number of instances, including passivated instances.
+     *
+     * @return the number of instances
+     */
+    public int getSize() {
+        return cache.size();
+    }
+
+    // must be called with the entry lock held
+    private void activate(final Entry entry) {
+        final Serializable state;
+        try {
+            state = store.read(entry.id);
+        } catch (IOException e) {
+            store.remove(entry.id);
+            cache.remove(entry.id, entry);
+            entry.state = State.REMOVED;
+            throw new NoSuchEJBException("Could not activate stateful bean " + beanName + " - " + entry.id, e);
+        } catch (ClassNotFoundException e) {
+            store.remove(entry.id);
+            cache.remove(entry.id, entry);
+            entry.state = State.REMOVED;
+            throw new NoSuchEJBException("Could not activate stateful bean " + beanName + " - " + entry.id, e);
+        }
+        store.remove(entry.id);
+        try {
+            entry.value = passivation.activate(entry.id, state);
+        } catch (RuntimeException e) {
+            cache.remove(entry.id, entry);
+            entry.state = State.REMOVED;
+            throw new NoSuchEJBException("Could not activate stateful bean " + beanName + " - " + entry.id, e);
+        }
+        entry.state = State.INACTIVE;
+        active.incrementAndGet();
+        statistics.activated();
+    }
+
+    private void passivateExcess() {
+        while (maxSize > 0 && active.get() > maxSize) {
+            final ReleaseNode node = releaseOrder.poll();
+            if (node == null) {
+                // everything else is in use
+                return;
+            }
+            releaseNodes.decrementAndGet();
+            final Entry entry = node.entry;
+            synchronized (entry) {
+                if (node.isStale() || entry.state != State.INACTIVE) {
+                    continue;
+                }
+                final Serializable state = passivation.getState(entry.value);
+                if (state == null) {
+                    logger.debugf("Stateful bean %s - %s cannot be passivated", beanName, entry.id);
+                    continue;
+                }
+                try {
+                    store.write(entry.id, state);
+                } catch (IOException e) {
+                    logger.warnf(e, "Failed to passivate stateful bean %s - %s", beanName, entry.id);
+                    continue;
+                }
+                passivation.passivated(entry.value);
+                entry.value = null;
+                entry.state = State.PASSIVATED;
+            }
+            active.decrementAndGet();
+            statistics.passivated();
+        }
+    }
+
+    private void purgeStaleNodes() {
+        final Iterator<ReleaseNode> iterator = releaseOrder.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().isStale()) {
+                iterator.remove();
+                releaseNodes.decrementAndGet();
+            }
+        }
+    }
+}
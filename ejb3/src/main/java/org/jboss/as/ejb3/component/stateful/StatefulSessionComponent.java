@@ -26,12 +26,14 @@ import org.jboss.as.ee.component.Component;
 import org.jboss.as.ejb3.component.EJBBusinessMethod;
 import org.jboss.as.ejb3.component.session.SessionBeanComponent;
 import org.jboss.as.naming.ManagedReference;
+import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.ejb3.cache.Cache;
 import org.jboss.ejb3.cache.StatefulObjectFactory;
 import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorFactory;
 import org.jboss.invocation.SimpleInterceptorFactoryContext;
 import org.jboss.logging.Logger;
+import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.StopContext;
 import org.jboss.tm.TxUtils;
 
@@ -44,6 +46,8 @@ import javax.transaction.Transaction;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
@@ -80,11 +84,16 @@ public class StatefulSessionComponent extends SessionBeanComponent {
         this.beforeCompletion = ejbComponentCreateService.getBeforeCompletion();
         this.methodAccessTimeouts = ejbComponentCreateService.getMethodApplicableAccessTimeouts();
 
+        final DeploymentUnit deploymentUnit = ejbComponentCreateService.getDeploymentUnitInjector().getValue();
+        final ServiceController<StatefulCacheService> serviceController = (ServiceController<StatefulCacheService>) deploymentUnit.getServiceRegistry().getRequiredService(StatefulCacheService.SERVICE_NAME);
+        final StatefulCacheService cacheService = serviceController.getValue();
+        final Class<?> componentClass = ejbComponentCreateService.getComponentClass();
+        final StatefulSessionCache.Passivation<StatefulSessionComponentInstance> passivation = isPassivationCapable(componentClass, ejbComponentCreateService.getInterceptorClasses()) ? new InstancePassivation() : null;
         final StatefulTimeoutInfo statefulTimeout = ejbComponentCreateService.getStatefulTimeout();
         if (statefulTimeout != null) {
-            cache = new ExpiringCache<StatefulSessionComponentInstance>(statefulTimeout.getValue(), statefulTimeout.getTimeUnit(), ejbComponentCreateService.getComponentClass().getName());
+            cache = cacheService.createCache(statefulTimeout.getValue(), statefulTimeout.getTimeUnit(), componentClass.getName(), componentClass.getClassLoader(), passivation);
         } else {
-            cache = new ExpiringCache<StatefulSessionComponentInstance>(-1, TimeUnit.MILLISECONDS, ejbComponentCreateService.getComponentClass().getName());
+            cache = cacheService.createCache(-1, TimeUnit.MILLISECONDS, componentClass.getName(), componentClass.getClassLoader(), passivation);
         }
         cache.setStatefulObjectFactory(new StatefulObjectFactory<StatefulSessionComponentInstance>() {
             @Override
@@ -99,6 +108,49 @@ public class StatefulSessionComponent extends SessionBeanComponent {
         });
     }
 
+    private static boolean isPassivationCapable(final Class<?> componentClass, final List<Class<?>> interceptorClasses) {
+        if (!Serializable.class.isAssignableFrom(componentClass)) {
+            return false;
+        }
+        for (Class<?> interceptorClass : interceptorClasses) {
+            if (!Serializable.class.isAssignableFrom(interceptorClass)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Passivates the bean instance itself together with its interceptor instances, for beans whose class and
+     * interceptor classes are all {@link Serializable}.  The state is the bean instance followed by the interceptor
+     * instances.
+     */
+    private class InstancePassivation implements StatefulSessionCache.Passivation<StatefulSessionComponentInstance> {
+        @Override
+        public Serializable getState(final StatefulSessionComponentInstance instance) {
+            final Object[] interceptorInstances = instance.getInterceptorInstances();
+            final Serializable[] state = new Serializable[interceptorInstances.length + 1];
+            state[0] = (Serializable) instance.getInstance();
+            for (int i = 0; i < interceptorInstances.length; i++) {
+                state[i + 1] = (Serializable) interceptorInstances[i];
+            }
+            return state;
+        }
+
+        @Override
+        public void passivated(final StatefulSessionComponentInstance instance) {
+            instance.detach();
+        }
+
+        @Override
+        public StatefulSessionComponentInstance activate(final Serializable id, final Serializable state) {
+            final Serializable[] instances = (Serializable[]) state;
+            final StatefulSessionComponentInstance instance = (StatefulSessionComponentInstance) restoreInstance(instances[0], Arrays.copyOfRange(instances, 1, instances.length));
+            instance.setId(id);
+            return instance;
+        }
+    }
+
     @Override
     public TimerService getTimerService() throws IllegalStateException {
         throw new IllegalStateException("TimerService is not supported for Stateful session bean " + this.getComponentName());
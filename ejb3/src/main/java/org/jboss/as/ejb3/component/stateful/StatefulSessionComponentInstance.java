@@ -40,7 +40,7 @@ import java.util.concurrent.atomic.AtomicReference;
  * @author <a href="mailto:cdewolf@redhat.com">Carlo de Wolf</a>
  */
 public class StatefulSessionComponentInstance extends SessionBeanComponentInstance implements Identifiable {
-    private final GUID id;
+    private Serializable id;
 
     private final Interceptor afterBegin;
     private final Interceptor afterCompletion;
@@ -107,4 +107,13 @@ public class StatefulSessionComponentInstance extends SessionBeanComponentInstan
     public Serializable getId() {
         return id;
     }
+
+    /**
+     * Set the id of an instance activated from its passivated state.
+     *
+     * @param id the id the instance had when it was passivated
+     */
+    void setId(final Serializable id) {
+        this.id = id;
+    }
 }
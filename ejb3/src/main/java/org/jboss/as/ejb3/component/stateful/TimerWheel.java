@@ -0,0 +1,224 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.stateful;
+
+import org.jboss.logging.Logger;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A hashed timer wheel shared by the stateful session bean caches of all components.  Scheduling and cancelling a
+ * timeout is O(1) and never blocks; a single thread advances the wheel one tick at a time and hands expired
+ * timeouts to an executor.  Timeouts further away than one revolution of the wheel wait out the extra rounds in
+ * their bucket.
+ */
+public final class TimerWheel {
+
+    private static final Logger logger = Logger.getLogger(TimerWheel.class);
+
+    private final long tickNanos;
+    private final Timeout[] buckets;
+    private final int mask;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<Timeout>();
+    private final ThreadFactory threadFactory;
+    private final Executor executor;
+    private final long startTime = System.nanoTime();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    /**
+     * Construct a new instance.
+     *
+     * @param tick the duration of a tick
+     * @param unit the unit of {@code tick}
+     * @param wheelSize the number of buckets, rounded up to a power of two
+     * @param threadFactory the factory of the thread advancing the wheel
+     * @param executor the executor which runs expired timeouts
+     */
+    public TimerWheel(final long tick, final TimeUnit unit, final int wheelSize, final ThreadFactory threadFactory, final Executor executor) {
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.tickNanos = Math.max(1L, unit.toNanos(tick));
+        this.buckets = new Timeout[size];
+        this.mask = size - 1;
+        this.threadFactory = threadFactory;
+        this.executor = executor;
+    }
+
+    /**
+     * Schedule a task.
+     *
+     * @param task the task to run once the delay has passed
+     * @param delay the delay
+     * @param unit the unit of {@code delay}
+     * @return the timeout, which may be used to cancel the task
+     */
+    public Timeout schedule(final Runnable task, final long delay, final TimeUnit unit) {
+        final Timeout timeout = new Timeout(task, System.nanoTime() - startTime + unit.toNanos(delay));
+        pending.add(timeout);
+        return timeout;
+    }
+
+    public synchronized void start() {
+        if (worker == null) {
+            running = true;
+            worker = threadFactory.newThread(new Worker());
+            worker.start();
+        }
+    }
+
+    public synchronized void stop() {
+        if (worker != null) {
+            running = false;
+            LockSupport.unpark(worker);
+            worker = null;
+        }
+    }
+
+    /**
+     * A scheduled task.
+     */
+    public static final class Timeout {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private static final AtomicIntegerFieldUpdater<Timeout> stateUpdater = AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final Runnable task;
+        private final long deadline;
+        @SuppressWarnings("unused")
+        private volatile int state;
+
+        // owned by the worker thread
+        private long rounds;
+        private Timeout next;
+
+        Timeout(final Runnable task, final long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancel the task.
+         *
+         * @return {@code true} if the task was cancelled, {@code false} if it has already been run or cancelled
+         */
+        public boolean cancel() {
+            return stateUpdater.compareAndSet(this, PENDING, CANCELLED);
+        }
+
+        boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        boolean expire() {
+            return stateUpdater.compareAndSet(this, PENDING, EXPIRED);
+        }
+    }
+
+    private final class Worker implements Runnable {
+        private long tick;
+
+        public void run() {
+            while (running) {
+                final long deadline = (tick + 1) * tickNanos;
+                long sleep;
+                while (running && (sleep = deadline - (System.nanoTime() - startTime)) > 0) {
+                    LockSupport.parkNanos(sleep);
+                }
+                if (!running) {
+                    return;
+                }
+                transferPending();
+                expire(tick & mask);
+                tick++;
+            }
+        }
+
+        private void transferPending() {
+            Timeout timeout;
+            while ((timeout = pending.poll()) != null) {
+                if (timeout.isCancelled()) {
+                    continue;
+                }
+                final long expiryTick = timeout.deadline / tickNanos;
+                timeout.rounds = Math.max(0L, (expiryTick - tick) / buckets.length);
+                final int index = (int) (Math.max(expiryTick, tick) & mask);
+                timeout.next = buckets[index];
+                buckets[index] = timeout;
+            }
+        }
+
+        private void expire(final long index) {
+            final int i = (int) index;
+            Timeout previous = null;
+            Timeout timeout = buckets[i];
+            while (timeout != null) {
+                final Timeout next = timeout.next;
+                boolean unlink = false;
+                if (timeout.isCancelled()) {
+                    unlink = true;
+                } else if (timeout.rounds <= 0) {
+                    unlink = true;
+                    if (timeout.expire()) {
+                        run(timeout.task);
+                    }
+                } else {
+                    timeout.rounds--;
+                }
+                if (unlink) {
+                    if (previous == null) {
+                        buckets[i] = next;
+                    } else {
+                        previous.next = next;
+                    }
+                    timeout.next = null;
+                } else {
+                    previous = timeout;
+                }
+                timeout = next;
+            }
+        }
+
+        private void run(final Runnable task) {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                logger.warnf("Unable to run expired task %s", task);
+            } catch (Throwable t) {
+                logger.error("Expired task " + task + " failed", t);
+            }
+        }
+    }
+}
@@ -33,6 +33,7 @@ import org.jboss.as.ee.component.ViewConfiguration;
 import org.jboss.as.ee.component.ViewConfigurator;
 import org.jboss.as.ee.component.ViewDescription;
 import org.jboss.as.ee.component.interceptors.InterceptorOrder;
+import org.jboss.as.ejb3.component.pool.PoolConfigService;
 import org.jboss.as.ejb3.component.pool.PooledInstanceInterceptor;
 import org.jboss.as.ejb3.component.session.ComponentTypeIdentityInterceptorFactory;
 import org.jboss.as.ejb3.component.session.SessionBeanComponentDescription;
@@ -41,6 +42,7 @@ import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorFactoryContext;
+import org.jboss.msc.service.ServiceBuilder;
 import org.jboss.msc.service.ServiceName;
 
 import javax.ejb.TransactionManagementType;
@@ -51,6 +53,8 @@ import java.lang.reflect.Method;
  */
 public class StatelessComponentDescription extends SessionBeanComponentDescription {
 
+    private String poolName;
+
     /**
      * Construct a new instance.
      *
@@ -61,6 +65,26 @@ public class StatelessComponentDescription extends SessionBeanComponentDescripti
     public StatelessComponentDescription(final String componentName, final String componentClassName, final EjbJarDescription ejbModuleDescription,
                                          final ServiceName deploymentUnitServiceName) {
         super(componentName, componentClassName, ejbModuleDescription, deploymentUnitServiceName);
+        // the pool of the component is created from the pool definitions of the subsystem
+        this.addDependency(PoolConfigService.SERVICE_NAME, ServiceBuilder.DependencyType.REQUIRED);
+    }
+
+    /**
+     * Returns the name of the bean instance pool the bean uses, or null if it uses the default pool.
+     *
+     * @return the pool name
+     */
+    public String getPoolName() {
+        return poolName;
+    }
+
+    /**
+     * Sets the name of the bean instance pool the bean uses.
+     *
+     * @param poolName the pool name
+     */
+    public void setPoolName(final String poolName) {
+        this.poolName = poolName;
     }
 
     @Override
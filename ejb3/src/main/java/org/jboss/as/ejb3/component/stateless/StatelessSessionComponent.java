@@ -24,19 +24,22 @@ package org.jboss.as.ejb3.component.stateless;
 
 import java.lang.reflect.Method;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.jboss.as.ee.component.BasicComponentInstance;
 import org.jboss.as.ejb3.component.EJBComponentCreateService;
+import org.jboss.as.ejb3.component.pool.MeteredPool;
+import org.jboss.as.ejb3.component.pool.PoolConfig;
+import org.jboss.as.ejb3.component.pool.PoolConfigService;
 import org.jboss.as.ejb3.component.pool.PooledComponent;
 import org.jboss.as.ejb3.component.session.SessionBeanComponent;
-import org.jboss.as.ejb3.component.session.SessionBeanComponentCreateService;
 import org.jboss.as.naming.ManagedReference;
+import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.ejb3.pool.Pool;
 import org.jboss.ejb3.pool.StatelessObjectFactory;
-import org.jboss.ejb3.pool.strictmax.StrictMaxPool;
 import org.jboss.invocation.Interceptor;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.StopContext;
 
 /**
  * {@link org.jboss.as.ee.component.Component} responsible for managing EJB3 stateless session beans
@@ -46,14 +49,15 @@ import org.jboss.invocation.Interceptor;
  */
 public class StatelessSessionComponent extends SessionBeanComponent implements PooledComponent<StatelessSessionComponentInstance> {
 
-    private Pool<StatelessSessionComponentInstance> pool;
+    private final PoolConfig poolConfig;
+    private final MeteredPool<StatelessSessionComponentInstance> pool;
 
     /**
      * Constructs a StatelessEJBComponent for a stateless session bean
      *
      * @param ejbComponentCreateService
      */
-    public StatelessSessionComponent(final SessionBeanComponentCreateService ejbComponentCreateService) {
+    public StatelessSessionComponent(final StatelessSessionComponentCreateService ejbComponentCreateService) {
         super(ejbComponentCreateService);
 
         StatelessObjectFactory<StatelessSessionComponentInstance> factory = new StatelessObjectFactory<StatelessSessionComponentInstance>() {
@@ -67,7 +71,10 @@ public class StatelessSessionComponent extends SessionBeanComponent implements P
                 obj.destroy();
             }
         };
-        this.pool = new StrictMaxPool<StatelessSessionComponentInstance>(factory, 20, 5, TimeUnit.MINUTES);
+        final DeploymentUnit deploymentUnit = ejbComponentCreateService.getDeploymentUnitInjector().getValue();
+        final ServiceController<PoolConfigService> serviceController = (ServiceController<PoolConfigService>) deploymentUnit.getServiceRegistry().getRequiredService(PoolConfigService.SERVICE_NAME);
+        this.poolConfig = serviceController.getValue().getSlsbPoolConfig(ejbComponentCreateService.getPoolName());
+        this.pool = poolConfig.createPool(factory);
     }
 
 
@@ -109,4 +116,10 @@ public class StatelessSessionComponent extends SessionBeanComponent implements P
     public Pool<StatelessSessionComponentInstance> getPool() {
         return pool;
     }
+
+    @Override
+    public void stop(final StopContext stopContext) {
+        super.stop(stopContext);
+        poolConfig.destroyPool(pool);
+    }
 }
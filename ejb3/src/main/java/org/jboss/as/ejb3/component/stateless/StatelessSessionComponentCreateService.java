@@ -33,6 +33,8 @@ import org.jboss.as.ejb3.deployment.EjbJarConfiguration;
  */
 public class StatelessSessionComponentCreateService extends SessionBeanComponentCreateService {
 
+    private final String poolName;
+
     /**
      * Construct a new instance.
      *
@@ -40,6 +42,7 @@ public class StatelessSessionComponentCreateService extends SessionBeanComponent
      */
     public StatelessSessionComponentCreateService(final ComponentConfiguration componentConfiguration, final EjbJarConfiguration ejbJarConfiguration) {
         super(componentConfiguration, ejbJarConfiguration);
+        this.poolName = ((StatelessComponentDescription) componentConfiguration.getComponentDescription()).getPoolName();
     }
 
     @Override
@@ -47,4 +50,8 @@ public class StatelessSessionComponentCreateService extends SessionBeanComponent
         return new StatelessSessionComponent(this);
     }
 
+    public String getPoolName() {
+        return poolName;
+    }
+
 }
@@ -0,0 +1,206 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.pool;
+
+import org.jboss.ejb3.pool.StatelessObjectFactory;
+import org.junit.Test;
+
+import javax.ejb.EJBException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests of the pools created from a {@link PoolConfig}.
+ */
+public class PoolConfigTestCase {
+
+    private static class CountingFactory implements StatelessObjectFactory<Object> {
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger destroyed = new AtomicInteger();
+
+        @Override
+        public Object create() {
+            created.incrementAndGet();
+            return new Object();
+        }
+
+        @Override
+        public void destroy(final Object obj) {
+            destroyed.incrementAndGet();
+        }
+    }
+
+    @Test
+    public void testStrictMaxPoolReusesInstances() {
+        testReusesInstances(PoolConfig.Type.STRICT_MAX);
+    }
+
+    @Test
+    public void testPerCorePoolReusesInstances() {
+        testReusesInstances(PoolConfig.Type.PER_CORE);
+    }
+
+    private void testReusesInstances(final PoolConfig.Type type) {
+        final PoolConfig config = new PoolConfig("test", type, 4, 10, TimeUnit.MILLISECONDS);
+        final CountingFactory factory = new CountingFactory();
+        final MeteredPool<Object> pool = config.createPool(factory);
+        final Object first = pool.get();
+        assertEquals(1, config.getInUseCount());
+        pool.release(first);
+        assertSame(first, pool.get());
+        assertEquals(1, factory.created.get());
+        assertEquals(1, config.getCreateCount());
+        assertEquals(3, config.getAvailableCount());
+        pool.discard(first);
+        assertEquals(1, config.getRemoveCount());
+        assertEquals(4, config.getAvailableCount());
+        config.destroyPool(pool);
+        assertEquals(0, config.getCreateCount());
+    }
+
+    @Test
+    public void testStrictMaxPoolTimeout() {
+        testTimeout(PoolConfig.Type.STRICT_MAX);
+    }
+
+    @Test
+    public void testPerCorePoolTimeout() {
+        testTimeout(PoolConfig.Type.PER_CORE);
+    }
+
+    private void testTimeout(final PoolConfig.Type type) {
+        final PoolConfig config = new PoolConfig("test", type, 2, 10, TimeUnit.MILLISECONDS);
+        final MeteredPool<Object> pool = config.createPool(new CountingFactory());
+        pool.get();
+        pool.get();
+        try {
+            pool.get();
+            fail("Expected EJBException");
+        } catch (EJBException expected) {
+        }
+        assertEquals(2, config.getInUseCount());
+        assertTrue(config.getWaitTime(TimeUnit.MILLISECONDS) >= 5);
+    }
+
+    @Test
+    public void testPerCorePoolWaiterGetsPermitOfAnyStripe() throws Exception {
+        final CountingFactory factory = new CountingFactory();
+        final PerCorePool<Object> pool = new PerCorePool<Object>(factory, 2, 5, TimeUnit.SECONDS, 2);
+        final Object first = pool.get();
+        pool.get();
+        final AtomicReference<Object> got = new AtomicReference<Object>();
+        final CountDownLatch done = new CountDownLatch(1);
+        new Thread(new Runnable() {
+            public void run() {
+                try {
+                    got.set(pool.get());
+                } finally {
+                    done.countDown();
+                }
+            }
+        }).start();
+        pool.release(first);
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertSame(first, got.get());
+        assertEquals(2, factory.created.get());
+        assertEquals(0, pool.getAvailableCount());
+    }
+
+    @Test
+    public void testStrictMaxPoolSetMaxSize() {
+        testSetMaxSize(PoolConfig.Type.STRICT_MAX);
+    }
+
+    @Test
+    public void testPerCorePoolSetMaxSize() {
+        testSetMaxSize(PoolConfig.Type.PER_CORE);
+    }
+
+    private void testSetMaxSize(final PoolConfig.Type type) {
+        final PoolConfig config = new PoolConfig("test", type, 1, 10, TimeUnit.MILLISECONDS);
+        final MeteredPool<Object> pool = config.createPool(new CountingFactory());
+        final Object first = pool.get();
+        pool.setMaxSize(2);
+        final Object second = pool.get();
+        assertEquals(2, pool.getInUseCount());
+        pool.setMaxSize(1);
+        pool.release(first);
+        try {
+            pool.get();
+            fail("Expected EJBException");
+        } catch (EJBException expected) {
+        }
+        pool.release(second);
+        assertEquals(1, pool.getAvailableCount());
+        assertEquals(0, pool.getInUseCount());
+        config.destroyPool(pool);
+    }
+
+    @Test
+    public void testPerCorePoolNeverExceedsMaxSize() throws Exception {
+        final int maxSize = 3;
+        final PerCorePool<Object> pool = new PerCorePool<Object>(new CountingFactory(), maxSize, 5, TimeUnit.SECONDS, 4);
+        final AtomicInteger inUse = new AtomicInteger();
+        final AtomicInteger maxInUse = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(8);
+        final List<Throwable> failures = new ArrayList<Throwable>();
+        for (int i = 0; i < 8; i++) {
+            new Thread(new Runnable() {
+                public void run() {
+                    try {
+                        for (int j = 0; j < 200; j++) {
+                            final Object obj = pool.get();
+                            final int current = inUse.incrementAndGet();
+                            int max;
+                            while ((max = maxInUse.get()) < current && !maxInUse.compareAndSet(max, current)) {
+                            }
+                            Thread.yield();
+                            inUse.decrementAndGet();
+                            pool.release(obj);
+                        }
+                    } catch (Throwable t) {
+                        synchronized (failures) {
+                            failures.add(t);
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        assertTrue(failures.isEmpty());
+        assertTrue(maxInUse.get() <= maxSize);
+        assertTrue(pool.getCreateCount() <= maxSize);
+        assertEquals(maxSize, pool.getAvailableCount());
+    }
+}
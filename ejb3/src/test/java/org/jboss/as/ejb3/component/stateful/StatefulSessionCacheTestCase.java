@@ -0,0 +1,263 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.stateful;
+
+import org.jboss.ejb3.cache.Identifiable;
+import org.jboss.ejb3.cache.StatefulObjectFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ejb.NoSuchEJBException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.Serializable;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests of the expiry and passivation done by {@link StatefulSessionCache}.
+ */
+public class StatefulSessionCacheTestCase {
+
+    private TimerWheel timerWheel;
+    private File directory;
+    private StatefulCacheStatistics statistics;
+    private final List<Bean> destroyed = new CopyOnWriteArrayList<Bean>();
+    private final BlockingQueue<Runnable> held = new LinkedBlockingQueue<Runnable>();
+    private volatile boolean holding;
+
+    @Before
+    public void setUp() throws Exception {
+        final Executor direct = new Executor() {
+            public void execute(final Runnable command) {
+                if (holding) {
+                    held.add(command);
+                } else {
+                    command.run();
+                }
+            }
+        };
+        timerWheel = new TimerWheel(10, TimeUnit.MILLISECONDS, 64, Executors.defaultThreadFactory(), direct);
+        timerWheel.start();
+        directory = File.createTempFile("passivation", "");
+        directory.delete();
+        statistics = new StatefulCacheStatistics();
+    }
+
+    @After
+    public void tearDown() {
+        timerWheel.stop();
+        new PassivationStore(directory, null).clear();
+    }
+
+    @Test
+    public void testHitsAndMisses() {
+        final StatefulSessionCache<Bean> cache = createCache(-1, 0);
+        final Bean bean = cache.create();
+        cache.release(bean);
+        assertEquals(bean, cache.get(bean.getId()));
+        assertEquals(1, statistics.getHits());
+        try {
+            cache.get("missing");
+            fail("Expected NoSuchEJBException");
+        } catch (NoSuchEJBException expected) {
+        }
+        assertEquals(1, statistics.getMisses());
+    }
+
+    @Test
+    public void testPassivationAndActivation() {
+        final StatefulSessionCache<Bean> cache = createCache(-1, 1);
+        final Bean first = cache.create();
+        first.state = "first";
+        cache.release(first);
+        final Bean second = cache.create();
+        cache.release(second);
+        assertEquals(1, statistics.getPassivations());
+        assertEquals(1, cache.getActiveCount());
+        assertEquals(2, cache.getSize());
+
+        final Bean activated = cache.get(first.getId());
+        assertNotSame(first, activated);
+        assertEquals("first", activated.state);
+        assertEquals(1, statistics.getActivations());
+        assertEquals(1, statistics.getMisses());
+        cache.release(activated);
+        // the second bean is now the least recently used
+        assertEquals(2, statistics.getPassivations());
+        assertEquals(1, cache.getActiveCount());
+
+        cache.remove(second.getId());
+        assertEquals(1, destroyed.size());
+        assertEquals(second.getId(), destroyed.get(0).getId());
+        assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    public void testUnreadablePassivatedStateIsRemoved() throws Exception {
+        final StatefulSessionCache<Bean> cache = createCache(-1, 1);
+        final Bean first = cache.create();
+        cache.release(first);
+        cache.release(cache.create());
+        final File[] files = directory.listFiles();
+        assertEquals(1, files.length);
+        final FileOutputStream out = new FileOutputStream(files[0]);
+        try {
+            out.write("corrupt".getBytes());
+        } finally {
+            out.close();
+        }
+
+        try {
+            cache.get(first.getId());
+            fail("Expected NoSuchEJBException");
+        } catch (NoSuchEJBException expected) {
+        }
+        assertEquals(0, directory.listFiles().length);
+        assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    public void testInUseInstancesAreNotPassivated() {
+        final StatefulSessionCache<Bean> cache = createCache(-1, 1);
+        final Bean first = cache.create();
+        final Bean second = cache.create();
+        assertEquals(0, statistics.getPassivations());
+        assertEquals(2, cache.getActiveCount());
+        cache.release(first);
+        assertEquals(1, statistics.getPassivations());
+        assertEquals(second, cache.get(second.getId()));
+    }
+
+    @Test
+    public void testExpiry() throws Exception {
+        final StatefulSessionCache<Bean> cache = createCache(50, 0);
+        final Bean bean = cache.create();
+        cache.release(bean);
+        final long end = System.currentTimeMillis() + 5000;
+        while (statistics.getExpirations() == 0 && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, statistics.getExpirations());
+        assertEquals(1, destroyed.size());
+        try {
+            cache.get(bean.getId());
+            fail("Expected NoSuchEJBException");
+        } catch (NoSuchEJBException expected) {
+        }
+    }
+
+    @Test
+    public void testInUseInstancesDoNotExpire() throws Exception {
+        final StatefulSessionCache<Bean> cache = createCache(20, 0);
+        final Bean bean = cache.create();
+        cache.release(bean);
+        cache.get(bean.getId());
+        Thread.sleep(200);
+        assertEquals(0, statistics.getExpirations());
+        assertTrue(destroyed.isEmpty());
+    }
+
+    @Test
+    public void testSupersededExpiryIsIgnored() throws Exception {
+        final StatefulSessionCache<Bean> cache = createCache(20, 0);
+        final Bean bean = cache.create();
+        holding = true;
+        cache.release(bean);
+        // the first expiry fires, but is held back until the bean has been used and released again
+        final Runnable first = held.poll(5, TimeUnit.SECONDS);
+        assertNotNull(first);
+        assertEquals(bean, cache.get(bean.getId()));
+        cache.release(bean);
+        first.run();
+        assertEquals(0, statistics.getExpirations());
+        assertTrue(destroyed.isEmpty());
+        assertEquals(bean, cache.get(bean.getId()));
+    }
+
+    private StatefulSessionCache<Bean> createCache(final long timeout, final int maxSize) {
+        final StatefulSessionCache<Bean> cache = new StatefulSessionCache<Bean>(timeout, TimeUnit.MILLISECONDS, "Bean", maxSize, timerWheel,
+                new PassivationStore(directory, getClass().getClassLoader()), new BeanPassivation(), statistics);
+        cache.setStatefulObjectFactory(new StatefulObjectFactory<Bean>() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Bean createInstance() {
+                return new Bean("bean-" + count.incrementAndGet());
+            }
+
+            @Override
+            public void destroyInstance(final Bean instance) {
+                destroyed.add(instance);
+            }
+        });
+        cache.start();
+        return cache;
+    }
+
+    private static class Bean implements Identifiable {
+        private final String id;
+        String state;
+
+        Bean(final String id) {
+            this.id = id;
+            this.state = id;
+        }
+
+        @Override
+        public Serializable getId() {
+            return id;
+        }
+    }
+
+    private static class BeanPassivation implements StatefulSessionCache.Passivation<Bean> {
+        @Override
+        public Serializable getState(final Bean instance) {
+            return instance.state;
+        }
+
+        @Override
+        public void passivated(final Bean instance) {
+        }
+
+        @Override
+        public Bean activate(final Serializable id, final Serializable state) {
+            final Bean bean = new Bean((String) id);
+            bean.state = (String) state;
+            return bean;
+        }
+    }
+}
@@ -24,23 +24,43 @@ package org.jboss.as.host.controller;
 
 import static org.jboss.as.protocol.ProtocolUtils.expectHeader;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.NetworkInterface;
 import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.nio.channels.FileChannel;
 import java.security.AccessController;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.net.SocketFactory;
 
@@ -56,6 +76,7 @@ import org.jboss.as.domain.controller.DomainControllerSlave;
 import org.jboss.as.domain.controller.FileRepository;
 import org.jboss.as.domain.controller.MasterDomainControllerClient;
 import org.jboss.as.host.controller.mgmt.DomainControllerProtocol;
+import org.jboss.as.host.controller.mgmt.FileChunks;
 import org.jboss.as.host.controller.mgmt.ManagementCommunicationService;
 import org.jboss.as.protocol.ByteDataInput;
 import org.jboss.as.protocol.ByteDataOutput;
@@ -87,6 +108,19 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
 
     private static final Logger log = Logger.getLogger("org.jboss.as.domain.controller");
     private static final int CONNECTION_TIMEOUT = 5000;
+
+    /** Name of the content file in a deployment root, as laid out by the content repository */
+    private static final String DEPLOYMENT_CONTENT = "content";
+    /** Suffix of deployment content that is still being transferred */
+    private static final String PARTIAL_SUFFIX = ".part";
+    /** Suffix of the record of the chunks of partial content that have been transferred */
+    private static final String RANGES_SUFFIX = ".ranges";
+    /** Size of the ranges in which deployment content is transferred */
+    private static final int CHUNK_SIZE = 4 * 1024 * 1024;
+    /** Number of chunks of one deployment transferred at the same time, each over its own connection */
+    private static final int PARALLEL_CHUNKS = 4;
+    /** Number of times the transfer of a chunk is attempted */
+    private static final int CHUNK_ATTEMPTS = 3;
     private final InetAddress host;
     private final int port;
     private final String name;
@@ -102,6 +136,8 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
     private final InjectedValue<ManagementCommunicationService> managementCommunicationService = new InjectedValue<ManagementCommunicationService>();
     private final AtomicBoolean shutdown = new AtomicBoolean();
     private volatile ReconnectInfo reconnectInfo;
+    private volatile ExecutorService executor;
+    private volatile ThreadFactory threadFactory;
 
     public RemoteDomainConnectionService(final String name, final InetAddress host, final int port, final FileRepository localRepository){
         this.name = name;
@@ -146,13 +182,16 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
         final ProtocolClient.Configuration config = new ProtocolClient.Configuration();
         config.setMessageHandler(initialMessageHandler);
         config.setConnectTimeout(CONNECTION_TIMEOUT);
-        config.setReadExecutor(Executors.newCachedThreadPool(threadFactory)); //TODO inject
+        final ExecutorService executor = Executors.newCachedThreadPool(threadFactory); //TODO inject
+        config.setReadExecutor(executor);
         config.setSocketFactory(SocketFactory.getDefault());
         config.setServerAddress(new InetSocketAddress(host, port));
         config.setThreadFactory(threadFactory); //TODO inject
         config.setClosedCallback(this);
         final InetAddress callbackAddress = getCallbackAddress(ourAddress, host);
         final ProtocolClient protocolClient = new ProtocolClient(config);
+        this.executor = executor;
+        this.threadFactory = threadFactory;
 
         try {
             connection = protocolClient.connect();
@@ -495,6 +534,58 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
         }
     }
 
+    private class GetFileChunkRequest extends RegistryRequest<Long> {
+        private final String hash;
+        private final long offset;
+        private final FileChannel target;
+
+        private GetFileChunkRequest(final String hash, final long offset, final FileChannel target) {
+            this.hash = hash;
+            this.offset = offset;
+            this.target = target;
+        }
+
+        @Override
+        public final byte getRequestCode() {
+            return DomainControllerProtocol.GET_FILE_CHUNK_REQUEST;
+        }
+
+        @Override
+        protected final byte getResponseCode() {
+            return DomainControllerProtocol.GET_FILE_CHUNK_RESPONSE;
+        }
+
+        @Override
+        protected final void sendRequest(final int protocolVersion, final OutputStream outputStream) throws IOException {
+            ByteDataOutput output = null;
+            try {
+                output = new SimpleByteDataOutput(outputStream);
+                FileChunks.writeRequest(output, hash, DEPLOYMENT_CONTENT, offset, CHUNK_SIZE);
+                output.close();
+            } finally {
+                StreamUtils.safeClose(output);
+            }
+        }
+
+        /**
+         * Writes the received range straight to its place in the target file.
+         *
+         * @return the size of the whole file, or -1 if the master does not have it
+         */
+        @Override
+        protected final Long receiveResponse(final InputStream inputStream) throws IOException {
+            ByteDataInput input = null;
+            try {
+                input = new SimpleByteDataInput(inputStream);
+                final long size = FileChunks.readResponse(input, target);
+                input.close();
+                return Long.valueOf(size);
+            } finally {
+                StreamUtils.safeClose(input);
+            }
+        }
+    }
+
     private class RemoteFileRepository implements FileRepository {
         private final FileRepository localFileRepository;
 
@@ -514,14 +605,178 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
 
         @Override
         public final File[] getDeploymentFiles(byte[] deploymentHash) {
-            String hex = deploymentHash == null ? "" : HashUtil.bytesToHexString(deploymentHash);
-            return getFile(hex, DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT).listFiles();
+            return getDeploymentRoot(deploymentHash).listFiles();
         }
 
         @Override
         public File getDeploymentRoot(byte[] deploymentHash) {
-            String hex = deploymentHash == null ? "" : HashUtil.bytesToHexString(deploymentHash);
-            return getFile(hex, DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT);
+            if (deploymentHash == null || deploymentHash.length == 0) {
+                return getFile("", DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT);
+            }
+            try {
+                return getDeploymentContent(deploymentHash);
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to get file from remote repository", e);
+            }
+        }
+
+        /**
+         * Fetch deployment content in chunks, several at a time, and only make it visible once its SHA-1 has been
+         * verified.  Content already present locally is therefore complete and is never transferred again.  The chunks
+         * of a failed transfer stay in the partial file, together with the record of which are complete, so the next
+         * attempt only fetches what is missing.
+         */
+        private synchronized File getDeploymentContent(final byte[] deploymentHash) throws Exception {
+            final File root = localFileRepository.getDeploymentRoot(deploymentHash);
+            final File content = new File(root, DEPLOYMENT_CONTENT);
+            if (content.exists()) {
+                return root;
+            }
+            if (!root.exists() && !root.mkdirs()) {
+                throw new IOException("Unable to create local directory: " + root);
+            }
+            final String hash = HashUtil.bytesToHexString(deploymentHash);
+            final File partial = new File(root, DEPLOYMENT_CONTENT + PARTIAL_SUFFIX);
+            final File ranges = new File(root, DEPLOYMENT_CONTENT + RANGES_SUFFIX);
+            boolean discard = false;
+            CompletedChunks completed = null;
+            final RandomAccessFile file = new RandomAccessFile(partial, "rw");
+            try {
+                final FileChannel channel = file.getChannel();
+                // The first chunk also tells how big the content is
+                final long size = new GetFileChunkRequest(hash, 0, channel).executeForResult(new ManagementRequestConnectionStrategy.ExistingConnectionStrategy(connection)).longValue();
+                if (size < 0) {
+                    // Not found on DC
+                    StreamUtils.safeClose(file);
+                    partial.delete();
+                    ranges.delete();
+                    root.delete();
+                    return root;
+                }
+                final int chunks = (int) ((size + CHUNK_SIZE - 1) / CHUNK_SIZE);
+                completed = new CompletedChunks(ranges, size, chunks);
+                completed.add(0);
+                fetchRemainingChunks(hash, chunks, channel, completed);
+                completed.close();
+                file.setLength(size);
+                file.close();
+                if (!Arrays.equals(deploymentHash, hashContent(partial))) {
+                    // Some chunk recorded as complete is not, so none of them can be trusted
+                    discard = true;
+                    throw new IOException("Content transferred for deployment " + hash + " does not match its hash");
+                }
+                if (!partial.renameTo(content)) {
+                    throw new IOException("Unable to rename " + partial + " to " + content);
+                }
+                ranges.delete();
+                log.debugf("Received deployment content %s of length %d", hash, size);
+                return root;
+            } finally {
+                StreamUtils.safeClose(completed);
+                StreamUtils.safeClose(file);
+                if (discard) {
+                    partial.delete();
+                    ranges.delete();
+                }
+            }
+        }
+
+        /**
+         * Fetch the chunks not yet completed.  When a worker fails the others stop at their next chunk, and this waits
+         * for all of them before reporting the failure, so that none is still writing to the channel once the caller
+         * closes it.  Cancelling the futures would not do, as their get() returns whether or not the task has stopped.
+         */
+        private void fetchRemainingChunks(final String hash, final int chunks, final FileChannel channel, final CompletedChunks completed) throws Exception {
+            if (chunks <= 1) {
+                return;
+            }
+            final AtomicInteger next = new AtomicInteger(1);
+            final AtomicBoolean failed = new AtomicBoolean();
+            final List<Future<Void>> workers = new ArrayList<Future<Void>>();
+            for (int i = 0; i < Math.min(PARALLEL_CHUNKS, chunks - 1); i++) {
+                workers.add(executor.submit(new Callable<Void>() {
+                    public Void call() throws Exception {
+                        boolean done = false;
+                        try {
+                            int chunk;
+                            while (!failed.get() && (chunk = next.getAndIncrement()) < chunks) {
+                                if (!completed.contains(chunk)) {
+                                    fetchChunk(hash, (long) chunk * CHUNK_SIZE, channel, failed);
+                                    completed.add(chunk);
+                                }
+                            }
+                            done = true;
+                        } finally {
+                            if (!done) {
+                                failed.set(true);
+                            }
+                        }
+                        return null;
+                    }
+                }));
+            }
+            Exception failure = null;
+            boolean interrupted = false;
+            for (Future<Void> worker : workers) {
+                for (;;) {
+                    try {
+                        worker.get();
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                        failed.set(true);
+                    } catch (ExecutionException e) {
+                        if (failure == null) {
+                            final Throwable cause = e.getCause();
+                            failure = (cause instanceof Exception) ? (Exception) cause : e;
+                        }
+                        break;
+                    }
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+                if (failure == null) {
+                    failure = new InterruptedIOException("Interrupted while fetching deployment content " + hash);
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        /**
+         * Fetch a single range over a connection of its own, retrying it on failure unless the transfer as a whole has
+         * already failed.
+         */
+        private void fetchChunk(final String hash, final long offset, final FileChannel channel, final AtomicBoolean failed) throws Exception {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    new GetFileChunkRequest(hash, offset, channel).executeForResult(
+                            new ManagementRequestConnectionStrategy.EstablishConnectingStrategy(host, port, CONNECTION_TIMEOUT / 1000, executor, threadFactory));
+                    return;
+                } catch (Exception e) {
+                    if (attempt == CHUNK_ATTEMPTS || failed.get()) {
+                        throw e;
+                    }
+                    log.debugf(e, "Failed to fetch range %d of deployment content %s, retrying", offset, hash);
+                }
+            }
+        }
+
+        private byte[] hashContent(final File file) throws IOException, NoSuchAlgorithmException {
+            final MessageDigest messageDigest = MessageDigest.getInstance("SHA-1");
+            final InputStream input = new FileInputStream(file);
+            try {
+                final byte[] buffer = new byte[8192];
+                int read;
+                while ((read = input.read(buffer)) != -1) {
+                    messageDigest.update(buffer, 0, read);
+                }
+            } finally {
+                StreamUtils.safeClose(input);
+            }
+            return messageDigest.digest();
         }
 
         private File getFile(final String relativePath, final byte repoId) {
@@ -533,6 +788,60 @@ public class RemoteDomainConnectionService implements MasterDomainControllerClie
         }
     }
 
+    /**
+     * Record of the chunks of deployment content already written to its partial file.  It is kept next to that file
+     * as the size of the content followed by the index of each completed chunk, and is ignored if it was written for
+     * content of another size.  A last entry cut short is dropped.
+     */
+    private static final class CompletedChunks implements Closeable {
+        private final BitSet completed = new BitSet();
+        private final DataOutputStream output;
+
+        private CompletedChunks(final File file, final long size, final int chunks) throws IOException {
+            if (file.exists()) {
+                final DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+                try {
+                    if (input.readLong() == size) {
+                        for (;;) {
+                            final int chunk = input.readInt();
+                            if (chunk >= 0 && chunk < chunks) {
+                                completed.set(chunk);
+                            }
+                        }
+                    }
+                } catch (EOFException e) {
+                    // End of the record
+                } finally {
+                    StreamUtils.safeClose(input);
+                }
+            }
+            // Rewrite the record, so that it never continues after an entry cut short
+            output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+            output.writeLong(size);
+            for (int chunk = completed.nextSetBit(0); chunk >= 0; chunk = completed.nextSetBit(chunk + 1)) {
+                output.writeInt(chunk);
+            }
+            output.flush();
+        }
+
+        synchronized boolean contains(final int chunk) {
+            return completed.get(chunk);
+        }
+
+        synchronized void add(final int chunk) throws IOException {
+            if (!completed.get(chunk)) {
+                completed.set(chunk);
+                output.writeInt(chunk);
+                output.flush();
+            }
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            output.close();
+        }
+    }
+
     private class SlaveDomainControllerOperationHandler extends TransactionalModelControllerOperationHandler {
 
         SlaveDomainControllerOperationHandler(final DomainControllerSlave slave) {
@@ -37,6 +37,8 @@ public interface DomainControllerProtocol extends ModelControllerClientProtocol{
     byte GET_FILE_RESPONSE = 0x56;
     byte IS_ACTIVE_REQUEST = 0x57;
     byte IS_ACTIVE_RESPONSE = 0x58;
+    byte GET_FILE_CHUNK_REQUEST = 0x59;
+    byte GET_FILE_CHUNK_RESPONSE = 0x5A;
 
     byte PARAM_HOST_ID = 0x20;
     byte PARAM_HOST_CONTROLLER_HOST = 0x21;
@@ -51,4 +53,6 @@ public interface DomainControllerProtocol extends ModelControllerClientProtocol{
     byte FILE_START = 0x30;
     byte PARAM_FILE_SIZE = 0x31;
     byte FILE_END = 0x32;
+    byte PARAM_CHUNK_OFFSET = 0x33;
+    byte PARAM_CHUNK_LENGTH = 0x34;
 }
\ No newline at end of file
@@ -0,0 +1,178 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.host.controller.mgmt;
+
+import static org.jboss.as.protocol.ProtocolUtils.expectHeader;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Encoding of the {@link DomainControllerProtocol#GET_FILE_CHUNK_REQUEST} request and its response, shared by the
+ * master that serves ranges of deployment content and the slaves that fetch them.
+ */
+public final class FileChunks {
+
+    private FileChunks() {
+    }
+
+    /**
+     * A range of a file in the deployment content repository, as requested by a slave.
+     */
+    public static final class Request {
+        private final String hash;
+        private final String fileName;
+        private final long offset;
+        private final int length;
+
+        private Request(final String hash, final String fileName, final long offset, final int length) {
+            this.hash = hash;
+            this.fileName = fileName;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public int getLength() {
+            return length;
+        }
+    }
+
+    public static void writeRequest(final DataOutput output, final String hash, final String fileName, final long offset, final int length) throws IOException {
+        output.writeByte(DomainControllerProtocol.PARAM_ROOT_ID);
+        output.writeByte(DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT);
+        output.writeByte(DomainControllerProtocol.PARAM_FILE_PATH);
+        output.writeUTF(hash);
+        output.writeByte(DomainControllerProtocol.PARAM_FILE_PATH);
+        output.writeUTF(fileName);
+        output.writeByte(DomainControllerProtocol.PARAM_CHUNK_OFFSET);
+        output.writeLong(offset);
+        output.writeByte(DomainControllerProtocol.PARAM_CHUNK_LENGTH);
+        output.writeInt(length);
+    }
+
+    /**
+     * Read a request, rejecting anything but a plain file name directly in a deployment root and negative ranges.
+     */
+    public static Request readRequest(final DataInput input) throws IOException {
+        expectHeader(input, DomainControllerProtocol.PARAM_ROOT_ID);
+        final byte rootId = input.readByte();
+        if (rootId != DomainControllerProtocol.PARAM_ROOT_ID_DEPLOYMENT) {
+            throw new IOException(String.format("Invalid root id [%d]", rootId));
+        }
+        expectHeader(input, DomainControllerProtocol.PARAM_FILE_PATH);
+        final String hash = input.readUTF();
+        expectHeader(input, DomainControllerProtocol.PARAM_FILE_PATH);
+        final String fileName = input.readUTF();
+        if (fileName.length() == 0 || fileName.indexOf('/') >= 0 || fileName.indexOf(File.separatorChar) >= 0 || fileName.equals("..")) {
+            throw new IOException(String.format("Invalid file name [%s]", fileName));
+        }
+        expectHeader(input, DomainControllerProtocol.PARAM_CHUNK_OFFSET);
+        final long offset = input.readLong();
+        expectHeader(input, DomainControllerProtocol.PARAM_CHUNK_LENGTH);
+        final int length = input.readInt();
+        if (offset < 0 || length < 0) {
+            throw new IOException(String.format("Invalid range [%d, %d]", offset, length));
+        }
+        return new Request(hash, fileName, offset, length);
+    }
+
+    /**
+     * Write the size of the file followed by the requested range, cut short at the end of the file, or a size of -1
+     * if there is no such file.
+     */
+    public static void writeResponse(final DataOutput output, final File file, final long offset, final int length) throws IOException {
+        output.writeByte(DomainControllerProtocol.PARAM_FILE_SIZE);
+        if (file == null || !file.isFile()) {
+            output.writeLong(-1);
+            return;
+        }
+        final RandomAccessFile input = new RandomAccessFile(file, "r");
+        try {
+            final long size = input.length();
+            final int count = (int) Math.max(0, Math.min(length, size - offset));
+            output.writeLong(size);
+            output.writeByte(DomainControllerProtocol.PARAM_CHUNK_OFFSET);
+            output.writeLong(offset);
+            output.writeByte(DomainControllerProtocol.PARAM_CHUNK_LENGTH);
+            output.writeInt(count);
+            input.seek(offset);
+            final byte[] buffer = new byte[8192];
+            int remaining = count;
+            while (remaining > 0) {
+                final int read = input.read(buffer, 0, Math.min(remaining, buffer.length));
+                if (read == -1) {
+                    throw new IOException("Unexpected end of file " + file);
+                }
+                output.write(buffer, 0, read);
+                remaining -= read;
+            }
+        } finally {
+            input.close();
+        }
+    }
+
+    /**
+     * Write the received range straight to its place in the target file.
+     *
+     * @return the size of the whole file, or -1 if the master does not have it
+     */
+    public static long readResponse(final DataInput input, final FileChannel target) throws IOException {
+        expectHeader(input, DomainControllerProtocol.PARAM_FILE_SIZE);
+        final long size = input.readLong();
+        if (size < 0) {
+            return size;
+        }
+        expectHeader(input, DomainControllerProtocol.PARAM_CHUNK_OFFSET);
+        long position = input.readLong();
+        expectHeader(input, DomainControllerProtocol.PARAM_CHUNK_LENGTH);
+        int remaining = input.readInt();
+        final byte[] buffer = new byte[8192];
+        while (remaining > 0) {
+            final int read = Math.min(remaining, buffer.length);
+            input.readFully(buffer, 0, read);
+            final ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, read);
+            while (bytes.hasRemaining()) {
+                position += target.write(bytes, position);
+            }
+            remaining -= read;
+        }
+        return size;
+    }
+}
@@ -74,6 +74,8 @@ public class MasterDomainControllerOperationHandlerImpl extends ModelControllerO
             return new UnregisterOperation();
         case DomainControllerProtocol.GET_FILE_REQUEST:
             return new GetFileOperation();
+        case DomainControllerProtocol.GET_FILE_CHUNK_REQUEST:
+            return new GetFileChunkOperation();
         default:
             return super.operationFor(commandByte);
         }
@@ -274,4 +276,47 @@ public class MasterDomainControllerOperationHandlerImpl extends ModelControllerO
             output.writeByte(DomainControllerProtocol.FILE_END);
         }
     }
+
+    /**
+     * Sends a range of a file in the deployment content repository, so that slaves can fetch large content in
+     * parallel chunks and retry a failed chunk on its own.
+     */
+    private class GetFileChunkOperation extends RegistryOperation {
+        private File file;
+        private long offset;
+        private int length;
+
+        @Override
+        protected final byte getResponseCode() {
+            return DomainControllerProtocol.GET_FILE_CHUNK_RESPONSE;
+        }
+
+        @Override
+        protected void readRequest(final InputStream inputStream) throws IOException {
+            final FileRepository localFileRepository = getController().getFileRepository();
+            ByteDataInput input = null;
+            try {
+                input = new SimpleByteDataInput(inputStream);
+                final FileChunks.Request request = FileChunks.readRequest(input);
+                final byte[] hash = HashUtil.hexStringToByteArray(request.getHash());
+                file = new File(localFileRepository.getDeploymentRoot(hash), request.getFileName());
+                offset = request.getOffset();
+                length = request.getLength();
+            } finally {
+                StreamUtils.safeClose(input);
+            }
+        }
+
+        @Override
+        protected void sendResponse(final OutputStream outputStream) throws IOException {
+            ByteDataOutput output = null;
+            try {
+                output = new SimpleByteDataOutput(outputStream);
+                FileChunks.writeResponse(output, file, offset, length);
+                output.close();
+            } finally {
+                StreamUtils.safeClose(output);
+            }
+        }
+    }
 }
@@ -48,7 +48,9 @@ public class IsMasterHandler implements ModelQueryOperationHandler {
     @Override
     public OperationResult execute(OperationContext context, ModelNode operation, ResultHandler resultHandler) throws OperationFailedException {
 
-        boolean master = context.getSubModel().get(ModelDescriptionConstants.DOMAIN_CONTROLLER).hasDefined(ModelDescriptionConstants.LOCAL);
+        final ModelNode subModel = context.getSubModel();
+        boolean master = subModel.hasDefined(ModelDescriptionConstants.DOMAIN_CONTROLLER)
+                && subModel.get(ModelDescriptionConstants.DOMAIN_CONTROLLER).hasDefined(ModelDescriptionConstants.LOCAL);
         resultHandler.handleResultFragment(ResultHandler.EMPTY_LOCATION, new ModelNode().set(master));
         resultHandler.handleResultComplete();
         return new BasicOperationResult();
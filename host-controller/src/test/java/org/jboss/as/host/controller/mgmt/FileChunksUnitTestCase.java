@@ -0,0 +1,180 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.host.controller.mgmt;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.Random;
+
+import junit.framework.Assert;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the encoding of the file chunk request and response.
+ */
+public class FileChunksUnitTestCase {
+
+    private static final String HASH = "0123456789abcdef0123456789abcdef01234567";
+    private static final int SIZE = 10000;
+    private static final int CHUNK = 3000;
+
+    private File source;
+    private File target;
+    private byte[] content;
+
+    @Before
+    public void setUp() throws IOException {
+        content = new byte[SIZE];
+        new Random(17).nextBytes(content);
+        source = File.createTempFile("chunks", ".src");
+        final FileOutputStream output = new FileOutputStream(source);
+        try {
+            output.write(content);
+        } finally {
+            output.close();
+        }
+        target = File.createTempFile("chunks", ".part");
+    }
+
+    @After
+    public void tearDown() {
+        source.delete();
+        target.delete();
+    }
+
+    @Test
+    public void testChunksReassembleFile() throws Exception {
+        final RandomAccessFile file = new RandomAccessFile(target, "rw");
+        try {
+            for (long offset : new long[] {6000, 0, 9000, 3000}) {
+                final FileChunks.Request request = FileChunks.readRequest(input(request("content", offset, CHUNK)));
+                Assert.assertEquals(HASH, request.getHash());
+                Assert.assertEquals("content", request.getFileName());
+                Assert.assertEquals(offset, request.getOffset());
+                Assert.assertEquals(CHUNK, request.getLength());
+                Assert.assertEquals(SIZE, FileChunks.readResponse(input(response(source, request)), file.getChannel()));
+            }
+        } finally {
+            file.close();
+        }
+        Assert.assertTrue(Arrays.equals(content, read(target)));
+    }
+
+    @Test
+    public void testMissingFile() throws Exception {
+        final FileChunks.Request request = FileChunks.readRequest(input(request("content", 0, CHUNK)));
+        final RandomAccessFile file = new RandomAccessFile(target, "rw");
+        try {
+            Assert.assertEquals(-1, FileChunks.readResponse(input(response(new File(source.getPath() + ".missing"), request)), file.getChannel()));
+            Assert.assertEquals(-1, FileChunks.readResponse(input(response(null, request)), file.getChannel()));
+        } finally {
+            file.close();
+        }
+        Assert.assertEquals(0, target.length());
+    }
+
+    @Test
+    public void testRangePastEndOfFile() throws Exception {
+        final RandomAccessFile file = new RandomAccessFile(target, "rw");
+        try {
+            final FileChunks.Request last = FileChunks.readRequest(input(request("content", 9000, CHUNK)));
+            Assert.assertEquals(SIZE, FileChunks.readResponse(input(response(source, last)), file.getChannel()));
+            Assert.assertEquals(SIZE, file.length());
+
+            final FileChunks.Request beyond = FileChunks.readRequest(input(request("content", 20000, CHUNK)));
+            Assert.assertEquals(SIZE, FileChunks.readResponse(input(response(source, beyond)), file.getChannel()));
+            Assert.assertEquals(SIZE, file.length());
+        } finally {
+            file.close();
+        }
+        final byte[] read = read(target);
+        Assert.assertTrue(Arrays.equals(Arrays.copyOfRange(content, 9000, SIZE), Arrays.copyOfRange(read, 9000, SIZE)));
+    }
+
+    @Test
+    public void testInvalidFileNameRejected() throws Exception {
+        for (String fileName : new String[] {"", "..", "../content", "a" + File.separator + "content", "a/content"}) {
+            try {
+                FileChunks.readRequest(input(request(fileName, 0, CHUNK)));
+                Assert.fail("Accepted file name " + fileName);
+            } catch (IOException expected) {
+            }
+        }
+    }
+
+    @Test
+    public void testNegativeRangeRejected() throws Exception {
+        try {
+            FileChunks.readRequest(input(request("content", -1, CHUNK)));
+            Assert.fail("Accepted negative offset");
+        } catch (IOException expected) {
+        }
+        try {
+            FileChunks.readRequest(input(request("content", 0, -1)));
+            Assert.fail("Accepted negative length");
+        } catch (IOException expected) {
+        }
+    }
+
+    private static byte[] request(final String fileName, final long offset, final int length) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+        FileChunks.writeRequest(output, HASH, fileName, offset, length);
+        output.close();
+        return bytes.toByteArray();
+    }
+
+    private static byte[] response(final File file, final FileChunks.Request request) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+        FileChunks.writeResponse(output, file, request.getOffset(), request.getLength());
+        output.close();
+        return bytes.toByteArray();
+    }
+
+    private static DataInputStream input(final byte[] bytes) {
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+
+    private static byte[] read(final File file) throws IOException {
+        final byte[] bytes = new byte[(int) file.length()];
+        final DataInputStream input = new DataInputStream(new FileInputStream(file));
+        try {
+            input.readFully(bytes);
+        } finally {
+            input.close();
+        }
+        return bytes;
+    }
+}
@@ -41,6 +41,9 @@ import java.util.Collections;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import static org.jboss.as.naming.util.NamingUtils.cannotProceedException;
 import static org.jboss.as.naming.util.NamingUtils.emptyNameException;
@@ -69,6 +72,15 @@ public class InMemoryNamingStore implements NamingStore {
 
     private final ReentrantLock writeLock = new ReentrantLock();
 
+    /*
+     * Results of successful lookups.  Every write replaces the map rather than clearing it, so a lookup which walked
+     * the tree before the write can only populate the discarded map.
+     */
+    private volatile ConcurrentMap<Name, Object> lookupCache = new ConcurrentHashMap<Name, Object>();
+
+    private final AtomicLong lookupCacheHits = new AtomicLong();
+    private final AtomicLong lookupCacheMisses = new AtomicLong();
+
     /**
      * Construct instance with no event support.
      */
@@ -101,6 +113,7 @@ public class InMemoryNamingStore implements NamingStore {
         try {
             root.accept(new BindVisitor(true, name, object, bindType.getName()));
         } finally {
+            invalidateLookupCache();
             writeLock.unlock();
         }
     }
@@ -121,6 +134,7 @@ public class InMemoryNamingStore implements NamingStore {
         try {
             root.accept(new RebindVisitor(name, object, bindType.getName()));
         } finally {
+            invalidateLookupCache();
             writeLock.unlock();
         }
     }
@@ -141,6 +155,7 @@ public class InMemoryNamingStore implements NamingStore {
         try {
             root.accept(new UnbindVisitor(name));
         } finally {
+            invalidateLookupCache();
             writeLock.unlock();
         }
     }
@@ -159,7 +174,42 @@ public class InMemoryNamingStore implements NamingStore {
             return new NamingContext(emptyName, this, new Hashtable<String, Object>());
         }
         checkPermissions(name, JndiPermission.Action.LOOKUP);
-        return root.accept(new LookupVisitor(name));
+
+        final ConcurrentMap<Name, Object> cache = lookupCache;
+        Object result = cache.get(name);
+        if (result != null) {
+            lookupCacheHits.incrementAndGet();
+        } else {
+            lookupCacheMisses.incrementAndGet();
+            result = root.accept(new LookupVisitor(name));
+            if (result != null) {
+                cache.putIfAbsent((Name) name.clone(), result);
+            }
+        }
+        if (result instanceof ResolveResult) {
+            // Callers may modify the remaining name
+            final ResolveResult resolveResult = (ResolveResult) result;
+            return new ResolveResult(resolveResult.getResolvedObj(), resolveResult.getRemainingName());
+        }
+        return result;
+    }
+
+    /**
+     * Get the number of lookups answered from the lookup cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getLookupCacheHits() {
+        return lookupCacheHits.get();
+    }
+
+    /**
+     * Get the number of lookups which had to walk the tree.
+     *
+     * @return the number of cache misses
+     */
+    public long getLookupCacheMisses() {
+        return lookupCacheMisses.get();
     }
 
     /**
@@ -198,6 +248,7 @@ public class InMemoryNamingStore implements NamingStore {
         try {
             root.clear();
         } finally {
+            invalidateLookupCache();
             writeLock.unlock();
         }
     }
@@ -228,6 +279,10 @@ public class InMemoryNamingStore implements NamingStore {
         }
     }
 
+    private void invalidateLookupCache() {
+        lookupCache = new ConcurrentHashMap<Name, Object>();
+    }
+
     private void fireEvent(final ContextNode contextNode, final Name name, final Binding existingBinding, final Binding newBinding, final int type, final String changeInfo) {
         final NamingEventCoordinator coordinator = eventCoordinator;
         if (eventCoordinator != null) {
@@ -28,6 +28,8 @@ import static org.jboss.as.naming.util.NamingUtils.namingException;
 import static org.jboss.as.naming.util.NamingUtils.notAContextException;
 
 import java.util.Hashtable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.naming.Binding;
 import javax.naming.CannotProceedException;
@@ -75,6 +77,13 @@ public class NamingContext implements EventContext {
 
     private static final String PACKAGE_PREFIXES = "org.jboss.as.naming.interfaces";
 
+    /*
+     * Names parsed from strings, shared by all contexts.  Nothing in this class modifies a name it was given, and the
+     * size is capped so that lookups of arbitrary names can not grow it without bound.
+     */
+    private static final ConcurrentMap<String, Name> PARSED_NAMES = new ConcurrentHashMap<String, Name>();
+    private static final int MAX_PARSED_NAMES = 1024;
+
     static {
         try {
             NamingManager.setObjectFactoryBuilder(ObjectFactoryBuilder.INSTANCE);
@@ -390,7 +399,16 @@ public class NamingContext implements EventContext {
     }
 
     private Name parseName(final String name) throws NamingException {
-        return getNameParser(name).parse(name);
+        final Name cached = PARSED_NAMES.get(name);
+        if (cached != null) {
+            // Names are mutable, so every caller gets its own copy
+            return (Name) cached.clone();
+        }
+        final Name parsed = getNameParser(name).parse(name);
+        if (PARSED_NAMES.size() < MAX_PARSED_NAMES) {
+            PARSED_NAMES.putIfAbsent(name, (Name) parsed.clone());
+        }
+        return parsed;
     }
 
     private Name getAbsoluteName(final Name name) throws NamingException {
@@ -34,6 +34,8 @@ import javax.naming.LinkRef;
 import javax.naming.NameClassPair;
 import javax.naming.NamingEnumeration;
 import javax.naming.NamingException;
+import org.jboss.as.naming.InMemoryNamingStore;
+import org.jboss.as.naming.NamingStore;
 import org.jboss.logging.Logger;
 import org.jboss.msc.inject.Injector;
 import org.jboss.msc.service.Service;
@@ -50,6 +52,7 @@ public class JndiView implements JndiViewMBean, Service<JndiView> {
     private static final String OBJECT_NAME = "jboss.naming:type=JNDIView";
 
     private final InjectedValue<MBeanServer> mbeanServerValue = new InjectedValue<MBeanServer>();
+    private final InjectedValue<NamingStore> namingStoreValue = new InjectedValue<NamingStore>();
 
     public synchronized void start(StartContext context) throws StartException {
         final MBeanServer mbeanServer = getMbeanServer();
@@ -77,6 +80,22 @@ public class JndiView implements JndiViewMBean, Service<JndiView> {
         return mbeanServerValue;
     }
 
+    public Injector<NamingStore> getNamingStoreInjector() {
+        return namingStoreValue;
+    }
+
+    /** {@inheritDoc} */
+    public long getLookupCacheHits() {
+        final NamingStore namingStore = namingStoreValue.getOptionalValue();
+        return namingStore instanceof InMemoryNamingStore ? ((InMemoryNamingStore) namingStore).getLookupCacheHits() : 0;
+    }
+
+    /** {@inheritDoc} */
+    public long getLookupCacheMisses() {
+        final NamingStore namingStore = namingStoreValue.getOptionalValue();
+        return namingStore instanceof InMemoryNamingStore ? ((InMemoryNamingStore) namingStore).getLookupCacheMisses() : 0;
+    }
+
     /**
      * List deployed application java:comp namespaces, the java:
      * namespace as well as the global InitialContext JNDI namespace.
@@ -32,4 +32,14 @@ public interface JndiViewMBean {
   java.lang.String list(boolean verbose) ;
 
   java.lang.String listXML() ;
+
+  /**
+   * The number of java: namespace lookups answered from the naming store's lookup cache.
+   */
+  long getLookupCacheHits() ;
+
+  /**
+   * The number of java: namespace lookups which had to walk the naming store.
+   */
+  long getLookupCacheMisses() ;
 }
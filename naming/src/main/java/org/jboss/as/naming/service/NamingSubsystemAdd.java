@@ -104,6 +104,7 @@ public class NamingSubsystemAdd implements ModelAddOperationHandler, BootOperati
                     final JndiView jndiView = new JndiView();
                     target.addService(ServiceName.JBOSS.append("naming", "jndi", "view"), jndiView)
                             .addDependency(ServiceBuilder.DependencyType.OPTIONAL, ServiceName.JBOSS.append("mbean", "server"), MBeanServer.class, jndiView.getMBeanServerInjector())
+                            .addDependency(NamingService.SERVICE_NAME, NamingStore.class, jndiView.getNamingStoreInjector())
                             .install();
                     resultHandler.handleResultComplete();
                 }
@@ -265,4 +265,34 @@ public class InMemoryNamingStoreTestCase {
             fail("Should have throw name not found exception");
         } catch (NameNotFoundException expected){}
     }
+
+    @Test
+    public void testRebindInvalidatesCachedLookup() throws Exception {
+        final Name name = new CompositeName("test");
+        nameStore.bind(name, "one", String.class);
+        assertEquals("one", nameStore.lookup(name));
+        assertEquals("one", nameStore.lookup(new CompositeName("test")));
+
+        nameStore.rebind(name, "two", String.class);
+        assertEquals("two", nameStore.lookup(name));
+
+        nameStore.unbind(name);
+        try {
+            nameStore.lookup(name);
+            fail("Should have throw name not found exception");
+        } catch (NameNotFoundException expected){}
+    }
+
+    @Test
+    public void testLookupCacheCounters() throws Exception {
+        nameStore.bind(new CompositeName("test/item"), new Object());
+        final long hits = nameStore.getLookupCacheHits();
+        final long misses = nameStore.getLookupCacheMisses();
+
+        nameStore.lookup(new CompositeName("test/item"));
+        nameStore.lookup(new CompositeName("test/item"));
+        nameStore.lookup(new CompositeName("test/item"));
+        assertEquals(misses + 1, nameStore.getLookupCacheMisses());
+        assertEquals(hits + 2, nameStore.getLookupCacheHits());
+    }
 }
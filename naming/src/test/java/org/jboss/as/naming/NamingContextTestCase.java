@@ -37,10 +37,14 @@ import javax.naming.NameNotFoundException;
 import javax.naming.NamingEnumeration;
 import javax.naming.Reference;
 import javax.naming.StringRefAddr;
+import javax.naming.event.EventContext;
+import javax.naming.event.NamingListener;
 import javax.naming.spi.ObjectFactory;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Hashtable;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
@@ -351,6 +355,21 @@ public class NamingContextTestCase {
         assertTrue("Not all expected results were returned", expected.isEmpty());
     }
 
+    @Test
+    public void testParsedNamesAreNotShared() throws Exception {
+        final List<Name> targets = new ArrayList<Name>();
+        final NamingContext context = new NamingContext(new InMemoryNamingStore() {
+            @Override
+            public void addNamingListener(final Name target, final int scope, final NamingListener listener) {
+                targets.add(target);
+            }
+        }, null);
+        context.addNamingListener("test/shared", EventContext.OBJECT_SCOPE, null);
+        targets.get(0).add("changed");
+        context.addNamingListener("test/shared", EventContext.OBJECT_SCOPE, null);
+        assertEquals(new CompositeName("test/shared"), targets.get(1));
+    }
+
     public static class TestObjectFactory implements ObjectFactory {
         @Override
         public Object getObjectInstance(Object obj, Name name, Context nameCtx, Hashtable<?, ?> environment) throws Exception {
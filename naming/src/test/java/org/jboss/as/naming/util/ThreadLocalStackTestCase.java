@@ -0,0 +1,84 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.naming.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.util.EmptyStackException;
+
+import org.junit.Test;
+
+/**
+ * Tests of the per-thread stack used to track the current namespace selector.
+ */
+public class ThreadLocalStackTestCase {
+
+    @Test
+    public void testNestedPushPop() {
+        final ThreadLocalStack<String> stack = new ThreadLocalStack<String>();
+        assertNull(stack.peek());
+        stack.push("outer");
+        stack.push("inner");
+        assertEquals("inner", stack.peek());
+        assertEquals("inner", stack.pop());
+        assertEquals("outer", stack.peek());
+        assertEquals("outer", stack.pop());
+        assertNull(stack.peek());
+    }
+
+    @Test
+    public void testPopEmptyStack() {
+        final ThreadLocalStack<String> stack = new ThreadLocalStack<String>();
+        try {
+            stack.pop();
+            fail("Should have thrown EmptyStackException");
+        } catch (EmptyStackException expected) {
+        }
+        // An emptied stack must behave the same as one that was never used
+        stack.push("item");
+        stack.pop();
+        try {
+            stack.pop();
+            fail("Should have thrown EmptyStackException");
+        } catch (EmptyStackException expected) {
+        }
+    }
+
+    @Test
+    public void testThreadsDoNotShareStacks() throws Exception {
+        final ThreadLocalStack<String> stack = new ThreadLocalStack<String>();
+        stack.push("main");
+        final String[] seen = new String[1];
+        final Thread thread = new Thread(new Runnable() {
+            public void run() {
+                seen[0] = stack.peek();
+            }
+        });
+        thread.start();
+        thread.join();
+        assertNull(seen[0]);
+        assertEquals("main", stack.pop());
+    }
+}
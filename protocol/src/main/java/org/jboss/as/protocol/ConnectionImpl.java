@@ -26,27 +26,45 @@ import static org.jboss.as.protocol.ProtocolConstants.CHUNK_END;
 import static org.jboss.as.protocol.ProtocolConstants.CHUNK_START;
 
 import java.io.BufferedOutputStream;
-import java.io.EOFException;
-import java.io.FilterInputStream;
-import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.net.InetAddress;
-import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.LinkedList;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jboss.logging.Logger;
 
 /**
+ * A connection over a non-blocking {@link SocketChannel}.  Reads are performed by one of the threads of a
+ * {@link NioWorkerGroup}, which decodes the chunk framing and hands each message to the message handler on the
+ * read executor.  Messages are delivered one at a time, in order; the next message is delivered once the
+ * previous message's stream has been closed.  Writes are performed by the calling thread.
+ *
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
  */
 final class ConnectionImpl implements Connection {
 
     private static final Logger log = Logger.getLogger("org.jboss.as.protocol.connection");
 
-    private final Socket socket;
+    /** Reading is suspended once this many received bytes have not yet been consumed */
+    private static final int HIGH_WATER_MARK = 65536;
+    /** Reading is resumed once the unconsumed bytes drop below this */
+    private static final int LOW_WATER_MARK = HIGH_WATER_MARK / 2;
+
+    private static final int READ_COMMAND = 0;
+    private static final int READ_LENGTH = 1;
+    private static final int READ_DATA = 2;
+
+    private final SocketChannel channel;
 
     private final Object lock = new Object();
 
@@ -67,11 +85,75 @@ final class ConnectionImpl implements Connection {
 
     private final ClosedCallback callback;
 
-    ConnectionImpl(final Socket socket, final MessageHandler handler, final Executor readExecutor, final ClosedCallback callback) {
-        this.socket = socket;
+    private final int readTimeout;
+
+    private volatile NioWorkerGroup.Worker worker;
+
+    private volatile SelectionKey key;
+
+    // Read state; only accessed by the worker thread
+    private int readState = READ_COMMAND;
+    private int lengthBytes;
+    private int chunkRemaining;
+    private IncomingMessage current;
+    private boolean inputDone;
+    private long lastRead = System.currentTimeMillis();
+
+    /** Received bytes that have not been consumed by a message handler yet */
+    private final AtomicInteger unconsumed = new AtomicInteger();
+    private volatile boolean suspended;
+
+    /** Messages and end of input notifications waiting to be delivered, protected by itself */
+    private final LinkedList<Runnable> events = new LinkedList<Runnable>();
+    // protected by {@link #events}
+    private boolean delivering;
+
+    /** Signalled by the worker thread when the channel becomes writable */
+    private final Object writeMonitor = new Object();
+    // protected by {@link #writeMonitor}
+    private boolean writable;
+
+    ConnectionImpl(final SocketChannel channel, final MessageHandler handler, final Executor readExecutor, final ClosedCallback callback, final int readTimeout) {
+        this.channel = channel;
         messageHandler = handler;
         this.readExecutor = readExecutor;
         this.callback = callback;
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * Switch the channel to non-blocking mode and hand it to one of the workers of the group.  Messages are not
+     * read until {@link #startReading()} is called.
+     *
+     * @param workerGroup the worker group
+     * @throws IOException if the channel cannot be configured
+     */
+    void register(final NioWorkerGroup workerGroup) throws IOException {
+        channel.configureBlocking(false);
+        workerGroup.register(this);
+    }
+
+    void startReading() {
+        worker.execute(new Runnable() {
+            public void run() {
+                final SelectionKey key = ConnectionImpl.this.key;
+                if (key != null && key.isValid()) {
+                    key.interestOps(key.interestOps() | SelectionKey.OP_READ);
+                }
+            }
+        });
+    }
+
+    SocketChannel getChannel() {
+        return channel;
+    }
+
+    void setWorker(final NioWorkerGroup.Worker worker) {
+        this.worker = worker;
+    }
+
+    void setSelectionKey(final SelectionKey key) {
+        this.key = key;
     }
 
     @Override
@@ -118,9 +200,9 @@ final class ConnectionImpl implements Connection {
             }
             writeDone = true;
             if (readDone) {
-                socket.close();
+                channel.close();
             } else {
-                socket.shutdownOutput();
+                channel.socket().shutdownOutput();
             }
             lock.notifyAll();
         }
@@ -128,12 +210,16 @@ final class ConnectionImpl implements Connection {
 
     @Override
     public void close() throws IOException {
+        // Close first, so a writer waiting for the channel to become writable gives up the lock
+        channel.close();
+        synchronized (writeMonitor) {
+            writeMonitor.notifyAll();
+        }
         synchronized (lock) {
             lock.notifyAll();
             sender = null;
             readDone = true;
             writeDone = true;
-            socket.close();
             lock.notifyAll();
         }
     }
@@ -148,14 +234,7 @@ final class ConnectionImpl implements Connection {
 
     @Override
     public InetAddress getPeerAddress() {
-        synchronized (lock) {
-            final Socket socket = this.socket;
-            if (socket != null) {
-                return socket.getInetAddress();
-            } else {
-                return null;
-            }
-        }
+        return channel.socket().getInetAddress();
     }
 
     @Override
@@ -179,76 +258,47 @@ final class ConnectionImpl implements Connection {
         setMessageHandler(handler == null ? MessageHandler.NULL : handler);
     }
 
-    Runnable getReadTask() {
-        return new Runnable() {
-            @Override
-            public void run() {
-                boolean closed = false;
-                OutputStream mos = null;
-                try {
-                    Pipe pipe = null;
-                    final InputStream is = socket.getInputStream();
-                    final int bufferSize = 8192;
-                    final byte[] buffer = new byte[bufferSize];
-                    for (;;) {
+    // ------------------------------------------------------------ Called by the worker thread
 
-                        int cmd = is.read();
+    void handleReadable(final ByteBuffer buffer) {
+        buffer.clear();
+        final int read;
+        try {
+            read = channel.read(buffer);
+        } catch (IOException e) {
+            readFailed(e);
+            return;
+        }
+        if (read == -1) {
+            log.trace("Received end of stream");
+            endOfInput();
+            return;
+        }
+        lastRead = System.currentTimeMillis();
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                switch (readState) {
+                    case READ_COMMAND: {
+                        final int cmd = buffer.get() & 0xff;
                         switch (cmd) {
-                            case -1: {
-                                log.trace("Received end of stream");
-                                // end of stream
-                                safeHandleShutdown();
-                                boolean done;
-                                if (mos != null) {
-                                    mos.close();
-                                    pipe.await();
-                                }
-                                synchronized (lock) {
-                                    readDone = true;
-                                    done = writeDone;
-                                }
-                                if (done) {
-                                    StreamUtils.safeClose(socket);
-                                    safeHandleFinished();
-                                }
-                                closed = true;
-                                closed();
-                                return;
-                            }
                             case CHUNK_START: {
-                                if (mos == null) {
-                                    pipe = new Pipe(8192);
+                                if (current == null) {
                                     // new message!
-                                    final InputStream pis = pipe.getIn();
-                                    mos = pipe.getOut();
-
-                                    readExecutor.execute(new Runnable() {
-                                        @Override
-                                        public void run() {
-                                            safeHandleMessage(new MessageInputStream(pis));
-                                        }
-                                    });
-                                }
-                                int cnt = StreamUtils.readInt(is);
-                                log.tracef("Received data chunk of size %d", Integer.valueOf(cnt));
-                                while (cnt > 0) {
-                                    int sc = is.read(buffer, 0, Math.min(cnt, bufferSize));
-                                    if (sc == -1) {
-                                        throw new EOFException("Unexpected end of stream");
-                                    }
-                                    mos.write(buffer, 0, sc);
-                                    cnt -= sc;
+                                    current = new IncomingMessage();
+                                    deliver(current);
                                 }
+                                readState = READ_LENGTH;
+                                lengthBytes = 0;
+                                chunkRemaining = 0;
                                 break;
                             }
                             case CHUNK_END: {
                                 log.trace("Received end data marker");
-                                if (mos != null) {
+                                if (current != null) {
                                     // end message
-                                    mos.close();
-                                    pipe.await();
-                                    mos = null;
-                                    pipe = null;
+                                    current.finish();
+                                    current = null;
                                 }
                                 break;
                             }
@@ -256,17 +306,185 @@ final class ConnectionImpl implements Connection {
                                 throw new IOException("Invalid command byte read: " + cmd);
                             }
                         }
+                        break;
+                    }
+                    case READ_LENGTH: {
+                        chunkRemaining = (chunkRemaining << 8) | (buffer.get() & 0xff);
+                        if (++lengthBytes == 4) {
+                            log.tracef("Received data chunk of size %d", Integer.valueOf(chunkRemaining));
+                            readState = chunkRemaining > 0 ? READ_DATA : READ_COMMAND;
+                        }
+                        break;
                     }
-                } catch (IOException e) {
+                    case READ_DATA: {
+                        final int cnt = Math.min(chunkRemaining, buffer.remaining());
+                        current.append(buffer, cnt);
+                        chunkRemaining -= cnt;
+                        if (chunkRemaining == 0) {
+                            readState = READ_COMMAND;
+                        }
+                        break;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            readFailed(e);
+            return;
+        }
+        if (unconsumed.get() >= HIGH_WATER_MARK) {
+            suspendReads();
+        }
+    }
+
+    void handleWritable() {
+        final SelectionKey key = this.key;
+        key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+        synchronized (writeMonitor) {
+            writable = true;
+            writeMonitor.notifyAll();
+        }
+    }
+
+    void checkReadTimeout(final long now) {
+        if (readTimeout > 0 && !inputDone && !suspended && now - lastRead > readTimeout) {
+            readFailed(new SocketTimeoutException("Read timed out"));
+        }
+    }
+
+    void readFailed(final IOException e) {
+        if (inputDone) {
+            return;
+        }
+        stopReading();
+        deliver(new Runnable() {
+            public void run() {
+                try {
                     safeHandlerFailure(e);
+                    closed();
                 } finally {
-                    StreamUtils.safeClose(mos);
-                    if (!closed) {
-                        closed();
+                    deliverNext();
+                }
+            }
+        });
+    }
+
+    private void endOfInput() {
+        stopReading();
+        deliver(new Runnable() {
+            public void run() {
+                try {
+                    safeHandleShutdown();
+                    boolean done;
+                    synchronized (lock) {
+                        readDone = true;
+                        done = writeDone;
+                    }
+                    if (done) {
+                        StreamUtils.safeClose(channel);
+                        safeHandleFinished();
                     }
+                    closed();
+                } finally {
+                    deliverNext();
                 }
             }
-        };
+        });
+    }
+
+    private void stopReading() {
+        inputDone = true;
+        final SelectionKey key = this.key;
+        if (key != null && key.isValid()) {
+            // Keep the key registered, the write side may still need to wait for the channel
+            key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+        }
+        if (current != null) {
+            current.finish();
+            current = null;
+        }
+    }
+
+    private void suspendReads() {
+        suspended = true;
+        key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+        if (unconsumed.get() < HIGH_WATER_MARK) {
+            // Consumed in the meantime
+            resumeReads();
+        }
+    }
+
+    private void resumeReads() {
+        final SelectionKey key = this.key;
+        if (suspended && !inputDone && key.isValid()) {
+            suspended = false;
+            key.interestOps(key.interestOps() | SelectionKey.OP_READ);
+        }
+    }
+
+    private final Runnable resumeTask = new Runnable() {
+        public void run() {
+            resumeReads();
+        }
+    };
+
+    // ------------------------------------------------------------ Message delivery
+
+    private void consumed(final int cnt) {
+        if (unconsumed.addAndGet(-cnt) < LOW_WATER_MARK && suspended) {
+            worker.execute(resumeTask);
+        }
+    }
+
+    private void deliver(final IncomingMessage message) {
+        deliver(new MessageDelivery(message));
+    }
+
+    private void deliver(final Runnable event) {
+        synchronized (events) {
+            if (delivering) {
+                events.add(event);
+                return;
+            }
+            delivering = true;
+        }
+        execute(event);
+    }
+
+    private void deliverNext() {
+        final Runnable event;
+        synchronized (events) {
+            event = events.poll();
+            if (event == null) {
+                delivering = false;
+                return;
+            }
+        }
+        execute(event);
+    }
+
+    private void execute(final Runnable event) {
+        try {
+            readExecutor.execute(event);
+        } catch (RejectedExecutionException e) {
+            if (event instanceof MessageDelivery) {
+                log.errorf(e, "Failed to deliver a message");
+            } else {
+                // The executor is gone; still let the handler know the connection ended
+                event.run();
+            }
+        }
+    }
+
+    private final class MessageDelivery implements Runnable {
+        private final IncomingMessage message;
+
+        MessageDelivery(final IncomingMessage message) {
+            this.message = message;
+        }
+
+        public void run() {
+            safeHandleMessage(message);
+        }
     }
 
     void safeHandleMessage(final InputStream pis) {
@@ -310,29 +528,176 @@ final class ConnectionImpl implements Connection {
         }
     }
 
-    final class MessageInputStream extends FilterInputStream {
+    /**
+     * The bytes of a single incoming message.  The worker thread appends the data of each chunk as it is read;
+     * the message handler reads it.  Closing the stream discards the rest of the message and allows the next
+     * message to be delivered.
+     */
+    final class IncomingMessage extends InputStream {
+        // All protected by this
+        private final LinkedList<byte[]> chunks = new LinkedList<byte[]>();
+        private int position;
+        private boolean complete;
+        private boolean closed;
+
+        void append(final ByteBuffer src, final int len) {
+            final byte[] bytes = new byte[len];
+            src.get(bytes);
+            unconsumed.addAndGet(len);
+            synchronized (this) {
+                if (!closed) {
+                    chunks.add(bytes);
+                    notifyAll();
+                    return;
+                }
+            }
+            consumed(len);
+        }
 
-        protected MessageInputStream(InputStream in) {
-            super(in);
+        synchronized void finish() {
+            complete = true;
+            notifyAll();
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b;
+            synchronized (this) {
+                final byte[] head = awaitData();
+                if (head == null) {
+                    return -1;
+                }
+                b = head[position] & 0xff;
+                advance(head, 1);
+            }
+            consumed(1);
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            final int cnt;
+            synchronized (this) {
+                final byte[] head = awaitData();
+                if (head == null) {
+                    return -1;
+                }
+                cnt = Math.min(len, head.length - position);
+                System.arraycopy(head, position, b, off, cnt);
+                advance(head, cnt);
+            }
+            consumed(cnt);
+            return cnt;
+        }
+
+        @Override
+        public synchronized int available() throws IOException {
+            return chunks.isEmpty() ? 0 : chunks.getFirst().length - position;
         }
 
         @Override
         public void close() throws IOException {
             try {
-                while (in.read() != -1) {}
+                while (read() != -1) {}
             } finally {
-                super.close();
+                int discarded = 0;
+                synchronized (this) {
+                    if (closed) {
+                        return;
+                    }
+                    closed = true;
+                    for (byte[] chunk : chunks) {
+                        discarded += chunk.length;
+                    }
+                    discarded -= position;
+                    chunks.clear();
+                    notifyAll();
+                }
+                if (discarded > 0) {
+                    consumed(discarded);
+                }
+                deliverNext();
+            }
+        }
+
+        // Must hold this
+        private byte[] awaitData() throws IOException {
+            while (chunks.isEmpty()) {
+                if (complete || closed) {
+                    return null;
+                }
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+            return chunks.getFirst();
+        }
+
+        // Must hold this
+        private void advance(final byte[] head, final int cnt) {
+            position += cnt;
+            if (position == head.length) {
+                chunks.removeFirst();
+                position = 0;
             }
         }
     }
 
-    final class MessageOutputStream extends FilterOutputStream {
+    // ------------------------------------------------------------ Writing
 
-        private final byte[] hdr = new byte[5];
+    // Must hold lock
+    private void writeFully(final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.write(buffer) == 0) {
+                awaitWritable();
+            }
+        }
+    }
 
-        MessageOutputStream() throws IOException {
-            super(socket.getOutputStream());
+    private void awaitWritable() throws IOException {
+        synchronized (writeMonitor) {
+            writable = false;
+        }
+        worker.execute(new Runnable() {
+            public void run() {
+                final SelectionKey key = ConnectionImpl.this.key;
+                if (key != null && key.isValid()) {
+                    key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                } else {
+                    synchronized (writeMonitor) {
+                        writable = true;
+                        writeMonitor.notifyAll();
+                    }
+                }
+            }
+        });
+        synchronized (writeMonitor) {
+            while (!writable) {
+                final SelectionKey key = this.key;
+                if (!channel.isOpen() || (key != null && !key.isValid())) {
+                    throw new ClosedChannelException();
+                }
+                try {
+                    writeMonitor.wait(1000L);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
         }
+        final SelectionKey key = this.key;
+        if (key == null || !key.isValid()) {
+            throw new IOException("Write channel closed");
+        }
+    }
+
+    final class MessageOutputStream extends OutputStream {
 
         @Override
         public void write(final int b) throws IOException {
@@ -344,12 +709,6 @@ final class ConnectionImpl implements Connection {
             if (len == 0) {
                 return;
             }
-            final byte[] hdr = this.hdr;
-            hdr[0] = (byte) CHUNK_START;
-            hdr[1] = (byte) (len >> 24);
-            hdr[2] = (byte) (len >> 16);
-            hdr[3] = (byte) (len >> 8);
-            hdr[4] = (byte) (len >> 0);
             synchronized (lock) {
                 if (sender != this || writeDone) {
                     if (sender == this) sender = null;
@@ -357,8 +716,27 @@ final class ConnectionImpl implements Connection {
                     throw new IOException("Write channel closed");
                 }
                 log.tracef("Sending data chunk of size %d", Integer.valueOf(len));
-                out.write(hdr);
-                out.write(b, off, len);
+                final ByteBuffer buffer = DirectBufferPool.take();
+                try {
+                    buffer.put((byte) CHUNK_START);
+                    buffer.putInt(len);
+                    int pos = off;
+                    int remaining = len;
+                    for (;;) {
+                        final int cnt = Math.min(remaining, buffer.remaining());
+                        buffer.put(b, pos, cnt);
+                        pos += cnt;
+                        remaining -= cnt;
+                        buffer.flip();
+                        writeFully(buffer);
+                        if (remaining == 0) {
+                            break;
+                        }
+                        buffer.clear();
+                    }
+                } finally {
+                    DirectBufferPool.give(buffer);
+                }
             }
         }
 
@@ -381,7 +759,14 @@ final class ConnectionImpl implements Connection {
                     });
                 }
                 log.tracef("Sending end of message");
-                out.write(CHUNK_END);
+                final ByteBuffer buffer = DirectBufferPool.take();
+                try {
+                    buffer.put((byte) CHUNK_END);
+                    buffer.flip();
+                    writeFully(buffer);
+                } finally {
+                    DirectBufferPool.give(buffer);
+                }
             }
         }
 
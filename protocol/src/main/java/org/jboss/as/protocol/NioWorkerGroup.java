@@ -0,0 +1,222 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.protocol;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A fixed set of I/O threads, each of which multiplexes the reads of many {@link ConnectionImpl}s over a single
+ * {@link Selector}.  The number of threads does not depend on the number of connections.
+ */
+final class NioWorkerGroup {
+
+    private static final Logger log = Logger.getLogger("org.jboss.as.protocol.nio");
+
+    /** How often workers wake up to check for read timeouts */
+    private static final long SELECT_TIMEOUT = 1000L;
+
+    private static NioWorkerGroup defaultGroup;
+
+    private final Worker[] workers;
+    private final AtomicInteger next = new AtomicInteger();
+
+    NioWorkerGroup(final ThreadFactory threadFactory, final int threadCount, final String name) throws IOException {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("threadCount must be greater than zero");
+        }
+        workers = new Worker[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            final Worker worker = new Worker();
+            final Thread thread = threadFactory.newThread(worker);
+            if (thread == null) {
+                shutdown();
+                throw new IllegalStateException("Thread creation was refused");
+            }
+            thread.setName(name + " I/O thread " + (i + 1));
+            workers[i] = worker;
+            thread.start();
+        }
+    }
+
+    /**
+     * Get the group shared by all client connections, creating it if needed.
+     *
+     * @return the shared group
+     * @throws IOException if the selectors cannot be opened
+     */
+    static synchronized NioWorkerGroup getDefault() throws IOException {
+        if (defaultGroup == null) {
+            final ThreadFactory threadFactory = new ThreadFactory() {
+                public Thread newThread(final Runnable r) {
+                    final Thread thread = new Thread(r);
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            };
+            defaultGroup = new NioWorkerGroup(threadFactory, getDefaultThreadCount(), "Management client");
+        }
+        return defaultGroup;
+    }
+
+    static int getDefaultThreadCount() {
+        return Math.min(4, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Assign the connection's channel to one of the workers.
+     *
+     * @param connection the connection
+     */
+    void register(final ConnectionImpl connection) {
+        final Worker worker = workers[(next.getAndIncrement() & Integer.MAX_VALUE) % workers.length];
+        connection.setWorker(worker);
+        worker.execute(new Runnable() {
+            public void run() {
+                worker.register(connection);
+            }
+        });
+    }
+
+    /**
+     * Stop all workers.  Connections still registered are treated as failed.
+     */
+    void shutdown() {
+        for (Worker worker : workers) {
+            if (worker != null) {
+                worker.shutdown();
+            }
+        }
+    }
+
+    final class Worker implements Runnable {
+        private final Selector selector;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+        /** Each worker owns one direct buffer which all of its connections read into */
+        private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(8192);
+        private volatile boolean stop;
+
+        Worker() throws IOException {
+            selector = Selector.open();
+        }
+
+        /**
+         * Run a task on this worker's thread.  Interest operations may only be safely changed this way.
+         *
+         * @param task the task
+         */
+        void execute(final Runnable task) {
+            tasks.add(task);
+            selector.wakeup();
+        }
+
+        void register(final ConnectionImpl connection) {
+            try {
+                final SocketChannel channel = connection.getChannel();
+                // Reading starts once the connection has its message handler, see ConnectionImpl.startReading()
+                final SelectionKey key = channel.register(selector, 0, connection);
+                connection.setSelectionKey(key);
+            } catch (IOException e) {
+                connection.readFailed(e);
+            }
+        }
+
+        void shutdown() {
+            stop = true;
+            selector.wakeup();
+        }
+
+        public void run() {
+            try {
+                while (!stop) {
+                    selector.select(SELECT_TIMEOUT);
+                    runTasks();
+                    final Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                    while (it.hasNext()) {
+                        final SelectionKey key = it.next();
+                        it.remove();
+                        final ConnectionImpl connection = (ConnectionImpl) key.attachment();
+                        try {
+                            if (key.isValid() && key.isWritable()) {
+                                connection.handleWritable();
+                            }
+                            if (key.isValid() && key.isReadable()) {
+                                connection.handleReadable(readBuffer);
+                            }
+                        } catch (CancelledKeyException e) {
+                            // The connection was closed concurrently
+                        }
+                    }
+                    checkTimeouts();
+                }
+            } catch (ClosedSelectorException e) {
+                // shut down
+            } catch (IOException e) {
+                log.errorf(e, "Selector failed");
+            } catch (RuntimeException e) {
+                log.errorf(e, "I/O thread failed");
+            } finally {
+                for (SelectionKey key : selector.keys()) {
+                    final ConnectionImpl connection = (ConnectionImpl) key.attachment();
+                    if (key.isValid()) {
+                        key.cancel();
+                        connection.readFailed(new IOException("Connection I/O thread stopped"));
+                    }
+                }
+                StreamUtils.safeClose(selector);
+            }
+        }
+
+        private void runTasks() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.errorf(e, "Failed to run I/O task");
+                }
+            }
+        }
+
+        private void checkTimeouts() {
+            final long now = System.currentTimeMillis();
+            for (SelectionKey key : selector.keys()) {
+                if (key.isValid()) {
+                    ((ConnectionImpl) key.attachment()).checkReadTimeout(now);
+                }
+            }
+        }
+    }
+}
@@ -24,7 +24,7 @@ package org.jboss.as.protocol;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.net.Socket;
+import java.nio.channels.SocketChannel;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadFactory;
 
@@ -35,14 +35,13 @@ import javax.net.SocketFactory;
 
 /**
  * A protocol client for management commands, which can also asynchronously receive protocol messages.
+ * Incoming messages of all client connections are read by a small shared set of I/O threads.
  *
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
  */
 public final class ProtocolClient {
     private static final Logger log = Logger.getLogger("org.jboss.as.protocol.client");
 
-    private final ThreadFactory threadFactory;
-    private final SocketFactory socketFactory;
     private final InetSocketAddress serverAddress;
     private final MessageHandler messageHandler;
     private final InetSocketAddress bindAddress;
@@ -52,21 +51,13 @@ public final class ProtocolClient {
     private final ClosedCallback callback;
 
     public ProtocolClient(final Configuration configuration) {
-        threadFactory = configuration.getThreadFactory();
         bindAddress = configuration.getBindAddress();
         connectTimeout = configuration.getConnectTimeout();
-        socketFactory = configuration.getSocketFactory();
         messageHandler = configuration.getMessageHandler();
         serverAddress = configuration.getServerAddress();
         readTimeout = configuration.getReadTimeout();
         readExecutor = configuration.getReadExecutor();
         callback = configuration.getClosedCallback();
-        if (threadFactory == null) {
-            throw new IllegalArgumentException("threadFactory is null");
-        }
-        if (socketFactory == null) {
-            throw new IllegalArgumentException("factory is null");
-        }
         if (serverAddress == null) {
             throw new IllegalArgumentException("serverAddress is null");
         }
@@ -80,22 +71,26 @@ public final class ProtocolClient {
 
     public Connection connect() throws IOException {
         log.tracef("Creating connection to %s", serverAddress);
-        final Socket socket = socketFactory.createSocket();
-        final ConnectionImpl connection = new ConnectionImpl(socket, messageHandler, readExecutor, callback);
-        final Thread thread = threadFactory.newThread(connection.getReadTask());
-        if (thread == null) {
-            throw new IllegalStateException("Thread creation was refused");
-        }
-        if (bindAddress != null) socket.bind(bindAddress);
-        if (readTimeout != 0) socket.setSoTimeout(readTimeout);
-        socket.connect(serverAddress, connectTimeout);
-        thread.setName("Read thread for " + serverAddress);
-        thread.start();
-        log.tracef("Connected to %s", serverAddress);
-        return connection;
+        final SocketChannel channel = SocketChannel.open();
+        boolean ok = false;
+        try {
+            if (bindAddress != null) channel.socket().bind(bindAddress);
+            channel.socket().connect(serverAddress, connectTimeout);
+            final ConnectionImpl connection = new ConnectionImpl(channel, messageHandler, readExecutor, callback, readTimeout);
+            connection.register(NioWorkerGroup.getDefault());
+            connection.startReading();
+            log.tracef("Connected to %s", serverAddress);
+            ok = true;
+            return connection;
+        } finally {
+            if (! ok) {
+                StreamUtils.safeClose(channel);
+            }
+        }
     }
 
     public static final class Configuration {
+        // The thread factory and socket factory are no longer used, connections are read by shared I/O threads
         private ThreadFactory threadFactory;
         private SocketFactory socketFactory;
         private InetSocketAddress serverAddress;
@@ -24,9 +24,9 @@ package org.jboss.as.protocol;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.net.ServerSocket;
-import java.net.Socket;
-import java.net.SocketException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadFactory;
 
@@ -36,6 +36,9 @@ import org.jboss.as.protocol.Connection.ClosedCallback;
 import org.jboss.logging.Logger;
 
 /**
+ * A protocol server.  Connections are accepted by a single thread and read by a fixed set of I/O threads, so the
+ * number of threads does not grow with the number of connections.
+ *
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
  */
 public final class ProtocolServer {
@@ -43,7 +46,6 @@ public final class ProtocolServer {
     private static final Logger log = Logger.getLogger("org.jboss.as.protocol.server");
 
     private final ThreadFactory threadFactory;
-    private final ServerSocketFactory socketFactory;
     private final ConnectionHandler connectionHandler;
     private final InetSocketAddress bindAddress;
     private final int backlog;
@@ -51,19 +53,21 @@ public final class ProtocolServer {
     private final Executor readExecutor;
     private volatile boolean stop;
     private volatile Thread thread;
-    private volatile ServerSocket serverSocket;
+    private volatile ServerSocketChannel serverChannel;
     private volatile InetSocketAddress boundAddress;
+    private volatile NioWorkerGroup workerGroup;
     private final ClosedCallback callback;
+    private final int ioThreads;
 
     public ProtocolServer(final Configuration configuration) throws IOException {
         threadFactory = configuration.getThreadFactory();
-        socketFactory = configuration.getSocketFactory();
         connectionHandler = configuration.getConnectionHandler();
         bindAddress = configuration.getBindAddress();
         backlog = configuration.getBacklog();
         readTimeout = configuration.getReadTimeout();
         readExecutor = configuration.getReadExecutor();
         callback = configuration.getClosedCallback();
+        ioThreads = configuration.getIoThreads() > 0 ? configuration.getIoThreads() : NioWorkerGroup.getDefaultThreadCount();
         if (bindAddress == null) {
             throw new IllegalArgumentException("bindAddress is null");
         }
@@ -75,32 +79,19 @@ public final class ProtocolServer {
     public void start() throws IOException {
         stop = false;
 
-        final ServerSocket serverSocket = socketFactory.createServerSocket();
-        this.serverSocket = serverSocket;
+        final ServerSocketChannel serverChannel = ServerSocketChannel.open();
+        this.serverChannel = serverChannel;
         thread = threadFactory.newThread(new Runnable() {
             public void run() {
                 try {
-                    while (! serverSocket.isClosed() && ! stop) {
+                    while (serverChannel.isOpen() && ! stop) {
                         try {
-                            final Socket socket = serverSocket.accept();
-                            boolean ok = false;
-                            try {
-                                socket.setSoTimeout(readTimeout);
-                                ok = true;
-                            } finally {
-                                if (! ok) {
-                                    try {
-                                        socket.close();
-                                    } catch (IOException e) {
-                                        log.errorf(e, "Failed to close a socket");
-                                    }
-                                }
-                            }
-                            safeHandleConnection(socket);
-                        } catch (SocketException e) {
+                            final SocketChannel channel = serverChannel.accept();
+                            safeHandleConnection(channel);
+                        } catch (ClosedChannelException e) {
                             if (!stop) {
                                 // we do not log if service is stopped, we assume the exception was caused by closing the
-                                // ServerSocket
+                                // ServerSocketChannel
                                 log.errorf(e, "Failed to accept a connection");
                             }
                         } catch (IOException e) {
@@ -109,17 +100,27 @@ public final class ProtocolServer {
 
                     }
                 } finally {
-                    StreamUtils.safeClose(serverSocket);
+                    StreamUtils.safeClose(serverChannel);
                 }
             }
         });
         if (thread == null) {
+            StreamUtils.safeClose(serverChannel);
             throw new IOException("Failed to create server thread");
         }
         thread.setName("Accept thread");
-        serverSocket.setReuseAddress(true);
-        serverSocket.bind(bindAddress, backlog);
-        boundAddress = (InetSocketAddress) serverSocket.getLocalSocketAddress();
+        boolean ok = false;
+        try {
+            serverChannel.socket().setReuseAddress(true);
+            serverChannel.socket().bind(bindAddress, backlog);
+            boundAddress = (InetSocketAddress) serverChannel.socket().getLocalSocketAddress();
+            workerGroup = new NioWorkerGroup(threadFactory, ioThreads, "Management");
+            ok = true;
+        } finally {
+            if (! ok) {
+                StreamUtils.safeClose(serverChannel);
+            }
+        }
         thread.start();
     }
 
@@ -128,33 +129,30 @@ public final class ProtocolServer {
         final Thread thread = this.thread;
         boundAddress = null;
         if (thread != null) {
-            // thread.interupt may not actually interupt socket.accept()
+            // closing the channel interrupts accept()
             thread.interrupt();
         }
-        StreamUtils.safeClose(serverSocket);
+        StreamUtils.safeClose(serverChannel);
+        final NioWorkerGroup workerGroup = this.workerGroup;
+        this.workerGroup = null;
+        if (workerGroup != null) {
+            workerGroup.shutdown();
+        }
     }
 
-    private void safeHandleConnection(final Socket socket) {
+    private void safeHandleConnection(final SocketChannel channel) {
         boolean ok = false;
         try {
-            final ConnectionImpl connection = new ConnectionImpl(socket, MessageHandler.NULL, readExecutor, callback);
+            final ConnectionImpl connection = new ConnectionImpl(channel, MessageHandler.NULL, readExecutor, callback, readTimeout);
+            connection.register(workerGroup);
             connection.setMessageHandler(connectionHandler.handleConnected(connection));
-            final Thread thread = threadFactory.newThread(connection.getReadTask());
-            if (thread == null) {
-                throw new IllegalStateException("Thread creation was refused");
-            }
-            thread.setName("Read thread for " + socket.getRemoteSocketAddress());
-            thread.start();
+            connection.startReading();
             ok = true;
         } catch (IOException e) {
             log.errorf(e, "Failed to handle incoming connection");
         } finally {
             if (! ok) {
-                try {
-                    socket.close();
-                } catch (IOException e) {
-                    log.errorf(e, "Failed to close socket");
-                }
+                StreamUtils.safeClose(channel);
             }
         }
     }
@@ -165,6 +163,7 @@ public final class ProtocolServer {
 
     public static final class Configuration {
         private ThreadFactory threadFactory;
+        // No longer used, connections are accepted on a ServerSocketChannel
         private ServerSocketFactory socketFactory;
         private ConnectionHandler connectionHandler;
         private MessageHandler messageHandler;
@@ -173,6 +172,7 @@ public final class ProtocolServer {
         private int readTimeout;
         private Executor readExecutor;
         private ClosedCallback closedCallback;
+        private int ioThreads;
 
         public ThreadFactory getThreadFactory() {
             return threadFactory;
@@ -246,5 +246,19 @@ public final class ProtocolServer {
         public void setCallback(ClosedCallback closedCallback) {
             this.closedCallback = closedCallback;
         }
+
+        public int getIoThreads() {
+            return ioThreads;
+        }
+
+        /**
+         * Set the number of threads reading from connections.  If not set, a small default based on the number of
+         * processors is used.
+         *
+         * @param ioThreads the number of I/O threads
+         */
+        public void setIoThreads(final int ioThreads) {
+            this.ioThreads = ioThreads;
+        }
     }
 }
@@ -30,6 +30,7 @@ import java.io.OutputStream;
 import java.io.UTFDataFormatException;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.channels.Selector;
 
 import org.jboss.logging.Logger;
 import org.jboss.marshalling.Marshaller;
@@ -313,6 +314,14 @@ public final class StreamUtils {
         }
     }
 
+    public static void safeClose(final Selector selector) {
+        if (selector != null) try {
+            selector.close();
+        } catch (IOException e) {
+            log.errorf(e, "Failed to close the selector %s", selector);
+        }
+    }
+
     public static void safeFinish(final Marshaller marshaller) {
         if (marshaller != null) try {
             marshaller.finish();
@@ -0,0 +1,283 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.protocol.mgmt;
+
+import static org.jboss.as.protocol.StreamUtils.safeClose;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.net.SocketFactory;
+
+import org.jboss.as.protocol.Connection;
+import org.jboss.as.protocol.MessageHandler;
+import org.jboss.as.protocol.ProtocolClient;
+
+/**
+ * A bounded pool of persistent connections to a remote management endpoint. Each {@link ManagementRequest}
+ * borrows a connection for the duration of its request/response exchange and hands it back once the response
+ * has been read, so consecutive requests do not pay for a new socket and handshake. Connections that have been
+ * idle for longer than the keep-alive time are closed, as are connections on which a request failed, since the
+ * protocol state of such a connection is unknown.
+ */
+public class ManagementConnectionPool implements Closeable {
+
+    private final InetAddress address;
+    private final int port;
+    private final int connectTimeout;
+    private final long keepAliveTime;
+    private final ExecutorService executorService;
+    private final ThreadFactory threadFactory;
+    /** Permits for connections that are in use by a request */
+    private final Semaphore permits;
+    /** Idle connections, most recently used first */
+    // @GuardedBy(idle)
+    private final LinkedList<PooledConnection> idle = new LinkedList<PooledConnection>();
+    private volatile boolean closed;
+
+    /**
+     * Create a new connection pool.
+     *
+     * @param address the address of the remote endpoint
+     * @param port the port of the remote endpoint
+     * @param connectTimeout the time in milliseconds to wait for a new connection to be established, and for a
+     *                       connection to become available when all connections are in use
+     * @param maxConnections the maximum number of connections that can be in use concurrently
+     * @param keepAliveTime the time in milliseconds an idle connection is kept open
+     * @param executorService the executor used to read messages
+     * @param threadFactory the thread factory used to create the connection read threads
+     */
+    public ManagementConnectionPool(final InetAddress address, final int port, final long connectTimeout, final int maxConnections,
+            final long keepAliveTime, final ExecutorService executorService, final ThreadFactory threadFactory) {
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("maxConnections must be greater than zero");
+        }
+        this.address = address;
+        this.port = port;
+        this.connectTimeout = (int) connectTimeout;
+        this.keepAliveTime = keepAliveTime;
+        this.executorService = executorService;
+        this.threadFactory = threadFactory;
+        this.permits = new Semaphore(maxConnections, true);
+    }
+
+    /**
+     * Get a connection strategy for a single request. The strategy borrows a connection from the pool when the
+     * request asks for it, and returns it when the request completes.
+     *
+     * @return the connection strategy
+     */
+    public ManagementRequestConnectionStrategy getConnectionStrategy() {
+        return new PooledConnectionStrategy();
+    }
+
+    /**
+     * Get the number of idle connections currently held open by the pool.
+     *
+     * @return the number of idle connections
+     */
+    public int getIdleCount() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+
+    /**
+     * Close all idle connections and refuse further requests. Connections in use are closed when their
+     * request completes.
+     */
+    public void close() {
+        closed = true;
+        final List<PooledConnection> toClose;
+        synchronized (idle) {
+            toClose = new ArrayList<PooledConnection>(idle);
+            idle.clear();
+        }
+        for (PooledConnection pooled : toClose) {
+            pooled.close();
+        }
+    }
+
+    private PooledConnection borrow(final PooledConnectionStrategy strategy) throws IOException {
+        if (closed) {
+            throw new IOException("Connection pool is closed");
+        }
+        try {
+            if (!permits.tryAcquire(connectTimeout, TimeUnit.MILLISECONDS)) {
+                throw new IOException("Timed out waiting for a management connection to " + address + ":" + port);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        boolean ok = false;
+        try {
+            PooledConnection pooled = takeIdle();
+            if (pooled == null) {
+                pooled = connect();
+            }
+            pooled.owner = strategy;
+            ok = true;
+            return pooled;
+        } finally {
+            if (!ok) {
+                permits.release();
+            }
+        }
+    }
+
+    private PooledConnection takeIdle() {
+        final long now = System.currentTimeMillis();
+        final List<PooledConnection> expired = new ArrayList<PooledConnection>();
+        PooledConnection result = null;
+        synchronized (idle) {
+            while (result == null && !idle.isEmpty()) {
+                final PooledConnection candidate = idle.removeFirst();
+                if (candidate.isOpen() && now - candidate.lastUsed < keepAliveTime) {
+                    result = candidate;
+                } else {
+                    expired.add(candidate);
+                }
+            }
+            // Connections further down the list have been idle even longer
+            for (Iterator<PooledConnection> it = idle.iterator(); it.hasNext();) {
+                final PooledConnection candidate = it.next();
+                if (!candidate.isOpen() || now - candidate.lastUsed >= keepAliveTime) {
+                    it.remove();
+                    expired.add(candidate);
+                }
+            }
+        }
+        for (PooledConnection pooled : expired) {
+            pooled.close();
+        }
+        return result;
+    }
+
+    private PooledConnection connect() throws IOException {
+        final PooledConnection pooled = new PooledConnection();
+
+        final ProtocolClient.Configuration config = new ProtocolClient.Configuration();
+        config.setMessageHandler(MessageHandler.NULL);
+        config.setConnectTimeout(connectTimeout);
+        config.setReadExecutor(executorService);
+        config.setSocketFactory(SocketFactory.getDefault());
+        config.setServerAddress(new InetSocketAddress(address, port));
+        config.setThreadFactory(threadFactory);
+        config.setClosedCallback(pooled);
+
+        pooled.connection = new ProtocolClient(config).connect();
+        return pooled;
+    }
+
+    private void release(final PooledConnection pooled, final boolean reusable) {
+        pooled.owner = null;
+        try {
+            if (reusable && !closed && pooled.isOpen()) {
+                pooled.lastUsed = System.currentTimeMillis();
+                synchronized (idle) {
+                    idle.addFirst(pooled);
+                }
+            } else {
+                pooled.close();
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private final class PooledConnection implements Connection.ClosedCallback {
+        private volatile Connection connection;
+        private volatile PooledConnectionStrategy owner;
+        private volatile boolean open = true;
+        private volatile long lastUsed;
+
+        boolean isOpen() {
+            return open;
+        }
+
+        void close() {
+            open = false;
+            safeClose(connection);
+        }
+
+        @Override
+        public void connectionClosed() {
+            open = false;
+            final PooledConnectionStrategy owner = this.owner;
+            if (owner != null) {
+                // Closed underneath a request; make sure the permit is not lost
+                owner.failed();
+            } else {
+                synchronized (idle) {
+                    idle.remove(this);
+                }
+            }
+        }
+    }
+
+    private final class PooledConnectionStrategy implements ManagementRequestConnectionStrategy {
+        private final AtomicBoolean released = new AtomicBoolean();
+        private PooledConnection pooled;
+
+        /** {@inheritDoc} */
+        public synchronized Connection getConnection() throws IOException {
+            if (pooled == null) {
+                pooled = borrow(this);
+            }
+            return pooled.connection;
+        }
+
+        /** {@inheritDoc} */
+        public void complete() {
+            release(true);
+        }
+
+        /** {@inheritDoc} */
+        public void failed() {
+            release(false);
+        }
+
+        private void release(final boolean reusable) {
+            final PooledConnection pooled;
+            synchronized (this) {
+                pooled = this.pooled;
+            }
+            if (pooled != null && released.compareAndSet(false, true)) {
+                ManagementConnectionPool.this.release(pooled, reusable);
+            }
+        }
+    }
+}
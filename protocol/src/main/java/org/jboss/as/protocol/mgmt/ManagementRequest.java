@@ -34,6 +34,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jboss.as.protocol.ByteDataInput;
 import org.jboss.as.protocol.ByteDataOutput;
@@ -50,7 +51,9 @@ import org.jboss.as.protocol.StreamUtils;
  * @author John Bailey
  */
 public abstract class ManagementRequest<T> extends AbstractMessageHandler {
-    private int requestId = 0;
+    private static final AtomicInteger REQUEST_IDS = new AtomicInteger();
+    /** Unique id so a response can be matched to its request when connections are reused */
+    private final int requestId = REQUEST_IDS.incrementAndGet() & Integer.MAX_VALUE;
     private final ResponseFuture<T> future = new ResponseFuture<T>();
     private ManagementRequestConnectionStrategy connectionStrategy;
     // @GuardedBy(resultLock)
@@ -78,10 +81,11 @@ public abstract class ManagementRequest<T> extends AbstractMessageHandler {
      */
     public Future<T> execute(final ManagementRequestConnectionStrategy connectionStrategy) throws IOException {
         this.connectionStrategy = connectionStrategy;
+        final Connection connection = connectionStrategy.getConnection();
         OutputStream dataOutput = null;
         ByteDataOutput output = null;
+        boolean ok = false;
         try {
-            final Connection connection = connectionStrategy.getConnection();
             connection.backupMessageHandler();
 
             connection.setMessageHandler(initiatingMessageHandler);
@@ -93,9 +97,13 @@ public abstract class ManagementRequest<T> extends AbstractMessageHandler {
             connection.setMessageHandler(initiatingMessageHandler);
             output.close();
             dataOutput.close();
+            ok = true;
         } finally {
             safeClose(output);
             safeClose(dataOutput);
+            if (!ok) {
+                connectionStrategy.failed();
+            }
         }
         return future;
     }
@@ -126,6 +134,7 @@ public abstract class ManagementRequest<T> extends AbstractMessageHandler {
                 throw new IOException("Invalid response code.  Expecting '" + getResponseCode() + "' received '" + responseCode + "'");
             }
         } catch (Exception e) {
+            connectionStrategy.failed();
             future.setException(e);
         }
     }
@@ -154,8 +163,8 @@ public abstract class ManagementRequest<T> extends AbstractMessageHandler {
                 if (future.isDone()) {
                     // We must have failed above and set the exception.
                     // If we fail sending we shouldn't expect a response,
-                    // so consider the connection complete
-                    connectionStrategy.complete();
+                    // so consider the connection failed
+                    connectionStrategy.failed();
                 }
             }
         }
@@ -227,6 +236,7 @@ public abstract class ManagementRequest<T> extends AbstractMessageHandler {
                 }
             }
             catch (Exception e) {
+                connectionStrategy.failed();
                 future.setException(e);
             }
         }
@@ -251,15 +261,16 @@ public abstract class ManagementRequest<T> extends AbstractMessageHandler {
             try {
                 connection.restoreMessageHandler();
                 expectHeader(input, ManagementProtocol.RESPONSE_END);
-                synchronized (resultLock) {
-                    future.set(result);
-                }
             }
             catch (Exception e) {
+                connectionStrategy.failed();
                 future.setException(e);
+                return;
             }
-            finally {
-                connectionStrategy.complete();
+            // Release the connection before notifying the caller, so a follow-up request can reuse it
+            connectionStrategy.complete();
+            synchronized (resultLock) {
+                future.set(result);
             }
         }
 
@@ -53,6 +53,12 @@ public interface ManagementRequestConnectionStrategy {
      */
     void complete();
 
+    /**
+     * Called instead of {@link #complete()} when the request failed, in which case the state of the connection
+     * is unknown and it should not be used for further requests.
+     */
+    void failed();
+
     /**
      * Strategy that uses an existing connection.
      */
@@ -72,6 +78,11 @@ public interface ManagementRequestConnectionStrategy {
         public void complete() {
             // NOOP
         }
+
+        /** {@inheritDoc} */
+        public void failed() {
+            // NOOP
+        }
     }
 
     /**
@@ -116,5 +127,10 @@ public interface ManagementRequestConnectionStrategy {
         public synchronized void complete() {
             safeClose(connection);
         }
+
+        /** {@inheritDoc} */
+        public synchronized void failed() {
+            safeClose(connection);
+        }
     }
 }
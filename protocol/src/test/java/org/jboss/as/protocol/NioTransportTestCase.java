@@ -0,0 +1,224 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.protocol;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ServerSocketFactory;
+import javax.net.SocketFactory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the selector based transport behind {@link ProtocolServer} and {@link ProtocolClient}.
+ */
+public class NioTransportTestCase {
+
+    private ExecutorService executor;
+    private ProtocolServer server;
+    private final List<Integer> received = Collections.synchronizedList(new ArrayList<Integer>());
+
+    @Before
+    public void start() throws Exception {
+        executor = Executors.newFixedThreadPool(8);
+
+        final ProtocolServer.Configuration config = new ProtocolServer.Configuration();
+        config.setBindAddress(new InetSocketAddress(InetAddress.getByName("localhost"), 0));
+        config.setThreadFactory(Executors.defaultThreadFactory());
+        config.setReadExecutor(executor);
+        config.setSocketFactory(ServerSocketFactory.getDefault());
+        config.setBacklog(50);
+        config.setIoThreads(2);
+        config.setConnectionHandler(new ConnectionHandler() {
+            @Override
+            public MessageHandler handleConnected(Connection connection) throws IOException {
+                return new EchoMessageHandler();
+            }
+        });
+        server = new ProtocolServer(config);
+        server.start();
+    }
+
+    @After
+    public void stop() {
+        server.stop();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testLargeMessage() throws Exception {
+        final byte[] data = new byte[1024 * 1024];
+        new Random(17).nextBytes(data);
+
+        final BlockingQueue<byte[]> responses = new LinkedBlockingQueue<byte[]>();
+        final Connection connection = connect(new CollectingMessageHandler(responses));
+        try {
+            final OutputStream out = connection.writeMessage();
+            out.write(data);
+            out.close();
+            final byte[] response = responses.poll(30, TimeUnit.SECONDS);
+            assertArrayEquals(data, response);
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void testMessageOrder() throws Exception {
+        final BlockingQueue<byte[]> responses = new LinkedBlockingQueue<byte[]>();
+        final Connection connection = connect(new CollectingMessageHandler(responses));
+        try {
+            for (int i = 0; i < 200; i++) {
+                final OutputStream out = connection.writeMessage();
+                StreamUtils.writeInt(out, i);
+                out.close();
+            }
+            for (int i = 0; i < 200; i++) {
+                assertTrue(responses.poll(30, TimeUnit.SECONDS) != null);
+            }
+            for (int i = 0; i < 200; i++) {
+                assertEquals(Integer.valueOf(i), received.get(i));
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    public void testConnectionsDoNotNeedThreads() throws Exception {
+        // Make sure the shared client I/O threads exist before counting
+        connect(MessageHandler.NULL).close();
+        final int threads = Thread.activeCount();
+        final List<Connection> connections = new ArrayList<Connection>();
+        try {
+            for (int i = 0; i < 50; i++) {
+                connections.add(connect(MessageHandler.NULL));
+            }
+            // Only the fixed read executor may have grown
+            assertTrue(Thread.activeCount() - threads <= 8);
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+    }
+
+    private Connection connect(final MessageHandler handler) throws IOException {
+        final ProtocolClient.Configuration config = new ProtocolClient.Configuration();
+        config.setMessageHandler(handler);
+        config.setConnectTimeout(5000);
+        config.setReadExecutor(executor);
+        config.setSocketFactory(SocketFactory.getDefault());
+        config.setServerAddress(new InetSocketAddress(InetAddress.getByName("localhost"), server.getBoundAddress().getPort()));
+        config.setThreadFactory(Executors.defaultThreadFactory());
+        return new ProtocolClient(config).connect();
+    }
+
+    private static byte[] readFully(final InputStream input) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[4096];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            bytes.write(buffer, 0, read);
+        }
+        return bytes.toByteArray();
+    }
+
+    private class EchoMessageHandler implements MessageHandler {
+        @Override
+        public void handleMessage(final Connection connection, final InputStream dataStream) throws IOException {
+            final byte[] data = readFully(dataStream);
+            if (data.length == 4) {
+                received.add(Integer.valueOf(((data[0] & 0xff) << 24) | ((data[1] & 0xff) << 16) | ((data[2] & 0xff) << 8) | (data[3] & 0xff)));
+            }
+            // The next message is only delivered once this one is closed
+            dataStream.close();
+            final OutputStream out = connection.writeMessage();
+            try {
+                out.write(data);
+                out.close();
+            } finally {
+                StreamUtils.safeClose(out);
+            }
+        }
+
+        @Override
+        public void handleShutdown(final Connection connection) throws IOException {
+            connection.shutdownWrites();
+        }
+
+        @Override
+        public void handleFailure(final Connection connection, final IOException e) throws IOException {
+            connection.close();
+        }
+
+        @Override
+        public void handleFinished(final Connection connection) throws IOException {
+        }
+    }
+
+    private static class CollectingMessageHandler implements MessageHandler {
+        private final BlockingQueue<byte[]> responses;
+
+        CollectingMessageHandler(final BlockingQueue<byte[]> responses) {
+            this.responses = responses;
+        }
+
+        @Override
+        public void handleMessage(final Connection connection, final InputStream dataStream) throws IOException {
+            responses.add(readFully(dataStream));
+        }
+
+        @Override
+        public void handleShutdown(final Connection connection) throws IOException {
+        }
+
+        @Override
+        public void handleFailure(final Connection connection, final IOException e) throws IOException {
+        }
+
+        @Override
+        public void handleFinished(final Connection connection) throws IOException {
+        }
+    }
+}
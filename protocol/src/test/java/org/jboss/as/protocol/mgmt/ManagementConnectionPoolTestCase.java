@@ -0,0 +1,196 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.protocol.mgmt;
+
+import static org.jboss.as.protocol.ProtocolUtils.expectHeader;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.net.ServerSocketFactory;
+
+import org.jboss.as.protocol.Connection;
+import org.jboss.as.protocol.ConnectionHandler;
+import org.jboss.as.protocol.MessageHandler;
+import org.jboss.as.protocol.ProtocolServer;
+import org.jboss.as.protocol.StreamUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of {@link ManagementConnectionPool}.
+ */
+public class ManagementConnectionPoolTestCase {
+
+    private static final byte HANDLER_ID = 0x10;
+    private static final byte REQUEST = 0x11;
+    private static final byte RESPONSE = 0x12;
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private ExecutorService executor;
+    private ProtocolServer server;
+    private ManagementConnectionPool pool;
+
+    @Before
+    public void start() throws Exception {
+        executor = Executors.newCachedThreadPool();
+
+        final ProtocolServer.Configuration config = new ProtocolServer.Configuration();
+        config.setBindAddress(new InetSocketAddress(InetAddress.getByName("localhost"), 0));
+        config.setThreadFactory(Executors.defaultThreadFactory());
+        config.setReadExecutor(executor);
+        config.setSocketFactory(ServerSocketFactory.getDefault());
+        config.setBacklog(50);
+        config.setConnectionHandler(new ConnectionHandler() {
+            @Override
+            public MessageHandler handleConnected(Connection connection) throws IOException {
+                connections.incrementAndGet();
+                return new EchoHeaderMessageHandler();
+            }
+        });
+        server = new ProtocolServer(config);
+        server.start();
+
+        pool = new ManagementConnectionPool(InetAddress.getByName("localhost"), server.getBoundAddress().getPort(),
+                5000, 2, 60000, executor, Executors.defaultThreadFactory());
+    }
+
+    @After
+    public void stop() {
+        pool.close();
+        server.stop();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConnectionReused() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Integer.valueOf(i), new EchoRequest(i).executeForResult(pool.getConnectionStrategy()));
+        }
+        assertEquals(1, connections.get());
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    public void testConcurrentRequestsBounded() throws Exception {
+        final List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+        for (int i = 0; i < 20; i++) {
+            final int value = i;
+            results.add(executor.submit(new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                    return new EchoRequest(value).executeForResult(pool.getConnectionStrategy());
+                }
+            }));
+        }
+        for (int i = 0; i < 20; i++) {
+            assertEquals(Integer.valueOf(i), results.get(i).get());
+        }
+        assertTrue(connections.get() <= 2);
+    }
+
+    private static class EchoRequest extends ManagementRequest<Integer> {
+        private final int value;
+
+        EchoRequest(final int value) {
+            this.value = value;
+        }
+
+        @Override
+        protected byte getHandlerId() {
+            return HANDLER_ID;
+        }
+
+        @Override
+        protected byte getRequestCode() {
+            return REQUEST;
+        }
+
+        @Override
+        protected byte getResponseCode() {
+            return RESPONSE;
+        }
+
+        @Override
+        protected void sendRequest(final int protocolVersion, final OutputStream output) throws IOException {
+            StreamUtils.writeInt(output, value);
+        }
+
+        @Override
+        protected Integer receiveResponse(final InputStream input) throws IOException {
+            return Integer.valueOf(StreamUtils.readInt(input));
+        }
+    }
+
+    private static class EchoHeaderMessageHandler extends ManagementHeaderMessageHandler {
+        private final MessageHandler operationHandler = new AbstractMessageHandler() {
+            @Override
+            public void handle(final Connection connection, final InputStream input) throws IOException {
+                expectHeader(input, ManagementProtocol.REQUEST_OPERATION);
+                StreamUtils.readByte(input);
+                new EchoResponse(EchoHeaderMessageHandler.this).handle(connection, input);
+            }
+        };
+
+        @Override
+        protected MessageHandler getHandlerForId(final byte handlerId) {
+            return operationHandler;
+        }
+    }
+
+    private static class EchoResponse extends ManagementResponse {
+        private int value;
+
+        EchoResponse(final MessageHandler initiatingHandler) {
+            super(initiatingHandler);
+        }
+
+        @Override
+        protected byte getResponseCode() {
+            return RESPONSE;
+        }
+
+        @Override
+        protected void readRequest(final InputStream input) throws IOException {
+            value = StreamUtils.readInt(input);
+        }
+
+        @Override
+        protected void sendResponse(final OutputStream output) throws IOException {
+            StreamUtils.writeInt(output, value);
+        }
+    }
+}
@@ -31,6 +31,10 @@ import static org.jboss.as.security.Constants.AUTHENTICATION;
 import static org.jboss.as.security.Constants.AUTHENTICATION_JASPI;
 import static org.jboss.as.security.Constants.AUTHORIZATION;
 import static org.jboss.as.security.Constants.AUTH_MODULE;
+import static org.jboss.as.security.Constants.CACHE_CONCURRENCY_LEVEL;
+import static org.jboss.as.security.Constants.CACHE_EVICTION_STRATEGY;
+import static org.jboss.as.security.Constants.CACHE_LIFESPAN;
+import static org.jboss.as.security.Constants.CACHE_MAX_ENTRIES;
 import static org.jboss.as.security.Constants.CACHE_TYPE;
 import static org.jboss.as.security.Constants.CIPHER_SUITES;
 import static org.jboss.as.security.Constants.CLIENT_ALIAS;
@@ -75,6 +79,7 @@ import javax.security.auth.login.AppConfigurationEntry.LoginModuleControlFlag;
 import javax.security.auth.login.Configuration;
 
 import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.util.concurrent.BoundedConcurrentHashMap.Eviction;
 import org.jboss.as.clustering.infinispan.subsystem.EmbeddedCacheManagerService;
 import org.jboss.as.controller.BasicOperationResult;
 import org.jboss.as.controller.ModelAddOperationHandler;
@@ -86,6 +91,7 @@ import org.jboss.as.controller.ResultHandler;
 import org.jboss.as.controller.RuntimeTask;
 import org.jboss.as.controller.RuntimeTaskContext;
 import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.security.plugins.DefaultAuthenticationCacheFactory;
 import org.jboss.as.security.plugins.SecurityDomainContext;
 import org.jboss.as.security.service.JaasConfigurationService;
 import org.jboss.as.security.service.SecurityDomainService;
@@ -139,7 +145,8 @@ class SecurityDomainAdd implements ModelAddOperationHandler {
     }
 
     @Override
-    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) {
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler)
+            throws OperationFailedException {
         ModelNode opAddr = operation.require(OP_ADDR);
         PathAddress address = PathAddress.pathAddress(opAddr);
         final String securityDomain = address.getLastElement().getValue();
@@ -149,13 +156,14 @@ class SecurityDomainAdd implements ModelAddOperationHandler {
         final ApplicationPolicy applicationPolicy = createApplicationPolicy(securityDomain, operation);
         final JSSESecurityDomain jsseSecurityDomain = createJSSESecurityDomain(securityDomain, operation);
         final String cacheType = getAuthenticationCacheType(operation);
+        final DefaultAuthenticationCacheFactory defaultCacheFactory = createDefaultAuthenticationCacheFactory(operation);
 
         if (context.getRuntimeContext() != null) {
             context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
                 @Override
                 public void execute(RuntimeTaskContext context) throws OperationFailedException {
                     final SecurityDomainService securityDomainService = new SecurityDomainService(securityDomain,
-                            applicationPolicy, jsseSecurityDomain, cacheType);
+                            applicationPolicy, jsseSecurityDomain, cacheType, defaultCacheFactory);
                     final ServiceTarget target = context.getServiceTarget();
                     ServiceBuilder<SecurityDomainContext> builder = target
                             .addService(SecurityDomainService.SERVICE_NAME.append(securityDomain), securityDomainService)
@@ -539,4 +547,32 @@ class SecurityDomainAdd implements ModelAddOperationHandler {
         return type;
     }
 
-}
\ No newline at end of file
+    private DefaultAuthenticationCacheFactory createDefaultAuthenticationCacheFactory(ModelNode operation)
+            throws OperationFailedException {
+        int maxEntries = DefaultAuthenticationCacheFactory.DEFAULT_MAX_ENTRIES;
+        int concurrencyLevel = DefaultAuthenticationCacheFactory.DEFAULT_CONCURRENCY_LEVEL;
+        Eviction eviction = DefaultAuthenticationCacheFactory.DEFAULT_EVICTION;
+        long lifespan = -1;
+        if (operation.hasDefined(CACHE_MAX_ENTRIES))
+            maxEntries = operation.get(CACHE_MAX_ENTRIES).asInt();
+        if (operation.hasDefined(CACHE_CONCURRENCY_LEVEL))
+            concurrencyLevel = operation.get(CACHE_CONCURRENCY_LEVEL).asInt();
+        if (operation.hasDefined(CACHE_EVICTION_STRATEGY)) {
+            String strategy = operation.get(CACHE_EVICTION_STRATEGY).asString();
+            try {
+                eviction = Eviction.valueOf(strategy);
+            } catch (IllegalArgumentException e) {
+                throw new OperationFailedException(new ModelNode().set("Invalid " + CACHE_EVICTION_STRATEGY + ": " + strategy));
+            }
+        }
+        if (operation.hasDefined(CACHE_LIFESPAN))
+            lifespan = operation.get(CACHE_LIFESPAN).asLong();
+        if (maxEntries < 1 || concurrencyLevel < 1) {
+            throw new OperationFailedException(new ModelNode().set(CACHE_MAX_ENTRIES + " and " + CACHE_CONCURRENCY_LEVEL
+                    + " must be greater than zero"));
+        }
+
+        return new DefaultAuthenticationCacheFactory(maxEntries, concurrencyLevel, eviction, lifespan);
+    }
+
+}
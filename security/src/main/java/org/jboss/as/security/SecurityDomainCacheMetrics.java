@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.security;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelQueryOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.RuntimeTask;
+import org.jboss.as.controller.RuntimeTaskContext;
+import org.jboss.as.security.plugins.AuthenticationCache;
+import org.jboss.as.security.plugins.SecurityDomainContext;
+import org.jboss.as.security.service.SecurityDomainService;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads the authentication cache statistics of a security domain.
+ */
+class SecurityDomainCacheMetrics implements ModelQueryOperationHandler {
+
+    static final SecurityDomainCacheMetrics INSTANCE = new SecurityDomainCacheMetrics();
+
+    static final String[] NO_LOCATION = new String[0];
+    static final String CACHE_HITS = "cache-hits";
+    static final String CACHE_MISSES = "cache-misses";
+    static final String CACHE_EVICTIONS = "cache-evictions";
+    static final String[] ATTRIBUTES = new String[] { CACHE_HITS, CACHE_MISSES, CACHE_EVICTIONS };
+
+    /** {@inheritDoc} */
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler)
+            throws OperationFailedException {
+
+        if (context.getRuntimeContext() != null) {
+            context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
+                public void execute(RuntimeTaskContext context) throws OperationFailedException {
+                    final PathAddress address = PathAddress.pathAddress(operation.require(OP_ADDR));
+                    final String securityDomain = address.getLastElement().getValue();
+                    final String attributeName = operation.require(NAME).asString();
+
+                    final ServiceController<?> controller = context.getServiceRegistry().getService(
+                            SecurityDomainService.SERVICE_NAME.append(securityDomain));
+                    final AuthenticationCache cache = controller == null ? null : ((SecurityDomainContext) controller
+                            .getValue()).getAuthenticationCache();
+                    if (cache != null) {
+                        final ModelNode result = new ModelNode();
+                        if (CACHE_HITS.equals(attributeName)) {
+                            result.set(cache.getHits());
+                        } else if (CACHE_MISSES.equals(attributeName)) {
+                            result.set(cache.getMisses());
+                        } else if (CACHE_EVICTIONS.equals(attributeName)) {
+                            result.set(cache.getEvictions());
+                        }
+                        resultHandler.handleResultFragment(NO_LOCATION, result);
+                        resultHandler.handleResultComplete();
+                    } else {
+                        resultHandler.handleResultFragment(NO_LOCATION, new ModelNode().set("no metrics available"));
+                        resultHandler.handleResultComplete();
+                    }
+                }
+            });
+        } else {
+            resultHandler.handleResultFragment(NO_LOCATION, new ModelNode().set("no metrics available"));
+            resultHandler.handleResultComplete();
+        }
+        return new BasicOperationResult();
+    }
+
+}
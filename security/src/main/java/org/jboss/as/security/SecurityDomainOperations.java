@@ -54,7 +54,7 @@ class SecurityDomainOperations {
 
     static final String FLUSH_CACHE = "flush-cache";
 
-    private static final String PRINCIPAL_ARGUMENT = "principal";
+    static final String PRINCIPAL_ARGUMENT = "principal";
 
     static final ModelQueryOperationHandler LIST_CACHED_PRINCIPALS_OP = new ModelQueryOperationHandler() {
 
@@ -91,6 +91,9 @@ public class SecurityExtension implements Extension {
                 SecurityDomainOperations.LIST_CACHED_PRINCIPALS_OP, SecuritySubsystemDescriptions.LIST_CACHED_PRINCIPALS);
         securityDomain.registerOperationHandler(SecurityDomainOperations.FLUSH_CACHE, SecurityDomainOperations.FLUSH_CACHE_OP,
                 SecuritySubsystemDescriptions.FLUSH_CACHE);
+        for (final String attributeName : SecurityDomainCacheMetrics.ATTRIBUTES) {
+            securityDomain.registerMetric(attributeName, SecurityDomainCacheMetrics.INSTANCE);
+        }
 
         subsystem.registerXMLElementWriter(PARSER);
     }
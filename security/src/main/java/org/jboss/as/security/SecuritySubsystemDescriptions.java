@@ -49,6 +49,10 @@ import static org.jboss.as.security.Constants.AUTHENTICATION_MANAGER_CLASS_NAME;
 import static org.jboss.as.security.Constants.AUTHORIZATION;
 import static org.jboss.as.security.Constants.AUTHORIZATION_MANAGER_CLASS_NAME;
 import static org.jboss.as.security.Constants.AUTH_MODULE;
+import static org.jboss.as.security.Constants.CACHE_CONCURRENCY_LEVEL;
+import static org.jboss.as.security.Constants.CACHE_EVICTION_STRATEGY;
+import static org.jboss.as.security.Constants.CACHE_LIFESPAN;
+import static org.jboss.as.security.Constants.CACHE_MAX_ENTRIES;
 import static org.jboss.as.security.Constants.CACHE_TYPE;
 import static org.jboss.as.security.Constants.CIPHER_SUITES;
 import static org.jboss.as.security.Constants.CLIENT_ALIAS;
@@ -93,6 +97,7 @@ import java.util.ResourceBundle;
 
 import org.jboss.as.controller.descriptions.DescriptionProvider;
 import org.jboss.as.controller.descriptions.common.CommonDescriptions;
+import org.jboss.as.security.plugins.DefaultAuthenticationCacheFactory;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
@@ -318,6 +323,11 @@ class SecuritySubsystemDescriptions {
             op.get(ATTRIBUTES, CACHE_TYPE, DESCRIPTION).set(bundle.getString("cache-type"));
             op.get(ATTRIBUTES, CACHE_TYPE, TYPE).set(ModelType.STRING);
             op.get(ATTRIBUTES, CACHE_TYPE, REQUIRED).set(false);
+            getCacheConfiguration(op.get(ATTRIBUTES), bundle);
+            for (String metric : SecurityDomainCacheMetrics.ATTRIBUTES) {
+                op.get(ATTRIBUTES, metric, DESCRIPTION).set(bundle.getString(metric));
+                op.get(ATTRIBUTES, metric, TYPE).set(ModelType.LONG);
+            }
             op.get(CHILDREN, AUTHENTICATION).set(getAuthentication(locale));
             op.get(CHILDREN, AUTHENTICATION_JASPI).set(getAuthenticationJaspi(locale));
             op.get(CHILDREN, AUTHORIZATION).set(getAuthorization(locale));
@@ -330,6 +340,25 @@ class SecuritySubsystemDescriptions {
             return op;
         }
 
+        private static void getCacheConfiguration(ModelNode node, ResourceBundle bundle) {
+            node.get(CACHE_MAX_ENTRIES, DESCRIPTION).set(bundle.getString("cache-max-entries"));
+            node.get(CACHE_MAX_ENTRIES, TYPE).set(ModelType.INT);
+            node.get(CACHE_MAX_ENTRIES, REQUIRED).set(false);
+            node.get(CACHE_MAX_ENTRIES, DEFAULT).set(DefaultAuthenticationCacheFactory.DEFAULT_MAX_ENTRIES);
+            node.get(CACHE_CONCURRENCY_LEVEL, DESCRIPTION).set(bundle.getString("cache-concurrency-level"));
+            node.get(CACHE_CONCURRENCY_LEVEL, TYPE).set(ModelType.INT);
+            node.get(CACHE_CONCURRENCY_LEVEL, REQUIRED).set(false);
+            node.get(CACHE_CONCURRENCY_LEVEL, DEFAULT).set(DefaultAuthenticationCacheFactory.DEFAULT_CONCURRENCY_LEVEL);
+            node.get(CACHE_EVICTION_STRATEGY, DESCRIPTION).set(bundle.getString("cache-eviction-strategy"));
+            node.get(CACHE_EVICTION_STRATEGY, TYPE).set(ModelType.STRING);
+            node.get(CACHE_EVICTION_STRATEGY, REQUIRED).set(false);
+            node.get(CACHE_EVICTION_STRATEGY, DEFAULT).set(DefaultAuthenticationCacheFactory.DEFAULT_EVICTION.name());
+            node.get(CACHE_LIFESPAN, DESCRIPTION).set(bundle.getString("cache-lifespan"));
+            node.get(CACHE_LIFESPAN, TYPE).set(ModelType.LONG);
+            node.get(CACHE_LIFESPAN, REQUIRED).set(false);
+            node.get(CACHE_LIFESPAN, DEFAULT).set(-1L);
+        }
+
         static ModelNode getSecurityDomainAdd(Locale locale) {
             final ResourceBundle bundle = getResourceBundle(locale);
 
@@ -342,6 +371,7 @@ class SecuritySubsystemDescriptions {
             op.get(REQUEST_PROPERTIES, CACHE_TYPE, DESCRIPTION).set(bundle.getString("cache-type"));
             op.get(REQUEST_PROPERTIES, CACHE_TYPE, TYPE).set(ModelType.STRING);
             op.get(REQUEST_PROPERTIES, CACHE_TYPE, REQUIRED).set(false);
+            getCacheConfiguration(op.get(REQUEST_PROPERTIES), bundle);
             op.get(CHILDREN, AUTHENTICATION).set(getAuthenticationAdd(locale));
             op.get(CHILDREN, AUTHENTICATION_JASPI).set(getAuthenticationJaspiAdd(locale));
             op.get(CHILDREN, AUTHORIZATION).set(getAuthorizationAdd(locale));
@@ -921,6 +951,10 @@ class SecuritySubsystemDescriptions {
             final ModelNode op = new ModelNode();
             op.get(OPERATION_NAME).set(SecurityDomainOperations.FLUSH_CACHE);
             op.get(DESCRIPTION).set(bundle.getString("flush-cache"));
+            op.get(REQUEST_PROPERTIES, SecurityDomainOperations.PRINCIPAL_ARGUMENT, DESCRIPTION).set(
+                    bundle.getString("flush-cache.principal"));
+            op.get(REQUEST_PROPERTIES, SecurityDomainOperations.PRINCIPAL_ARGUMENT, TYPE).set(ModelType.STRING);
+            op.get(REQUEST_PROPERTIES, SecurityDomainOperations.PRINCIPAL_ARGUMENT, REQUIRED).set(false);
 
             return op;
         }
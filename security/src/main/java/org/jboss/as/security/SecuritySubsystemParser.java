@@ -43,6 +43,10 @@ import static org.jboss.as.security.Constants.AUTHENTICATION_MANAGER_CLASS_NAME;
 import static org.jboss.as.security.Constants.AUTHORIZATION;
 import static org.jboss.as.security.Constants.AUTHORIZATION_MANAGER_CLASS_NAME;
 import static org.jboss.as.security.Constants.AUTH_MODULE;
+import static org.jboss.as.security.Constants.CACHE_CONCURRENCY_LEVEL;
+import static org.jboss.as.security.Constants.CACHE_EVICTION_STRATEGY;
+import static org.jboss.as.security.Constants.CACHE_LIFESPAN;
+import static org.jboss.as.security.Constants.CACHE_MAX_ENTRIES;
 import static org.jboss.as.security.Constants.CACHE_TYPE;
 import static org.jboss.as.security.Constants.CIPHER_SUITES;
 import static org.jboss.as.security.Constants.CLIENT_ALIAS;
@@ -228,6 +232,18 @@ public class SecuritySubsystemParser implements XMLStreamConstants, XMLElementRe
                 if (policyDetails.hasDefined(CACHE_TYPE)) {
                     writeAttribute(writer, Attribute.CACHE_TYPE, policyDetails.get(CACHE_TYPE));
                 }
+                if (policyDetails.hasDefined(CACHE_MAX_ENTRIES)) {
+                    writeAttribute(writer, Attribute.CACHE_MAX_ENTRIES, policyDetails.get(CACHE_MAX_ENTRIES));
+                }
+                if (policyDetails.hasDefined(CACHE_CONCURRENCY_LEVEL)) {
+                    writeAttribute(writer, Attribute.CACHE_CONCURRENCY_LEVEL, policyDetails.get(CACHE_CONCURRENCY_LEVEL));
+                }
+                if (policyDetails.hasDefined(CACHE_EVICTION_STRATEGY)) {
+                    writeAttribute(writer, Attribute.CACHE_EVICTION_STRATEGY, policyDetails.get(CACHE_EVICTION_STRATEGY));
+                }
+                if (policyDetails.hasDefined(CACHE_LIFESPAN)) {
+                    writeAttribute(writer, Attribute.CACHE_LIFESPAN, policyDetails.get(CACHE_LIFESPAN));
+                }
                 writeSecurityDomainContent(writer, policyDetails);
                 writer.writeEndElement();
             }
@@ -253,6 +269,10 @@ public class SecuritySubsystemParser implements XMLStreamConstants, XMLElementRe
         keys.remove(NAME);
         keys.remove(EXTENDS);
         keys.remove(CACHE_TYPE);
+        keys.remove(CACHE_MAX_ENTRIES);
+        keys.remove(CACHE_CONCURRENCY_LEVEL);
+        keys.remove(CACHE_EVICTION_STRATEGY);
+        keys.remove(CACHE_LIFESPAN);
 
         for (String key : keys) {
             Element element = Element.forName(key);
@@ -655,6 +675,22 @@ public class SecuritySubsystemParser implements XMLStreamConstants, XMLElementRe
                     op.get(CACHE_TYPE).set(value);
                     break;
                 }
+                case CACHE_MAX_ENTRIES: {
+                    op.get(CACHE_MAX_ENTRIES).set(Integer.parseInt(value));
+                    break;
+                }
+                case CACHE_CONCURRENCY_LEVEL: {
+                    op.get(CACHE_CONCURRENCY_LEVEL).set(Integer.parseInt(value));
+                    break;
+                }
+                case CACHE_EVICTION_STRATEGY: {
+                    op.get(CACHE_EVICTION_STRATEGY).set(value);
+                    break;
+                }
+                case CACHE_LIFESPAN: {
+                    op.get(CACHE_LIFESPAN).set(Long.parseLong(value));
+                    break;
+                }
                 default:
                     throw unexpectedAttribute(reader, i);
             }
@@ -0,0 +1,167 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.security.plugins;
+
+import java.security.Principal;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.infinispan.util.concurrent.BoundedConcurrentHashMap;
+import org.jboss.security.authentication.JBossCachedAuthenticationManager.DomainInfo;
+
+/**
+ * Bounded authentication cache used by the 'default' cache type. Keeps hit, miss and eviction counts and optionally
+ * expires entries a fixed time after they were added.
+ */
+public class AuthenticationCache extends BoundedConcurrentHashMap<Principal, DomainInfo> {
+
+    private static final long serialVersionUID = -2876549305839466210L;
+
+    private final AuthenticationCacheEvictionListener listener;
+
+    private final ConcurrentMap<Principal, Long> expirations;
+
+    private final long lifespan;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxEntries maximum number of principals held
+     * @param concurrencyLevel expected number of concurrently updating threads
+     * @param eviction strategy used to choose entries to remove once the cache is full
+     * @param lifespan time in milliseconds an entry stays valid, or a value less than 1 if entries never expire
+     */
+    public AuthenticationCache(int maxEntries, int concurrencyLevel, Eviction eviction, long lifespan) {
+        this(maxEntries, concurrencyLevel, eviction, lifespan, new AuthenticationCacheEvictionListener(
+                lifespan > 0 ? new ConcurrentHashMap<Principal, Long>(maxEntries, 0.75f, concurrencyLevel) : null));
+    }
+
+    private AuthenticationCache(int maxEntries, int concurrencyLevel, Eviction eviction, long lifespan,
+            AuthenticationCacheEvictionListener listener) {
+        super(maxEntries, concurrencyLevel, eviction, listener);
+        this.listener = listener;
+        this.expirations = listener.getExpirations();
+        this.lifespan = lifespan;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DomainInfo get(Object key) {
+        DomainInfo info = super.get(key);
+        if (info != null && expirations != null) {
+            Long expiration = expirations.get(key);
+            if (expiration != null && expiration.longValue() <= System.currentTimeMillis()) {
+                // only the thread that actually removes the entry logs it out
+                if (super.remove(key, info)) {
+                    expirations.remove(key, expiration);
+                    info.logout();
+                }
+                info = null;
+            }
+        }
+        if (info == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return info;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DomainInfo put(Principal key, DomainInfo value) {
+        if (expirations != null) {
+            expirations.put(key, Long.valueOf(System.currentTimeMillis() + lifespan));
+        }
+        return super.put(key, value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DomainInfo putIfAbsent(Principal key, DomainInfo value) {
+        DomainInfo existing = super.putIfAbsent(key, value);
+        if (existing == null && expirations != null) {
+            expirations.put(key, Long.valueOf(System.currentTimeMillis() + lifespan));
+        }
+        return existing;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DomainInfo remove(Object key) {
+        DomainInfo removed = super.remove(key);
+        if (removed != null) {
+            if (expirations != null) {
+                expirations.remove(key);
+            }
+            removed.logout();
+        }
+        return removed;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        Collection<DomainInfo> values = values();
+        for (DomainInfo domainInfo : values) {
+            domainInfo.logout();
+        }
+        super.clear();
+        if (expirations != null) {
+            expirations.clear();
+        }
+    }
+
+    /**
+     * Returns the number of lookups that found a valid entry
+     *
+     * @return number of cache hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of lookups that found no entry or an expired one
+     *
+     * @return number of cache misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of entries removed because the cache was full
+     *
+     * @return number of evictions
+     */
+    public long getEvictions() {
+        return listener.getEvictions();
+    }
+}
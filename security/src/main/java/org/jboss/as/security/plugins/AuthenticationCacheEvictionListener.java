@@ -25,6 +25,8 @@ package org.jboss.as.security.plugins;
 import java.security.Principal;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.infinispan.util.concurrent.BoundedConcurrentHashMap.EvictionListener;
 import org.jboss.security.authentication.JBossCachedAuthenticationManager.DomainInfo;
@@ -36,13 +38,47 @@ import org.jboss.security.authentication.JBossCachedAuthenticationManager.Domain
  */
 public class AuthenticationCacheEvictionListener implements EvictionListener<Principal, DomainInfo> {
 
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final ConcurrentMap<Principal, Long> expirations;
+
+    public AuthenticationCacheEvictionListener() {
+        this(null);
+    }
+
+    /**
+     * Creates a listener that also forgets the expiration time of evicted principals.
+     *
+     * @param expirations expiration times kept by the cache, or {@code null} if entries do not expire
+     */
+    AuthenticationCacheEvictionListener(ConcurrentMap<Principal, Long> expirations) {
+        this.expirations = expirations;
+    }
+
     /** {@inheritDoc} */
     @Override
     public void onEntryEviction(Map<Principal, DomainInfo> evicted) {
         for (Entry<Principal, DomainInfo> entry : evicted.entrySet()) {
+            if (expirations != null) {
+                expirations.remove(entry.getKey());
+            }
             DomainInfo domainInfo = entry.getValue();
             domainInfo.logout();
         }
+        evictions.addAndGet(evicted.size());
+    }
+
+    /**
+     * Returns the number of entries evicted so far
+     *
+     * @return number of evicted entries
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    ConcurrentMap<Principal, Long> getExpirations() {
+        return expirations;
     }
 
 }
@@ -23,12 +23,9 @@
 package org.jboss.as.security.plugins;
 
 import java.security.Principal;
-import java.util.Collection;
 import java.util.concurrent.ConcurrentMap;
 
-import org.infinispan.util.concurrent.BoundedConcurrentHashMap;
 import org.infinispan.util.concurrent.BoundedConcurrentHashMap.Eviction;
-import org.jboss.security.authentication.JBossCachedAuthenticationManager;
 import org.jboss.security.authentication.JBossCachedAuthenticationManager.DomainInfo;
 
 /**
@@ -38,38 +35,46 @@ import org.jboss.security.authentication.JBossCachedAuthenticationManager.Domain
  */
 public class DefaultAuthenticationCacheFactory {
 
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    public static final Eviction DEFAULT_EVICTION = Eviction.LIRS;
+
+    private final int maxEntries;
+
+    private final int concurrencyLevel;
+
+    private final Eviction eviction;
+
+    private final long lifespan;
+
+    public DefaultAuthenticationCacheFactory() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_CONCURRENCY_LEVEL, DEFAULT_EVICTION, -1);
+    }
+
+    /**
+     * Creates a factory for caches sized for a particular security domain
+     *
+     * @param maxEntries maximum number of principals held
+     * @param concurrencyLevel expected number of concurrently updating threads
+     * @param eviction strategy used to choose entries to remove once the cache is full
+     * @param lifespan time in milliseconds an entry stays valid, or -1 if entries never expire
+     */
+    public DefaultAuthenticationCacheFactory(int maxEntries, int concurrencyLevel, Eviction eviction, long lifespan) {
+        this.maxEntries = maxEntries;
+        this.concurrencyLevel = concurrencyLevel;
+        this.eviction = eviction;
+        this.lifespan = lifespan;
+    }
+
     /**
      * Returns a default cache implementation
      *
      * @return cache implementation
      */
     public ConcurrentMap<Principal, DomainInfo> getCache() {
-        ConcurrentMap<Principal, DomainInfo> map = new BoundedConcurrentHashMap<Principal, JBossCachedAuthenticationManager.DomainInfo>(
-                1000, 16, Eviction.LIRS, new AuthenticationCacheEvictionListener()) {
-
-            private static final long serialVersionUID = 1459490003748298538L;
-
-            /** {@inheritDoc} */
-            @Override
-            public DomainInfo remove(Object key) {
-                DomainInfo removed = super.remove(key);
-                if (removed != null) {
-                    removed.logout();
-                }
-                return removed;
-            }
-
-            /** {@inheritDoc} */
-            @Override
-            public void clear() {
-                Collection<DomainInfo> values = values();
-                for (DomainInfo domainInfo : values) {
-                    domainInfo.logout();
-                }
-                super.clear();
-            }
-        };
-        return map;
+        return new AuthenticationCache(maxEntries, concurrencyLevel, eviction, lifespan);
     }
 
 }
@@ -23,6 +23,11 @@ package org.jboss.as.security.test;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+import static org.jboss.as.security.Constants.CACHE_CONCURRENCY_LEVEL;
+import static org.jboss.as.security.Constants.CACHE_EVICTION_STRATEGY;
+import static org.jboss.as.security.Constants.CACHE_LIFESPAN;
+import static org.jboss.as.security.Constants.CACHE_MAX_ENTRIES;
+import static org.jboss.as.security.Constants.CACHE_TYPE;
 import static org.jboss.as.security.Constants.SECURITY_DOMAIN;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
@@ -98,6 +103,18 @@ public class SubsystemParsingUnitTestCase {
         assertEquals("required", flag.asString());
     }
 
+    @Test
+    public void testAuthenticationCacheConfiguration() throws Exception {
+        List<ModelNode> operations = parse("subsystem.xml");
+        ModelNode node = operations.get(2);
+        assertEquals("cached", node.get(OP_ADDR).asPropertyList().get(1).getValue().asString());
+        assertEquals("default", node.get(CACHE_TYPE).asString());
+        assertEquals(50000, node.get(CACHE_MAX_ENTRIES).asInt());
+        assertEquals(32, node.get(CACHE_CONCURRENCY_LEVEL).asInt());
+        assertEquals("LRU", node.get(CACHE_EVICTION_STRATEGY).asString());
+        assertEquals(60000L, node.get(CACHE_LIFESPAN).asLong());
+    }
+
     List<ModelNode> parse(final String name) throws XMLStreamException, IOException {
         final List<ModelNode> operations = new ArrayList<ModelNode>();
 
@@ -37,6 +37,7 @@ import org.jboss.as.controller.ResultHandler;
 import org.jboss.as.controller.RuntimeOperationContext;
 import org.jboss.as.controller.RuntimeTask;
 import org.jboss.as.controller.RuntimeTaskContext;
+import org.jboss.as.controller.StreamingOperationHandler;
 import org.jboss.as.controller.client.Operation;
 import org.jboss.as.controller.client.OperationAttachments;
 import org.jboss.as.controller.client.OperationBuilder;
@@ -61,6 +62,7 @@ import org.jboss.msc.service.ServiceTarget;
 import org.jboss.msc.service.StartException;
 
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashSet;
@@ -126,7 +128,10 @@ class ServerControllerImpl extends BasicModelController implements ServerControl
     }
 
     EnumMap<Phase, SortedSet<RegisteredProcessor>> finishBoot() {
+        // Read-only operations start using the snapshot once we leave STARTING, so it must be current first
+        super.publishModelSnapshot();
         state.set(State.RUNNING, stamp.incrementAndGet());
+        cleanObsoleteContent();
         EnumMap<Phase, SortedSet<RegisteredProcessor>> copy = new EnumMap<Phase, SortedSet<RegisteredProcessor>>(Phase.class);
         for (Map.Entry<Phase, SortedSet<RegisteredProcessor>> entry : deployers.entrySet()) {
             copy.put(entry.getKey(), new ConcurrentSkipListSet<RegisteredProcessor>(entry.getValue()));
@@ -134,6 +139,41 @@ class ServerControllerImpl extends BasicModelController implements ServerControl
         return copy;
     }
 
+    /**
+     * Drop repository content which none of the booted deployments references. This runs off the boot thread
+     * since it walks the whole repository. Managed domain servers share the host's deployment repository with
+     * other servers and the domain controller, so they only know part of the references and leave it alone.
+     */
+    private void cleanObsoleteContent() {
+        if (serverEnvironment == null || serverEnvironment.getLaunchType() != ServerEnvironment.LaunchType.STANADALONE) {
+            return;
+        }
+        final ModelNode model = getModelSnapshot();
+        final List<byte[]> referenced = new ArrayList<byte[]>();
+        if (model.hasDefined(DEPLOYMENT)) {
+            for (Property deployment : model.get(DEPLOYMENT).asPropertyList()) {
+                if (!deployment.getValue().hasDefined(CONTENT)) {
+                    continue;
+                }
+                for (ModelNode content : deployment.getValue().get(CONTENT).asList()) {
+                    if (content.hasDefined(HASH)) {
+                        referenced.add(content.get(HASH).asBytes());
+                    }
+                }
+            }
+        }
+        executorService.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    contentRepository.cleanObsoleteContent(referenced);
+                } catch (RuntimeException e) {
+                    log.warn("Failed to remove obsolete deployment content", e);
+                }
+            }
+        });
+    }
+
     /** {@inheritDoc} */
     @Override
     public ServerEnvironment getServerEnvironment() {
@@ -184,6 +224,10 @@ class ServerControllerImpl extends BasicModelController implements ServerControl
     @Override
     protected OperationResult doExecute(OperationContext context, Operation operation, OperationHandler operationHandler, ResultHandler resultHandler, PathAddress address,
             final OperationControllerContext operationControllerContext) throws OperationFailedException {
+        if (operationHandler instanceof StreamingOperationHandler) {
+            // Runs past this call and completes the result handler itself
+            return super.doExecute(context, operation, operationHandler, resultHandler, address, operationControllerContext);
+        }
         boolean rollback = isRollbackOnRuntimeFailure(context, operation.getOperation());
         RollbackAwareResultHandler rollbackAwareHandler = new RollbackAwareResultHandler(resultHandler);
         final OperationResult result = super.doExecute(context, operation, operationHandler, rollbackAwareHandler, address, operationControllerContext);
@@ -246,6 +290,14 @@ class ServerControllerImpl extends BasicModelController implements ServerControl
         }
     }
 
+    @Override
+    protected void publishModelSnapshot() {
+        // Nothing reads the snapshot during boot; avoid copying the model after every boot operation
+        if (getState() != State.STARTING) {
+            super.publishModelSnapshot();
+        }
+    }
+
     @Override
     protected boolean isReadOnly(OperationHandler operationHandler) {
         // Minor optimization: Assume nothing is RO during boot
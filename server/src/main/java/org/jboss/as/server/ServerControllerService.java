@@ -83,7 +83,10 @@ import java.util.Map;
 import java.util.SortedSet;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
@@ -101,6 +104,9 @@ final class ServerControllerService implements Service<ServerController> {
 
     private static final int DEFAULT_POOL_SIZE = 5;
 
+    /** The number of threads indexing the resource roots of deployments */
+    private static final int INDEX_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
     private final Bootstrap.Configuration configuration;
 
     private final InjectedValue<ServerDeploymentRepository> injectedDeploymentRepository = new InjectedValue<ServerDeploymentRepository>();
@@ -111,6 +117,7 @@ final class ServerControllerService implements Service<ServerController> {
 
     // mutable state
     private ServerController serverController;
+    private ExecutorService indexExecutor;
 
     public ServerControllerService(final Bootstrap.Configuration configuration) {
         this.configuration = configuration;
@@ -214,12 +221,13 @@ final class ServerControllerService implements Service<ServerController> {
         }));
 
         // Activate core processors for jar deployment
+        indexExecutor = createIndexExecutor();
         deployers.get(Phase.STRUCTURE).add(new RegisteredProcessor(Phase.STRUCTURE_MOUNT, new DeploymentRootMountProcessor()));
         deployers.get(Phase.STRUCTURE).add(new RegisteredProcessor(Phase.STRUCTURE_MANIFEST, new ManifestAttachmentProcessor()));
         deployers.get(Phase.STRUCTURE).add(new RegisteredProcessor(Phase.STRUCTURE_ADDITIONAL_MANIFEST, new ManifestAttachmentProcessor()));
         deployers.get(Phase.STRUCTURE).add(new RegisteredProcessor(Phase.STRUCTURE_SUB_DEPLOYMENT, new SubDeploymentProcessor()));
         deployers.get(Phase.STRUCTURE).add(new RegisteredProcessor(Phase.STRUCTURE_MODULE_IDENTIFIERS, new ModuleIdentifierProcessor()));
-        deployers.get(Phase.STRUCTURE).add(new RegisteredProcessor(Phase.STRUCTURE_ANNOTATION_INDEX, new AnnotationIndexProcessor()));
+        deployers.get(Phase.STRUCTURE).add(new RegisteredProcessor(Phase.STRUCTURE_ANNOTATION_INDEX, new AnnotationIndexProcessor(injectedContentRepository.getValue(), indexExecutor, INDEX_PARALLELISM)));
         deployers.get(Phase.PARSE).add(new RegisteredProcessor(Phase.PARSE_STRUCTURE_DESCRIPTOR, new DeploymentStructureDescriptorParser()));
         deployers.get(Phase.PARSE).add(new RegisteredProcessor(Phase.PARSE_COMPOSITE_ANNOTATION_INDEX, new CompositeIndexProcessor()));
         deployers.get(Phase.PARSE).add(new RegisteredProcessor(Phase.PARSE_ADDITIONAL_MODULES, new AdditionalModuleProcessor()));
@@ -258,10 +266,24 @@ final class ServerControllerService implements Service<ServerController> {
         this.serverController = serverController;
     }
 
+    private static ExecutorService createIndexExecutor() {
+        final ThreadGroup threadGroup = new ThreadGroup("AnnotationIndex-threads");
+        final ThreadFactory threadFactory = new JBossThreadFactory(threadGroup, Boolean.TRUE, null, "%G - %t", null, null, AccessController.getContext());
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(INDEX_PARALLELISM, INDEX_PARALLELISM, 30L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), threadFactory);
+        // Deployments are only indexed now and then, so don't keep the threads around in between
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     /** {@inheritDoc} */
     @Override
     public synchronized void stop(final StopContext context) {
         serverController = null;
+        if (indexExecutor != null) {
+            // Queued index tasks still run, new ones are rejected and done by the deploying thread instead
+            indexExecutor.shutdown();
+            indexExecutor = null;
+        }
     }
 
     /** {@inheritDoc} */
@@ -24,14 +24,18 @@ import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationHandler;
 import org.jboss.as.controller.OperationResult;
 import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.operations.validation.ModelTypeValidator;
 import org.jboss.as.controller.operations.validation.ParametersValidator;
 import org.jboss.as.server.deployment.api.ContentRepository;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 import org.jboss.logging.Logger;
 
 import java.io.IOException;
 import java.io.InputStream;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.HASH;
+
 /**
  * Base class for operation handlers that can handle the upload of deployment content.
  *
@@ -48,6 +52,7 @@ public abstract class AbstractDeploymentUploadHandler implements OperationHandle
 
     protected AbstractDeploymentUploadHandler(final ContentRepository contentRepository) {
         this.contentRepository = contentRepository;
+        this.validator.registerValidator(HASH, new ModelTypeValidator(ModelType.BYTES, true));
     }
 
     /**
@@ -58,6 +63,16 @@ public abstract class AbstractDeploymentUploadHandler implements OperationHandle
         try {
             validator.validate(operation);
 
+            if (operation.hasDefined(HASH)) {
+                // The client already knows the hash; don't read and digest content we already hold
+                final byte[] hash = operation.get(HASH).asBytes();
+                if (contentRepository.hasContent(hash)) {
+                    resultHandler.handleResultFragment(EMPTY, new ModelNode().set(hash));
+                    resultHandler.handleResultComplete();
+                    return new BasicOperationResult();
+                }
+            }
+
             InputStream is = getContentInputStream(context, operation);
             try {
                 byte[] hash = contentRepository.addContent(is);
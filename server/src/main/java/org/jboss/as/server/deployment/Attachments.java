@@ -78,9 +78,9 @@ public final class Attachments {
     public static final AttachmentKey<VirtualFile> DEPLOYMENT_CONTENTS = AttachmentKey.create(VirtualFile.class);
 
     /**
-     * The deployment hash
+     * The hash of the deployment content in the content repository. Only present if the content is held by the repository.
      */
-    //public static final AttachmentKey<byte[]> DEPLOYMENT_HASH = AttachmentKey.create(byte[].class);
+    public static final AttachmentKey<byte[]> DEPLOYMENT_HASH = AttachmentKey.create(byte[].class);
 
     /**
      * The special status listener attachment.
@@ -171,6 +171,11 @@ public final class Attachments {
      */
     public static final AttachmentKey<Boolean> PROCESS_CHILD_ANNOTATION_INDEX = AttachmentKey.create(Boolean.class);
 
+    /**
+     * The time spent by each deployment unit processor on the deployment unit.
+     */
+    public static final AttachmentKey<DeploymentProcessingTimes> PROCESSING_TIMES = AttachmentKey.create(DeploymentProcessingTimes.class);
+
     /**
      * Sub deployment services
      */
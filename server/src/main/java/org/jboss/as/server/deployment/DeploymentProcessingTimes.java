@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The time spent by each deployment unit processor on a deployment unit, in the order the processors completed.
+ * Instances are attached to each deployment unit under {@link Attachments#PROCESSING_TIMES}.
+ */
+public final class DeploymentProcessingTimes {
+
+    private final Map<String, Long> times = new LinkedHashMap<String, Long>();
+
+    /**
+     * Record the time taken by a processor.
+     *
+     * @param phase the phase the processor ran in
+     * @param processor the processor
+     * @param nanos the elapsed time in nanoseconds
+     */
+    public synchronized void record(final Phase phase, final DeploymentUnitProcessor processor, final long nanos) {
+        final String key = phase.name() + ":" + processor.getClass().getName();
+        final Long previous = times.get(key);
+        // The same processor class may be registered more than once in a phase
+        times.put(key, Long.valueOf(previous == null ? nanos : previous.longValue() + nanos));
+    }
+
+    /**
+     * Get a snapshot of the recorded times, keyed by {@code PHASE:processor class name}.
+     *
+     * @param unit the unit to convert the times to
+     * @return the recorded times
+     */
+    public synchronized Map<String, Long> getTimes(final TimeUnit unit) {
+        final Map<String, Long> result = new LinkedHashMap<String, Long>(times.size());
+        for (Map.Entry<String, Long> entry : times.entrySet()) {
+            result.put(entry.getKey(), Long.valueOf(unit.convert(entry.getValue().longValue(), TimeUnit.NANOSECONDS)));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Get the total time recorded.
+     *
+     * @param unit the unit to convert the time to
+     * @return the total time
+     */
+    public synchronized long getTotal(final TimeUnit unit) {
+        long total = 0L;
+        for (Long time : times.values()) {
+            total += time.longValue();
+        }
+        return unit.convert(total, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RUNTIME_NAME;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelQueryOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.RuntimeTask;
+import org.jboss.as.controller.RuntimeTaskContext;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Metric handler reporting the time, in milliseconds, each deployment unit processor spent on a deployment and
+ * its sub-deployments.
+ */
+public final class DeploymentProcessingTimesHandler implements ModelQueryOperationHandler {
+
+    public static final String ATTRIBUTE_NAME = "processing-times";
+    public static final DeploymentProcessingTimesHandler INSTANCE = new DeploymentProcessingTimesHandler();
+
+    private static final ModelNode NO_METRICS = new ModelNode().set("no metrics available");
+
+    private DeploymentProcessingTimesHandler() {
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
+        final String runtimeName = context.getSubModel().require(RUNTIME_NAME).asString();
+        if (context.getRuntimeContext() != null) {
+            context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
+                @Override
+                public void execute(final RuntimeTaskContext context) throws OperationFailedException {
+                    final ServiceController<?> controller = context.getServiceRegistry().getService(Services.deploymentUnitName(runtimeName));
+                    final DeploymentUnit deploymentUnit = controller == null ? null : (DeploymentUnit) controller.getValue();
+                    if (deploymentUnit != null) {
+                        final ModelNode result = new ModelNode();
+                        addTimes(result, deploymentUnit);
+                        final List<DeploymentUnit> subDeployments = deploymentUnit.getAttachmentList(Attachments.SUB_DEPLOYMENTS);
+                        for (DeploymentUnit subDeployment : subDeployments) {
+                            addTimes(result, subDeployment);
+                        }
+                        resultHandler.handleResultFragment(Util.NO_LOCATION, result);
+                    } else {
+                        resultHandler.handleResultFragment(Util.NO_LOCATION, NO_METRICS);
+                    }
+                    resultHandler.handleResultComplete();
+                }
+            });
+        } else {
+            resultHandler.handleResultFragment(Util.NO_LOCATION, NO_METRICS);
+            resultHandler.handleResultComplete();
+        }
+        return new BasicOperationResult();
+    }
+
+    private static void addTimes(final ModelNode result, final DeploymentUnit deploymentUnit) {
+        final ModelNode unit = result.get(deploymentUnit.getName());
+        unit.setEmptyObject();
+        final DeploymentProcessingTimes times = deploymentUnit.getAttachment(Attachments.PROCESSING_TIMES);
+        if (times != null) {
+            for (Map.Entry<String, Long> entry : times.getTimes(TimeUnit.MILLISECONDS).entrySet()) {
+                unit.get(entry.getKey()).set(entry.getValue().longValue());
+            }
+        }
+    }
+}
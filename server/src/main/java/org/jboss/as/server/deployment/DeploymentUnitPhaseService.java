@@ -37,6 +37,7 @@ import org.jboss.msc.value.InjectedValue;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A service which executes a particular phase of deployment.
@@ -109,10 +110,12 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
             }
         }
 
+        final DeploymentProcessingTimes times = deploymentUnit.getAttachment(Attachments.PROCESSING_TIMES);
+        final long phaseStart = System.nanoTime();
         while (iterator.hasNext()) {
             final DeploymentUnitProcessor processor = iterator.next();
             try {
-                processor.deploy(processorContext);
+                deploy(processor, processorContext, times);
             } catch (Throwable e) {
                 while (iterator.hasPrevious()) {
                     final DeploymentUnitProcessor prev = iterator.previous();
@@ -121,6 +124,9 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
                 throw new StartException(String.format("Failed to process phase %s of %s", phase, deploymentUnit), e);
             }
         }
+        if (log.isDebugEnabled()) {
+            log.debugf("Processed phase %s of %s in %dms", phase, deploymentUnit, Long.valueOf(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - phaseStart)));
+        }
         if (nextPhase != null) {
             phaseServiceBuilder.addDependency(Services.JBOSS_DEPLOYMENT_CHAINS, DeployerChains.class, phaseService.getDeployerChainsInjector());
             phaseServiceBuilder.addDependency(context.getController().getName());
@@ -164,6 +170,17 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
         }
     }
 
+    private static void deploy(final DeploymentUnitProcessor processor, final DeploymentPhaseContext processorContext, final DeploymentProcessingTimes times) throws DeploymentUnitProcessingException {
+        final long start = System.nanoTime();
+        try {
+            processor.deploy(processorContext);
+        } finally {
+            if (times != null) {
+                times.record(processorContext.getPhase(), processor, System.nanoTime() - start);
+            }
+        }
+    }
+
     private static void safeUndeploy(final DeploymentUnit deploymentUnit, final Phase phase, final DeploymentUnitProcessor prev) {
         try {
             prev.undeploy(deploymentUnit);
@@ -39,6 +39,7 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
     private final String managementName;
     final InjectedValue<VirtualFile> contentsInjector = new InjectedValue<VirtualFile>();
     private final DeploymentUnit parent;
+    private final byte[] hash;
 
     /**
      * Construct a new instance.
@@ -48,10 +49,24 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
      * @param parent the parent deployment unit
      */
     public RootDeploymentUnitService(final String name, final String managementName, final DeploymentUnit parent) {
+        this(name, managementName, parent, null);
+    }
+
+    /**
+     * Construct a new instance.
+     *
+     * @param name the deployment unit simple name
+     * @param managementName the deployment's domain-wide unique name
+     * @param parent the parent deployment unit
+     * @param hash the hash of the deployment content in the content repository, or {@code null} if the content
+     *             is not held by the repository
+     */
+    public RootDeploymentUnitService(final String name, final String managementName, final DeploymentUnit parent, final byte[] hash) {
         assert name != null : "name is null";
         this.name = name;
         this.managementName = managementName;
         this.parent = parent;
+        this.hash = hash;
     }
 
     protected DeploymentUnit createAndInitializeDeploymentUnit(final ServiceRegistry registry) {
@@ -59,6 +74,9 @@ final class RootDeploymentUnitService extends AbstractDeploymentUnitService {
         deploymentUnit.putAttachment(Attachments.RUNTIME_NAME, name);
         deploymentUnit.putAttachment(Attachments.MANAGEMENT_NAME, managementName);
         deploymentUnit.putAttachment(Attachments.DEPLOYMENT_CONTENTS, contentsInjector.getValue());
+        if (hash != null) {
+            deploymentUnit.putAttachment(Attachments.DEPLOYMENT_HASH, hash);
+        }
 
         // Attach the deployment repo
         deploymentUnit.putAttachment(Attachments.SERVER_DEPLOYMENT_REPOSITORY, serverDeploymentRepositoryInjector.getValue());
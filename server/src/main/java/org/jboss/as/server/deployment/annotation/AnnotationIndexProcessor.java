@@ -22,20 +22,41 @@
 
 package org.jboss.as.server.deployment.annotation;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
-
+import java.util.Queue;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.jboss.as.server.deployment.Attachments;
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
+import org.jboss.as.server.deployment.api.ContentRepository;
+import org.jboss.as.server.deployment.impl.HashUtil;
 import org.jboss.as.server.deployment.module.ResourceRoot;
 import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexWriter;
 import org.jboss.jandex.Indexer;
+import org.jboss.logging.Logger;
 import org.jboss.vfs.VFSUtils;
 import org.jboss.vfs.VirtualFile;
 import org.jboss.vfs.VirtualFileFilter;
@@ -43,13 +64,47 @@ import org.jboss.vfs.VisitorAttributes;
 import org.jboss.vfs.util.SuffixMatchFilter;
 
 /**
- * Deployment unit processor responsible for creating and attaching an annotation index for a resource root
+ * Deployment unit processor responsible for creating and attaching an annotation index for a resource root.
+ * <p>
+ * The resource roots of a deployment are indexed in parallel. If the deployment content is held by the
+ * {@link ContentRepository}, each index is also stored in the repository's cache directory for that content, keyed by
+ * the path of the resource root within the deployment, so that deploying the same content again, for instance
+ * after a restart, reads the index back instead of scanning the classes.
  *
  * @author John E. Bailey
  * @author Stuart Douglas
  */
 public class AnnotationIndexProcessor implements DeploymentUnitProcessor {
 
+    private static final Logger log = Logger.getLogger("org.jboss.as.server.deployment");
+
+    private static final String INDEX_SUFFIX = ".idx";
+
+    private final ContentRepository contentRepository;
+    private final Executor executor;
+    private final int parallelism;
+
+    /**
+     * Create a processor which indexes resource roots one after another and does not store the indexes.
+     */
+    public AnnotationIndexProcessor() {
+        this(null, null, 1);
+    }
+
+    /**
+     * Create a processor.
+     *
+     * @param contentRepository the repository in which indexes of repository content are stored, or {@code null}
+     *                          if indexes should not be stored
+     * @param executor the executor used to index resource roots in parallel. Its tasks never block, so it may be shared
+     * @param parallelism the maximum number of threads indexing the resource roots of a single deployment
+     */
+    public AnnotationIndexProcessor(final ContentRepository contentRepository, final Executor executor, final int parallelism) {
+        this.contentRepository = contentRepository;
+        this.executor = executor;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
     /**
      * Process this deployment for annotations.  This will use an annotation indexer to create an index of all annotations
      * found in this deployment and attach it to the deployment unit context.
@@ -59,12 +114,14 @@ public class AnnotationIndexProcessor implements DeploymentUnitProcessor {
      *
      */
     public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
+        final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
         final List<ResourceRoot> allResourceRoots = new ArrayList<ResourceRoot>();
-        final List<ResourceRoot> resourceRoots = phaseContext.getDeploymentUnit().getAttachment(Attachments.RESOURCE_ROOTS);
+        final List<ResourceRoot> resourceRoots = deploymentUnit.getAttachment(Attachments.RESOURCE_ROOTS);
         if (resourceRoots != null) {
             allResourceRoots.addAll(resourceRoots);
         }
-        allResourceRoots.add(phaseContext.getDeploymentUnit().getAttachment(Attachments.DEPLOYMENT_ROOT));
+        allResourceRoots.add(deploymentUnit.getAttachment(Attachments.DEPLOYMENT_ROOT));
+        final Queue<ResourceRoot> pending = new ConcurrentLinkedQueue<ResourceRoot>();
         for (ResourceRoot resourceRoot : allResourceRoots) {
             if (resourceRoot.getAttachment(Attachments.ANNOTATION_INDEX) != null) {
                 continue;
@@ -74,7 +131,106 @@ public class AnnotationIndexProcessor implements DeploymentUnitProcessor {
             if (shouldIndexResource != null && !shouldIndexResource) {
                 continue;
             }
+            pending.add(resourceRoot);
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        final IndexTask task = new IndexTask(pending, getCacheDir(deploymentUnit), getContentRoot(deploymentUnit));
+        final int helpers = executor == null ? 0 : Math.min(pending.size(), parallelism) - 1;
+        final CountDownLatch latch = new CountDownLatch(helpers);
+        for (int i = 0; i < helpers; i++) {
+            try {
+                executor.execute(new Runnable() {
+                    public void run() {
+                        try {
+                            task.run();
+                        } finally {
+                            latch.countDown();
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                latch.countDown();
+            }
+        }
+        // The deploying thread takes part too, so progress does not depend on the executor having free threads
+        task.run();
+        boolean interrupted = false;
+        try {
+            for (;;) {
+                try {
+                    latch.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        final Throwable failure = task.failure.get();
+        if (failure != null) {
+            throw new DeploymentUnitProcessingException("Failed to index deployment root for annotations", failure);
+        }
+    }
+
+    public void undeploy(final DeploymentUnit context) {
+    }
+
+    private File getCacheDir(final DeploymentUnit deploymentUnit) {
+        if (contentRepository == null) {
+            return null;
+        }
+        final byte[] hash = getTopLevel(deploymentUnit).getAttachment(Attachments.DEPLOYMENT_HASH);
+        return hash == null ? null : contentRepository.getContentCacheDir(hash);
+    }
+
+    private static VirtualFile getContentRoot(final DeploymentUnit deploymentUnit) {
+        final ResourceRoot root = getTopLevel(deploymentUnit).getAttachment(Attachments.DEPLOYMENT_ROOT);
+        return root == null ? null : root.getRoot();
+    }
+
+    private static DeploymentUnit getTopLevel(final DeploymentUnit deploymentUnit) {
+        DeploymentUnit topLevel = deploymentUnit;
+        while (topLevel.getParent() != null) {
+            topLevel = topLevel.getParent();
+        }
+        return topLevel;
+    }
 
+    /**
+     * Indexes resource roots taken from a shared queue until it is empty, so that any number of threads can
+     * work on the same deployment.
+     */
+    private static final class IndexTask implements Runnable {
+        private final Queue<ResourceRoot> pending;
+        private final File cacheDir;
+        private final VirtualFile contentRoot;
+        private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+        IndexTask(final Queue<ResourceRoot> pending, final File cacheDir, final VirtualFile contentRoot) {
+            this.pending = pending;
+            this.cacheDir = cacheDir;
+            this.contentRoot = contentRoot;
+        }
+
+        public void run() {
+            ResourceRoot resourceRoot;
+            while (failure.get() == null && (resourceRoot = pending.poll()) != null) {
+                try {
+                    resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, index(resourceRoot));
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            }
+        }
+
+        private Index index(final ResourceRoot resourceRoot) throws IOException {
             final List<String> indexIgnorePathList = resourceRoot.getAttachment(Attachments.INDEX_IGNORE_PATHS);
             final Set<String> indexIgnorePaths;
             if (indexIgnorePathList != null && !indexIgnorePathList.isEmpty()) {
@@ -84,34 +240,111 @@ public class AnnotationIndexProcessor implements DeploymentUnitProcessor {
             }
 
             final VirtualFile virtualFile = resourceRoot.getRoot();
+            final File cacheFile = getCacheFile(virtualFile, indexIgnorePaths);
+            if (cacheFile != null && cacheFile.isFile()) {
+                try {
+                    return readIndex(cacheFile);
+                } catch (IOException e) {
+                    log.debugf(e, "Failed to read annotation index %s, rebuilding it", cacheFile);
+                }
+            }
+
             final Indexer indexer = new Indexer();
-            try {
-                final VisitorAttributes visitorAttributes = new VisitorAttributes();
-                visitorAttributes.setLeavesOnly(true);
-                visitorAttributes.setRecurseFilter(new VirtualFileFilter() {
-                    public boolean accepts(VirtualFile file) {
-                        return indexIgnorePaths == null || !indexIgnorePaths.contains(file.getPathNameRelativeTo(virtualFile));
-                    }
-                });
+            final VisitorAttributes visitorAttributes = new VisitorAttributes();
+            visitorAttributes.setLeavesOnly(true);
+            visitorAttributes.setRecurseFilter(new VirtualFileFilter() {
+                public boolean accepts(VirtualFile file) {
+                    return indexIgnorePaths == null || !indexIgnorePaths.contains(file.getPathNameRelativeTo(virtualFile));
+                }
+            });
 
-                final List<VirtualFile> classChildren = virtualFile.getChildren(new SuffixMatchFilter(".class", visitorAttributes));
-                for (VirtualFile classFile : classChildren) {
-                    InputStream inputStream = null;
-                    try {
-                        inputStream = classFile.openStream();
-                        indexer.index(inputStream);
-                    } finally {
-                        VFSUtils.safeClose(inputStream);
-                    }
+            final List<VirtualFile> classChildren = virtualFile.getChildren(new SuffixMatchFilter(".class", visitorAttributes));
+            for (VirtualFile classFile : classChildren) {
+                InputStream inputStream = null;
+                try {
+                    inputStream = classFile.openStream();
+                    indexer.index(inputStream);
+                } finally {
+                    VFSUtils.safeClose(inputStream);
                 }
-                final Index index = indexer.complete();
-                resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, index);
-            } catch (Throwable t) {
-                throw new DeploymentUnitProcessingException("Failed to index deployment root for annotations", t);
+            }
+            final Index index = indexer.complete();
+            if (cacheFile != null) {
+                try {
+                    writeIndex(index, cacheFile);
+                } catch (IOException e) {
+                    log.debugf(e, "Failed to store annotation index %s", cacheFile);
+                }
+            }
+            return index;
+        }
+
+        /**
+         * Get the file for the index of a resource root. The name is derived from the path of the root within the
+         * deployment and the paths excluded from indexing, so it only identifies the same index within the same content.
+         */
+        private File getCacheFile(final VirtualFile root, final Set<String> indexIgnorePaths) {
+            if (cacheDir == null || contentRoot == null) {
+                return null;
+            }
+            final String path;
+            if (root.equals(contentRoot)) {
+                path = "";
+            } else {
+                try {
+                    path = root.getPathNameRelativeTo(contentRoot);
+                } catch (IllegalArgumentException e) {
+                    // Not part of the deployment content
+                    return null;
+                }
+            }
+            final StringBuilder key = new StringBuilder(path);
+            if (indexIgnorePaths != null) {
+                for (String ignored : new TreeSet<String>(indexIgnorePaths)) {
+                    key.append('\0').append(ignored);
+                }
+            }
+            try {
+                final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+                final byte[] name = digest.digest(key.toString().getBytes("UTF-8"));
+                return new File(cacheDir, HashUtil.bytesToHexString(name) + INDEX_SUFFIX);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
             }
         }
     }
 
-    public void undeploy(final DeploymentUnit context) {
+    private static Index readIndex(final File file) throws IOException {
+        final InputStream in = new BufferedInputStream(new FileInputStream(file));
+        try {
+            return new IndexReader(in).read();
+        } finally {
+            VFSUtils.safeClose(in);
+        }
+    }
+
+    private static void writeIndex(final Index index, final File file) throws IOException {
+        final File dir = file.getParentFile();
+        if (!dir.isDirectory() && !dir.mkdirs() && !dir.isDirectory()) {
+            throw new IOException("Cannot create directory " + dir.getAbsolutePath());
+        }
+        // Written to a temporary file first so that a concurrent or interrupted write never leaves a partial index
+        final File tmp = File.createTempFile("index", ".tmp", dir);
+        try {
+            final OutputStream out = new BufferedOutputStream(new FileOutputStream(tmp));
+            try {
+                new IndexWriter(out).write(index);
+                out.close();
+            } finally {
+                VFSUtils.safeClose(out);
+            }
+            if (!tmp.renameTo(file) && !file.isFile()) {
+                throw new IOException("Cannot rename " + tmp + " to " + file);
+            }
+        } finally {
+            if (tmp.exists() && !tmp.delete()) {
+                tmp.deleteOnExit();
+            }
+        }
     }
 }
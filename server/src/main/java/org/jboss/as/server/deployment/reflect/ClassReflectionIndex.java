@@ -35,56 +35,155 @@ import java.util.HashMap;
 import java.util.Map;
 
 /**
- * A short-lived index of all the declared fields and methods of a class.
+ * An index of all the declared fields and methods of a class.
  * <p/>
- * The ClassReflectionIndex is only available during the deployment.
+ * The member tables are built on first use, so a class whose index is only asked for a single method never has its
+ * fields or constructors made accessible.  Indexes of classes from static modules are shared between deployments
+ * (see {@link DeploymentReflectionIndex}); those of deployment classes are only available during the deployment.
  *
  * @param <T> the type being indexed
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
  */
 public final class ClassReflectionIndex<T> {
     private final Class<T> indexedClass;
-    private final Map<String, Field> fields;
-    private final Map<ParamList, Constructor<T>> constructors;
-    private final Map<ParamNameList, Constructor<T>> constructorsByTypeName;
-    private final Map<String, Map<ParamList, Map<Class<?>, Method>>> methods;
-    private final Map<String, Map<ParamNameList, Map<String, Method>>> methodsByTypeName;
+    private volatile Map<String, Field> fields;
+    private volatile Constructor<T>[] declaredConstructors;
+    private volatile Map<ParamList, Constructor<T>> constructors;
+    private volatile Map<ParamNameList, Constructor<T>> constructorsByTypeName;
+    private volatile Method[] declaredMethods;
+    private volatile Map<String, Map<ParamList, Map<Class<?>, Method>>> methods;
+    private volatile Map<String, Map<ParamNameList, Map<String, Method>>> methodsByTypeName;
 
-    @SuppressWarnings({"unchecked"})
     ClassReflectionIndex(final Class<T> indexedClass, final DeploymentReflectionIndex deploymentReflectionIndex) {
         this.indexedClass = indexedClass;
-        // -- fields --
-        final Field[] declaredFields = indexedClass.getDeclaredFields();
-        final Map<String, Field> fields = new HashMap<String, Field>();
-        for (Field field : declaredFields) {
-            field.setAccessible(true);
-            fields.put(field.getName(), field);
-        }
-        this.fields = fields;
-        // -- methods --
-        final Method[] declaredMethods = indexedClass.getDeclaredMethods();
-        final Map<String, Map<ParamList, Map<Class<?>, Method>>> methods = new HashMap<String, Map<ParamList, Map<Class<?>, Method>>>();
-        final Map<String, Map<ParamNameList, Map<String, Method>>> methodsByTypeName = new HashMap<String, Map<ParamNameList, Map<String, Method>>>();
-        for (Method method : declaredMethods) {
-            method.setAccessible(true);
-            addMethod(methods, method);
-            addMethodByTypeName(methodsByTypeName, method);
-        }
-
-        this.methods = methods;
-        this.methodsByTypeName = methodsByTypeName;
-        // -- constructors --
-        final Constructor<T>[] declaredConstructors = (Constructor<T>[]) indexedClass.getDeclaredConstructors();
-        final Map<ParamNameList, Constructor<T>> constructorsByTypeName = new HashMap<ParamNameList, Constructor<T>>();
-        final Map<ParamList, Constructor<T>> constructors = new HashMap<ParamList, Constructor<T>>();
-        for (Constructor<T> constructor : declaredConstructors) {
-            constructor.setAccessible(true);
-            Class<?>[] parameterTypes = constructor.getParameterTypes();
-            constructors.put(createParamList(parameterTypes), constructor);
-            constructorsByTypeName.put(createParamNameList(parameterTypes), constructor);
-        }
-        this.constructorsByTypeName = constructorsByTypeName;
-        this.constructors = constructors;
+    }
+
+    private Map<String, Field> fields() {
+        Map<String, Field> fields = this.fields;
+        if (fields == null) {
+            synchronized (this) {
+                fields = this.fields;
+                if (fields == null) {
+                    fields = new HashMap<String, Field>();
+                    for (Field field : indexedClass.getDeclaredFields()) {
+                        field.setAccessible(true);
+                        fields.put(field.getName(), field);
+                    }
+                    this.fields = fields;
+                }
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * The methods are shared by both method tables so that either lookup returns the same {@code Method} instance.
+     */
+    private Method[] declaredMethods() {
+        Method[] declaredMethods = this.declaredMethods;
+        if (declaredMethods == null) {
+            synchronized (this) {
+                declaredMethods = this.declaredMethods;
+                if (declaredMethods == null) {
+                    declaredMethods = indexedClass.getDeclaredMethods();
+                    for (Method method : declaredMethods) {
+                        method.setAccessible(true);
+                    }
+                    this.declaredMethods = declaredMethods;
+                }
+            }
+        }
+        return declaredMethods;
+    }
+
+    private Map<String, Map<ParamList, Map<Class<?>, Method>>> methods() {
+        Map<String, Map<ParamList, Map<Class<?>, Method>>> methods = this.methods;
+        if (methods == null) {
+            final Method[] declaredMethods = declaredMethods();
+            synchronized (this) {
+                methods = this.methods;
+                if (methods == null) {
+                    methods = new HashMap<String, Map<ParamList, Map<Class<?>, Method>>>();
+                    for (Method method : declaredMethods) {
+                        addMethod(methods, method);
+                    }
+                    this.methods = methods;
+                }
+            }
+        }
+        return methods;
+    }
+
+    private Map<String, Map<ParamNameList, Map<String, Method>>> methodsByTypeName() {
+        Map<String, Map<ParamNameList, Map<String, Method>>> methodsByTypeName = this.methodsByTypeName;
+        if (methodsByTypeName == null) {
+            final Method[] declaredMethods = declaredMethods();
+            synchronized (this) {
+                methodsByTypeName = this.methodsByTypeName;
+                if (methodsByTypeName == null) {
+                    methodsByTypeName = new HashMap<String, Map<ParamNameList, Map<String, Method>>>();
+                    for (Method method : declaredMethods) {
+                        addMethodByTypeName(methodsByTypeName, method);
+                    }
+                    this.methodsByTypeName = methodsByTypeName;
+                }
+            }
+        }
+        return methodsByTypeName;
+    }
+
+    @SuppressWarnings({"unchecked"})
+    private Constructor<T>[] declaredConstructors() {
+        Constructor<T>[] declaredConstructors = this.declaredConstructors;
+        if (declaredConstructors == null) {
+            synchronized (this) {
+                declaredConstructors = this.declaredConstructors;
+                if (declaredConstructors == null) {
+                    declaredConstructors = (Constructor<T>[]) indexedClass.getDeclaredConstructors();
+                    for (Constructor<T> constructor : declaredConstructors) {
+                        constructor.setAccessible(true);
+                    }
+                    this.declaredConstructors = declaredConstructors;
+                }
+            }
+        }
+        return declaredConstructors;
+    }
+
+    private Map<ParamList, Constructor<T>> constructors() {
+        Map<ParamList, Constructor<T>> constructors = this.constructors;
+        if (constructors == null) {
+            final Constructor<T>[] declaredConstructors = declaredConstructors();
+            synchronized (this) {
+                constructors = this.constructors;
+                if (constructors == null) {
+                    constructors = new HashMap<ParamList, Constructor<T>>();
+                    for (Constructor<T> constructor : declaredConstructors) {
+                        constructors.put(createParamList(constructor.getParameterTypes()), constructor);
+                    }
+                    this.constructors = constructors;
+                }
+            }
+        }
+        return constructors;
+    }
+
+    private Map<ParamNameList, Constructor<T>> constructorsByTypeName() {
+        Map<ParamNameList, Constructor<T>> constructorsByTypeName = this.constructorsByTypeName;
+        if (constructorsByTypeName == null) {
+            final Constructor<T>[] declaredConstructors = declaredConstructors();
+            synchronized (this) {
+                constructorsByTypeName = this.constructorsByTypeName;
+                if (constructorsByTypeName == null) {
+                    constructorsByTypeName = new HashMap<ParamNameList, Constructor<T>>();
+                    for (Constructor<T> constructor : declaredConstructors) {
+                        constructorsByTypeName.put(createParamNameList(constructor.getParameterTypes()), constructor);
+                    }
+                    this.constructorsByTypeName = constructorsByTypeName;
+                }
+            }
+        }
+        return constructorsByTypeName;
     }
 
     private static final ParamList EMPTY = new ParamList(new Class<?>[0]);
@@ -162,7 +261,7 @@ public final class ClassReflectionIndex<T> {
      * @return the field, or {@code null} if no field of that name exists
      */
     public Field getField(String name) {
-        return fields.get(name);
+        return fields().get(name);
     }
 
     /**
@@ -171,7 +270,7 @@ public final class ClassReflectionIndex<T> {
      * @return The (possibly empty) collection of all declared fields on this object
      */
     public Collection<Field> getFields() {
-        return Collections.unmodifiableCollection(fields.values());
+        return Collections.unmodifiableCollection(fields().values());
     }
 
     /**
@@ -183,7 +282,7 @@ public final class ClassReflectionIndex<T> {
      * @return the method, or {@code null} if no method of that description exists
      */
     public Method getMethod(Class<?> returnType, String name, Class<?>... paramTypes) {
-        final Map<ParamList, Map<Class<?>, Method>> nameMap = methods.get(name);
+        final Map<ParamList, Map<Class<?>, Method>> nameMap = methods().get(name);
         if (nameMap == null) {
             return null;
         }
@@ -213,7 +312,7 @@ public final class ClassReflectionIndex<T> {
      * @return the method, or {@code null} if no method of that description exists
      */
     public Method getMethod(String returnType, String name, String... paramTypeNames) {
-        final Map<ParamNameList, Map<String, Method>> nameMap = methodsByTypeName.get(name);
+        final Map<ParamNameList, Map<String, Method>> nameMap = methodsByTypeName().get(name);
         if (nameMap == null) {
             return null;
         }
@@ -231,7 +330,7 @@ public final class ClassReflectionIndex<T> {
      * @return the method, or {@code null} if no method of that description exists
      */
     public Method getMethod(MethodIdentifier methodIdentifier) {
-        final Map<ParamNameList, Map<String, Method>> nameMap = methodsByTypeName.get(methodIdentifier.getName());
+        final Map<ParamNameList, Map<String, Method>> nameMap = methodsByTypeName().get(methodIdentifier.getName());
         if (nameMap == null) {
             return null;
         }
@@ -250,7 +349,7 @@ public final class ClassReflectionIndex<T> {
      * @return the (possibly empty) collection of methods matching the description
      */
     public Collection<Method> getMethods(String name, Class<?>... paramTypes) {
-        final Map<ParamList, Map<Class<?>, Method>> nameMap = methods.get(name);
+        final Map<ParamList, Map<Class<?>, Method>> nameMap = methods().get(name);
         if (nameMap == null) {
             return Collections.emptySet();
         }
@@ -269,7 +368,7 @@ public final class ClassReflectionIndex<T> {
      * @return the (possibly empty) collection of methods matching the description
      */
     public Collection<Method> getMethods(String name, String... paramTypeNames) {
-        final Map<ParamNameList, Map<String, Method>> nameMap = methodsByTypeName.get(name);
+        final Map<ParamNameList, Map<String, Method>> nameMap = methodsByTypeName().get(name);
         if (nameMap == null) {
             return Collections.emptySet();
         }
@@ -287,7 +386,7 @@ public final class ClassReflectionIndex<T> {
      * @return the (possibly empty) collection of methods with the given name
      */
     public Collection<Method> getAllMethods(String name) {
-        final Map<ParamList, Map<Class<?>, Method>> nameMap = methods.get(name);
+        final Map<ParamList, Map<Class<?>, Method>> nameMap = methods().get(name);
         if (nameMap == null) {
             return Collections.emptySet();
         }
@@ -306,7 +405,7 @@ public final class ClassReflectionIndex<T> {
      * @return the (possibly empty) collection of methods with the given name and parameter count
      */
     public Collection<Method> getAllMethods(String name, int paramCount) {
-        final Map<ParamList, Map<Class<?>, Method>> nameMap = methods.get(name);
+        final Map<ParamList, Map<Class<?>, Method>> nameMap = methods().get(name);
         if (nameMap == null) {
             return Collections.emptySet();
         }
@@ -328,7 +427,7 @@ public final class ClassReflectionIndex<T> {
      */
     public Collection<Method> getMethods() {
         final Collection<Method> methods = new ArrayList<Method>();
-        for (Map.Entry<String, Map<ParamList, Map<Class<?>, Method>>> entry : this.methods.entrySet()) {
+        for (Map.Entry<String, Map<ParamList, Map<Class<?>, Method>>> entry : methods().entrySet()) {
             final Map<ParamList, Map<Class<?>, Method>> nameMap = entry.getValue();
             for (Map<Class<?>, Method> map : nameMap.values()) {
                 methods.addAll(map.values());
@@ -343,7 +442,7 @@ public final class ClassReflectionIndex<T> {
      * @return the constructors
      */
     public Collection<Constructor<T>> getConstructors() {
-        return Collections.unmodifiableCollection(constructors.values());
+        return Collections.unmodifiableCollection(constructors().values());
     }
 
     /**
@@ -353,7 +452,7 @@ public final class ClassReflectionIndex<T> {
      * @return the constructor, or {@code null} of no such constructor exists
      */
     public Constructor<T> getConstructor(Class<?>... paramTypes) {
-        return constructors.get(createParamList(paramTypes));
+        return constructors().get(createParamList(paramTypes));
     }
 
     /**
@@ -363,7 +462,7 @@ public final class ClassReflectionIndex<T> {
      * @return the constructor, or {@code null} of no such constructor exists
      */
     public Constructor<T> getConstructor(String... paramTypeNames) {
-        return constructorsByTypeName.get(createParamNameList(paramTypeNames));
+        return constructorsByTypeName().get(createParamNameList(paramTypeNames));
     }
 
     private static final class ParamList {
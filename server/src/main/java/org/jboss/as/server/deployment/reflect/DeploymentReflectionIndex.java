@@ -23,18 +23,27 @@
 package org.jboss.as.server.deployment.reflect;
 
 import java.security.Permission;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jboss.modules.Module;
+import org.jboss.modules.ModuleClassLoader;
 
 /**
  * A reflection index for a deployment.
+ * <p/>
+ * An index may be created with a shared index, to which lookups of JDK classes and of classes from static modules
+ * (those loaded by the boot module loader) are delegated, so that their indexes outlive a single deployment.  Classes
+ * of deployment modules are always indexed by the deployment's own index.
  *
  * @author <a href="mailto:david.lloyd@redhat.com">David M. Lloyd</a>
  */
 public final class DeploymentReflectionIndex {
-    private final Map<Class<?>, ClassReflectionIndex<?>> classes = new HashMap<Class<?>, ClassReflectionIndex<?>>();
+    private final ConcurrentMap<Class<?>, ClassReflectionIndex<?>> classes = new ConcurrentHashMap<Class<?>, ClassReflectionIndex<?>>();
+    private final DeploymentReflectionIndex sharedIndex;
 
-    DeploymentReflectionIndex() {
+    DeploymentReflectionIndex(final DeploymentReflectionIndex sharedIndex) {
+        this.sharedIndex = sharedIndex;
     }
 
     private static final Permission DEPLOYMENT_REFLECTION_INDEX_PERMISSION = new RuntimePermission("createDeploymentReflectionIndex");
@@ -45,11 +54,21 @@ public final class DeploymentReflectionIndex {
      * @return the new instance
      */
     public static DeploymentReflectionIndex create() {
+        return create(null);
+    }
+
+    /**
+     * Construct a new instance which delegates to a shared index for classes from static modules.
+     *
+     * @param sharedIndex the shared index, or {@code null} to index every class locally
+     * @return the new instance
+     */
+    public static DeploymentReflectionIndex create(final DeploymentReflectionIndex sharedIndex) {
         final SecurityManager sm = System.getSecurityManager();
         if (sm != null) {
             sm.checkPermission(DEPLOYMENT_REFLECTION_INDEX_PERMISSION);
         }
-        return new DeploymentReflectionIndex();
+        return new DeploymentReflectionIndex(sharedIndex);
     }
 
     /**
@@ -59,11 +78,29 @@ public final class DeploymentReflectionIndex {
      * @return the index
      */
     @SuppressWarnings( { "unchecked" })
-    public synchronized <T> ClassReflectionIndex<T> getClassIndex(Class<T> clazz) {
+    public <T> ClassReflectionIndex<T> getClassIndex(Class<T> clazz) {
+        if (sharedIndex != null && isShared(clazz)) {
+            return sharedIndex.getClassIndex(clazz);
+        }
         ClassReflectionIndex<T> index = (ClassReflectionIndex<T>) classes.get(clazz);
         if (index == null) {
-            classes.put(clazz, index = new ClassReflectionIndex<T>(clazz, this));
+            final ClassReflectionIndex<T> newIndex = new ClassReflectionIndex<T>(clazz, this);
+            index = (ClassReflectionIndex<T>) classes.putIfAbsent(clazz, newIndex);
+            if (index == null) {
+                index = newIndex;
+            }
         }
         return index;
     }
+
+    private static boolean isShared(final Class<?> clazz) {
+        final ClassLoader classLoader = clazz.getClassLoader();
+        if (classLoader == null) {
+            return true;
+        }
+        if (classLoader instanceof ModuleClassLoader) {
+            return ((ModuleClassLoader) classLoader).getModule().getModuleLoader() == Module.getBootModuleLoader();
+        }
+        return false;
+    }
 }
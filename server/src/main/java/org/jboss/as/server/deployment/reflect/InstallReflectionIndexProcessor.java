@@ -22,11 +22,14 @@
 
 package org.jboss.as.server.deployment.reflect;
 
+import org.jboss.as.server.Services;
 import org.jboss.as.server.deployment.Attachments;
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
+import org.jboss.as.server.moduleservice.ModuleIndexService;
+import org.jboss.msc.service.ServiceController;
 
 /**
  * The processor to install the reflection index.
@@ -39,12 +42,23 @@ public final class InstallReflectionIndexProcessor implements DeploymentUnitProc
     public void deploy(final DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
         DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
         if(deploymentUnit.getParent() == null) {
-            deploymentUnit.putAttachment(Attachments.REFLECTION_INDEX, DeploymentReflectionIndex.create());
+            deploymentUnit.putAttachment(Attachments.REFLECTION_INDEX, DeploymentReflectionIndex.create(getSharedIndex(phaseContext)));
         } else {
             deploymentUnit.putAttachment(Attachments.REFLECTION_INDEX, deploymentUnit.getParent().getAttachment(Attachments.REFLECTION_INDEX));
         }
     }
 
+    /**
+     * Get the index shared by all deployments for classes from static modules, if the module index service is up.
+     */
+    private static DeploymentReflectionIndex getSharedIndex(final DeploymentPhaseContext phaseContext) {
+        final ServiceController<?> controller = phaseContext.getServiceRegistry().getService(Services.JBOSS_MODULE_INDEX_SERVICE);
+        if (controller == null || controller.getState() != ServiceController.State.UP) {
+            return null;
+        }
+        return ((ModuleIndexService) controller.getValue()).getReflectionIndex();
+    }
+
     /** {@inheritDoc} */
     public void undeploy(final DeploymentUnit context) {
         context.removeAttachment(Attachments.REFLECTION_INDEX);
@@ -23,6 +23,7 @@ package org.jboss.as.server.moduleservice;
 
 import org.jboss.as.server.Services;
 import org.jboss.as.server.deployment.annotation.CompositeIndex;
+import org.jboss.as.server.deployment.reflect.DeploymentReflectionIndex;
 import org.jboss.modules.Module;
 import org.jboss.modules.ModuleIdentifier;
 import org.jboss.msc.service.Service;
@@ -37,7 +38,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 /**
- * Service that caches the jandex index for system modules.
+ * Service that caches the jandex index and the reflection index for system modules.
  *
  * @author Stuart Douglas
  */
@@ -45,9 +46,11 @@ public class ModuleIndexService implements Service<ModuleIndexService> {
 
     private final Map<ModuleIdentifier, CompositeIndex> indexes = new HashMap<ModuleIdentifier, CompositeIndex>();
 
+    private volatile DeploymentReflectionIndex reflectionIndex;
 
     @Override
     public void start(StartContext context) throws StartException {
+        reflectionIndex = DeploymentReflectionIndex.create();
         // No point in throwing away the index once it is created.
         context.getController().compareAndSetMode(ServiceController.Mode.ON_DEMAND, ServiceController.Mode.ACTIVE);
     }
@@ -55,6 +58,7 @@ public class ModuleIndexService implements Service<ModuleIndexService> {
     @Override
     public void stop(StopContext context) {
         indexes.clear();
+        reflectionIndex = null;
     }
 
     @Override
@@ -71,6 +75,15 @@ public class ModuleIndexService implements Service<ModuleIndexService> {
         return index;
     }
 
+    /**
+     * Get the reflection index shared by all deployments for classes from static modules.
+     *
+     * @return the shared reflection index
+     */
+    public DeploymentReflectionIndex getReflectionIndex() {
+        return reflectionIndex;
+    }
+
     public static void addService(final ServiceTarget serviceTarget) {
         Service<ModuleIndexService> service = new ModuleIndexService();
         ServiceBuilder<?> serviceBuilder = serviceTarget.addService(Services.JBOSS_MODULE_INDEX_SERVICE, service);
@@ -3,22 +3,35 @@
  */
 package org.jboss.as.server;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ROLLBACK_ON_RUNTIME_FAILURE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -32,6 +45,8 @@ import org.jboss.as.controller.RuntimeTask;
 import org.jboss.as.controller.RuntimeTaskContext;
 import org.jboss.as.controller.client.Operation;
 import org.jboss.as.controller.client.OperationBuilder;
+import org.jboss.as.controller.operations.common.SubscribeMetricsHandler;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
 import org.jboss.as.controller.descriptions.DescriptionProvider;
 import org.jboss.as.controller.persistence.ConfigurationPersistenceException;
 import org.jboss.as.controller.persistence.ExtensibleConfigurationPersister;
@@ -231,6 +246,95 @@ public class ServerModelControllerImplUnitTestCase {
         assertEquals(5, result.get("result").asInt());
     }
 
+    @Test
+    public void testSubscribeMetricsStaysOpenUntilCancelled() throws Exception {
+        final ModelNode op = new ModelNode();
+        op.get(OP).set(SubscribeMetricsHandler.OPERATION_NAME);
+        op.get(OP_ADDR).setEmptyList();
+        final ModelNode metric = op.get(SubscribeMetricsHandler.METRICS).add();
+        metric.get(OP_ADDR).setEmptyList();
+        metric.get(NAME).set("attr1");
+        op.get(SubscribeMetricsHandler.INTERVAL).set(100);
+
+        final BlockingQueue<ModelNode> batches = new LinkedBlockingQueue<ModelNode>();
+        final AtomicBoolean completed = new AtomicBoolean();
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final OperationResult result = controller.execute(OperationBuilder.Factory.create(op).build(), new ResultHandler() {
+            @Override
+            public void handleResultFragment(String[] location, ModelNode result) {
+                batches.add(result);
+            }
+
+            @Override
+            public void handleResultComplete() {
+                completed.set(true);
+            }
+
+            @Override
+            public void handleFailed(ModelNode failureDescription) {
+                batches.add(failureDescription);
+            }
+
+            @Override
+            public void handleCancellation() {
+                cancelled.set(true);
+            }
+        });
+
+        ModelNode batch = batches.poll(10, TimeUnit.SECONDS);
+        assertNotNull(batch);
+        assertEquals(1, batch.asInt());
+        assertEquals(1, batch.get(0).get(VALUE).asInt());
+
+        // Still running, with empty batches while nothing changes
+        batch = batches.poll(10, TimeUnit.SECONDS);
+        assertNotNull(batch);
+        assertEquals(0, batch.asInt());
+        assertFalse(completed.get());
+
+        ModelNode write = controller.execute(getOperation("good", "attr1", 5));
+        assertEquals("success", write.get("outcome").asString());
+        do {
+            batch = batches.poll(10, TimeUnit.SECONDS);
+            assertNotNull(batch);
+        } while (batch.asInt() == 0);
+        assertEquals(5, batch.get(0).get(VALUE).asInt());
+
+        assertTrue(result.getCancellable().cancel());
+        assertTrue(cancelled.get());
+        assertFalse(completed.get());
+        // Let a batch which was being delivered while cancelling arrive
+        Thread.sleep(200);
+        batches.clear();
+        assertNull(batches.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testSubscribeMetricsRequiresMaxBatchesUnlessStreamed() throws Exception {
+        final ModelNode op = new ModelNode();
+        op.get(OP).set(SubscribeMetricsHandler.OPERATION_NAME);
+        op.get(OP_ADDR).setEmptyList();
+        final ModelNode metric = op.get(SubscribeMetricsHandler.METRICS).add();
+        metric.get(OP_ADDR).setEmptyList();
+        metric.get(NAME).set("attr1");
+        op.get(SubscribeMetricsHandler.INTERVAL).set(100);
+
+        ModelNode result = controller.execute(OperationBuilder.Factory.create(op).build());
+        assertEquals(FAILED, result.get(OUTCOME).asString());
+        assertTrue(result.get(FAILURE_DESCRIPTION).asString().indexOf(SubscribeMetricsHandler.MAX_BATCHES) > -1);
+
+        final ModelNode composite = new ModelNode();
+        composite.get(OP).set(COMPOSITE);
+        composite.get(OP_ADDR).setEmptyList();
+        composite.get(STEPS).add(op);
+        result = controller.execute(OperationBuilder.Factory.create(composite).build());
+        assertEquals(FAILED, result.get(OUTCOME).asString());
+
+        op.get(SubscribeMetricsHandler.MAX_BATCHES).set(2);
+        result = controller.execute(OperationBuilder.Factory.create(op).build());
+        assertEquals(SUCCESS, result.get(OUTCOME).asString());
+    }
+
     public static ModelNode createTestNode() {
         ModelNode model = new ModelNode();
 
@@ -645,6 +749,15 @@ public class ServerModelControllerImplUnitTestCase {
             throw new RuntimeException("NYI: .removeContent");
         }
 
+        @Override
+        public void cleanObsoleteContent(Collection<byte[]> referencedHashes) {
+        }
+
+        @Override
+        public File getContentCacheDir(byte[] hash) {
+            return null;
+        }
+
         @Override
         public byte[] addContent(InputStream stream) throws IOException {
             return new byte[20];
@@ -672,6 +785,8 @@ public class ServerModelControllerImplUnitTestCase {
             getRegistry().registerOperationHandler("good-service", new GoodServiceHandler(), DESC_PROVIDER, false);
             getRegistry().registerOperationHandler("bad-service", new BadServiceHandler(), DESC_PROVIDER, false);
             getRegistry().registerOperationHandler("missing-service", new MissingServiceHandler(), DESC_PROVIDER, false);
+            getRegistry().registerOperationHandler(READ_ATTRIBUTE_OPERATION, GlobalOperationHandlers.READ_ATTRIBUTE, DESC_PROVIDER, true);
+            getRegistry().registerOperationHandler(SubscribeMetricsHandler.OPERATION_NAME, new SubscribeMetricsHandler(), DESC_PROVIDER, false);
 
         }
     }
@@ -0,0 +1,122 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.reflect;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+/**
+ * Tests of the lazily built, optionally shared class reflection indexes.
+ */
+public class DeploymentReflectionIndexTestCase {
+
+    @Test
+    public void testLookupsShareMembers() throws Exception {
+        final ClassReflectionIndex<Sample> index = DeploymentReflectionIndex.create().getClassIndex(Sample.class);
+        final Method byClass = index.getMethod(void.class, "setName", String.class);
+        final Method byName = index.getMethod("void", "setName", String.class.getName());
+        assertNotNull(byClass);
+        assertSame(byClass, byName);
+        assertTrue(byClass.isAccessible());
+        assertTrue(index.getMethods().contains(byClass));
+        assertEquals(2, index.getAllMethods("setName").size());
+        assertEquals(1, index.getAllMethods("setName", 2).size());
+        assertNull(index.getMethod(void.class, "missing"));
+
+        assertNotNull(index.getField("name"));
+        assertEquals(1, index.getFields().size());
+        assertNotNull(index.getConstructor(new Class<?>[0]));
+        assertSame(index.getConstructor(new Class<?>[0]), index.getConstructor(new String[0]));
+        assertEquals(2, index.getConstructors().size());
+    }
+
+    @Test
+    public void testSharedIndex() {
+        final DeploymentReflectionIndex shared = DeploymentReflectionIndex.create();
+        final DeploymentReflectionIndex first = DeploymentReflectionIndex.create(shared);
+        final DeploymentReflectionIndex second = DeploymentReflectionIndex.create(shared);
+
+        // JDK classes are indexed once for all deployments
+        assertSame(first.getClassIndex(String.class), second.getClassIndex(String.class));
+        assertSame(shared.getClassIndex(String.class), first.getClassIndex(String.class));
+
+        // anything else belongs to the deployment
+        assertNotSame(first.getClassIndex(Sample.class), second.getClassIndex(Sample.class));
+        assertSame(first.getClassIndex(Sample.class), first.getClassIndex(Sample.class));
+    }
+
+    @Test
+    public void testConcurrentIndexCreation() throws Exception {
+        final DeploymentReflectionIndex deploymentIndex = DeploymentReflectionIndex.create();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final Callable<Method> task = new Callable<Method>() {
+                public Method call() {
+                    return deploymentIndex.getClassIndex(Sample.class).getMethod(void.class, "setName", String.class);
+                }
+            };
+            @SuppressWarnings("unchecked")
+            final Future<Method>[] futures = new Future[32];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = executor.submit(task);
+            }
+            final Method method = futures[0].get();
+            for (Future<Method> future : futures) {
+                assertSame(method, future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    static class Sample {
+        private String name;
+
+        Sample() {
+        }
+
+        Sample(final String name) {
+            this.name = name;
+        }
+
+        void setName(final String name) {
+            this.name = name;
+        }
+
+        void setName(final String first, final String last) {
+            this.name = first + " " + last;
+        }
+    }
+}
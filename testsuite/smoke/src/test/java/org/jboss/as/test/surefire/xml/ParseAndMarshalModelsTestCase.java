@@ -59,6 +59,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -401,6 +402,15 @@ public class ParseAndMarshalModelsTestCase {
                             throw new RuntimeException("NYI: .removeContent");
                         }
 
+                        @Override
+                        public void cleanObsoleteContent(Collection<byte[]> referencedHashes) {
+                        }
+
+                        @Override
+                        public File getContentCacheDir(byte[] hash) {
+                            return null;
+                        }
+
                         @Override
                         public byte[] addContent(InputStream stream) throws IOException {
                             return null;
@@ -503,6 +513,15 @@ public class ParseAndMarshalModelsTestCase {
             throw new RuntimeException("NYI: org.jboss.as.test.surefire.xml.ParseAndMarshalModelsTestCase.MockContentRepository.removeContent");
         }
 
+        @Override
+        public void cleanObsoleteContent(Collection<byte[]> referencedHashes) {
+        }
+
+        @Override
+        public File getContentCacheDir(byte[] hash) {
+            return null;
+        }
+
     }
 
     private static class MockFileRepository implements FileRepository {
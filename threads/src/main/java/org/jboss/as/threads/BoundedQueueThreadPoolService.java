@@ -46,6 +46,7 @@ public class BoundedQueueThreadPoolService implements Service<Executor> {
 
     private QueueExecutor executor;
     private Executor value;
+    private ThreadPoolStatistics statistics;
 
     private int coreThreads;
     private int maxThreads;
@@ -64,9 +65,11 @@ public class BoundedQueueThreadPoolService implements Service<Executor> {
     }
 
     public synchronized void start(final StartContext context) throws StartException {
-        executor = new QueueExecutor(coreThreads, maxThreads, keepAlive.getDuration(), keepAlive.getUnit(), queueLength, threadFactoryValue.getValue(), blocking, handoffExecutorValue.getOptionalValue());
+        final ThreadPoolStatistics statistics = new ThreadPoolStatistics();
+        executor = new QueueExecutor(coreThreads, maxThreads, keepAlive.getDuration(), keepAlive.getUnit(), queueLength, statistics.wrap(threadFactoryValue.getValue()), blocking, statistics.wrapHandoff(handoffExecutorValue.getOptionalValue()));
         executor.setAllowCoreThreadTimeout(allowCoreTimeout);
-        value = JBossExecutors.protectedBlockingExecutor(executor);
+        value = statistics.wrap(JBossExecutors.protectedBlockingExecutor(executor));
+        this.statistics = statistics;
     }
 
     public synchronized void stop(final StopContext context) {
@@ -83,6 +86,7 @@ public class BoundedQueueThreadPoolService implements Service<Executor> {
         }, context);
         this.executor = null;
         value = null;
+        statistics = null;
     }
 
     public synchronized Executor getValue() throws IllegalStateException {
@@ -93,6 +97,15 @@ public class BoundedQueueThreadPoolService implements Service<Executor> {
         return value;
     }
 
+    /**
+     * Returns the runtime statistics of the running pool.
+     *
+     * @return the statistics, or {@code null} if the pool is not running
+     */
+    public synchronized ThreadPoolStatistics getStatistics() {
+        return statistics;
+    }
+
     public Injector<ThreadFactory> getThreadFactoryInjector() {
         return threadFactoryValue;
     }
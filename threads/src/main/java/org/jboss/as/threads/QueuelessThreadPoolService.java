@@ -47,6 +47,7 @@ public class QueuelessThreadPoolService implements Service<ExecutorService> {
 
     private QueuelessExecutor executor;
     private ExecutorService value;
+    private ThreadPoolStatistics statistics;
 
     private int maxThreads;
     private boolean blocking;
@@ -61,10 +62,12 @@ public class QueuelessThreadPoolService implements Service<ExecutorService> {
     public synchronized void start(final StartContext context) throws StartException {
         final TimeSpec keepAliveSpec = keepAlive;
         long keepAlive = keepAliveSpec == null ? Long.MAX_VALUE : keepAliveSpec.getDuration();
-        executor = new QueuelessExecutor(threadFactoryValue.getValue(), JBossExecutors.directExecutor(), handoffExecutorValue.getOptionalValue(), keepAlive);
+        final ThreadPoolStatistics statistics = new ThreadPoolStatistics(false);
+        executor = new QueuelessExecutor(statistics.wrap(threadFactoryValue.getValue()), JBossExecutors.directExecutor(), statistics.wrapHandoff(handoffExecutorValue.getOptionalValue()), keepAlive);
         executor.setMaxThreads(maxThreads);
         executor.setBlocking(blocking);
-        value = JBossExecutors.protectedExecutorService(executor);
+        value = statistics.wrap(JBossExecutors.protectedExecutorService(executor));
+        this.statistics = statistics;
     }
 
     public synchronized void stop(final StopContext context) {
@@ -81,6 +84,7 @@ public class QueuelessThreadPoolService implements Service<ExecutorService> {
         }, context);
         this.executor = null;
         value = null;
+        statistics = null;
     }
 
     public synchronized ExecutorService getValue() throws IllegalStateException {
@@ -91,6 +95,15 @@ public class QueuelessThreadPoolService implements Service<ExecutorService> {
         return value;
     }
 
+    /**
+     * Returns the runtime statistics of the running pool.
+     *
+     * @return the statistics, or {@code null} if the pool is not running
+     */
+    public synchronized ThreadPoolStatistics getStatistics() {
+        return statistics;
+    }
+
     public Injector<ThreadFactory> getThreadFactoryInjector() {
         return threadFactoryValue;
     }
@@ -30,9 +30,11 @@ import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.InjectedValue;
 import org.jboss.threads.JBossExecutors;
 
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Service responsible for creating, starting and stopping a scheduled thread pool executor.
@@ -45,6 +47,7 @@ public final class ScheduledThreadPoolService implements Service<ScheduledExecut
 
     private ScheduledThreadPoolExecutor executor;
     private ScheduledExecutorService value;
+    private ThreadPoolStatistics statistics;
     private StopContext context;
 
     private final int maxThreads;
@@ -56,11 +59,13 @@ public final class ScheduledThreadPoolService implements Service<ScheduledExecut
     }
 
     public synchronized void start(final StartContext context) throws StartException {
-        executor = new ExecutorImpl(0, threadFactoryValue.getValue());
+        final ExecutorImpl executor = new ExecutorImpl(0, threadFactoryValue.getValue());
+        this.executor = executor;
         executor.setCorePoolSize(maxThreads);
         if(keepAlive != null)
             executor.setKeepAliveTime(keepAlive.getDuration(), keepAlive.getUnit());
         value = JBossExecutors.protectedScheduledExecutorService(executor);
+        statistics = executor.statistics;
     }
 
     public synchronized void stop(final StopContext context) {
@@ -73,6 +78,7 @@ public final class ScheduledThreadPoolService implements Service<ScheduledExecut
         executor.shutdown();
         this.executor = null;
         value = null;
+        statistics = null;
     }
 
     public synchronized ScheduledExecutorService getValue() throws IllegalStateException {
@@ -83,14 +89,47 @@ public final class ScheduledThreadPoolService implements Service<ScheduledExecut
         return value;
     }
 
+    /**
+     * Returns the runtime statistics of the running pool.
+     *
+     * @return the statistics, or {@code null} if the pool is not running
+     */
+    public synchronized ThreadPoolStatistics getStatistics() {
+        return statistics;
+    }
+
     public Injector<ThreadFactory> getThreadFactoryInjector() {
         return threadFactoryValue;
     }
 
     private class ExecutorImpl extends ScheduledThreadPoolExecutor {
+        private final ThreadPoolStatistics statistics;
 
         ExecutorImpl(final int corePoolSize, final ThreadFactory threadFactory) {
-            super(corePoolSize, threadFactory);
+            this(corePoolSize, threadFactory, new ThreadPoolStatistics());
+        }
+
+        private ExecutorImpl(final int corePoolSize, final ThreadFactory threadFactory, final ThreadPoolStatistics statistics) {
+            super(corePoolSize, statistics.wrap(threadFactory));
+            this.statistics = statistics;
+            statistics.setQueue(getQueue());
+            final RejectedExecutionHandler rejectedExecutionHandler = getRejectedExecutionHandler();
+            setRejectedExecutionHandler(new RejectedExecutionHandler() {
+                public void rejectedExecution(final Runnable task, final ThreadPoolExecutor executor) {
+                    statistics.taskRejected();
+                    rejectedExecutionHandler.rejectedExecution(task, executor);
+                }
+            });
+        }
+
+        protected void beforeExecute(final Thread thread, final Runnable task) {
+            statistics.taskStarted();
+            super.beforeExecute(thread, task);
+        }
+
+        protected void afterExecute(final Runnable task, final Throwable throwable) {
+            super.afterExecute(task, throwable);
+            statistics.taskCompleted();
         }
 
         protected void terminated() {
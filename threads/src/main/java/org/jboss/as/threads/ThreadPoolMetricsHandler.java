@@ -0,0 +1,147 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.threads.CommonAttributes.ACTIVE_COUNT;
+import static org.jboss.as.threads.CommonAttributes.COMPLETED_TASK_COUNT;
+import static org.jboss.as.threads.CommonAttributes.CURRENT_THREAD_COUNT;
+import static org.jboss.as.threads.CommonAttributes.LARGEST_THREAD_COUNT;
+import static org.jboss.as.threads.CommonAttributes.QUEUE_SIZE;
+import static org.jboss.as.threads.CommonAttributes.REJECTED_COUNT;
+
+import java.util.Locale;
+
+import org.jboss.as.controller.BasicOperationResult;
+import org.jboss.as.controller.ModelQueryOperationHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationResult;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.ResultHandler;
+import org.jboss.as.controller.RuntimeTask;
+import org.jboss.as.controller.RuntimeTaskContext;
+import org.jboss.as.controller.descriptions.DescriptionProvider;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceRegistry;
+
+/**
+ * Reads the runtime statistics of a thread pool.
+ */
+class ThreadPoolMetricsHandler implements ModelQueryOperationHandler {
+
+    static final ThreadPoolMetricsHandler INSTANCE = new ThreadPoolMetricsHandler();
+
+    static final String[] ATTRIBUTES = new String[] {CURRENT_THREAD_COUNT, LARGEST_THREAD_COUNT, ACTIVE_COUNT, QUEUE_SIZE,
+            COMPLETED_TASK_COUNT, REJECTED_COUNT};
+
+    /** Handler for the operation resetting the largest thread count of a pool. */
+    static final ResetLargestThreadCount RESET_LARGEST_THREAD_COUNT = new ResetLargestThreadCount();
+
+    private static final String FALLBACK_MESSAGE = "no metrics available";
+
+    /** {@inheritDoc} */
+    @Override
+    public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) throws OperationFailedException {
+        if (context.getRuntimeContext() != null) {
+            context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
+                public void execute(RuntimeTaskContext context) throws OperationFailedException {
+                    final String attributeName = operation.require(NAME).asString();
+                    final ThreadPoolStatistics statistics = getStatistics(context.getServiceRegistry(), operation);
+                    final ModelNode result = new ModelNode();
+                    if (statistics == null) {
+                        result.set(FALLBACK_MESSAGE);
+                    } else if (CURRENT_THREAD_COUNT.equals(attributeName)) {
+                        result.set(statistics.getCurrentThreadCount());
+                    } else if (LARGEST_THREAD_COUNT.equals(attributeName)) {
+                        result.set(statistics.getLargestThreadCount());
+                    } else if (ACTIVE_COUNT.equals(attributeName)) {
+                        result.set(statistics.getActiveCount());
+                    } else if (QUEUE_SIZE.equals(attributeName)) {
+                        result.set(statistics.getQueueSize());
+                    } else if (COMPLETED_TASK_COUNT.equals(attributeName)) {
+                        result.set(statistics.getCompletedTaskCount());
+                    } else if (REJECTED_COUNT.equals(attributeName)) {
+                        result.set(statistics.getRejectedCount());
+                    }
+                    resultHandler.handleResultFragment(ResultHandler.EMPTY_LOCATION, result);
+                    resultHandler.handleResultComplete();
+                }
+            });
+        } else {
+            resultHandler.handleResultFragment(ResultHandler.EMPTY_LOCATION, new ModelNode().set(FALLBACK_MESSAGE));
+            resultHandler.handleResultComplete();
+        }
+        return new BasicOperationResult();
+    }
+
+    static ThreadPoolStatistics getStatistics(final ServiceRegistry registry, final ModelNode operation) {
+        final PathAddress address = PathAddress.pathAddress(operation.require(OP_ADDR));
+        final String name = address.getLastElement().getValue();
+        final ServiceController<?> controller = registry.getService(ThreadsServices.executorName(name));
+        if (controller == null) {
+            return null;
+        }
+        final Service<?> service = controller.getService();
+        if (service instanceof BoundedQueueThreadPoolService) {
+            return ((BoundedQueueThreadPoolService) service).getStatistics();
+        } else if (service instanceof QueuelessThreadPoolService) {
+            return ((QueuelessThreadPoolService) service).getStatistics();
+        } else if (service instanceof UnboundedQueueThreadPoolService) {
+            return ((UnboundedQueueThreadPoolService) service).getStatistics();
+        } else if (service instanceof ScheduledThreadPoolService) {
+            return ((ScheduledThreadPoolService) service).getStatistics();
+        }
+        return null;
+    }
+
+    static final class ResetLargestThreadCount implements ModelQueryOperationHandler, DescriptionProvider {
+
+        /** {@inheritDoc} */
+        @Override
+        public OperationResult execute(final OperationContext context, final ModelNode operation, final ResultHandler resultHandler) {
+            if (context.getRuntimeContext() != null) {
+                context.getRuntimeContext().setRuntimeTask(new RuntimeTask() {
+                    public void execute(RuntimeTaskContext context) throws OperationFailedException {
+                        final ThreadPoolStatistics statistics = getStatistics(context.getServiceRegistry(), operation);
+                        if (statistics != null) {
+                            statistics.resetLargestThreadCount();
+                        }
+                        resultHandler.handleResultComplete();
+                    }
+                });
+            } else {
+                resultHandler.handleResultComplete();
+            }
+            return new BasicOperationResult();
+        }
+
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            return ThreadsSubsystemProviders.RESET_LARGEST_THREAD_COUNT_DESC.getModelDescription(locale);
+        }
+    }
+}
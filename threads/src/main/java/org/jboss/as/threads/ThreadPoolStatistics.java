@@ -0,0 +1,299 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.threads.BlockingExecutor;
+
+/**
+ * Runtime statistics of a thread pool. The pool's thread factory and executor are wrapped so that thread creation,
+ * task execution and rejections are counted without touching the pool implementation.
+ */
+public final class ThreadPoolStatistics {
+
+    private final StripedCounter submitted = new StripedCounter();
+    private final StripedCounter rejected = new StripedCounter();
+    private final StripedCounter started = new StripedCounter();
+    private final StripedCounter completed = new StripedCounter();
+    private final StripedCounter handedOff = new StripedCounter();
+    private final AtomicInteger currentThreads = new AtomicInteger();
+    private final AtomicInteger largestThreads = new AtomicInteger();
+    private final boolean queued;
+    private volatile Queue<?> queue;
+
+    ThreadPoolStatistics() {
+        this(true);
+    }
+
+    /**
+     * Creates statistics for a pool.
+     *
+     * @param queued {@code false} if the pool has no queue, and runs or hands off every task it accepts straight away
+     */
+    ThreadPoolStatistics(final boolean queued) {
+        this.queued = queued;
+    }
+
+    /**
+     * Returns the number of pool threads currently alive.
+     *
+     * @return the current thread count
+     */
+    public int getCurrentThreadCount() {
+        return currentThreads.get();
+    }
+
+    /**
+     * Returns the largest number of pool threads alive at the same time since the pool started, or since the last
+     * {@link #resetLargestThreadCount() reset}.
+     *
+     * @return the largest thread count
+     */
+    public int getLargestThreadCount() {
+        return largestThreads.get();
+    }
+
+    /**
+     * Returns the number of tasks being executed right now.
+     *
+     * @return the active task count
+     */
+    public int getActiveCount() {
+        return (int) Math.max(0, started.sum() - completed.sum());
+    }
+
+    /**
+     * Returns the number of accepted tasks which have not started yet.
+     *
+     * @return the queue size
+     */
+    public int getQueueSize() {
+        final Queue<?> queue = this.queue;
+        if (queue != null) {
+            return queue.size();
+        }
+        if (!queued) {
+            return 0;
+        }
+        return (int) Math.max(0, submitted.sum() - rejected.sum() - handedOff.sum() - started.sum());
+    }
+
+    /**
+     * Returns the number of tasks which finished executing, whether normally or not.
+     *
+     * @return the completed task count
+     */
+    public long getCompletedTaskCount() {
+        return completed.sum();
+    }
+
+    /**
+     * Returns the number of tasks the pool refused to accept.
+     *
+     * @return the rejected task count
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Restarts tracking of the largest thread count from the current thread count.
+     */
+    public void resetLargestThreadCount() {
+        largestThreads.set(currentThreads.get());
+    }
+
+    /**
+     * Makes {@link #getQueueSize()} report the size of the given queue rather than derive it from the task counts.
+     *
+     * @param queue the pool's work queue
+     */
+    void setQueue(final Queue<?> queue) {
+        this.queue = queue;
+    }
+
+    void taskStarted() {
+        started.increment();
+    }
+
+    void taskCompleted() {
+        completed.increment();
+    }
+
+    void taskRejected() {
+        rejected.increment();
+    }
+
+    ThreadFactory wrap(final ThreadFactory threadFactory) {
+        return new ThreadFactory() {
+            public Thread newThread(final Runnable runnable) {
+                return threadFactory.newThread(new Runnable() {
+                    public void run() {
+                        final int current = currentThreads.incrementAndGet();
+                        int largest;
+                        while (current > (largest = largestThreads.get()) && !largestThreads.compareAndSet(largest, current)) {
+                            // retry
+                        }
+                        try {
+                            runnable.run();
+                        } finally {
+                            currentThreads.decrementAndGet();
+                        }
+                    }
+                });
+            }
+        };
+    }
+
+    BlockingExecutor wrap(final BlockingExecutor executor) {
+        return new BlockingExecutor() {
+            public void execute(final Runnable task) {
+                ThreadPoolStatistics.this.execute(executor, task);
+            }
+
+            public void executeBlocking(final Runnable task) throws InterruptedException {
+                submitted.increment();
+                try {
+                    executor.executeBlocking(new CountingTask(task));
+                } catch (RejectedExecutionException e) {
+                    rejected.increment();
+                    throw e;
+                } catch (InterruptedException e) {
+                    // the caller gave up waiting, the pool did not refuse the task
+                    submitted.decrement();
+                    throw e;
+                }
+            }
+
+            public void executeBlocking(final Runnable task, final long timeout, final TimeUnit unit) throws InterruptedException {
+                submitted.increment();
+                try {
+                    executor.executeBlocking(new CountingTask(task), timeout, unit);
+                } catch (RejectedExecutionException e) {
+                    rejected.increment();
+                    throw e;
+                } catch (InterruptedException e) {
+                    // the caller gave up waiting, the pool did not refuse the task
+                    submitted.decrement();
+                    throw e;
+                }
+            }
+
+            public void executeNonBlocking(final Runnable task) {
+                submitted.increment();
+                try {
+                    executor.executeNonBlocking(new CountingTask(task));
+                } catch (RejectedExecutionException e) {
+                    rejected.increment();
+                    throw e;
+                }
+            }
+        };
+    }
+
+    /**
+     * Wraps the executor a pool hands tasks off to when it cannot accept them. Handed off tasks leave this pool, so they
+     * are no longer counted as waiting here, and are neither started nor completed by it.
+     *
+     * @param handoffExecutor the handoff executor, or {@code null} if the pool has none
+     * @return the wrapped executor, or {@code null} if the pool has none
+     */
+    Executor wrapHandoff(final Executor handoffExecutor) {
+        if (handoffExecutor == null) {
+            return null;
+        }
+        return new Executor() {
+            public void execute(final Runnable command) {
+                handoffExecutor.execute(command instanceof CountingTask ? ((CountingTask) command).task : command);
+                handedOff.increment();
+            }
+        };
+    }
+
+    ExecutorService wrap(final ExecutorService executorService) {
+        return new AbstractExecutorService() {
+            public void execute(final Runnable command) {
+                ThreadPoolStatistics.this.execute(executorService, command);
+            }
+
+            public void shutdown() {
+                executorService.shutdown();
+            }
+
+            public List<Runnable> shutdownNow() {
+                return executorService.shutdownNow();
+            }
+
+            public boolean isShutdown() {
+                return executorService.isShutdown();
+            }
+
+            public boolean isTerminated() {
+                return executorService.isTerminated();
+            }
+
+            public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+                return executorService.awaitTermination(timeout, unit);
+            }
+        };
+    }
+
+    private void execute(final Executor executor, final Runnable command) {
+        submitted.increment();
+        try {
+            executor.execute(new CountingTask(command));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    private final class CountingTask implements Runnable {
+        private final Runnable task;
+
+        CountingTask(final Runnable task) {
+            if (task == null) {
+                throw new NullPointerException("task is null");
+            }
+            this.task = task;
+        }
+
+        public void run() {
+            started.increment();
+            try {
+                task.run();
+            } finally {
+                completed.increment();
+            }
+        }
+    }
+}
@@ -36,20 +36,27 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQ
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TAIL_COMMENT_ALLOWED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE_TYPE;
+import static org.jboss.as.threads.CommonAttributes.ACTIVE_COUNT;
 import static org.jboss.as.threads.CommonAttributes.ALLOW_CORE_TIMEOUT;
 import static org.jboss.as.threads.CommonAttributes.BLOCKING;
 import static org.jboss.as.threads.CommonAttributes.BOUNDED_QUEUE_THREAD_POOL;
+import static org.jboss.as.threads.CommonAttributes.COMPLETED_TASK_COUNT;
 import static org.jboss.as.threads.CommonAttributes.CORE_THREADS;
 import static org.jboss.as.threads.CommonAttributes.COUNT;
+import static org.jboss.as.threads.CommonAttributes.CURRENT_THREAD_COUNT;
 import static org.jboss.as.threads.CommonAttributes.GROUP_NAME;
 import static org.jboss.as.threads.CommonAttributes.HANDOFF_EXECUTOR;
 import static org.jboss.as.threads.CommonAttributes.KEEPALIVE_TIME;
+import static org.jboss.as.threads.CommonAttributes.LARGEST_THREAD_COUNT;
 import static org.jboss.as.threads.CommonAttributes.MAX_THREADS;
 import static org.jboss.as.threads.CommonAttributes.PER_CPU;
 import static org.jboss.as.threads.CommonAttributes.PRIORITY;
 import static org.jboss.as.threads.CommonAttributes.PROPERTIES;
 import static org.jboss.as.threads.CommonAttributes.QUEUELESS_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.QUEUE_LENGTH;
+import static org.jboss.as.threads.CommonAttributes.QUEUE_SIZE;
+import static org.jboss.as.threads.CommonAttributes.REJECTED_COUNT;
+import static org.jboss.as.threads.CommonAttributes.RESET_LARGEST_THREAD_COUNT;
 import static org.jboss.as.threads.CommonAttributes.SCHEDULED_THREAD_POOL;
 import static org.jboss.as.threads.CommonAttributes.THREAD_FACTORY;
 import static org.jboss.as.threads.CommonAttributes.THREAD_NAME_PATTERN;
@@ -259,6 +266,19 @@ class ThreadsSubsystemProviders {
         node.get(ATTRIBUTES, KEEPALIVE_TIME, VALUE_TYPE, UNIT, DESCRIPTION).set(bundle.getString("threadpool.common.keepalive.unit"));
         node.get(ATTRIBUTES, KEEPALIVE_TIME, VALUE_TYPE, UNIT, TYPE).set(ModelType.STRING);
         node.get(ATTRIBUTES, KEEPALIVE_TIME, VALUE_TYPE, UNIT, REQUIRED).set(true);
+
+        node.get(ATTRIBUTES, CURRENT_THREAD_COUNT, DESCRIPTION).set(bundle.getString("threadpool.common.currentthreadcount"));
+        node.get(ATTRIBUTES, CURRENT_THREAD_COUNT, TYPE).set(ModelType.INT);
+        node.get(ATTRIBUTES, LARGEST_THREAD_COUNT, DESCRIPTION).set(bundle.getString("threadpool.common.largestthreadcount"));
+        node.get(ATTRIBUTES, LARGEST_THREAD_COUNT, TYPE).set(ModelType.INT);
+        node.get(ATTRIBUTES, ACTIVE_COUNT, DESCRIPTION).set(bundle.getString("threadpool.common.activecount"));
+        node.get(ATTRIBUTES, ACTIVE_COUNT, TYPE).set(ModelType.INT);
+        node.get(ATTRIBUTES, QUEUE_SIZE, DESCRIPTION).set(bundle.getString("threadpool.common.queuesize"));
+        node.get(ATTRIBUTES, QUEUE_SIZE, TYPE).set(ModelType.INT);
+        node.get(ATTRIBUTES, COMPLETED_TASK_COUNT, DESCRIPTION).set(bundle.getString("threadpool.common.completedtaskcount"));
+        node.get(ATTRIBUTES, COMPLETED_TASK_COUNT, TYPE).set(ModelType.LONG);
+        node.get(ATTRIBUTES, REJECTED_COUNT, DESCRIPTION).set(bundle.getString("threadpool.common.rejectedcount"));
+        node.get(ATTRIBUTES, REJECTED_COUNT, TYPE).set(ModelType.LONG);
         return node;
     }
 
@@ -472,6 +492,20 @@ class ThreadsSubsystemProviders {
         }
     };
 
+    static DescriptionProvider RESET_LARGEST_THREAD_COUNT_DESC = new DescriptionProvider() {
+
+        @Override
+        public ModelNode getModelDescription(final Locale locale) {
+            final ResourceBundle bundle = getResourceBundle(locale);
+            final ModelNode operation = new ModelNode();
+            operation.get(OPERATION_NAME).set(RESET_LARGEST_THREAD_COUNT);
+            operation.get(DESCRIPTION).set(bundle.getString("threadpool.common.resetlargestthreadcount"));
+            operation.get(REQUEST_PROPERTIES).setEmptyObject();
+            operation.get(REPLY_PROPERTIES).setEmptyObject();
+            return operation;
+        }
+    };
+
     private static ModelNode getCommonRemoveThreadPool(final ResourceBundle bundle, String operationName, String description) {
         ModelNode operation = new ModelNode();
         operation.get(OPERATION_NAME).set(operationName);
@@ -46,6 +46,7 @@ public class UnboundedQueueThreadPoolService implements Service<ExecutorService>
 
     private JBossThreadPoolExecutor executor;
     private ExecutorService value;
+    private ThreadPoolStatistics statistics;
 
     private int maxThreads;
     private TimeSpec keepAlive;
@@ -56,8 +57,12 @@ public class UnboundedQueueThreadPoolService implements Service<ExecutorService>
     }
 
     public synchronized void start(final StartContext context) throws StartException {
-        executor = new JBossThreadPoolExecutor(maxThreads, maxThreads, keepAlive.getDuration(), keepAlive.getUnit(), new LinkedBlockingQueue<Runnable>(), threadFactoryValue.getValue());
-        value = JBossExecutors.protectedExecutorService(executor);
+        final LinkedBlockingQueue<Runnable> queue = new LinkedBlockingQueue<Runnable>();
+        final ThreadPoolStatistics statistics = new ThreadPoolStatistics();
+        statistics.setQueue(queue);
+        executor = new JBossThreadPoolExecutor(maxThreads, maxThreads, keepAlive.getDuration(), keepAlive.getUnit(), queue, statistics.wrap(threadFactoryValue.getValue()));
+        value = statistics.wrap(JBossExecutors.protectedExecutorService(executor));
+        this.statistics = statistics;
     }
 
     public synchronized void stop(final StopContext context) {
@@ -74,6 +79,7 @@ public class UnboundedQueueThreadPoolService implements Service<ExecutorService>
         }, context);
         this.executor = null;
         value = null;
+        statistics = null;
     }
 
     public synchronized ExecutorService getValue() throws IllegalStateException {
@@ -84,6 +90,15 @@ public class UnboundedQueueThreadPoolService implements Service<ExecutorService>
         return value;
     }
 
+    /**
+     * Returns the runtime statistics of the running pool.
+     *
+     * @return the statistics, or {@code null} if the pool is not running
+     */
+    public synchronized ThreadPoolStatistics getStatistics() {
+        return statistics;
+    }
+
     public Injector<ThreadFactory> getThreadFactoryInjector() {
         return threadFactoryValue;
     }
@@ -0,0 +1,189 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests of the thread pool statistics gathered by {@link ThreadPoolStatistics}.
+ */
+public class ThreadPoolStatisticsTestCase {
+
+    @Test
+    public void testTaskAndThreadCounts() throws Exception {
+        final ThreadPoolStatistics statistics = new ThreadPoolStatistics();
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(2, 2, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                statistics.wrap(Executors.defaultThreadFactory()));
+        final ExecutorService executor = statistics.wrap(pool);
+
+        final CountDownLatch running = new CountDownLatch(2);
+        final CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 3; i++) {
+            executor.execute(new Runnable() {
+                public void run() {
+                    running.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+        }
+        assertTrue(running.await(10, TimeUnit.SECONDS));
+        assertEquals(2, statistics.getCurrentThreadCount());
+        assertEquals(2, statistics.getActiveCount());
+        assertEquals(1, statistics.getQueueSize());
+        assertEquals(0, statistics.getCompletedTaskCount());
+
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(3, statistics.getCompletedTaskCount());
+        assertEquals(0, statistics.getActiveCount());
+        assertEquals(0, statistics.getQueueSize());
+        assertEquals(2, statistics.getLargestThreadCount());
+    }
+
+    @Test
+    public void testRejectedAndReset() throws Exception {
+        final ThreadPoolStatistics statistics = new ThreadPoolStatistics();
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 1, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(),
+                statistics.wrap(Executors.defaultThreadFactory()));
+        final ExecutorService executor = statistics.wrap(pool);
+
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.execute(new Runnable() {
+            public void run() {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        try {
+            executor.execute(new Runnable() {
+                public void run() {
+                }
+            });
+            fail("task should have been rejected");
+        } catch (RejectedExecutionException expected) {
+        }
+        assertEquals(1, statistics.getRejectedCount());
+        assertEquals(0, statistics.getQueueSize());
+
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        // the worker thread may still be unwinding after termination
+        for (int i = 0; i < 100 && statistics.getCurrentThreadCount() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, statistics.getCurrentThreadCount());
+        assertEquals(1, statistics.getLargestThreadCount());
+        statistics.resetLargestThreadCount();
+        assertEquals(0, statistics.getLargestThreadCount());
+    }
+
+    @Test
+    public void testHandedOffTasksAreNotQueued() throws Exception {
+        checkHandoff(new ThreadPoolStatistics());
+    }
+
+    @Test
+    public void testQueuelessPoolReportsNoQueue() throws Exception {
+        checkHandoff(new ThreadPoolStatistics(false));
+    }
+
+    private void checkHandoff(final ThreadPoolStatistics statistics) throws Exception {
+        // The handoff executor keeps the tasks without running them
+        final List<Runnable> handedOff = new CopyOnWriteArrayList<Runnable>();
+        final Executor handoff = statistics.wrapHandoff(new Executor() {
+            public void execute(final Runnable command) {
+                handedOff.add(command);
+            }
+        });
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 1, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(),
+                statistics.wrap(Executors.defaultThreadFactory()), new RejectedExecutionHandler() {
+                    public void rejectedExecution(final Runnable r, final ThreadPoolExecutor executor) {
+                        handoff.execute(r);
+                    }
+                });
+        final ExecutorService executor = statistics.wrap(pool);
+
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.execute(new Runnable() {
+            public void run() {
+                running.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        assertTrue(running.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; i++) {
+            executor.execute(new Runnable() {
+                public void run() {
+                }
+            });
+        }
+        assertEquals(3, handedOff.size());
+        assertEquals(0, statistics.getQueueSize());
+        assertEquals(0, statistics.getRejectedCount());
+        assertEquals(1, statistics.getActiveCount());
+
+        // Running a handed off task elsewhere is not counted as work of this pool
+        for (Runnable task : handedOff) {
+            task.run();
+        }
+        assertEquals(1, statistics.getActiveCount());
+        assertEquals(0, statistics.getCompletedTaskCount());
+
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(1, statistics.getCompletedTaskCount());
+        assertEquals(0, statistics.getQueueSize());
+    }
+}
@@ -557,7 +557,7 @@ public class JBossContextConfig extends ContextConfig {
     protected void init() {
         context.setConfigured(false);
         ok = true;
-        // FIXME: Add clustered manager support
+        // The session manager of distributable applications is set up by WarDeploymentProcessor
     }
 
     protected void destroy() {
@@ -26,6 +26,8 @@ import org.apache.catalina.Loader;
 import org.apache.catalina.Realm;
 import org.apache.catalina.core.StandardContext;
 import org.apache.catalina.startup.ContextConfig;
+import org.infinispan.manager.CacheContainer;
+import org.jboss.as.clustering.infinispan.subsystem.EmbeddedCacheManagerService;
 import org.jboss.as.ee.component.EEModuleDescription;
 import org.jboss.as.naming.context.NamespaceContextSelector;
 import org.jboss.as.security.plugins.SecurityDomainContext;
@@ -35,17 +37,22 @@ import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
-import org.jboss.as.web.NamingValve;
 import org.jboss.as.web.VirtualHost;
 import org.jboss.as.web.WebSubsystemServices;
 import org.jboss.as.web.deployment.component.ComponentInstantiator;
+import org.jboss.as.web.security.InvocationContextValve;
 import org.jboss.as.web.security.JBossWebRealmService;
+import org.jboss.as.web.session.DistributableSessionManager;
+import org.jboss.as.web.session.DistributableSessionValve;
+import org.jboss.logging.Logger;
 import org.jboss.metadata.web.jboss.JBossWebMetaData;
 import org.jboss.metadata.web.jboss.ValveMetaData;
 import org.jboss.modules.Module;
 import org.jboss.msc.service.ServiceBuilder;
 import org.jboss.msc.service.ServiceBuilder.DependencyType;
 import org.jboss.msc.service.ServiceController.Mode;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceRegistry;
 import org.jboss.msc.service.ServiceRegistryException;
 import org.jboss.msc.service.ServiceTarget;
 import org.jboss.msc.value.ImmediateValue;
@@ -68,6 +75,8 @@ import java.util.Set;
  */
 public class WarDeploymentProcessor implements DeploymentUnitProcessor {
 
+    private static final Logger log = Logger.getLogger("org.jboss.web");
+
     private final String defaultHost;
 
     public WarDeploymentProcessor(String defaultHost) {
@@ -96,7 +105,7 @@ public class WarDeploymentProcessor implements DeploymentUnitProcessor {
         if (hostName == null) {
             throw new IllegalStateException("null host name");
         }
-        processDeployment(hostName, metaData, deploymentUnit, phaseContext.getServiceTarget());
+        processDeployment(hostName, metaData, deploymentUnit, phaseContext.getServiceTarget(), phaseContext.getServiceRegistry());
     }
 
     @Override
@@ -104,7 +113,7 @@ public class WarDeploymentProcessor implements DeploymentUnitProcessor {
     }
 
     protected void processDeployment(final String hostName, final WarMetaData warMetaData, final DeploymentUnit deploymentUnit,
-            final ServiceTarget serviceTarget) throws DeploymentUnitProcessingException {
+            final ServiceTarget serviceTarget, final ServiceRegistry serviceRegistry) throws DeploymentUnitProcessingException {
         final VirtualFile deploymentRoot = deploymentUnit.getAttachment(Attachments.DEPLOYMENT_ROOT).getRoot();
         final Module module = deploymentUnit.getAttachment(Attachments.MODULE);
         if (module == null) {
@@ -124,10 +133,10 @@ public class WarDeploymentProcessor implements DeploymentUnitProcessor {
         }
         final ValveMetaData valve= new ValveMetaData();
         valve.setModule("org.jboss.as.web");
-        valve.setValveClass(NamingValve.class.getName());
-        valve.setId(NamingValve.class.getName());
+        valve.setValveClass(InvocationContextValve.class.getName());
+        valve.setId(InvocationContextValve.class.getName());
         valves.add(valve);
-        //webContext.addInstanceListener(NamingValve.class.getName());
+        //webContext.addInstanceListener(InvocationContextValve.class.getName());
 
         // Set the deployment root
         try {
@@ -154,6 +163,26 @@ public class WarDeploymentProcessor implements DeploymentUnitProcessor {
         webContext.setIgnoreAnnotations(true);
         webContext.setCrossContext(!metaData.isDisableCrossContext());
 
+        // Keep the sessions of distributable applications in the cluster, if there is a cache container for them
+        DistributableSessionManager sessionManager = null;
+        ServiceName cacheContainerName = null;
+        if (metaData.getDistributable() != null) {
+            sessionManager = new DistributableSessionManager(metaData, hostName + (pathName.length() == 0 ? "/" : pathName));
+            cacheContainerName = EmbeddedCacheManagerService.getServiceName(sessionManager.getCacheContainerName());
+            if (serviceRegistry.getService(cacheContainerName) != null) {
+                webContext.setManager(sessionManager);
+                final ValveMetaData sessionValve = new ValveMetaData();
+                sessionValve.setModule("org.jboss.as.web");
+                sessionValve.setValveClass(DistributableSessionValve.class.getName());
+                sessionValve.setId(DistributableSessionValve.class.getName());
+                valves.add(sessionValve);
+            } else {
+                log.warnf("No %s cache container is configured, sessions of distributable deployment %s will not be replicated",
+                        sessionManager.getCacheContainerName(), deploymentName);
+                sessionManager = null;
+            }
+        }
+
         final WebInjectionContainer injectionContainer = new WebInjectionContainer(module.getClassLoader());
 
         final Map<String, ComponentInstantiator> components = deploymentUnit
@@ -215,6 +244,9 @@ public class WarDeploymentProcessor implements DeploymentUnitProcessor {
             builder.addDependency(WebSubsystemServices.JBOSS_WEB_REALM.append(deploymentName), Realm.class,
                     webDeploymentService.getRealm());
 
+            if (sessionManager != null) {
+                builder.addDependency(cacheContainerName, CacheContainer.class, sessionManager.getCacheContainerInjector());
+            }
             builder.addDependencies(deploymentUnit.getAttachmentList(Attachments.WEB_DEPENDENCIES));
 
             builder.install();
@@ -26,8 +26,8 @@ import org.apache.catalina.LifecycleException;
 import org.apache.catalina.Realm;
 import org.apache.catalina.core.StandardContext;
 import org.jboss.as.naming.context.NamespaceContextSelector;
-import org.jboss.as.web.NamingValve;
 import org.jboss.as.web.deployment.jsf.JsfInjectionProvider;
+import org.jboss.as.web.security.InvocationContextValve;
 import org.jboss.logging.Logger;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.StartContext;
@@ -59,7 +59,7 @@ class WebDeploymentService implements Service<Context> {
 
         JsfInjectionProvider.getInjectionContainer().set(injectionContainer);
         try {
-            NamingValve.beginComponentStart(namespaceSelector.getOptionalValue());
+            InvocationContextValve.beginComponentStart(namespaceSelector.getOptionalValue(), context.getLoader().getClassLoader());
             try {
                 try {
                     context.create();
@@ -73,7 +73,7 @@ class WebDeploymentService implements Service<Context> {
                 }
                 log.info("registering web context: " + context.getName());
             } finally {
-                NamingValve.endComponentStart();
+                InvocationContextValve.endComponentStart();
             }
         } finally {
             JsfInjectionProvider.getInjectionContainer().set(null);
@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2008, Red Hat Middleware LLC, and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web.security;
+
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.valves.ValveBase;
+import org.jboss.as.naming.context.NamespaceContextSelector;
+import org.jboss.security.SecurityContext;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+
+/**
+ * A valve which establishes the invocation context of a web request: the application naming context, the thread
+ * context class loader and the security context association.  Everything that was changed is put back once the request
+ * completes, but a thread local is only written when its value actually differs, which for the class loader and
+ * security context is the rare case.
+ *
+ * @author Stuart Douglas
+ */
+public class InvocationContextValve extends ValveBase {
+
+    private final NamespaceContextSelector selector;
+    private final ClassLoader classLoader;
+
+    /**
+     * Thread local used to initialise the valve after startup.
+     *
+     * TODO: figure out a better way to do this
+     */
+    private static final ThreadLocal<InvocationContextValve> localContext = new ThreadLocal<InvocationContextValve>();
+
+    public InvocationContextValve() {
+        final InvocationContextValve context = localContext.get();
+        assert context != null : "context is null";
+        selector = context.selector;
+        classLoader = context.classLoader;
+    }
+
+    private InvocationContextValve(final NamespaceContextSelector selector, final ClassLoader classLoader) {
+        this.selector = selector;
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    public void invoke(final Request request, final Response response) throws IOException, ServletException {
+        final ClassLoader previousClassLoader = SecurityActions.getContextClassLoader();
+        final SecurityContext previousSecurityContext = SecurityActions.getSecurityContext();
+        if (previousClassLoader != classLoader) {
+            SecurityActions.setContextClassLoader(classLoader);
+        }
+        NamespaceContextSelector.pushCurrentSelector(selector);
+        try {
+            getNext().invoke(request, response);
+        } finally {
+            NamespaceContextSelector.popCurrentSelector();
+            if (previousClassLoader != classLoader) {
+                SecurityActions.setContextClassLoader(previousClassLoader);
+            }
+            // Authentication associates a security context with the thread; don't leak it into the next request
+            if (SecurityActions.getSecurityContext() != previousSecurityContext) {
+                SecurityActions.setSecurityContextOnAssociation(previousSecurityContext);
+            }
+        }
+    }
+
+    public static void beginComponentStart(final NamespaceContextSelector selector, final ClassLoader classLoader) {
+        localContext.set(new InvocationContextValve(selector, classLoader));
+        NamespaceContextSelector.pushCurrentSelector(selector);
+    }
+
+    public static void endComponentStart() {
+        NamespaceContextSelector.popCurrentSelector();
+        localContext.set(null);
+    }
+
+}
@@ -30,7 +30,8 @@ import org.jboss.security.SecurityContextAssociation;
 import org.jboss.security.SecurityContextFactory;
 
 /**
- * Privileged Actions
+ * Privileged Actions.  These skip {@code doPrivileged} when no security manager is installed, as some of them are
+ * used on every request.
  *
  * @author Anil.Saldhana@redhat.com
  * @since Jan 12, 2011
@@ -42,6 +43,9 @@ class SecurityActions {
      * @return
      */
     static ClassLoader getContextClassLoader() {
+        if (System.getSecurityManager() == null) {
+            return Thread.currentThread().getContextClassLoader();
+        }
         return AccessController.doPrivileged(new PrivilegedAction<ClassLoader>() {
 
             @Override
@@ -57,6 +61,10 @@ class SecurityActions {
      * @param cl An instance of {@code ClassLoader}
      */
     static void setContextClassLoader(final ClassLoader cl) {
+        if (System.getSecurityManager() == null) {
+            Thread.currentThread().setContextClassLoader(cl);
+            return;
+        }
         AccessController.doPrivileged(new PrivilegedAction<Void>() {
 
             @Override
@@ -103,12 +111,34 @@ class SecurityActions {
         });
     }
 
+    /**
+     * Get the {@code SecurityContext} from the {@code SecurityContextAssociation}
+     *
+     * @return the security context, or {@code null} if there is none
+     */
+    static SecurityContext getSecurityContext() {
+        if (System.getSecurityManager() == null) {
+            return SecurityContextAssociation.getSecurityContext();
+        }
+        return AccessController.doPrivileged(new PrivilegedAction<SecurityContext>() {
+
+            @Override
+            public SecurityContext run() {
+                return SecurityContextAssociation.getSecurityContext();
+            }
+        });
+    }
+
     /**
      * Set the {@code SecurityContext} on the {@code SecurityContextAssociation}
      *
      * @param sc the security context
      */
     static void setSecurityContextOnAssociation(final SecurityContext sc) {
+        if (System.getSecurityManager() == null) {
+            SecurityContextAssociation.setSecurityContext(sc);
+            return;
+        }
         AccessController.doPrivileged(new PrivilegedAction<Void>() {
 
             @Override
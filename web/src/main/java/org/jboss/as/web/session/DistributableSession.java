@@ -0,0 +1,219 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web.session;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.catalina.session.StandardSession;
+import org.jboss.metadata.web.jboss.ReplicationTrigger;
+
+/**
+ * A session whose state is kept in a clustered cache by a {@link DistributableSessionManager}.  The session records
+ * which parts of its state changed during a request, so that the manager only replicates what is actually dirty.
+ */
+public class DistributableSession extends StandardSession {
+
+    private static final long serialVersionUID = -3316464823475939233L;
+
+    private final ReplicationTrigger trigger;
+
+    // Guarded by this
+    private final Set<String> modifiedAttributes = new HashSet<String>();
+    private final Set<String> removedAttributes = new HashSet<String>();
+
+    private volatile boolean metaDataDirty = true;
+    private volatile long lastReplicated;
+    private volatile int version;
+
+    DistributableSession(final DistributableSessionManager manager) {
+        super(manager);
+        this.trigger = manager.getReplicationTrigger();
+    }
+
+    @Override
+    public Object getAttribute(final String name) {
+        final Object value = super.getAttribute(name);
+        // The caller may mutate what it got back, so depending on the trigger a read counts as a write
+        if (value != null) {
+            if (trigger == ReplicationTrigger.SET_AND_GET
+                    || (trigger == ReplicationTrigger.SET_AND_NON_PRIMITIVE_GET && !SessionAttributeMarshaller.isImmutable(value))) {
+                attributeModified(name);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public void setAttribute(final String name, final Object value, final boolean notify) {
+        super.setAttribute(name, value, notify);
+        // A null value has already been turned into a removal
+        if (value != null) {
+            attributeModified(name);
+        }
+    }
+
+    @Override
+    public void removeAttribute(final String name, final boolean notify) {
+        super.removeAttribute(name, notify);
+        synchronized (this) {
+            modifiedAttributes.remove(name);
+            removedAttributes.add(name);
+        }
+    }
+
+    @Override
+    public void setMaxInactiveInterval(final int interval) {
+        super.setMaxInactiveInterval(interval);
+        metaDataDirty = true;
+    }
+
+    private synchronized void attributeModified(final String name) {
+        removedAttributes.remove(name);
+        modifiedAttributes.add(name);
+    }
+
+    /**
+     * Take the names of the attributes set since the last call.
+     *
+     * @return the modified attribute names
+     */
+    synchronized Set<String> takeModifiedAttributes() {
+        if (modifiedAttributes.isEmpty()) {
+            return Collections.emptySet();
+        }
+        final Set<String> names = new HashSet<String>(modifiedAttributes);
+        modifiedAttributes.clear();
+        return names;
+    }
+
+    /**
+     * Take the names of the attributes removed since the last call.
+     *
+     * @return the removed attribute names
+     */
+    synchronized Set<String> takeRemovedAttributes() {
+        if (removedAttributes.isEmpty()) {
+            return Collections.emptySet();
+        }
+        final Set<String> names = new HashSet<String>(removedAttributes);
+        removedAttributes.clear();
+        return names;
+    }
+
+    /**
+     * Get the current attributes, without triggering replication.
+     *
+     * @return the attributes
+     */
+    @SuppressWarnings("unchecked")
+    Map<String, Object> getAttributesInternal() {
+        return (Map<String, Object>) attributes;
+    }
+
+    Object getAttributeInternal(final String name) {
+        return attributes.get(name);
+    }
+
+    boolean isActive() {
+        return isValidInternal();
+    }
+
+    boolean isMetaDataDirty() {
+        return metaDataDirty;
+    }
+
+    void clearMetaDataDirty() {
+        metaDataDirty = false;
+    }
+
+    long getAccessedTime() {
+        return thisAccessedTime;
+    }
+
+    /**
+     * Whether the session has been inactive on this node for longer than its maximum inactive interval.
+     *
+     * @return {@code true} if the session timed out locally
+     */
+    boolean isTimedOut() {
+        return maxInactiveInterval > 0 && System.currentTimeMillis() - thisAccessedTime >= maxInactiveInterval * 1000L;
+    }
+
+    long getLastReplicated() {
+        return lastReplicated;
+    }
+
+    void setLastReplicated(final long lastReplicated) {
+        this.lastReplicated = lastReplicated;
+    }
+
+    int getVersion() {
+        return version;
+    }
+
+    void setVersion(final int version) {
+        this.version = version;
+    }
+
+    /**
+     * Replace the state of this session with the state replicated from another node.  No listeners are notified
+     * and nothing is marked dirty.
+     *
+     * @param version the replicated version
+     * @param creationTime the creation time
+     * @param lastAccessedTime the last accessed time
+     * @param maxInactiveInterval the maximum inactive interval, in seconds
+     * @param attributes the attributes
+     */
+    synchronized void restore(final int version, final long creationTime, final long lastAccessedTime,
+            final int maxInactiveInterval, final Map<String, Object> attributes) {
+        this.creationTime = creationTime;
+        this.lastAccessedTime = lastAccessedTime;
+        this.thisAccessedTime = lastAccessedTime;
+        this.maxInactiveInterval = maxInactiveInterval;
+        final Map<String, Object> current = getAttributesInternal();
+        current.keySet().retainAll(attributes.keySet());
+        current.putAll(attributes);
+        modifiedAttributes.clear();
+        removedAttributes.clear();
+        this.metaDataDirty = false;
+        this.lastReplicated = System.currentTimeMillis();
+        this.version = version;
+    }
+
+    /**
+     * Make a restored session available under the given id, without announcing it as a new session.
+     *
+     * @param id the session id
+     */
+    void attach(final String id) {
+        this.id = id;
+        this.isNew = false;
+        this.isValid = true;
+        manager.add(this);
+        activate();
+    }
+}
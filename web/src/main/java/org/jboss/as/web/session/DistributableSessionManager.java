@@ -0,0 +1,475 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web.session;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.Session;
+import org.apache.catalina.session.StandardManager;
+import org.apache.catalina.session.StandardSession;
+import org.infinispan.Cache;
+import org.infinispan.atomic.AtomicMap;
+import org.infinispan.atomic.AtomicMapLookup;
+import org.infinispan.config.Configuration;
+import org.infinispan.manager.CacheContainer;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryRemoved;
+import org.infinispan.notifications.cachelistener.event.CacheEntryModifiedEvent;
+import org.infinispan.notifications.cachelistener.event.CacheEntryRemovedEvent;
+import org.jboss.logging.Logger;
+import org.jboss.metadata.web.jboss.JBossWebMetaData;
+import org.jboss.metadata.web.jboss.ReplicationConfig;
+import org.jboss.metadata.web.jboss.ReplicationGranularity;
+import org.jboss.metadata.web.jboss.ReplicationTrigger;
+import org.jboss.msc.inject.Injector;
+import org.jboss.msc.value.InjectedValue;
+
+/**
+ * A session manager for {@code <distributable/>} web applications which keeps sessions in an Infinispan cache.
+ * <p>
+ * Each deployment gets its own cache, defined from the cache named in the {@code <replication-config>} of
+ * jboss-web.xml, or from the default cache of the {@value #DEFAULT_CACHE_CONTAINER} cache container.  A cache name of
+ * the form {@code container.cache} selects a specific cache of a container.  The cache must have batching enabled;
+ * whether replication is synchronous or asynchronous is a property of the cache.
+ * <p>
+ * Sessions are not written when they change but once at the end of each request, by the
+ * {@link DistributableSessionValve}, in a single batch.  Only the dirty state is written: with {@code SESSION}
+ * granularity the attributes are replicated as a whole when any of them changed, with {@code ATTRIBUTE} granularity
+ * only the changed attributes are.  A request that changed nothing replicates nothing, except that the access time is
+ * replicated once the max unreplicated interval has passed, so that other nodes do not expire the session.
+ * <p>
+ * Sessions whose owner left the cluster are expired by the remaining nodes.  Each node keeps the expiration time of
+ * every session replicated to it, taken from the cache events it receives anyway, so looking for expired sessions
+ * never reads the cache.
+ */
+public class DistributableSessionManager extends StandardManager {
+
+    public static final String DEFAULT_CACHE_CONTAINER = "web";
+
+    private static final Logger log = Logger.getLogger("org.jboss.web");
+
+    private static final String NAME = "DistributableSessionManager";
+
+    /** The default max unreplicated interval, in seconds. */
+    private static final int DEFAULT_MAX_UNREPLICATED_INTERVAL = 60;
+
+    // Keys of the session state entries; attributes stored individually are keyed by their name
+    private static final Byte VERSION = Byte.valueOf((byte) 0);
+    private static final Byte CREATION_TIME = Byte.valueOf((byte) 1);
+    private static final Byte LAST_ACCESSED_TIME = Byte.valueOf((byte) 2);
+    private static final Byte MAX_INACTIVE_INTERVAL = Byte.valueOf((byte) 3);
+    private static final Byte ATTRIBUTES = Byte.valueOf((byte) 4);
+
+    private final InjectedValue<CacheContainer> cacheContainer = new InjectedValue<CacheContainer>();
+    private final String cacheContainerName;
+    private final String templateCacheName;
+    private final String cacheName;
+    private final ReplicationGranularity granularity;
+    private final ReplicationTrigger trigger;
+    private final int maxUnreplicatedInterval;
+
+    /** When each session held by the local cache expires unless it is accessed again, in milliseconds */
+    private final ConcurrentMap<String, Long> expirationTimes = new ConcurrentHashMap<String, Long>();
+    private final ExpirationTracker expirationTracker = new ExpirationTracker();
+
+    private volatile Cache<String, Object> cache;
+    private volatile SessionAttributeMarshaller marshaller;
+    private volatile boolean stopping;
+
+    /**
+     * Create a new manager.
+     *
+     * @param metaData the web application meta data
+     * @param cacheName the name of the cache holding the sessions of this web application
+     */
+    public DistributableSessionManager(final JBossWebMetaData metaData, final String cacheName) {
+        final ReplicationConfig config = metaData.getReplicationConfig();
+        final String configuredCacheName = (config != null) ? config.getCacheName() : null;
+        if (configuredCacheName == null) {
+            cacheContainerName = DEFAULT_CACHE_CONTAINER;
+            templateCacheName = null;
+        } else {
+            final int index = configuredCacheName.lastIndexOf('.');
+            cacheContainerName = (index < 0) ? configuredCacheName : configuredCacheName.substring(0, index);
+            templateCacheName = (index < 0) ? null : configuredCacheName.substring(index + 1);
+        }
+        this.cacheName = cacheName;
+
+        ReplicationGranularity granularity = (config != null) ? config.getReplicationGranularity() : null;
+        if (granularity == ReplicationGranularity.FIELD) {
+            log.warnf("FIELD replication granularity is not supported, using ATTRIBUTE granularity for %s", cacheName);
+            granularity = ReplicationGranularity.ATTRIBUTE;
+        }
+        this.granularity = (granularity != null) ? granularity : ReplicationGranularity.SESSION;
+        final ReplicationTrigger trigger = (config != null) ? config.getReplicationTrigger() : null;
+        this.trigger = (trigger != null) ? trigger : ReplicationTrigger.SET_AND_NON_PRIMITIVE_GET;
+        final Integer maxUnreplicatedInterval = (config != null) ? config.getMaxUnreplicatedInterval() : null;
+        this.maxUnreplicatedInterval = (maxUnreplicatedInterval != null) ? maxUnreplicatedInterval.intValue() : DEFAULT_MAX_UNREPLICATED_INTERVAL;
+
+        if (metaData.getMaxActiveSessions() != null) {
+            setMaxActiveSessions(metaData.getMaxActiveSessions().intValue());
+        }
+    }
+
+    /**
+     * Get the name of the cache container the session cache is defined in.
+     *
+     * @return the cache container name
+     */
+    public String getCacheContainerName() {
+        return cacheContainerName;
+    }
+
+    public Injector<CacheContainer> getCacheContainerInjector() {
+        return cacheContainer;
+    }
+
+    public ReplicationGranularity getReplicationGranularity() {
+        return granularity;
+    }
+
+    public ReplicationTrigger getReplicationTrigger() {
+        return trigger;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void start() throws LifecycleException {
+        final EmbeddedCacheManager container = (EmbeddedCacheManager) cacheContainer.getValue();
+        final String template = (templateCacheName != null) ? templateCacheName : container.getCache().getName();
+        container.defineConfiguration(cacheName, template, new Configuration());
+        cache = container.getCache(cacheName);
+        marshaller = new SessionAttributeMarshaller(getContainer().getLoader().getClassLoader());
+        stopping = false;
+        cache.addListener(expirationTracker);
+        // Sessions transferred to this node when the cache started raised no events
+        for (String id : cache.keySet()) {
+            final AtomicMap<Object, Object> data = AtomicMapLookup.getAtomicMap(cache, id, false);
+            if (data != null) {
+                track(id, data);
+            }
+        }
+        super.start();
+    }
+
+    @Override
+    public void stop() throws LifecycleException {
+        try {
+            super.stop();
+        } finally {
+            cache.removeListener(expirationTracker);
+            expirationTimes.clear();
+            cache.stop();
+            cache = null;
+            marshaller = null;
+        }
+    }
+
+    /**
+     * Sessions live in the cache, and are loaded from it on demand.
+     */
+    @Override
+    public void load() {
+    }
+
+    /**
+     * Drop the local copies of the sessions.  Their replicated state is left alone, so they survive on the other nodes.
+     */
+    @Override
+    public void unload() {
+        stopping = true;
+        for (Session session : findSessions()) {
+            ((StandardSession) session).expire(false);
+        }
+    }
+
+    @Override
+    protected StandardSession getNewSession() {
+        return new DistributableSession(this);
+    }
+
+    @Override
+    public Session findSession(final String id) throws IOException {
+        if (id == null) {
+            return null;
+        }
+        final Session session = super.findSession(id);
+        if (session != null) {
+            return refresh((DistributableSession) session);
+        }
+        synchronized (this) {
+            // Another request for the same session may have loaded it in the meantime
+            final Session loaded = super.findSession(id);
+            if (loaded != null) {
+                return loaded;
+            }
+            final AtomicMap<Object, Object> data = AtomicMapLookup.getAtomicMap(cache, id, false);
+            if (data == null) {
+                return null;
+            }
+            final DistributableSession restored = (DistributableSession) createEmptySession();
+            if (!restore(restored, data)) {
+                return null;
+            }
+            restored.attach(id);
+            return restored;
+        }
+    }
+
+    @Override
+    public void remove(final Session session) {
+        super.remove(session);
+        if (stopping) {
+            return;
+        }
+        final String id = session.getIdInternal();
+        if (((DistributableSession) session).isTimedOut()) {
+            // Another node may have used the session since this one did, in which case only the local copy expires
+            final AtomicMap<Object, Object> data = AtomicMapLookup.getAtomicMap(cache, id, false);
+            if (data == null) {
+                return;
+            }
+            final Long expirationTime = track(id, data);
+            if (expirationTime == null || expirationTime.longValue() > System.currentTimeMillis()) {
+                return;
+            }
+        }
+        AtomicMapLookup.removeAtomicMap(cache, id);
+        expirationTimes.remove(id);
+    }
+
+    @Override
+    public void processExpires() {
+        super.processExpires();
+        // Sessions owned by a node that left the cluster are not expired by anyone else
+        final long now = System.currentTimeMillis();
+        for (Map.Entry<String, Long> entry : expirationTimes.entrySet()) {
+            final String id = entry.getKey();
+            if (entry.getValue().longValue() > now || sessions.containsKey(id)) {
+                continue;
+            }
+            // Only sessions which look expired are read, to make sure they were not accessed in the meantime
+            final AtomicMap<Object, Object> data = AtomicMapLookup.getAtomicMap(cache, id, false);
+            if (data == null) {
+                expirationTimes.remove(id, entry.getValue());
+                continue;
+            }
+            final Long expirationTime = track(id, data);
+            if (expirationTime != null && expirationTime.longValue() <= now) {
+                AtomicMapLookup.removeAtomicMap(cache, id);
+                expirationTimes.remove(id);
+            }
+        }
+    }
+
+    /**
+     * Record when a session expires on this node, should its owner go away.
+     *
+     * @param id the session id
+     * @param data the replicated state of the session
+     * @return the expiration time, or {@code null} if the session never expires
+     */
+    private Long track(final String id, final Map<Object, Object> data) {
+        final Object lastAccessedTime = data.get(LAST_ACCESSED_TIME);
+        final Object maxInactiveInterval = data.get(MAX_INACTIVE_INTERVAL);
+        if (!(lastAccessedTime instanceof Long) || !(maxInactiveInterval instanceof Integer) || ((Integer) maxInactiveInterval).intValue() <= 0) {
+            expirationTimes.remove(id);
+            return null;
+        }
+        final int interval = ((Integer) maxInactiveInterval).intValue();
+        // The owner may not have replicated its latest access yet
+        final int grace = (maxUnreplicatedInterval >= 0) ? maxUnreplicatedInterval : interval;
+        final Long expirationTime = Long.valueOf(((Long) lastAccessedTime).longValue() + (interval + grace) * 1000L);
+        expirationTimes.put(id, expirationTime);
+        return expirationTime;
+    }
+
+    /**
+     * Replicate whatever changed in the session since it was last stored.  Called once at the end of each request
+     * which used the session.
+     *
+     * @param session the session
+     */
+    public void storeSession(final DistributableSession session) {
+        if (!session.isActive()) {
+            return;
+        }
+        synchronized (session) {
+            final long now = System.currentTimeMillis();
+            final boolean metaDataDirty = session.isMetaDataDirty();
+            final boolean timestampDirty = metaDataDirty || trigger == ReplicationTrigger.ACCESS
+                    || (maxUnreplicatedInterval >= 0 && now - session.getLastReplicated() >= maxUnreplicatedInterval * 1000L);
+            final Set<String> modified = session.takeModifiedAttributes();
+            final Set<String> removed = session.takeRemovedAttributes();
+            if (!timestampDirty && modified.isEmpty() && removed.isEmpty()) {
+                return;
+            }
+
+            final int version = session.getVersion() + 1;
+            boolean success = false;
+            cache.startBatch();
+            try {
+                final AtomicMap<Object, Object> data = AtomicMapLookup.getAtomicMap(cache, session.getIdInternal());
+                data.put(VERSION, Integer.valueOf(version));
+                if (metaDataDirty) {
+                    data.put(CREATION_TIME, Long.valueOf(session.getCreationTime()));
+                    data.put(MAX_INACTIVE_INTERVAL, Integer.valueOf(session.getMaxInactiveInterval()));
+                }
+                if (timestampDirty) {
+                    data.put(LAST_ACCESSED_TIME, Long.valueOf(session.getAccessedTime()));
+                }
+                if (granularity == ReplicationGranularity.ATTRIBUTE) {
+                    for (String name : removed) {
+                        data.remove(name);
+                    }
+                    for (String name : modified) {
+                        final Object value = session.getAttributeInternal(name);
+                        if (value != null) {
+                            putAttribute(data, name, value);
+                        }
+                    }
+                } else if (!modified.isEmpty() || !removed.isEmpty()) {
+                    final HashMap<String, Object> attributes = new HashMap<String, Object>();
+                    for (Map.Entry<String, Object> entry : session.getAttributesInternal().entrySet()) {
+                        putAttribute(attributes, entry.getKey(), entry.getValue());
+                    }
+                    data.put(ATTRIBUTES, attributes);
+                }
+                success = true;
+            } finally {
+                cache.endBatch(success);
+            }
+            session.clearMetaDataDirty();
+            session.setVersion(version);
+            if (timestampDirty) {
+                session.setLastReplicated(now);
+            }
+        }
+    }
+
+    private void putAttribute(final Map<? super String, Object> data, final String name, final Object value) {
+        try {
+            data.put(name, marshaller.marshal(value));
+        } catch (IOException e) {
+            log.errorf(e, "Failed to replicate attribute %s of session in %s", name, cacheName);
+        }
+    }
+
+    /**
+     * Bring a local session up to date with changes made to it on another node.
+     *
+     * @param session the local session
+     * @return the session, or {@code null} if it was invalidated on another node
+     */
+    private Session refresh(final DistributableSession session) {
+        final AtomicMap<Object, Object> data = AtomicMapLookup.getAtomicMap(cache, session.getIdInternal(), false);
+        if (data == null) {
+            if (session.getVersion() == 0) {
+                // Created by this node and not replicated yet
+                return session;
+            }
+            // Invalidated elsewhere, whose listeners have already been told
+            session.expire(false);
+            return null;
+        }
+        final Integer version = (Integer) data.get(VERSION);
+        if (version != null && version.intValue() > session.getVersion()) {
+            if (!restore(session, data)) {
+                return null;
+            }
+        }
+        return session;
+    }
+
+    private boolean restore(final DistributableSession session, final AtomicMap<Object, Object> data) {
+        final Map<Object, Object> state = new HashMap<Object, Object>(data);
+        final Integer version = (Integer) state.get(VERSION);
+        final Long creationTime = (Long) state.get(CREATION_TIME);
+        final Long lastAccessedTime = (Long) state.get(LAST_ACCESSED_TIME);
+        final Integer maxInactiveInterval = (Integer) state.get(MAX_INACTIVE_INTERVAL);
+        if (version == null || creationTime == null || lastAccessedTime == null || maxInactiveInterval == null) {
+            return false;
+        }
+        final Map<String, Object> attributes = new HashMap<String, Object>();
+        try {
+            if (granularity == ReplicationGranularity.ATTRIBUTE) {
+                for (Map.Entry<Object, Object> entry : state.entrySet()) {
+                    if (entry.getKey() instanceof String) {
+                        attributes.put((String) entry.getKey(), marshaller.unmarshal(entry.getValue()));
+                    }
+                }
+            } else {
+                @SuppressWarnings("unchecked")
+                final Map<String, Object> stored = (Map<String, Object>) state.get(ATTRIBUTES);
+                if (stored != null) {
+                    for (Map.Entry<String, Object> entry : stored.entrySet()) {
+                        attributes.put(entry.getKey(), marshaller.unmarshal(entry.getValue()));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.errorf(e, "Failed to load replicated session from %s", cacheName);
+            return false;
+        } catch (ClassNotFoundException e) {
+            log.errorf(e, "Failed to load replicated session from %s", cacheName);
+            return false;
+        }
+        session.restore(version.intValue(), creationTime.longValue(), lastAccessedTime.longValue(),
+                maxInactiveInterval.intValue(), attributes);
+        return true;
+    }
+
+    /**
+     * Keeps {@link #expirationTimes} up to date with the sessions written to, or removed from, the local cache.
+     */
+    @Listener
+    public class ExpirationTracker {
+
+        @CacheEntryModified
+        @SuppressWarnings("unchecked")
+        public void modified(final CacheEntryModifiedEvent<String, Object> event) {
+            if (!event.isPre() && event.getValue() instanceof Map) {
+                track(event.getKey(), (Map<Object, Object>) event.getValue());
+            }
+        }
+
+        @CacheEntryRemoved
+        public void removed(final CacheEntryRemovedEvent<String, Object> event) {
+            if (!event.isPre()) {
+                expirationTimes.remove(event.getKey());
+            }
+        }
+    }
+}
@@ -1,6 +1,6 @@
 /*
  * JBoss, Home of Professional Open Source.
- * Copyright 2008, Red Hat Middleware LLC, and individual contributors
+ * Copyright 2011, Red Hat, Inc., and individual contributors
  * as indicated by the @author tags. See the copyright.txt file in the
  * distribution for a full listing of individual contributors.
  *
@@ -19,55 +19,37 @@
  * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
  * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
  */
-package org.jboss.as.web;
 
+package org.jboss.as.web.session;
+
+import java.io.IOException;
+
+import javax.servlet.ServletException;
+
+import org.apache.catalina.Manager;
+import org.apache.catalina.Session;
 import org.apache.catalina.connector.Request;
 import org.apache.catalina.connector.Response;
 import org.apache.catalina.valves.ValveBase;
-import org.jboss.as.naming.context.NamespaceContextSelector;
-
-import javax.servlet.ServletException;
-import java.io.IOException;
 
 /**
- * An InstanceListener used to push/pop the application naming context.
- *
- * @author Stuart Douglas
+ * A valve which hands the session used by a request to its {@link DistributableSessionManager} once the request
+ * completes, so that all changes made during the request are replicated together.
  */
-public class NamingValve extends ValveBase {
-
-    private final NamespaceContextSelector selector;
-
-    /**
-     * Thread local used to initialise the Listener after startup.
-     *
-     * TODO: figure out a better way to do this
-     */
-    private static final ThreadLocal<NamespaceContextSelector> localSelector = new ThreadLocal<NamespaceContextSelector>();
-
-    public NamingValve() {
-        selector = localSelector.get();
-        assert selector != null : "selector is null";
-    }
+public class DistributableSessionValve extends ValveBase {
 
     @Override
     public void invoke(final Request request, final Response response) throws IOException, ServletException {
         try {
-            NamespaceContextSelector.pushCurrentSelector(selector);
             getNext().invoke(request, response);
         } finally {
-            NamespaceContextSelector.popCurrentSelector();
+            final Session session = request.getSessionInternal(false);
+            if (session instanceof DistributableSession) {
+                final Manager manager = session.getManager();
+                if (manager instanceof DistributableSessionManager) {
+                    ((DistributableSessionManager) manager).storeSession((DistributableSession) session);
+                }
+            }
         }
     }
-
-    public static void beginComponentStart(NamespaceContextSelector selector) {
-        localSelector.set(selector);
-        NamespaceContextSelector.pushCurrentSelector(selector);
-    }
-
-    public static void endComponentStart() {
-        NamespaceContextSelector.popCurrentSelector();
-        localSelector.set(null);
-    }
-
 }
@@ -0,0 +1,110 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web.session;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Converts session attribute values to and from the form stored in the session cache.  Immutable JDK types are stored
+ * as is; everything else is serialized to a byte array, so that the cache never has to resolve deployment classes
+ * itself.
+ */
+final class SessionAttributeMarshaller {
+
+    private static final Set<Class<?>> IMMUTABLE_TYPES = Collections.unmodifiableSet(new HashSet<Class<?>>(Arrays.<Class<?>>asList(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class,
+            Double.class, BigInteger.class, BigDecimal.class)));
+
+    private final ClassLoader classLoader;
+
+    SessionAttributeMarshaller(final ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Determine whether a value can never change once it has been set as an attribute.
+     *
+     * @param value the attribute value
+     * @return {@code true} if the value is immutable
+     */
+    static boolean isImmutable(final Object value) {
+        return (value == null) || IMMUTABLE_TYPES.contains(value.getClass());
+    }
+
+    Object marshal(final Object value) throws IOException {
+        if (isImmutable(value)) {
+            return value;
+        }
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ObjectOutputStream output = new ObjectOutputStream(bytes);
+        try {
+            output.writeObject(value);
+        } finally {
+            output.close();
+        }
+        return bytes.toByteArray();
+    }
+
+    Object unmarshal(final Object value) throws IOException, ClassNotFoundException {
+        if (!(value instanceof byte[])) {
+            return value;
+        }
+        final ObjectInputStream input = new ClassLoaderObjectInputStream(new ByteArrayInputStream((byte[]) value), classLoader);
+        try {
+            return input.readObject();
+        } finally {
+            input.close();
+        }
+    }
+
+    private static class ClassLoaderObjectInputStream extends ObjectInputStream {
+        private final ClassLoader classLoader;
+
+        ClassLoaderObjectInputStream(final InputStream input, final ClassLoader classLoader) throws IOException {
+            super(input);
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        protected Class<?> resolveClass(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            try {
+                return Class.forName(desc.getName(), false, classLoader);
+            } catch (ClassNotFoundException e) {
+                // Primitive types and anything else the class loader cannot see
+                return super.resolveClass(desc);
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.web.session;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.Session;
+import org.apache.catalina.core.StandardContext;
+import org.apache.catalina.core.StandardHost;
+import org.infinispan.config.Configuration;
+import org.infinispan.config.GlobalConfiguration;
+import org.infinispan.manager.DefaultCacheManager;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.jboss.as.web.deployment.WebCtxLoader;
+import org.jboss.metadata.web.jboss.JBossWebMetaData;
+import org.jboss.metadata.web.jboss.ReplicationConfig;
+import org.jboss.metadata.web.jboss.ReplicationGranularity;
+import org.jboss.metadata.web.jboss.ReplicationTrigger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of session replication between two nodes, each with its own cache manager, running in the same JVM.
+ */
+public class DistributableSessionManagerUnitTestCase {
+
+    private final List<DistributableSessionManager> managers = new ArrayList<DistributableSessionManager>();
+    private EmbeddedCacheManager firstContainer;
+    private EmbeddedCacheManager secondContainer;
+
+    @Before
+    public void setUp() {
+        firstContainer = createCacheContainer();
+        secondContainer = createCacheContainer();
+    }
+
+    @After
+    public void tearDown() {
+        for (DistributableSessionManager manager : managers) {
+            try {
+                manager.stop();
+            } catch (LifecycleException ignored) {
+            }
+        }
+        managers.clear();
+        secondContainer.stop();
+        firstContainer.stop();
+    }
+
+    @Test
+    public void testSessionIsReplicated() throws Exception {
+        final DistributableSessionManager first = createManager(firstContainer, ReplicationGranularity.SESSION, 60);
+        final DistributableSessionManager second = createManager(secondContainer, ReplicationGranularity.SESSION, 60);
+        awaitCluster();
+
+        final DistributableSession session = (DistributableSession) first.createSession(null);
+        session.setAttribute("name", "value");
+        first.storeSession(session);
+
+        final Session replicated = second.findSession(session.getIdInternal());
+        assertNotNull(replicated);
+        assertEquals("value", ((DistributableSession) replicated).getAttribute("name"));
+        assertEquals(session.getCreationTime(), replicated.getCreationTime());
+    }
+
+    @Test
+    public void testAttributeChangesAreReplicatedBothWays() throws Exception {
+        final DistributableSessionManager first = createManager(firstContainer, ReplicationGranularity.ATTRIBUTE, 60);
+        final DistributableSessionManager second = createManager(secondContainer, ReplicationGranularity.ATTRIBUTE, 60);
+        awaitCluster();
+
+        final DistributableSession session = (DistributableSession) first.createSession(null);
+        session.setAttribute("a", "1");
+        session.setAttribute("b", "2");
+        first.storeSession(session);
+
+        final DistributableSession replicated = (DistributableSession) second.findSession(session.getIdInternal());
+        replicated.setAttribute("b", "3");
+        replicated.removeAttribute("a");
+        second.storeSession(replicated);
+
+        final DistributableSession refreshed = (DistributableSession) first.findSession(session.getIdInternal());
+        assertNull(refreshed.getAttribute("a"));
+        assertEquals("3", refreshed.getAttribute("b"));
+    }
+
+    @Test
+    public void testInvalidationIsReplicated() throws Exception {
+        final DistributableSessionManager first = createManager(firstContainer, ReplicationGranularity.SESSION, 60);
+        final DistributableSessionManager second = createManager(secondContainer, ReplicationGranularity.SESSION, 60);
+        awaitCluster();
+
+        final DistributableSession session = (DistributableSession) first.createSession(null);
+        session.setAttribute("name", "value");
+        first.storeSession(session);
+        assertNotNull(second.findSession(session.getIdInternal()));
+
+        session.invalidate();
+        assertNull(second.findSession(session.getIdInternal()));
+    }
+
+    @Test
+    public void testOrphanedSessionIsExpired() throws Exception {
+        final DistributableSessionManager first = createManager(firstContainer, ReplicationGranularity.SESSION, 0);
+        final DistributableSessionManager second = createManager(secondContainer, ReplicationGranularity.SESSION, 0);
+        awaitCluster();
+
+        final DistributableSession session = (DistributableSession) first.createSession(null);
+        session.setMaxInactiveInterval(1);
+        session.setAttribute("name", "value");
+        first.storeSession(session);
+        final String id = session.getIdInternal();
+
+        // The owner leaves without expiring the session
+        first.stop();
+        managers.remove(first);
+
+        Thread.sleep(1500L);
+        second.processExpires();
+        assertNull(second.findSession(id));
+    }
+
+    @Test
+    public void testLocalExpirationKeepsSessionUsedElsewhere() throws Exception {
+        final DistributableSessionManager first = createManager(firstContainer, ReplicationGranularity.SESSION, 0);
+        final DistributableSessionManager second = createManager(secondContainer, ReplicationGranularity.SESSION, 0);
+        awaitCluster();
+
+        final DistributableSession session = (DistributableSession) first.createSession(null);
+        session.setMaxInactiveInterval(2);
+        session.setAttribute("name", "value");
+        first.storeSession(session);
+        final String id = session.getIdInternal();
+
+        Thread.sleep(1200L);
+        final DistributableSession replicated = (DistributableSession) second.findSession(id);
+        assertNotNull(replicated);
+        replicated.access();
+        replicated.endAccess();
+        second.storeSession(replicated);
+
+        // Timed out on the first node, but not on the second
+        Thread.sleep(1000L);
+        first.processExpires();
+        assertNotNull(second.findSession(id));
+        assertNotNull(first.findSession(id));
+    }
+
+    private DistributableSessionManager createManager(final EmbeddedCacheManager container, final ReplicationGranularity granularity,
+            final int maxUnreplicatedInterval) throws LifecycleException {
+        final ReplicationConfig config = new ReplicationConfig();
+        config.setReplicationGranularity(granularity);
+        config.setReplicationTrigger(ReplicationTrigger.SET);
+        config.setMaxUnreplicatedInterval(Integer.valueOf(maxUnreplicatedInterval));
+        final JBossWebMetaData metaData = new JBossWebMetaData();
+        metaData.setReplicationConfig(config);
+
+        final StandardHost host = new StandardHost();
+        host.setName("localhost");
+        final StandardContext context = new StandardContext();
+        context.setPath("/test");
+        context.setParent(host);
+        context.setLoader(new WebCtxLoader(getClass().getClassLoader()));
+
+        final DistributableSessionManager manager = new DistributableSessionManager(metaData, "localhost/test");
+        manager.getCacheContainerInjector().inject(container);
+        manager.setContainer(context);
+        manager.start();
+        managers.add(manager);
+        return manager;
+    }
+
+    private void awaitCluster() throws InterruptedException {
+        final long end = System.currentTimeMillis() + 30000L;
+        while (firstContainer.getMembers().size() < 2 || secondContainer.getMembers().size() < 2) {
+            assertTrue("Nodes did not form a cluster", System.currentTimeMillis() < end);
+            Thread.sleep(100L);
+        }
+    }
+
+    private static EmbeddedCacheManager createCacheContainer() {
+        final GlobalConfiguration global = GlobalConfiguration.getClusteredDefault();
+        global.setClusterName("web-session-test");
+        global.setAllowDuplicateDomains(true);
+        final Configuration config = new Configuration();
+        config.setCacheMode(Configuration.CacheMode.REPL_SYNC);
+        config.setInvocationBatchingEnabled(true);
+        config.setFetchInMemoryState(true);
+        return new DefaultCacheManager(global, config);
+    }
+}
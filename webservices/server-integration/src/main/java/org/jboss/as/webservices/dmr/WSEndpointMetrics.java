@@ -24,6 +24,8 @@ package org.jboss.as.webservices.dmr;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 
+import java.util.Map;
+
 import javax.management.MalformedObjectNameException;
 import javax.management.ObjectName;
 
@@ -36,6 +38,7 @@ import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.ResultHandler;
 import org.jboss.as.controller.RuntimeTask;
 import org.jboss.as.controller.RuntimeTaskContext;
+import org.jboss.as.webservices.invocation.EndpointOperationMetrics;
 import org.jboss.as.webservices.util.WSServices;
 import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceController;
@@ -63,11 +66,12 @@ final class WSEndpointMetrics implements ModelQueryOperationHandler {
     static final String REQUEST_COUNT = "request-count";
     static final String RESPONSE_COUNT = "response-count";
     static final String FAULT_COUNT = "fault-count";
+    static final String OPERATIONS = "operations";
 
     static {
         ATTRIBUTES = new String[] {
                 MIN_PROCESSING_TIME, MAX_PROCESSING_TIME, AVERAGE_PROCESSING_TIME,
-                TOTAL_PROCESSING_TIME, REQUEST_COUNT, RESPONSE_COUNT, FAULT_COUNT
+                TOTAL_PROCESSING_TIME, REQUEST_COUNT, RESPONSE_COUNT, FAULT_COUNT, OPERATIONS
         };
     }
 
@@ -118,14 +122,32 @@ final class WSEndpointMetrics implements ModelQueryOperationHandler {
         final Endpoint endpoint = registry.getEndpoint(endpointObjectName);
 
         final ModelNode result = new ModelNode();
-        if (endpoint != null && endpoint.getEndpointMetrics() != null) {
+        if (OPERATIONS.equals(metricName)) {
+            final EndpointOperationMetrics operationMetrics = endpoint != null ? endpoint
+                    .getAttachment(EndpointOperationMetrics.class) : null;
+            if (operationMetrics != null) {
+                result.setEmptyObject();
+                for (final Map.Entry<String, EndpointOperationMetrics.Operation> entry : operationMetrics.getOperations().entrySet()) {
+                    final EndpointOperationMetrics.Operation operationStats = entry.getValue();
+                    final ModelNode operationNode = result.get(entry.getKey());
+                    operationNode.get(REQUEST_COUNT).set(operationStats.getInvocationCount());
+                    operationNode.get(FAULT_COUNT).set(operationStats.getFaultCount());
+                    operationNode.get(MIN_PROCESSING_TIME).set(operationStats.getMinProcessingTime());
+                    operationNode.get(MAX_PROCESSING_TIME).set(operationStats.getMaxProcessingTime());
+                    operationNode.get(AVERAGE_PROCESSING_TIME).set(operationStats.getAverageProcessingTime());
+                    operationNode.get(TOTAL_PROCESSING_TIME).set(operationStats.getTotalProcessingTime());
+                }
+            } else {
+                result.set(getFallbackMessage());
+            }
+        } else if (endpoint != null && endpoint.getEndpointMetrics() != null) {
             final EndpointMetrics endpointMetrics = endpoint.getEndpointMetrics();
             if (MIN_PROCESSING_TIME.equals(metricName)) {
                 result.set(String.valueOf(endpointMetrics.getMinProcessingTime()));
             } else if (MAX_PROCESSING_TIME.equals(metricName)) {
                 result.set(String.valueOf(endpointMetrics.getMaxProcessingTime()));
             } else if (AVERAGE_PROCESSING_TIME.equals(metricName)) {
-                result.set(String.valueOf(endpointMetrics.getTotalProcessingTime()));
+                result.set(String.valueOf(endpointMetrics.getAverageProcessingTime()));
             } else if (TOTAL_PROCESSING_TIME.equals(metricName)) {
                 result.set(String.valueOf(endpointMetrics.getTotalProcessingTime()));
             } else if (REQUEST_COUNT.equals(metricName)) {
@@ -35,6 +35,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQ
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQUIRED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TAIL_COMMENT_ALLOWED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VALUE_TYPE;
 import static org.jboss.as.webservices.dmr.Constants.ENDPOINT;
 import static org.jboss.as.webservices.dmr.Constants.ENDPOINT_CLASS;
 import static org.jboss.as.webservices.dmr.Constants.ENDPOINT_CONTEXT;
@@ -49,6 +50,7 @@ import static org.jboss.as.webservices.dmr.WSEndpointMetrics.AVERAGE_PROCESSING_
 import static org.jboss.as.webservices.dmr.WSEndpointMetrics.FAULT_COUNT;
 import static org.jboss.as.webservices.dmr.WSEndpointMetrics.MAX_PROCESSING_TIME;
 import static org.jboss.as.webservices.dmr.WSEndpointMetrics.MIN_PROCESSING_TIME;
+import static org.jboss.as.webservices.dmr.WSEndpointMetrics.OPERATIONS;
 import static org.jboss.as.webservices.dmr.WSEndpointMetrics.REQUEST_COUNT;
 import static org.jboss.as.webservices.dmr.WSEndpointMetrics.RESPONSE_COUNT;
 import static org.jboss.as.webservices.dmr.WSEndpointMetrics.TOTAL_PROCESSING_TIME;
@@ -252,6 +254,11 @@ final class WSSubsystemProviders {
             node.get(ATTRIBUTES, FAULT_COUNT, TYPE).set(ModelType.INT);
             node.get(ATTRIBUTES, FAULT_COUNT, REQUIRED).set(false);
 
+            node.get(ATTRIBUTES, OPERATIONS, DESCRIPTION).set(bundle.getString("operations"));
+            node.get(ATTRIBUTES, OPERATIONS, TYPE).set(ModelType.OBJECT);
+            node.get(ATTRIBUTES, OPERATIONS, VALUE_TYPE).set(ModelType.OBJECT);
+            node.get(ATTRIBUTES, OPERATIONS, REQUIRED).set(false);
+
             return node;
         }
 
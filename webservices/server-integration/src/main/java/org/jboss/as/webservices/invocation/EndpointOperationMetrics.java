@@ -0,0 +1,127 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.webservices.invocation;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Invocation statistics of the individual operations of an endpoint. Instances are attached to the
+ * {@link org.jboss.wsf.spi.deployment.Endpoint} they belong to.
+ */
+public final class EndpointOperationMetrics {
+
+    private final ConcurrentMap<String, Operation> operations = new ConcurrentHashMap<String, Operation>();
+
+    /**
+     * Returns the statistics of the given operation, creating them on first use.
+     *
+     * @param operationName operation name
+     * @return operation statistics
+     */
+    public Operation getOperation(final String operationName) {
+        Operation operation = operations.get(operationName);
+        if (operation == null) {
+            final Operation newOperation = new Operation();
+            operation = operations.putIfAbsent(operationName, newOperation);
+            if (operation == null) {
+                operation = newOperation;
+            }
+        }
+        return operation;
+    }
+
+    /**
+     * Returns a read only view of the statistics of all invoked operations, keyed by operation name.
+     *
+     * @return operation statistics
+     */
+    public Map<String, Operation> getOperations() {
+        return Collections.unmodifiableMap(operations);
+    }
+
+    /**
+     * Statistics of a single operation. Times are reported in milliseconds.
+     */
+    public static final class Operation {
+        private final AtomicLong invocationCount = new AtomicLong();
+        private final AtomicLong faultCount = new AtomicLong();
+        private final AtomicLong totalTime = new AtomicLong();
+        private final AtomicLong minTime = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong maxTime = new AtomicLong();
+
+        private Operation() {
+        }
+
+        /**
+         * Records a finished invocation.
+         *
+         * @param nanos invocation time in nanoseconds
+         * @param fault whether the invocation failed
+         */
+        public void record(final long nanos, final boolean fault) {
+            invocationCount.incrementAndGet();
+            if (fault) {
+                faultCount.incrementAndGet();
+            }
+            totalTime.addAndGet(nanos);
+            long current;
+            while (nanos < (current = minTime.get()) && !minTime.compareAndSet(current, nanos)) {
+                // retry
+            }
+            while (nanos > (current = maxTime.get()) && !maxTime.compareAndSet(current, nanos)) {
+                // retry
+            }
+        }
+
+        public long getInvocationCount() {
+            return invocationCount.get();
+        }
+
+        public long getFaultCount() {
+            return faultCount.get();
+        }
+
+        public long getTotalProcessingTime() {
+            return TimeUnit.NANOSECONDS.toMillis(totalTime.get());
+        }
+
+        public long getMinProcessingTime() {
+            final long min = minTime.get();
+            return min == Long.MAX_VALUE ? 0 : TimeUnit.NANOSECONDS.toMillis(min);
+        }
+
+        public long getMaxProcessingTime() {
+            return TimeUnit.NANOSECONDS.toMillis(maxTime.get());
+        }
+
+        public long getAverageProcessingTime() {
+            final long count = invocationCount.get();
+            return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalTime.get() / count);
+        }
+    }
+}
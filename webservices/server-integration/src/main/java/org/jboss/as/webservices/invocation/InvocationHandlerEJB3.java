@@ -24,6 +24,8 @@ package org.jboss.as.webservices.invocation;
 import java.lang.reflect.Method;
 import java.security.Principal;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 import javax.naming.Context;
 import javax.naming.NamingException;
@@ -36,6 +38,7 @@ import org.jboss.as.ee.component.Component;
 import org.jboss.as.ee.component.ComponentView;
 import org.jboss.as.ee.component.ComponentViewInstance;
 import org.jboss.as.webservices.util.ASHelper;
+import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorContext;
 import org.jboss.ws.common.injection.ThreadLocalAwareWebServiceContext;
 import org.jboss.ws.common.invocation.AbstractInvocationHandler;
@@ -65,8 +68,11 @@ final class InvocationHandlerEJB3 extends AbstractInvocationHandler {
    /** EJB3 container name. */
    private String ejbName;
 
-   /** EJB3 container. */
-   private volatile ComponentViewInstance ejbContainer;
+   /** EJB3 container together with the precomputed dispatch targets. */
+   private volatile EJB3Target ejbTarget;
+
+   /** Per-operation invocation statistics. */
+   private final EndpointOperationMetrics operationMetrics = new EndpointOperationMetrics();
 
    /**
     * Constructor.
@@ -88,27 +94,29 @@ final class InvocationHandlerEJB3 extends AbstractInvocationHandler {
       if (ejbName == null) {
          throw new IllegalArgumentException("Container name cannot be null");
       }
+      endpoint.addAttachment(EndpointOperationMetrics.class, operationMetrics);
    }
 
    /**
-    * Gets EJB 3 container lazily.
+    * Gets EJB 3 container lazily. The SEI to EJB method mapping and the view proxy are computed
+    * once, together with the container.
     *
     * @return EJB3 container
     */
-   private ComponentViewInstance getEjb3Container() {
-      if (ejbContainer == null) {
+   private EJB3Target getEjb3Container() {
+      if (ejbTarget == null) {
          synchronized(this) {
-            if (ejbContainer == null) {
+            if (ejbTarget == null) {
                final ComponentView ejbView = iocContainer.getBean(ejbName, ComponentView.class);
                if (ejbView == null) {
                   throw new WebServiceException("Cannot find ejb: " + ejbName);
                }
-               ejbContainer = ejbView.createInstance();
+               ejbTarget = new EJB3Target(ejbView.createInstance(), operationMetrics);
             }
          }
       }
 
-      return ejbContainer;
+      return ejbTarget;
    }
 
    /**
@@ -123,18 +131,25 @@ final class InvocationHandlerEJB3 extends AbstractInvocationHandler {
          // prepare for invocation
          onBeforeInvocation(wsInvocation);
          // prepare invocation data
-         final ComponentViewInstance ejbInstance = getEjb3Container();
-         final Method method = getEJBMethod(wsInvocation.getJavaMethod(), ejbInstance.allowedMethods());
+         final EJB3Target target = getEjb3Container();
+         final EJB3Method ejbMethod = target.getEJBMethod(wsInvocation.getJavaMethod());
          final InterceptorContext context = new InterceptorContext();
-         context.setMethod(method);
+         context.setMethod(ejbMethod.method);
          context.setContextData(getWebServiceContext(wsInvocation).getMessageContext());
          context.setParameters(wsInvocation.getArgs());
-         context.setTarget(ejbInstance.createProxy());
-         context.putPrivateData(Component.class, ejbInstance.getComponent());
+         context.setTarget(target.proxy);
+         context.putPrivateData(Component.class, target.component);
          // invoke method
-         final Object retObj = ejbInstance.getEntryPoint(method).processInvocation(context);
-         // set return value
-         wsInvocation.setReturnValue(retObj);
+         final long start = System.nanoTime();
+         boolean fault = true;
+         try {
+            final Object retObj = ejbMethod.entryPoint.processInvocation(context);
+            fault = false;
+            // set return value
+            wsInvocation.setReturnValue(retObj);
+         } finally {
+            ejbMethod.metrics.record(System.nanoTime() - start, fault);
+         }
       }
       catch (Throwable t) {
          log.error("Method invocation failed with exception: " + t.getMessage(), t);
@@ -145,16 +160,6 @@ final class InvocationHandlerEJB3 extends AbstractInvocationHandler {
       }
    }
 
-   private Method getEJBMethod(final Method seiMethod, final Collection<Method> methods) {
-       for (final Method method : methods) {
-           if (seiMethod.equals(method)) {
-               return method;
-           }
-       }
-
-       throw new IllegalStateException();
-   }
-
    public Context getJNDIContext(final Endpoint ep) throws NamingException {
       return null; // TODO: implement
 //      final EJBContainer ejb3Container = (EJBContainer) getEjb3Container();
@@ -224,6 +229,49 @@ final class InvocationHandlerEJB3 extends AbstractInvocationHandler {
       }
    }
 
+   /**
+    * EJB3 container view with the dispatch target of every allowed method.
+    */
+   private static final class EJB3Target {
+      private final Component component;
+      private final Object proxy;
+      private final Map<Method, EJB3Method> methods;
+
+      private EJB3Target(final ComponentViewInstance ejbInstance, final EndpointOperationMetrics operationMetrics) {
+         component = ejbInstance.getComponent();
+         proxy = ejbInstance.createProxy();
+         final Collection<Method> allowedMethods = ejbInstance.allowedMethods();
+         methods = new HashMap<Method, EJB3Method>(allowedMethods.size() * 2);
+         for (final Method method : allowedMethods) {
+            methods.put(method, new EJB3Method(method, ejbInstance.getEntryPoint(method),
+                  operationMetrics.getOperation(method.getName())));
+         }
+      }
+
+      private EJB3Method getEJBMethod(final Method seiMethod) {
+         final EJB3Method ejbMethod = methods.get(seiMethod);
+         if (ejbMethod == null) {
+            throw new IllegalStateException("No EJB method for " + seiMethod);
+         }
+         return ejbMethod;
+      }
+   }
+
+   /**
+    * EJB method, its view entry point and its statistics.
+    */
+   private static final class EJB3Method {
+      private final Method method;
+      private final Interceptor entryPoint;
+      private final EndpointOperationMetrics.Operation metrics;
+
+      private EJB3Method(final Method method, final Interceptor entryPoint, final EndpointOperationMetrics.Operation metrics) {
+         this.method = method;
+         this.entryPoint = entryPoint;
+         this.metrics = metrics;
+      }
+   }
+
    /**
     * EJB3 invocation callback allowing EJB 3 beans to access Web Service invocation properties.
     */
@@ -0,0 +1,57 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.webservices.invocation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests of the per-operation endpoint statistics.
+ */
+public class EndpointOperationMetricsTestCase {
+
+    @Test
+    public void testRecord() {
+        final EndpointOperationMetrics metrics = new EndpointOperationMetrics();
+        final EndpointOperationMetrics.Operation echo = metrics.getOperation("echo");
+        assertSame(echo, metrics.getOperation("echo"));
+        assertEquals(0, echo.getMinProcessingTime());
+        assertEquals(0, echo.getAverageProcessingTime());
+
+        echo.record(TimeUnit.MILLISECONDS.toNanos(10), false);
+        echo.record(TimeUnit.MILLISECONDS.toNanos(30), true);
+        metrics.getOperation("other").record(TimeUnit.MILLISECONDS.toNanos(5), false);
+
+        assertEquals(2, echo.getInvocationCount());
+        assertEquals(1, echo.getFaultCount());
+        assertEquals(10, echo.getMinProcessingTime());
+        assertEquals(30, echo.getMaxProcessingTime());
+        assertEquals(20, echo.getAverageProcessingTime());
+        assertEquals(40, echo.getTotalProcessingTime());
+        assertEquals(2, metrics.getOperations().size());
+    }
+}
@@ -26,7 +26,6 @@ import org.jboss.weld.bootstrap.api.SingletonProvider;
 
 import java.security.AccessController;
 import java.security.PrivilegedAction;
-import java.util.Hashtable;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -62,13 +61,14 @@ public class ModuleGroupSingletonProvider extends SingletonProvider {
     }
 
     private static class TCCLSingleton<T> implements Singleton<T> {
-        // use Hashtable for concurrent access
-        private final Map<ClassLoader, T> store = new Hashtable<ClassLoader, T>();
+        // get() is called on every injection and proxy invocation, so reads must not take a lock
+        private final Map<ClassLoader, T> store = new ConcurrentHashMap<ClassLoader, T>();
 
         public T get() {
-            T instance = store.get(getClassLoader());
+            final ClassLoader classLoader = getClassLoader();
+            T instance = store.get(classLoader);
             if (instance == null) {
-                throw new IllegalStateException("Singleton not set for " + getClassLoader());
+                throw new IllegalStateException("Singleton not set for " + classLoader);
             }
             return instance;
         }
@@ -76,9 +76,10 @@ public class ModuleGroupSingletonProvider extends SingletonProvider {
         public void set(T object) {
             ClassLoader classLoader = getClassLoader();
             store.put(classLoader, object);
-            if(deploymentClassLoaders.containsKey(classLoader)) {
-                for(ClassLoader cl : deploymentClassLoaders.get(classLoader)) {
-                    store.put(cl,object);
+            final Set<ClassLoader> classLoaders = deploymentClassLoaders.get(classLoader);
+            if (classLoaders != null) {
+                for (ClassLoader cl : classLoaders) {
+                    store.put(cl, object);
                 }
             }
         }
@@ -86,8 +87,9 @@ public class ModuleGroupSingletonProvider extends SingletonProvider {
         public void clear() {
             ClassLoader classLoader = getClassLoader();
             store.remove(classLoader);
-            if(deploymentClassLoaders.containsKey(classLoader)) {
-                for(ClassLoader cl : deploymentClassLoaders.get(classLoader)) {
+            final Set<ClassLoader> classLoaders = deploymentClassLoaders.get(classLoader);
+            if (classLoaders != null) {
+                for (ClassLoader cl : classLoaders) {
                     store.remove(cl);
                 }
             }